@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import com.examples.with.different.packagename.ncs.Loops;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the probes of {@link ExecutionTracer}, called directly and from
+ * a hot loop of an instrumented SUT class ({@link Loops#coverMe(int)}).
+ * Comparing {@link #instrumentedLoop} with {@link #uninstrumentedLoop} gives
+ * the overhead of all the probes of one call of the SUT method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExecutionTracerBenchmark {
+
+    /**
+     * Iterations of the loop of the SUT (the loop exits at 10)
+     */
+    private static final int LOOP_BOUND = 10;
+
+    @Param({"true", "false"})
+    public boolean tracerEnabled;
+
+    private int value;
+
+    private Method coverMe;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        Properties.TARGET_CLASS = Loops.class.getName();
+        // Only measure the tracer, not the loop counter
+        Properties.MAX_LOOP_ITERATIONS = -1;
+        TestGenerationContext.getInstance().resetContext();
+        Class<?> clazz = TestGenerationContext.getInstance().getClassLoaderForSUT()
+                .loadClass(Properties.TARGET_CLASS);
+        coverMe = clazz.getMethod("coverMe", int.class);
+
+        ExecutionTracer.setThread(Thread.currentThread());
+    }
+
+    @Setup(Level.Iteration)
+    public void startExecution() {
+        ExecutionTracer.getExecutionTracer().clear();
+        if (tracerEnabled) {
+            ExecutionTracer.enable();
+        } else {
+            ExecutionTracer.disable();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void endExecution() {
+        ExecutionTracer.disable();
+        ExecutionTracer.getExecutionTracer().clear();
+    }
+
+    @Benchmark
+    public void passedBranchInt() {
+        ExecutionTracer.passedBranch(value++, Opcodes.IFEQ, 1, 10);
+    }
+
+    @Benchmark
+    public void passedBranchIntInt() {
+        ExecutionTracer.passedBranch(value++, 17, Opcodes.IF_ICMPLT, 2, 20);
+    }
+
+    @Benchmark
+    public void passedBranchObject() {
+        ExecutionTracer.passedBranch(this, Opcodes.IFNULL, 3, 30);
+    }
+
+    @Benchmark
+    public void passedLine() {
+        ExecutionTracer.passedLine(Loops.class.getName(), "coverMe(I)I", 28);
+    }
+
+    @Benchmark
+    public void enteredAndLeftMethod() {
+        ExecutionTracer.enteredMethod(Loops.class.getName(), "coverMe(I)I", null);
+        ExecutionTracer.leftMethod(Loops.class.getName(), "coverMe(I)I");
+    }
+
+    @Benchmark
+    public Object instrumentedLoop() throws Exception {
+        return coverMe.invoke(null, LOOP_BOUND);
+    }
+
+    @Benchmark
+    public int uninstrumentedLoop() {
+        return Loops.coverMe(LOOP_BOUND);
+    }
+}
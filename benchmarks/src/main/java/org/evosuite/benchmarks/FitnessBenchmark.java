@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionTrace;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.execution.ExecutionTraceProxy;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fitness evaluation of a fixed random test suite of {@link SearchFixture#SUT}
+ * with {@link BranchCoverageSuiteFitness}, and cloning of the execution traces
+ * it produces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FitnessBenchmark {
+
+    @Param({"10", "50"})
+    public int suiteSize;
+
+    private TestSuiteChromosome suite;
+
+    private BranchCoverageSuiteFitness fitness;
+
+    /**
+     * The longest trace of the tests of the suite
+     */
+    private ExecutionTrace trace;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ClassNotFoundException {
+        SearchFixture.setUp();
+        suite = SearchFixture.getRandomSuite(suiteSize);
+        fitness = new BranchCoverageSuiteFitness();
+        fitness.getFitness(suite);
+
+        for (TestChromosome test : suite.getTestChromosomes()) {
+            ExecutionTrace candidate = test.getLastExecutionResult().getTrace();
+            if (trace == null || candidate.getCoveredLines().size() > trace.getCoveredLines().size())
+                trace = candidate;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SearchFixture.tearDown();
+    }
+
+    /**
+     * Only the computation of the fitness from the cached execution results
+     */
+    @Benchmark
+    public double getFitnessOfExecutedSuite() {
+        return fitness.getFitness(suite);
+    }
+
+    /**
+     * Execution of all the tests of the suite and computation of the fitness
+     */
+    @Benchmark
+    public double getFitnessOfChangedSuite() {
+        for (TestChromosome test : suite.getTestChromosomes()) {
+            test.setChanged(true);
+        }
+        return fitness.getFitness(suite);
+    }
+
+    /**
+     * {@link ExecutionTraceImpl#clone()}, as triggered by the first write on a
+     * lazy copy of a trace (which is how the traces are cloned in the search)
+     */
+    @Benchmark
+    public ExecutionTrace cloneExecutionTrace() {
+        ExecutionTraceProxy copy = (ExecutionTraceProxy) trace.lazyClone();
+        copy.copyOnWrite();
+        return copy;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.ga.DummyChromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.operators.ranking.FastNonDominatedSorting;
+import org.evosuite.utils.Randomness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking of a population with {@link FastNonDominatedSorting}, as done by
+ * MOSA at every generation. The individuals are {@link DummyChromosome}s with
+ * seeded random fitness values on the goals; the values are drawn from a small
+ * range so that the population is split in several fronts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RankingBenchmark {
+
+    private static final int MAX_FITNESS = 10;
+
+    @Param({"50", "100"})
+    public int populationSize;
+
+    @Param({"10", "100"})
+    public int numberOfGoals;
+
+    private List<DummyChromosome> population;
+
+    private Set<Goal> goals;
+
+    /**
+     * A goal whose fitness values are set directly on the individuals
+     */
+    private static class Goal extends FitnessFunction<DummyChromosome> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(DummyChromosome individual) {
+            return individual.getFitness(this);
+        }
+
+        @Override
+        public boolean isMaximizationFunction() {
+            return false;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Randomness.setSeed(SearchFixture.SEED);
+        goals = new LinkedHashSet<>();
+        for (int i = 0; i < numberOfGoals; i++) {
+            goals.add(new Goal());
+        }
+        population = new ArrayList<>();
+        for (int i = 0; i < populationSize; i++) {
+            DummyChromosome individual = new DummyChromosome(i);
+            for (Goal goal : goals) {
+                individual.setFitness(goal, Randomness.nextInt(MAX_FITNESS));
+            }
+            population.add(individual);
+        }
+    }
+
+    @Benchmark
+    public int computeRankingAssignment() {
+        FastNonDominatedSorting<DummyChromosome> ranking = new FastNonDominatedSorting<>();
+        ranking.computeRankingAssignment(population, goals);
+        return ranking.getNumberOfSubfronts();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import com.examples.with.different.packagename.ArrayStack;
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.factories.RandomLengthTestFactory;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.Randomness;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed SUT and random (but seeded) tests shared by the benchmarks of the
+ * search. The SUT is {@link ArrayStack} from the test classes of the client
+ * module, whose test cluster is small enough to make the setup fast, but has
+ * enough methods and branches to produce realistic tests and traces.
+ */
+public final class SearchFixture {
+
+    public static final String SUT = ArrayStack.class.getName();
+
+    public static final long SEED = 42;
+
+    private SearchFixture() {
+    }
+
+    /**
+     * Reset the properties, instrument the SUT and build its test cluster.
+     * The criterion is branch coverage.
+     */
+    public static void setUp() throws ClassNotFoundException {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        Properties.TARGET_CLASS = SUT;
+        Properties.CRITERION = new Criterion[]{Criterion.BRANCH};
+        Randomness.setSeed(SEED);
+        TestGenerationContext.getInstance().resetContext();
+
+        String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        DependencyAnalysis.analyzeClass(SUT, Arrays.asList(cp.split(File.pathSeparator)));
+        TestCaseExecutor.initExecutor();
+    }
+
+    public static void tearDown() {
+        TestCaseExecutor.pullDown();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    /**
+     * @param size number of tests
+     * @return random tests on the SUT, which are always the same for a given
+     * size as the seed is reset first
+     */
+    public static List<TestChromosome> getRandomTests(int size) {
+        Randomness.setSeed(SEED);
+        RandomLengthTestFactory factory = new RandomLengthTestFactory();
+        List<TestChromosome> tests = new ArrayList<>();
+        while (tests.size() < size) {
+            TestChromosome test = factory.getChromosome();
+            if (test.size() > 0)
+                tests.add(test);
+        }
+        return tests;
+    }
+
+    public static TestSuiteChromosome getRandomSuite(int size) {
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        for (TestChromosome test : getRandomTests(size)) {
+            suite.addTest(test);
+        }
+        return suite;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.ga.ConstructionFailedException;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestCodeVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations of the search on single tests: cloning, mutation, crossover and
+ * generation of the JUnit code. Each invocation works on the next test of a
+ * fixed set of random tests of {@link SearchFixture#SUT}.
+ * <p>
+ * Mutation and crossover work on a clone, so that the set of tests does not
+ * change across invocations: {@link #cloneTestChromosome} gives the cost to
+ * subtract.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TestCaseBenchmark {
+
+    private static final int NUMBER_OF_TESTS = 50;
+
+    private List<TestChromosome> tests;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ClassNotFoundException {
+        SearchFixture.setUp();
+        tests = SearchFixture.getRandomTests(NUMBER_OF_TESTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SearchFixture.tearDown();
+    }
+
+    private TestChromosome next() {
+        index = (index + 1) % tests.size();
+        return tests.get(index);
+    }
+
+    @Benchmark
+    public TestCase cloneTestCase() {
+        return next().getTestCase().clone();
+    }
+
+    @Benchmark
+    public TestChromosome cloneTestChromosome() {
+        return next().clone();
+    }
+
+    @Benchmark
+    public TestChromosome mutate() {
+        TestChromosome test = next().clone();
+        test.mutate();
+        return test;
+    }
+
+    @Benchmark
+    public TestChromosome crossOver() throws ConstructionFailedException {
+        TestChromosome test = next().clone();
+        TestChromosome other = next();
+        test.crossOver(other, test.size() / 2, other.size() / 2);
+        return test;
+    }
+
+    @Benchmark
+    public String generateCode() {
+        TestCodeVisitor visitor = new TestCodeVisitor();
+        next().getTestCase().accept(visitor);
+        return visitor.getCode();
+    }
+}
@@ -21,17 +21,23 @@
 package org.evosuite;
 
 import org.evosuite.classpath.ClassPathHacker;
+import org.evosuite.classpath.ResourceList;
+import org.evosuite.ga.stoppingconditions.RMIStoppingCondition;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.result.TestGenerationResultBuilder;
 import org.evosuite.rmi.ClientServices;
+import org.evosuite.rmi.service.ClientNodeLocal;
 import org.evosuite.rmi.service.MasterNodeRemote;
+import org.evosuite.runtime.LoopCounter;
 import org.evosuite.runtime.RuntimeSettings;
 import org.evosuite.runtime.classhandling.JDKClassResetter;
 import org.evosuite.runtime.instrumentation.MethodCallReplacementCache;
 import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.runtime.sandbox.MSecurityManager;
+import org.evosuite.runtime.sandbox.PermissionStatistics;
 import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.SpawnProcessKeepAliveChecker;
@@ -100,7 +106,11 @@ public class ClientProcess {
          * The master will control this node directly.
          */
 
-        ClientServices.getInstance().getClientNode().waitUntilDone();
+        ClientNodeLocal<?> node = ClientServices.getInstance().getClientNode();
+        node.waitUntilDone();
+        while (isReusable() && node.waitForNextTarget()) {
+            node.waitUntilDone();
+        }
         ClientServices.getInstance().stopServices();
         SpawnProcessKeepAliveChecker.getInstance().unRegister();
     }
@@ -147,6 +157,43 @@ public class ClientProcess {
     }
 
 
+    /**
+     * Whether this client process can be reused by the master for other target classes
+     * once it is done with the current one. This is only the case for a single client
+     * running on its own JVM.
+     */
+    public static boolean isReusable() {
+        return Properties.CLIENT_REUSE > 1 && Properties.NUM_PARALLEL_CLIENTS == 1
+                && !Properties.CLIENT_ON_THREAD && !Properties.DEBUG;
+    }
+
+    /**
+     * Bring this client process back to the state of a freshly started one, before
+     * generating tests for a new target class. All the state depending on the previous target
+     * (properties, SUT classloader, test cluster, archive, pools, ...) is discarded,
+     * whereas what only depends on the classpath (eg, the cache of the classpath resources) is kept.
+     *
+     * @param targetClass the new target class
+     */
+    public static void resetForNewTarget(String targetClass) {
+        System.setProperty("TARGET_CLASS", targetClass);
+        Properties.getInstance().reload();
+        setupRuntimeProperties();
+
+        ClassLoader oldClassLoader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+        TestGenerationContext.getInstance().resetContext();
+        ResourceList.replaceClassLoader(oldClassLoader, TestGenerationContext.getInstance().getClassLoaderForSUT());
+
+        ClassReInitializer.resetSingleton();
+        TimeController.resetSingleton();
+        RMIStoppingCondition.getInstance().reset();
+        LoopCounter.getInstance().reset();
+        PermissionStatistics.getInstance().reset();
+        if (Properties.RANDOM_SEED != null) {
+            Randomness.setSeed(Properties.RANDOM_SEED);
+        }
+    }
+
     /**
      * Returns the client's identifier.
      */
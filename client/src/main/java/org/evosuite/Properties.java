@@ -505,6 +505,17 @@ public class Properties {
     @Parameter(key = "cvc4_path", group = "DSE", description = "Indicates the path to the CVC4 solver")
     public static String CVC4_PATH = null;
 
+    @Parameter(key = "dse_incremental_solver", group = "DSE", description = "Keep the external solver processes alive between queries, and only send the assertions that are not shared with the previous query (using push/pop)")
+    public static boolean DSE_INCREMENTAL_SOLVER = false;
+
+    @Parameter(key = "dse_solver_sessions", group = "DSE", description = "Maximum number of idle external solver processes kept alive if dse_incremental_solver is enabled")
+    @IntValue(min = 1)
+    public static int DSE_SOLVER_SESSIONS = 2;
+
+    @Parameter(key = "dse_solver_cache_size", group = "DSE", description = "Maximum total size (in expression nodes) of the constraints kept in the solver cache, least recently used queries are evicted first")
+    @LongValue(min = 1)
+    public static long DSE_SOLVER_CACHE_SIZE = 1_000_000;
+
     public enum DSEStoppingConditionCriterion {
         TARGETCOVERAGE,
         MAXTIME,
@@ -926,6 +937,9 @@ public class Properties {
     @Parameter(key = "ctg_project_info", group = "Continuous Test Generation", description = "XML file which stores stats about all CTG executions")
     public static String CTG_PROJECT_INFO = "project_info.xml";
 
+    @Parameter(key = "ctg_project_analysis", group = "Continuous Test Generation", description = "File which stores the static data of the classes analyzed in previous CTG executions, to analyze again only the changed ones")
+    public static String CTG_PROJECT_ANALYSIS = "project_analysis.txt";
+
     @Parameter(key = "ctg_history_file", group = "Continuous Test Generation", description = "File with the list of new(A)/modified(M)/deleted(D) files")
     public static String CTG_HISTORY_FILE = null;
 
@@ -1166,6 +1180,9 @@ public class Properties {
     @Parameter(key = "max_mutants_per_test", group = "Output", description = "How many mutants to use when trying to find assertions for a test")
     public static int MAX_MUTANTS_PER_TEST = 100;
 
+    @Parameter(key = "parallel_mutant_execution", group = "Output", description = "Execute a test on its mutants on the num_execution_workers workers when generating assertions. Only used if the workers are used (see num_execution_workers), as mutants sharing state could be killed by the side effects of other mutants")
+    public static boolean PARALLEL_MUTANT_EXECUTION = false;
+
     @Parameter(key = "max_mutants_per_method", group = "Output", description = "How many mutants can be inserted into a single method")
     public static int MAX_MUTANTS_PER_METHOD = 700;
 
@@ -1340,6 +1357,9 @@ public class Properties {
     @Parameter(key = "instrument_libraries", description = "Instrument the libraries used by the project under test")
     public static boolean INSTRUMENT_LIBRARIES = false;
 
+    @Parameter(key = "instrumentation_cache_dir", description = "Directory of a persistent cache of instrumented bytecode, shared across runs. Only classes whose instrumentation does not depend on the coverage goals are cached. Empty to disable the cache")
+    public static String INSTRUMENTATION_CACHE_DIR = "";
+
     @Parameter(key = "break_on_exception", description = "Stop test execution if exception occurrs")
     public static boolean BREAK_ON_EXCEPTION = true;
 
@@ -1461,12 +1481,19 @@ public class Properties {
     @Parameter(key = "concolic_timeout", group = "Test Execution", description = "Milliseconds allowed per test during concolic execution")
     public static int CONCOLIC_TIMEOUT = 15000;
 
+    @Parameter(key = "num_execution_workers", group = "Test Execution", description = "Number of workers executing the tests of a population in parallel (1 to execute sequentially). Only used if reset_static_fields, virtual_fs, virtual_net, replace_calls, replace_system_in and replace_gui are all disabled, as parallel tests would share that state")
+    @IntValue(min = 1)
+    public static int NUM_EXECUTION_WORKERS = 1;
+
     @Parameter(key = "shutdown_timeout", group = "Test Execution", description = "Milliseconds grace time to shut down test cleanly")
     public static int SHUTDOWN_TIMEOUT = 1000;
 
     @Parameter(key = "mutation_timeouts", group = "Test Execution", description = "Number of timeouts before we consider a mutant killed")
     public static int MUTATION_TIMEOUTS = 3;
 
+    @Parameter(key = "batch_infected_mutants", group = "Test Execution", description = "Execute a test on all the mutants it infects as one batch, rather than once per mutant fitness evaluation. Each mutant execution runs the whole test. The batch runs on the num_execution_workers workers if they can be used")
+    public static boolean BATCH_INFECTED_MUTANTS = false;
+
     @Parameter(key = "array_limit", group = "Test Execution", description = "Hard limit on array allocation in the code")
     public static int ARRAY_LIMIT = 1000000;
 
@@ -1492,6 +1519,9 @@ public class Properties {
     @Parameter(key = "max_loop_iterations", group = "Test Execution", description = "Max number of iterations allowed per loop. A negative value means no check is done.")
     public static long MAX_LOOP_ITERATIONS = RuntimeSettings.maxNumberOfIterationsPerLoop;
 
+    @Parameter(key = "loop_profile", group = "Test Execution", description = "If not empty, write to this CSV file how many iterations each instrumented loop executed during the search, to tune max_loop_iterations")
+    public static String LOOP_PROFILE = "";
+
     // ---------------------------------------------------------------
     // Debugging
 
@@ -1652,6 +1682,10 @@ public class Properties {
     public static volatile boolean CLIENT_ON_THREAD = false;
 
 
+    @Parameter(key = "client_reuse", group = "Runtime", description = "Number of target classes a client process generates tests for before it is replaced by a new one. Reusing the client avoids starting and warming up a new JVM for each class. Only used with a single client running on its own process")
+    public static int CLIENT_REUSE = 1;
+
+
     @Parameter(key = "is_running_a_system_test", group = "Runtime", description = "Specify that a system test is running. To be used only for debugging purposes")
     public static volatile boolean IS_RUNNING_A_SYSTEM_TEST = false;
 
@@ -2501,6 +2535,19 @@ public class Properties {
         }
     }
 
+    /**
+     * Reset all the properties, and load them again from the properties file and
+     * the system properties. This is used when a client process is reused for a new
+     * target class, given in the system properties.
+     */
+    public void reload() {
+        resetToDefaults();
+        instance.loadProperties(true);
+        CLASS_PREFIX = "";
+        SUB_PREFIX = "";
+        setClassPrefix();
+    }
+
     /**
      * Checks whether the current generation strategy is DSE.
      *
@@ -49,6 +49,7 @@ import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.StatisticsSender;
 import org.evosuite.strategy.TestGenerationStrategy;
 import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.symbolic.solver.SmtSolverSessionPool;
 import org.evosuite.testcase.*;
 import org.evosuite.testcase.execution.*;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
@@ -68,7 +69,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.NumberFormat;
 import java.util.*;
 
@@ -128,6 +132,7 @@ public class TestSuiteGenerator {
 
         // Deactivate loop counter to make sure classes initialize properly
         LoopCounter.getInstance().setActive(false);
+        LoopCounter.getInstance().setProfiling(!Properties.LOOP_PROFILE.isEmpty());
         ExceptionMapGenerator.initializeExceptionMap(Properties.TARGET_CLASS);
 
         TestCaseExecutor.initExecutor();
@@ -206,6 +211,7 @@ public class TestSuiteGenerator {
         }
 
         TestSuiteChromosome testCases = generateTests();
+        writeLoopProfile();
 
         // As post process phases such as minimisation, coverage analysis, etc., may call getFitness()
         // of each fitness function, which may try to update the Archive, in here we explicitly disable
@@ -465,6 +471,8 @@ public class TestSuiteGenerator {
         if (ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE) && Properties.ANALYSIS_CRITERIA.isEmpty())
             DefUseCoverageSuiteFitness.printCoverage();
 
+        // the search is over, no more queries to the external solvers
+        SmtSolverSessionPool.pullDown();
         DSEStatistics.getInstance().trackStatistics();
 
         if (Properties.isDSEEnabledInLocalSearch() || Properties.isDSEStrategySelected()) {
@@ -713,6 +721,26 @@ public class TestSuiteGenerator {
         }
     }
 
+    private void writeLoopProfile() {
+        if (Properties.LOOP_PROFILE.isEmpty())
+            return;
+
+        List<String> lines = new ArrayList<>();
+        lines.add("class,method,index,executions,total_iterations,max_iterations");
+        for (LoopCounter.LoopProfile loop : LoopCounter.getInstance().getProfile()) {
+            lines.add(loop.getClassName() + ",\"" + loop.getMethodName() + "\"," + loop.getIndex() + ","
+                    + loop.getExecutions() + "," + loop.getTotalIterations() + "," + loop.getMaxIterations());
+        }
+        File file = new File(Properties.LOOP_PROFILE);
+        try {
+            Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+            LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Writing loop profile to "
+                    + file.getAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Cannot write loop profile to {}: {}", file, e.getMessage());
+        }
+    }
+
     private void writeObjectPool(TestSuiteChromosome suite) {
         if (!Properties.WRITE_POOL.isEmpty()) {
             LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Writing sequences to pool");
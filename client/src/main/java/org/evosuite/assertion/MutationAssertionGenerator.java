@@ -22,6 +22,8 @@ package org.evosuite.assertion;
 import org.evosuite.Properties;
 import org.evosuite.Properties.Criterion;
 import org.evosuite.TestGenerationContext;
+import org.evosuite.TimeController;
+import org.evosuite.coverage.mutation.MutantExecutionOnWorkers;
 import org.evosuite.coverage.mutation.Mutation;
 import org.evosuite.coverage.mutation.MutationObserver;
 import org.evosuite.coverage.mutation.MutationPool;
@@ -31,6 +33,7 @@ import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.evosuite.testcase.statements.FieldStatement;
@@ -158,6 +161,49 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
         return result;
     }
 
+    /**
+     * Execute a test case on a list of mutants. If parallel mutant execution is
+     * enabled, and the executions cannot affect each other through shared state
+     * (see {@link TestCaseExecutorPool#hasWorkers()}), they are distributed over the
+     * workers of the {@link TestCaseExecutorPool}, each one collecting its traces
+     * with its own observers. Otherwise, the mutants are executed one after the
+     * other until the time for assertion generation is over.
+     *
+     * @param test    The test case that should be executed
+     * @param mutants The mutants on which the test case shall be executed
+     * @return the results of the executions, in the same order as the mutants
+     */
+    protected Map<Mutation, ExecutionResult> runTestOnMutants(TestCase test, List<Mutation> mutants) {
+        Map<Mutation, ExecutionResult> results = new LinkedHashMap<>();
+        if (!Properties.PARALLEL_MUTANT_EXECUTION || !TestCaseExecutorPool.hasWorkers() || mutants.size() < 2) {
+            for (Mutation mutant : mutants) {
+                if (!TimeController.getInstance().isThereStillTimeInThisPhase()) {
+                    logger.info("Reached maximum time to generate assertions!");
+                    break;
+                }
+                logger.debug("Running test on mutation {}", mutant.getMutationName());
+                results.put(mutant, runTest(test, mutant));
+            }
+            return results;
+        }
+
+        logger.debug("Running test on {} mutations in parallel", mutants.size());
+        // same order as observerClasses
+        List<ExecutionResult> mutantResults = MutantExecutionOnWorkers.runTestOnMutants(test, mutants,
+                () -> Arrays.asList(new PrimitiveTraceObserver(), new ComparisonTraceObserver(),
+                        new SameTraceObserver(), new InspectorTraceObserver(), new PrimitiveFieldTraceObserver(),
+                        new NullTraceObserver(), new ArrayTraceObserver(), new ArrayLengthObserver(),
+                        new ContainsTraceObserver()),
+                observerClasses);
+        if (mutantResults == null)
+            return results;
+
+        for (int i = 0; i < mutants.size(); i++) {
+            results.put(mutants.get(i), mutantResults.get(i));
+        }
+        return results;
+    }
+
     protected Criterion[] oldCriterion = Properties.CRITERION;
 
     /**
@@ -218,35 +264,56 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
     }
 
     /**
-     * @param test
-     * @param mutation_traces
-     * @param executedMutants
-     * @return
+     * Build the kill map of a test, i.e., which of the executed mutants are
+     * detected by each assertion, from the traces collected while executing the
+     * mutants. Assertions are also updated with the mutants they kill.
+     *
+     * @param assertions      the assertions that can be generated for the test case
+     * @param mutation_traces the output traces of each executed mutant
+     * @param executedMutants the executed mutants
+     * @return the ids of the mutants killed by each assertion, indexed by the
+     * position of the assertion
      */
-    protected int getNumKilledMutants(TestCase test, Map<Mutation, List<OutputTrace<?>>> mutation_traces,
-                                      List<Mutation> executedMutants) {
-        List<Assertion> assertions;
-        Set<Integer> killed = new HashSet<>();
-        assertions = test.getAssertions();
-        for (Assertion assertion : assertions) {
+    protected Map<Integer, Set<Integer>> getKillMap(List<Assertion> assertions,
+                                                    Map<Mutation, List<OutputTrace<?>>> mutation_traces,
+                                                    List<Mutation> executedMutants) {
+        Map<Integer, Set<Integer>> killMap = new HashMap<>();
+        for (int num = 0; num < assertions.size(); num++) {
+            Assertion assertion = assertions.get(num);
+            Set<Integer> killedMutations = new HashSet<>();
             for (Mutation m : executedMutants) {
-
-                boolean isKilled = false;
-                if (mutation_traces.containsKey(m)) {
-                    int i = 0;
-                    for (OutputTrace<?> trace : mutation_traces.get(m)) {
-                        isKilled = trace.isDetectedBy(assertion);
-                        if (isKilled) {
-                            logger.debug("Mutation killed: " + m.getId() + " by trace " + i++);
-                            killed.add(m.getId());
-                            break;
-                        }
-                        i++;
+                List<OutputTrace<?>> traces = mutation_traces.get(m);
+                if (traces == null)
+                    continue;
+                for (OutputTrace<?> trace : traces) {
+                    if (trace.isDetectedBy(assertion)) {
+                        killedMutations.add(m.getId());
+                        assertion.addKilledMutation(m);
+                        break;
                     }
-                } else {
-                    isKilled = true;
                 }
             }
+            killMap.put(num, killedMutations);
+        }
+        return killMap;
+    }
+
+    /**
+     * Count the mutants killed by the assertions currently in the test, without
+     * evaluating the traces again
+     *
+     * @param test       the test case
+     * @param assertions the assertions the kill map was built for
+     * @param killMap    the kill map built by {@link #getKillMap(List, Map, List)}
+     * @return the number of killed mutants
+     */
+    protected int getNumKilledMutants(TestCase test, List<Assertion> assertions, Map<Integer, Set<Integer>> killMap) {
+        Set<Assertion> current = new HashSet<>(test.getAssertions());
+        Set<Integer> killed = new HashSet<>();
+        for (int num = 0; num < assertions.size(); num++) {
+            if (current.contains(assertions.get(num))) {
+                killed.addAll(killMap.get(num));
+            }
         }
         logger.debug("Killed mutants: " + killed);
         return killed.size();
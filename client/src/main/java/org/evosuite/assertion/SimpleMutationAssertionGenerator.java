@@ -138,6 +138,9 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
             if (!mutants.containsKey(mutationId)) {
                 //logger.warn("Mutation ID unknown: " + mutationId);
                 //logger.warn(mutants.keySet().toString());
+            } else if (origResult.getTrace().getMutationDistance(mutationId) > 0.0) {
+                // The mutation is reached but never infects the state, so it cannot change any output
+                logger.debug("Skipping mutant that is not infected: {}", mutationId);
             } else
                 executedMutants.add(mutants.get(mutationId));
         }
@@ -146,6 +149,7 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
         logger.debug("Executed mutants: " + origResult.getTrace().getTouchedMutants());
 
         int numExecutedMutants = 0;
+        List<Mutation> mutantsToRun = new ArrayList<>();
         for (Mutation m : executedMutants) {
 
             numExecutedMutants++;
@@ -184,8 +188,12 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 			}
 			*/
 
-            logger.debug("Running test on mutation {}", m.getMutationName());
-            ExecutionResult mutantResult = runTest(test, m);
+            mutantsToRun.add(m);
+        }
+
+        for (Entry<Mutation, ExecutionResult> entry : runTestOnMutants(test, mutantsToRun).entrySet()) {
+            Mutation m = entry.getKey();
+            ExecutionResult mutantResult = entry.getValue();
 
             int numKilled = 0;
             for (Class<?> observerClass : observerClasses) {
@@ -229,38 +237,16 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 
         List<Assertion> assertions = test.getAssertions();
         logger.info("Got " + assertions.size() + " assertions");
-        Map<Integer, Set<Integer>> killMap = new HashMap<>();
-        int num = 0;
-        for (Assertion assertion : assertions) {
-            Set<Integer> killedMutations = new HashSet<>();
-            for (Mutation m : executedMutants) {
-
-                boolean isKilled = false;
-                if (mutationTraces.containsKey(m)) {
-                    for (OutputTrace<?> trace : mutationTraces.get(m)) {
-                        if (trace.isDetectedBy(assertion)) {
-                            isKilled = true;
-                            break;
-                        }
-                    }
-                }
-                if (isKilled) {
-                    killedMutations.add(m.getId());
-                    assertion.addKilledMutation(m);
-                }
-            }
-            killMap.put(num, killedMutations);
-            //logger.info("Assertion " + num + " kills mutants " + killedMutations);
-            num++;
-        }
+        // The kill map is computed once, minimization and the checks below only use it
+        Map<Integer, Set<Integer>> killMap = getKillMap(assertions, mutationTraces, executedMutants);
 
-        int killedBefore = getNumKilledMutants(test, mutationTraces, executedMutants);
+        int killedBefore = getNumKilledMutants(test, assertions, killMap);
 
         logger.debug("Need to kill mutants: " + killedBefore);
         logger.debug(killMap.toString());
         minimize(test, executedMutants, assertions, killMap);
 
-        int killedAfter = getNumKilledMutants(test, mutationTraces, executedMutants);
+        int killedAfter = getNumKilledMutants(test, assertions, killMap);
 
         int s2 = killed.size() - s1;
         assert (killedBefore == killedAfter) : "Mutants killed before / after / should be: "
@@ -161,6 +161,22 @@ public class ResourceList {
         instanceMap.clear();
     }
 
+    /**
+     * The SUT classloader has been replaced by a new one, but the classpath has not changed.
+     * The cache of the old classloader is moved to the new one, and the old classloader is
+     * released.
+     *
+     * @param oldClassLoader
+     * @param newClassLoader
+     */
+    public static void replaceClassLoader(ClassLoader oldClassLoader, ClassLoader newClassLoader) {
+        ResourceList old = instanceMap.remove(oldClassLoader);
+        if (old == null || oldClassLoader == newClassLoader) {
+            return;
+        }
+        getInstance(newClassLoader).cache = old.cache;
+    }
+
 
     /**
      * is the target class among the ones in the SUT classpath?
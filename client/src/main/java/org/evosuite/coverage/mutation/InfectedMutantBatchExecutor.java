@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.assertion.ArrayLengthObserver;
+import org.evosuite.assertion.ArrayTraceObserver;
+import org.evosuite.assertion.ComparisonTraceObserver;
+import org.evosuite.assertion.InspectorTraceObserver;
+import org.evosuite.assertion.NullTraceObserver;
+import org.evosuite.assertion.PrimitiveFieldTraceObserver;
+import org.evosuite.assertion.PrimitiveTraceObserver;
+import org.evosuite.ga.archive.Archive;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Executes a test on all the mutants it infects as one batch (see
+ * {@link Properties#BATCH_INFECTED_MUTANTS}).
+ * <p>
+ * The unmutated execution of the test tells which mutants are reached and
+ * infected, and its output traces are the reference all the mutant executions
+ * are compared with. Mutants that are not infected cannot be killed, so they
+ * are never executed. Each infected mutant is executed once, from the start of
+ * the test, and in parallel on the execution workers if they can be used. The
+ * {@link MutationExecutionResult} of each mutant is cached on the test, where
+ * the fitness functions of the mutants find it.
+ */
+public final class InfectedMutantBatchExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(InfectedMutantBatchExecutor.class);
+
+    private InfectedMutantBatchExecutor() {
+        // only static methods
+    }
+
+    /**
+     * Execute the test on the candidate mutants it infects and that have no
+     * cached result yet
+     *
+     * @param test       the test to execute
+     * @param result     the result of the test on the original code
+     * @param candidates the mutants of interest
+     */
+    public static void executeInfectedMutants(TestChromosome test, ExecutionResult result,
+                                              Collection<Mutation> candidates) {
+        // Using private reflection can lead to false positives, see StrongMutationSuiteFitness
+        if (result.calledReflection())
+            return;
+
+        Map<Integer, Double> distances = result.getTrace().getMutationDistances();
+        List<Mutation> mutants = new ArrayList<>();
+        for (Mutation mutant : candidates) {
+            Double distance = distances.get(mutant.getId());
+            if (distance == null || distance > 0.0)
+                continue;
+            if (test.getLastExecutionResult(mutant) != null)
+                continue;
+            if (MutationTimeoutStoppingCondition.isDisabled(mutant))
+                continue;
+            mutants.add(mutant);
+        }
+        if (mutants.isEmpty())
+            return;
+
+        // the traces of the unmutated execution are computed once for all the mutants
+        StrongMutationTestFitness.ensureExecutionResultHasTraces(test, result);
+
+        logger.debug("Executing test on {} infected mutants", mutants.size());
+        List<ExecutionResult> mutantResults = runTestOnMutants(test.getTestCase(), mutants);
+        if (mutantResults == null)
+            return;
+
+        for (int i = 0; i < mutants.size(); i++) {
+            Mutation mutant = mutants.get(i);
+            test.setLastExecutionResult(StrongMutationTestFitness.getMutationResult(mutant, result,
+                    mutantResults.get(i)), mutant);
+        }
+    }
+
+    /**
+     * @param mutation a mutant
+     * @return the mutants in the same method that are not covered yet according
+     * to the archive, including the given one
+     */
+    public static List<Mutation> getUncoveredMutantsInMethod(Mutation mutation) {
+        List<Mutation> mutants = MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
+                .retrieveMutationsInMethod(mutation.getClassName(), mutation.getMethodName());
+        if (!Properties.TEST_ARCHIVE)
+            return mutants;
+
+        Set<Integer> covered = new HashSet<>();
+        for (TestFitnessFunction goal : Archive.getArchiveInstance().getCoveredTargets()) {
+            if (goal instanceof MutationTestFitness) {
+                covered.add(((MutationTestFitness) goal).getMutation().getId());
+            }
+        }
+        mutants.removeIf(mutant -> mutant.getId() != mutation.getId() && covered.contains(mutant.getId()));
+        return mutants;
+    }
+
+    private static List<ExecutionResult> runTestOnMutants(TestCase test, List<Mutation> mutants) {
+        if (!TestCaseExecutorPool.hasWorkers() || mutants.size() < 2) {
+            List<ExecutionResult> results = new ArrayList<>(mutants.size());
+            for (Mutation mutant : mutants) {
+                results.add(StrongMutationTestFitness.runTest(test, mutant));
+            }
+            return results;
+        }
+
+        // same order as StrongMutationTestFitness.observerClasses
+        return MutantExecutionOnWorkers.runTestOnMutants(test, mutants, () -> Arrays.asList(
+                new PrimitiveTraceObserver(), new ComparisonTraceObserver(), new InspectorTraceObserver(),
+                new PrimitiveFieldTraceObserver(), new NullTraceObserver(), new ArrayTraceObserver(),
+                new ArrayLengthObserver()), StrongMutationTestFitness.observerClasses);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import org.evosuite.assertion.AssertionTraceObserver;
+import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.execution.ExecutionObserver;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Executes a test on several mutants at the same time, on the workers of the
+ * {@link TestCaseExecutorPool}. Each execution collects its traces with its own
+ * observers, so that the executions do not share any trace.
+ * <p>
+ * The pool only runs executions in parallel if they cannot affect each other
+ * (see {@link TestCaseExecutorPool#hasWorkers()}), which callers have to check first.
+ */
+public final class MutantExecutionOnWorkers {
+
+    private MutantExecutionOnWorkers() {
+        // only static methods
+    }
+
+    /**
+     * Execute the test on each of the given mutants
+     *
+     * @param test         the test to execute
+     * @param mutants      the mutants to execute the test on
+     * @param observers    creates the trace observers of one execution
+     * @param traceClasses the class under which the trace of each observer is
+     *                     stored in the result, in the same order as the observers
+     * @return the results of the executions, in the same order as the mutants,
+     * or null if the execution was interrupted
+     */
+    public static List<ExecutionResult> runTestOnMutants(TestCase test, List<Mutation> mutants,
+                                                         Supplier<List<? extends AssertionTraceObserver<?>>> observers,
+                                                         Class<?>[] traceClasses) {
+        List<Callable<ExecutionResult>> tasks = new ArrayList<>(mutants.size());
+        for (Mutation mutant : mutants) {
+            tasks.add(() -> runTestOnWorker(test, mutant, observers.get(), traceClasses));
+        }
+        List<ExecutionResult> results = TestCaseExecutorPool.getInstance().executeOnWorkers(tasks);
+        if (results == null)
+            return null;
+
+        for (ExecutionResult result : results) {
+            int num = test.size();
+            if (!result.noThrownExceptions()) {
+                num = result.getFirstPositionOfThrownException();
+            }
+            MaxStatementsStoppingCondition.statementsExecuted(num);
+        }
+        return results;
+    }
+
+    /**
+     * Execute a test case on a mutant, on the worker bound to the current thread.
+     * The observers of the worker are replaced by the given trace observers for
+     * the duration of the execution.
+     */
+    private static ExecutionResult runTestOnWorker(TestCase test, Mutation mutant,
+                                                   List<? extends AssertionTraceObserver<?>> observers,
+                                                   Class<?>[] traceClasses) {
+        TestCaseExecutor executor = TestCaseExecutor.getInstance();
+        Set<ExecutionObserver> previousObservers = executor.getExecutionObservers();
+
+        executor.newObservers();
+        for (AssertionTraceObserver<?> observer : observers) {
+            executor.addObserver(observer);
+        }
+
+        ExecutionResult result;
+        MutationObserver.activateMutation(mutant);
+        try {
+            result = executor.execute(test);
+        } finally {
+            MutationObserver.deactivateMutation(mutant);
+            executor.setExecutionObservers(previousObservers);
+        }
+
+        for (int i = 0; i < observers.size(); i++) {
+            result.setTrace(observers.get(i).getTrace(), traceClasses[i]);
+        }
+        return result;
+    }
+}
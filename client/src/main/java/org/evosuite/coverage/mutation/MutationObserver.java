@@ -32,6 +32,74 @@ public class MutationObserver {
      */
     public static int activeMutation = -1;
 
+    /**
+     * Mutation activated on the threads of an isolated execution worker, see
+     * {@link #bindToCurrentThread(ActiveMutation)}
+     */
+    public static final class ActiveMutation {
+        private volatile int id = -1;
+    }
+
+    private static final ThreadLocal<ActiveMutation> boundMutation = new ThreadLocal<>();
+
+    /**
+     * Avoids the thread local lookup in the mutated code as long as no worker is active
+     */
+    private static volatile boolean hasBoundMutations = false;
+
+    /**
+     * Make the calling thread activate and execute the mutations of the given
+     * worker, rather than the one shared by the JVM. Both the thread driving
+     * the execution and the thread running the test are to be bound to the
+     * same object.
+     *
+     * @param mutation the active mutation of an isolated execution worker
+     */
+    public static void bindToCurrentThread(ActiveMutation mutation) {
+        hasBoundMutations = true;
+        boundMutation.set(mutation);
+    }
+
+    /**
+     * Revert the calling thread to the shared active mutation
+     */
+    public static void unbindFromCurrentThread() {
+        boundMutation.remove();
+    }
+
+    /**
+     * Called once no worker is left: the mutated code can go back to skipping
+     * the thread local lookup
+     */
+    public static void unbindAllThreads() {
+        hasBoundMutations = false;
+    }
+
+    /**
+     * Called by the instrumented code to decide which mutation to execute
+     *
+     * @return the id of the mutation active on the calling thread, or -1
+     */
+    public static int getActiveMutation() {
+        if (hasBoundMutations) {
+            ActiveMutation mutation = boundMutation.get();
+            if (mutation != null)
+                return mutation.id;
+        }
+        return activeMutation;
+    }
+
+    private static void setActiveMutation(int id) {
+        if (hasBoundMutations) {
+            ActiveMutation mutation = boundMutation.get();
+            if (mutation != null) {
+                mutation.id = id;
+                return;
+            }
+        }
+        activeMutation = id;
+    }
+
     /**
      * <p>mutationTouched</p>
      *
@@ -48,7 +116,7 @@ public class MutationObserver {
      */
     public static void activateMutation(Mutation mutation) {
         if (mutation != null)
-            activeMutation = mutation.getId();
+            setActiveMutation(mutation.getId());
     }
 
     /**
@@ -57,14 +125,14 @@ public class MutationObserver {
      * @param id a int.
      */
     public static void activateMutation(int id) {
-        activeMutation = id;
+        setActiveMutation(id);
     }
 
     /**
      * <p>deactivateMutation</p>
      */
     public static void deactivateMutation() {
-        activeMutation = -1;
+        setActiveMutation(-1);
     }
 
     /**
@@ -73,7 +141,7 @@ public class MutationObserver {
      * @param mutation a {@link org.evosuite.coverage.mutation.Mutation} object.
      */
     public static void deactivateMutation(Mutation mutation) {
-        activeMutation = -1;
+        setActiveMutation(-1);
     }
 
 }
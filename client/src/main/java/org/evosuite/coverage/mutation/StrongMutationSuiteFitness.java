@@ -146,6 +146,16 @@ public class StrongMutationSuiteFitness extends MutationSuiteFitness {
                 continue;
             }
 
+            if (Properties.BATCH_INFECTED_MUTANTS) {
+                List<Mutation> infectedMutants = new ArrayList<>();
+                for (final Entry<Integer, MutationTestFitness> entry : this.mutantMap.entrySet()) {
+                    if (!newKilled.contains(entry.getKey()) && touchedMutantsDistances.containsKey(entry.getKey())) {
+                        infectedMutants.add(entry.getValue().getMutation());
+                    }
+                }
+                InfectedMutantBatchExecutor.executeInfectedMutants(test, result, infectedMutants);
+            }
+
             for (final Entry<Integer, MutationTestFitness> entry : this.mutantMap.entrySet()) {
                 int mutantID = entry.getKey();
                 if (newKilled.contains(mutantID)) {
@@ -124,8 +124,16 @@ public class StrongMutationTestFitness extends MutationTestFitness {
         return result;
     }
 
-    private MutationExecutionResult getMutationResult(ExecutionResult originalResult,
-                                                      ExecutionResult mutationResult) {
+    /**
+     * Compare the execution of a test on a mutant with the unmutated execution
+     *
+     * @param mutation       the mutant the test was executed on
+     * @param originalResult the result of the test on the original code, with traces
+     * @param mutationResult the result of the test on the mutant, with traces
+     * @return the summary of the differences between the two executions
+     */
+    static MutationExecutionResult getMutationResult(Mutation mutation, ExecutionResult originalResult,
+                                                     ExecutionResult mutationResult) {
 
         MutationExecutionResult result = new MutationExecutionResult();
 
@@ -150,7 +158,7 @@ public class StrongMutationTestFitness extends MutationTestFitness {
         return result;
     }
 
-    private Set<String> getDifference(
+    private static Set<String> getDifference(
             Map<String, Map<String, Map<Integer, Integer>>> orig,
             Map<String, Map<String, Map<Integer, Integer>>> mutant) {
         Map<String, Set<String>> handled = new HashMap<>();
@@ -215,7 +223,7 @@ public class StrongMutationTestFitness extends MutationTestFitness {
      * @param mutant
      * @return unique number of methods with coverage difference
      */
-    private int getCoverageDifference(
+    private static int getCoverageDifference(
             Map<String, Map<String, Map<Integer, Integer>>> orig,
             Map<String, Map<String, Map<Integer, Integer>>> mutant) {
         Set<String> differ = getDifference(orig, mutant);
@@ -223,7 +231,7 @@ public class StrongMutationTestFitness extends MutationTestFitness {
         return differ.size();
     }
 
-    private double getSumDistance(ExecutionTrace orig_trace, ExecutionTrace mutant_trace) {
+    private static double getSumDistance(ExecutionTrace orig_trace, ExecutionTrace mutant_trace) {
 
         // TODO: Also sum up differences in branch distances as part of impact!
 
@@ -258,7 +266,7 @@ public class StrongMutationTestFitness extends MutationTestFitness {
         return normalize(coverage_impact) + normalize(data_impact) + branch_impact;
     }
 
-    private int getNumAssertions(ExecutionResult origResult,
+    private static int getNumAssertions(ExecutionResult origResult,
                                  ExecutionResult mutant_result) {
         int num = 0;
         if (origResult.test.size() == 0) {
@@ -284,9 +292,9 @@ public class StrongMutationTestFitness extends MutationTestFitness {
         return num;
     }
 
-    private void ensureExecutionResultHasTraces(TestChromosome individual, ExecutionResult result) {
+    static void ensureExecutionResultHasTraces(TestChromosome individual, ExecutionResult result) {
         if (result.getTraces().isEmpty() && observerClasses.length > 0) {
-            ExecutionResult newResult = runTest(individual.getTestCase());
+            ExecutionResult newResult = runTest(individual.getTestCase(), null);
             for (Class<?> observerClass : observerClasses) {
                 OutputTrace<?> trace = newResult.getTrace(observerClass);
                 result.setTrace(trace, observerClass);
@@ -354,9 +362,15 @@ public class StrongMutationTestFitness extends MutationTestFitness {
                 logger.debug("Running test on mutant " + mutation.getId());
                 MutationExecutionResult mutationResult = individual.getLastExecutionResult(mutation);
 
+                if (mutationResult == null && Properties.BATCH_INFECTED_MUTANTS) {
+                    // the other mutants of the method infected by the test are likely to be evaluated next
+                    InfectedMutantBatchExecutor.executeInfectedMutants(individual, result,
+                            InfectedMutantBatchExecutor.getUncoveredMutantsInMethod(mutation));
+                    mutationResult = individual.getLastExecutionResult(mutation);
+                }
                 if (mutationResult == null) {
                     ExecutionResult exResult = runTest(individual.getTestCase(), mutation);
-                    mutationResult = getMutationResult(result, exResult);
+                    mutationResult = getMutationResult(mutation, result, exResult);
                     individual.setLastExecutionResult(mutationResult, mutation);
                 }
                 if (mutationResult.hasTimeout()) {
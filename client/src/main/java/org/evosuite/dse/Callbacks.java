@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.dse;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of each callback of {@link IVM}, used by the {@link VM} to dispatch a callback
+ * only to the listeners that implement it.
+ * <p>
+ * Most listeners extend {@link AbstractVM} and only override the callbacks they are
+ * interested in. Calling the stubs of all the other listeners for each instrumented
+ * instruction is pure overhead, so the dispatch table is computed once for each
+ * configuration of listeners.
+ */
+final class Callbacks {
+
+    private static final Map<String, Integer> indices = new HashMap<>();
+
+    private static int index(String name) {
+        int index = indices.size();
+        indices.put(name, index);
+        return index;
+    }
+
+    static final int NEW = index("NEW");
+    static final int CALLER_STACK_PARAM = index("CALLER_STACK_PARAM");
+    static final int SRC_LINE_NUMBER = index("SRC_LINE_NUMBER");
+    static final int METHOD_BEGIN = index("METHOD_BEGIN");
+    static final int METHOD_MAXS = index("METHOD_MAXS");
+    static final int METHOD_BEGIN_PARAM = index("METHOD_BEGIN_PARAM");
+    static final int METHOD_BEGIN_RECEIVER = index("METHOD_BEGIN_RECEIVER");
+    static final int CALL_RESULT = index("CALL_RESULT");
+    static final int BB_BEGIN = index("BB_BEGIN");
+    static final int HANDLER_BEGIN = index("HANDLER_BEGIN");
+    static final int NOP = index("NOP");
+    static final int ACONST_NULL = index("ACONST_NULL");
+    static final int ICONST_M1 = index("ICONST_M1");
+    static final int ICONST_0 = index("ICONST_0");
+    static final int ICONST_1 = index("ICONST_1");
+    static final int ICONST_2 = index("ICONST_2");
+    static final int ICONST_3 = index("ICONST_3");
+    static final int ICONST_4 = index("ICONST_4");
+    static final int ICONST_5 = index("ICONST_5");
+    static final int LCONST_0 = index("LCONST_0");
+    static final int LCONST_1 = index("LCONST_1");
+    static final int FCONST_0 = index("FCONST_0");
+    static final int FCONST_1 = index("FCONST_1");
+    static final int FCONST_2 = index("FCONST_2");
+    static final int DCONST_0 = index("DCONST_0");
+    static final int DCONST_1 = index("DCONST_1");
+    static final int BIPUSH = index("BIPUSH");
+    static final int SIPUSH = index("SIPUSH");
+    static final int LDC = index("LDC");
+    static final int LDC_W = index("LDC_W");
+    static final int LDC2_W = index("LDC2_W");
+    static final int ILOAD = index("ILOAD");
+    static final int LLOAD = index("LLOAD");
+    static final int FLOAD = index("FLOAD");
+    static final int DLOAD = index("DLOAD");
+    static final int ALOAD = index("ALOAD");
+    static final int ILOAD_0 = index("ILOAD_0");
+    static final int ILOAD_1 = index("ILOAD_1");
+    static final int ILOAD_2 = index("ILOAD_2");
+    static final int ILOAD_3 = index("ILOAD_3");
+    static final int LLOAD_0 = index("LLOAD_0");
+    static final int LLOAD_1 = index("LLOAD_1");
+    static final int LLOAD_2 = index("LLOAD_2");
+    static final int LLOAD_3 = index("LLOAD_3");
+    static final int FLOAD_0 = index("FLOAD_0");
+    static final int FLOAD_1 = index("FLOAD_1");
+    static final int FLOAD_2 = index("FLOAD_2");
+    static final int FLOAD_3 = index("FLOAD_3");
+    static final int DLOAD_0 = index("DLOAD_0");
+    static final int DLOAD_1 = index("DLOAD_1");
+    static final int DLOAD_2 = index("DLOAD_2");
+    static final int DLOAD_3 = index("DLOAD_3");
+    static final int ALOAD_0 = index("ALOAD_0");
+    static final int ALOAD_1 = index("ALOAD_1");
+    static final int ALOAD_2 = index("ALOAD_2");
+    static final int ALOAD_3 = index("ALOAD_3");
+    static final int IALOAD = index("IALOAD");
+    static final int LALOAD = index("LALOAD");
+    static final int FALOAD = index("FALOAD");
+    static final int DALOAD = index("DALOAD");
+    static final int AALOAD = index("AALOAD");
+    static final int BALOAD = index("BALOAD");
+    static final int CALOAD = index("CALOAD");
+    static final int SALOAD = index("SALOAD");
+    static final int ISTORE = index("ISTORE");
+    static final int LSTORE = index("LSTORE");
+    static final int FSTORE = index("FSTORE");
+    static final int DSTORE = index("DSTORE");
+    static final int ASTORE = index("ASTORE");
+    static final int ISTORE_0 = index("ISTORE_0");
+    static final int ISTORE_1 = index("ISTORE_1");
+    static final int ISTORE_2 = index("ISTORE_2");
+    static final int ISTORE_3 = index("ISTORE_3");
+    static final int LSTORE_0 = index("LSTORE_0");
+    static final int LSTORE_1 = index("LSTORE_1");
+    static final int LSTORE_2 = index("LSTORE_2");
+    static final int LSTORE_3 = index("LSTORE_3");
+    static final int FSTORE_0 = index("FSTORE_0");
+    static final int FSTORE_1 = index("FSTORE_1");
+    static final int FSTORE_2 = index("FSTORE_2");
+    static final int FSTORE_3 = index("FSTORE_3");
+    static final int DSTORE_0 = index("DSTORE_0");
+    static final int DSTORE_1 = index("DSTORE_1");
+    static final int DSTORE_2 = index("DSTORE_2");
+    static final int DSTORE_3 = index("DSTORE_3");
+    static final int ASTORE_0 = index("ASTORE_0");
+    static final int ASTORE_1 = index("ASTORE_1");
+    static final int ASTORE_2 = index("ASTORE_2");
+    static final int ASTORE_3 = index("ASTORE_3");
+    static final int IASTORE = index("IASTORE");
+    static final int LASTORE = index("LASTORE");
+    static final int FASTORE = index("FASTORE");
+    static final int DASTORE = index("DASTORE");
+    static final int AASTORE = index("AASTORE");
+    static final int BASTORE = index("BASTORE");
+    static final int CASTORE = index("CASTORE");
+    static final int SASTORE = index("SASTORE");
+    static final int POP = index("POP");
+    static final int POP2 = index("POP2");
+    static final int DUP = index("DUP");
+    static final int DUP_X1 = index("DUP_X1");
+    static final int DUP_X2 = index("DUP_X2");
+    static final int DUP2 = index("DUP2");
+    static final int DUP2_X1 = index("DUP2_X1");
+    static final int DUP2_X2 = index("DUP2_X2");
+    static final int SWAP = index("SWAP");
+    static final int IADD = index("IADD");
+    static final int LADD = index("LADD");
+    static final int FADD = index("FADD");
+    static final int DADD = index("DADD");
+    static final int ISUB = index("ISUB");
+    static final int LSUB = index("LSUB");
+    static final int FSUB = index("FSUB");
+    static final int DSUB = index("DSUB");
+    static final int IMUL = index("IMUL");
+    static final int LMUL = index("LMUL");
+    static final int FMUL = index("FMUL");
+    static final int DMUL = index("DMUL");
+    static final int IDIV = index("IDIV");
+    static final int LDIV = index("LDIV");
+    static final int FDIV = index("FDIV");
+    static final int DDIV = index("DDIV");
+    static final int IREM = index("IREM");
+    static final int LREM = index("LREM");
+    static final int FREM = index("FREM");
+    static final int DREM = index("DREM");
+    static final int INEG = index("INEG");
+    static final int LNEG = index("LNEG");
+    static final int FNEG = index("FNEG");
+    static final int DNEG = index("DNEG");
+    static final int ISHL = index("ISHL");
+    static final int LSHL = index("LSHL");
+    static final int ISHR = index("ISHR");
+    static final int LSHR = index("LSHR");
+    static final int IUSHR = index("IUSHR");
+    static final int LUSHR = index("LUSHR");
+    static final int IAND = index("IAND");
+    static final int LAND = index("LAND");
+    static final int IOR = index("IOR");
+    static final int LOR = index("LOR");
+    static final int IXOR = index("IXOR");
+    static final int LXOR = index("LXOR");
+    static final int IINC = index("IINC");
+    static final int I2L = index("I2L");
+    static final int I2F = index("I2F");
+    static final int I2D = index("I2D");
+    static final int L2I = index("L2I");
+    static final int L2F = index("L2F");
+    static final int L2D = index("L2D");
+    static final int F2I = index("F2I");
+    static final int F2L = index("F2L");
+    static final int F2D = index("F2D");
+    static final int D2I = index("D2I");
+    static final int D2L = index("D2L");
+    static final int D2F = index("D2F");
+    static final int I2B = index("I2B");
+    static final int I2C = index("I2C");
+    static final int I2S = index("I2S");
+    static final int LCMP = index("LCMP");
+    static final int FCMPL = index("FCMPL");
+    static final int FCMPG = index("FCMPG");
+    static final int DCMPL = index("DCMPL");
+    static final int DCMPG = index("DCMPG");
+    static final int IFEQ = index("IFEQ");
+    static final int IFNE = index("IFNE");
+    static final int IFLT = index("IFLT");
+    static final int IFGE = index("IFGE");
+    static final int IFGT = index("IFGT");
+    static final int IFLE = index("IFLE");
+    static final int IF_ICMPEQ = index("IF_ICMPEQ");
+    static final int IF_ICMPNE = index("IF_ICMPNE");
+    static final int IF_ICMPLT = index("IF_ICMPLT");
+    static final int IF_ICMPGE = index("IF_ICMPGE");
+    static final int IF_ICMPGT = index("IF_ICMPGT");
+    static final int IF_ICMPLE = index("IF_ICMPLE");
+    static final int IF_ACMPEQ = index("IF_ACMPEQ");
+    static final int IF_ACMPNE = index("IF_ACMPNE");
+    static final int GOTO = index("GOTO");
+    static final int JSR = index("JSR");
+    static final int RET = index("RET");
+    static final int TABLESWITCH = index("TABLESWITCH");
+    static final int LOOKUPSWITCH = index("LOOKUPSWITCH");
+    static final int IRETURN = index("IRETURN");
+    static final int LRETURN = index("LRETURN");
+    static final int FRETURN = index("FRETURN");
+    static final int DRETURN = index("DRETURN");
+    static final int ARETURN = index("ARETURN");
+    static final int RETURN = index("RETURN");
+    static final int GETSTATIC = index("GETSTATIC");
+    static final int PUTSTATIC = index("PUTSTATIC");
+    static final int GETFIELD = index("GETFIELD");
+    static final int PUTFIELD = index("PUTFIELD");
+    static final int INVOKESTATIC = index("INVOKESTATIC");
+    static final int INVOKESPECIAL = index("INVOKESPECIAL");
+    static final int INVOKEVIRTUAL = index("INVOKEVIRTUAL");
+    static final int INVOKEINTERFACE = index("INVOKEINTERFACE");
+    static final int NEWARRAY = index("NEWARRAY");
+    static final int ANEWARRAY = index("ANEWARRAY");
+    static final int ARRAYLENGTH = index("ARRAYLENGTH");
+    static final int ATHROW = index("ATHROW");
+    static final int CHECKCAST = index("CHECKCAST");
+    static final int INSTANCEOF = index("INSTANCEOF");
+    static final int MONITORENTER = index("MONITORENTER");
+    static final int MONITOREXIT = index("MONITOREXIT");
+    static final int WIDE = index("WIDE");
+    static final int MULTIANEWARRAY = index("MULTIANEWARRAY");
+    static final int IFNULL = index("IFNULL");
+    static final int IFNONNULL = index("IFNONNULL");
+    static final int GOTO_W = index("GOTO_W");
+    static final int JSR_W = index("JSR_W");
+
+    private Callbacks() {
+    }
+
+    /**
+     * Computes, for each callback, the listeners to call, in their original order. All
+     * the overloaded versions of a callback share the same listeners
+     *
+     * @param listeners
+     * @return the listeners to call, indexed by callback
+     */
+    static IVM[][] dispatch(IVM[] listeners) {
+        List<List<IVM>> lists = new ArrayList<>(indices.size());
+        for (int i = 0; i < indices.size(); i++) {
+            lists.add(new ArrayList<>());
+        }
+        for (IVM listener : listeners) {
+            boolean[] implemented = new boolean[indices.size()];
+            for (Method method : listener.getClass().getMethods()) {
+                Integer index = indices.get(method.getName());
+                if (index != null && isImplemented(method)) {
+                    implemented[index] = true;
+                }
+            }
+            for (int i = 0; i < implemented.length; i++) {
+                if (implemented[i]) {
+                    lists.get(i).add(listener);
+                }
+            }
+        }
+
+        IVM[][] dispatch = new IVM[indices.size()][];
+        for (int i = 0; i < dispatch.length; i++) {
+            dispatch[i] = lists.get(i).toArray(new IVM[0]);
+        }
+        return dispatch;
+    }
+
+    /**
+     * @return false if the method is one of the empty stubs of {@link AbstractVM}
+     */
+    private static boolean isImplemented(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        return declaringClass != AbstractVM.class && !declaringClass.isInterface();
+    }
+}
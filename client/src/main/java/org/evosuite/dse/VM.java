@@ -103,6 +103,11 @@ public final class VM {
     // protected IVM[] listeners = new IVM[] { new InsnLogger() };
     protected IVM[] listeners = new IVM[0];
 
+    /**
+     * For each callback (see {@link Callbacks}), the listeners that implement it
+     */
+    protected IVM[][] dispatch = Callbacks.dispatch(listeners);
+
     protected List<IVM> prependListeners = new LinkedList<>();
     protected List<IVM> appendListeners = new LinkedList<>();
 
@@ -118,6 +123,7 @@ public final class VM {
         list.addAll(paramListeners);
         list.addAll(appendListeners);
         this.listeners = list.toArray(new IVM[list.size()]);
+        this.dispatch = Callbacks.dispatch(this.listeners);
     }
 
     /**
@@ -163,7 +169,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.NEW])
                 listener.NEW(typeName);
         } catch (Throwable t) {
             handleException(t);
@@ -187,6 +193,7 @@ public final class VM {
             // TODO catch StopVMException in Listeners. Enforce no listener
             // exception reaches the VM.
             vm.listeners = new IVM[0];
+            vm.dispatch = Callbacks.dispatch(vm.listeners);
             vm.stopped = true;
         } else if (t instanceof OutOfMemoryError) {
             // do not wrap memory exceptions
@@ -224,7 +231,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -239,7 +246,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -254,7 +261,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -269,7 +276,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -284,7 +291,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -299,7 +306,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -314,7 +321,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -329,7 +336,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -344,7 +351,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -361,7 +368,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.SRC_LINE_NUMBER])
                 listener.SRC_LINE_NUMBER(lineNr);
         } catch (Throwable t) {
             handleException(t);
@@ -379,7 +386,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN])
                 listener.METHOD_BEGIN(access, className, methName, methDesc);
         } catch (Throwable t) {
             handleException(t);
@@ -397,7 +404,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_MAXS])
                 listener.METHOD_MAXS(className, methName, methDesc, maxStack,
                         maxLocals);
         } catch (Throwable t) {
@@ -417,7 +424,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -432,7 +439,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -447,7 +454,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -462,7 +469,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -477,7 +484,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -492,7 +499,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -507,7 +514,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -522,7 +529,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -537,7 +544,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -551,7 +558,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.METHOD_BEGIN_RECEIVER])
                 listener.METHOD_BEGIN_RECEIVER(value);
         } catch (Throwable t) {
             handleException(t);
@@ -565,7 +572,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALL_RESULT])
                 listener.CALL_RESULT(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -580,7 +587,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -595,7 +602,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -610,7 +617,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -625,7 +632,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -640,7 +647,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -655,7 +662,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -672,7 +679,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.BB_BEGIN])
                 listener.BB_BEGIN();
         } catch (Throwable t) {
             handleException(t);
@@ -690,7 +697,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.HANDLER_BEGIN])
                 listener.HANDLER_BEGIN(access, className, methName, methDesc);
         } catch (Throwable t) {
             handleException(t);
@@ -708,7 +715,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.NOP])
                 listener.NOP();
         } catch (Throwable t) {
             handleException(t);
@@ -722,7 +729,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ACONST_NULL])
                 listener.ACONST_NULL();
         } catch (Throwable t) {
             handleException(t);
@@ -740,7 +747,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ICONST_M1])
                 listener.ICONST_M1();
         } catch (Throwable t) {
             handleException(t);
@@ -758,7 +765,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ICONST_0])
                 listener.ICONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -776,7 +783,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ICONST_1])
                 listener.ICONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -794,7 +801,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ICONST_2])
                 listener.ICONST_2();
         } catch (Throwable t) {
             handleException(t);
@@ -812,7 +819,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ICONST_3])
                 listener.ICONST_3();
         } catch (Throwable t) {
             handleException(t);
@@ -830,7 +837,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ICONST_4])
                 listener.ICONST_4();
         } catch (Throwable t) {
             handleException(t);
@@ -848,7 +855,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ICONST_5])
                 listener.ICONST_5();
         } catch (Throwable t) {
             handleException(t);
@@ -862,7 +869,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LCONST_0])
                 listener.LCONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -876,7 +883,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LCONST_1])
                 listener.LCONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -890,7 +897,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FCONST_0])
                 listener.FCONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -904,7 +911,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FCONST_1])
                 listener.FCONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -918,7 +925,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FCONST_2])
                 listener.FCONST_2();
         } catch (Throwable t) {
             handleException(t);
@@ -932,7 +939,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DCONST_0])
                 listener.DCONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -946,7 +953,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DCONST_1])
                 listener.DCONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -960,7 +967,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.BIPUSH])
                 listener.BIPUSH(value);
         } catch (Throwable t) {
             handleException(t);
@@ -974,7 +981,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.SIPUSH])
                 listener.SIPUSH(value);
         } catch (Throwable t) {
             handleException(t);
@@ -992,7 +999,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LDC])
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1010,7 +1017,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LDC])
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1028,7 +1035,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LDC])
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1046,7 +1053,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LDC])
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1063,7 +1070,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LDC_W])
                 listener.LDC_W();
         } catch (Throwable t) {
             handleException(t);
@@ -1081,7 +1088,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LDC2_W])
                 listener.LDC2_W(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1099,7 +1106,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LDC2_W])
                 listener.LDC2_W(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1117,7 +1124,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ILOAD])
                 listener.ILOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1131,7 +1138,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LLOAD])
                 listener.LLOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1145,7 +1152,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FLOAD])
                 listener.FLOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1159,7 +1166,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DLOAD])
                 listener.DLOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1173,7 +1180,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ALOAD])
                 listener.ALOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1191,7 +1198,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ILOAD_0])
                 listener.ILOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1205,7 +1212,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ILOAD_1])
                 listener.ILOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1219,7 +1226,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ILOAD_2])
                 listener.ILOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1233,7 +1240,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ILOAD_3])
                 listener.ILOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1251,7 +1258,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LLOAD_0])
                 listener.LLOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1265,7 +1272,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LLOAD_1])
                 listener.LLOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1279,7 +1286,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LLOAD_2])
                 listener.LLOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1293,7 +1300,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LLOAD_3])
                 listener.LLOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1311,7 +1318,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FLOAD_0])
                 listener.FLOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1325,7 +1332,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FLOAD_1])
                 listener.FLOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1339,7 +1346,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FLOAD_2])
                 listener.FLOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1353,7 +1360,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FLOAD_3])
                 listener.FLOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1371,7 +1378,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DLOAD_0])
                 listener.DLOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1385,7 +1392,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DLOAD_1])
                 listener.DLOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1399,7 +1406,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DLOAD_2])
                 listener.DLOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1413,7 +1420,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DLOAD_3])
                 listener.DLOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1431,7 +1438,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ALOAD_0])
                 listener.ALOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1445,7 +1452,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ALOAD_1])
                 listener.ALOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1459,7 +1466,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ALOAD_2])
                 listener.ALOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1473,7 +1480,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ALOAD_3])
                 listener.ALOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1487,7 +1494,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IALOAD])
                 listener.IALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1501,7 +1508,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LALOAD])
                 listener.LALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1515,7 +1522,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FALOAD])
                 listener.FALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1529,7 +1536,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DALOAD])
                 listener.DALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1543,7 +1550,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.AALOAD])
                 listener.AALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1557,7 +1564,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.BALOAD])
                 listener.BALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1571,7 +1578,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CALOAD])
                 listener.CALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1585,7 +1592,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.SALOAD])
                 listener.SALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1603,7 +1610,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ISTORE])
                 listener.ISTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1617,7 +1624,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LSTORE])
                 listener.LSTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1631,7 +1638,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FSTORE])
                 listener.FSTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1645,7 +1652,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DSTORE])
                 listener.DSTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1659,7 +1666,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ASTORE])
                 listener.ASTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1677,7 +1684,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ISTORE_0])
                 listener.ISTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1691,7 +1698,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ISTORE_1])
                 listener.ISTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1705,7 +1712,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ISTORE_2])
                 listener.ISTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1719,7 +1726,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ISTORE_3])
                 listener.ISTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1737,7 +1744,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LSTORE_0])
                 listener.LSTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1751,7 +1758,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LSTORE_1])
                 listener.LSTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1765,7 +1772,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LSTORE_2])
                 listener.LSTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1779,7 +1786,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LSTORE_3])
                 listener.LSTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1797,7 +1804,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FSTORE_0])
                 listener.FSTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1811,7 +1818,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FSTORE_1])
                 listener.FSTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1825,7 +1832,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FSTORE_2])
                 listener.FSTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1839,7 +1846,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FSTORE_3])
                 listener.FSTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1857,7 +1864,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DSTORE_0])
                 listener.DSTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1871,7 +1878,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DSTORE_1])
                 listener.DSTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1885,7 +1892,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DSTORE_2])
                 listener.DSTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1899,7 +1906,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DSTORE_3])
                 listener.DSTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1917,7 +1924,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ASTORE_0])
                 listener.ASTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1931,7 +1938,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ASTORE_1])
                 listener.ASTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1945,7 +1952,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ASTORE_2])
                 listener.ASTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1959,7 +1966,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ASTORE_3])
                 listener.ASTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1973,7 +1980,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IASTORE])
                 listener.IASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1987,7 +1994,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LASTORE])
                 listener.LASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2001,7 +2008,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FASTORE])
                 listener.FASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2015,7 +2022,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DASTORE])
                 listener.DASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2034,7 +2041,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.AASTORE])
                 listener.AASTORE(receiver, index, value, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2048,7 +2055,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.BASTORE])
                 listener.BASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2062,7 +2069,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CASTORE])
                 listener.CASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2076,7 +2083,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.SASTORE])
                 listener.SASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2090,7 +2097,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.POP])
                 listener.POP();
         } catch (Throwable t) {
             handleException(t);
@@ -2104,7 +2111,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.POP2])
                 listener.POP2();
         } catch (Throwable t) {
             handleException(t);
@@ -2118,7 +2125,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DUP])
                 listener.DUP();
         } catch (Throwable t) {
             handleException(t);
@@ -2132,7 +2139,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DUP_X1])
                 listener.DUP_X1();
         } catch (Throwable t) {
             handleException(t);
@@ -2146,7 +2153,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DUP_X2])
                 listener.DUP_X2();
         } catch (Throwable t) {
             handleException(t);
@@ -2160,7 +2167,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DUP2])
                 listener.DUP2();
         } catch (Throwable t) {
             handleException(t);
@@ -2174,7 +2181,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DUP2_X1])
                 listener.DUP2_X1();
         } catch (Throwable t) {
             handleException(t);
@@ -2188,7 +2195,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DUP2_X2])
                 listener.DUP2_X2();
         } catch (Throwable t) {
             handleException(t);
@@ -2202,7 +2209,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.SWAP])
                 listener.SWAP();
         } catch (Throwable t) {
             handleException(t);
@@ -2220,7 +2227,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IADD])
                 listener.IADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2234,7 +2241,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LADD])
                 listener.LADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2248,7 +2255,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FADD])
                 listener.FADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2262,7 +2269,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DADD])
                 listener.DADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2276,7 +2283,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ISUB])
                 listener.ISUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2290,7 +2297,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LSUB])
                 listener.LSUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2304,7 +2311,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FSUB])
                 listener.FSUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2318,7 +2325,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DSUB])
                 listener.DSUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2336,7 +2343,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IMUL])
                 listener.IMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2350,7 +2357,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LMUL])
                 listener.LMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2364,7 +2371,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FMUL])
                 listener.FMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2378,7 +2385,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DMUL])
                 listener.DMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2392,7 +2399,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IDIV])
                 listener.IDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2406,7 +2413,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LDIV])
                 listener.LDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2420,7 +2427,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FDIV])
                 listener.FDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2434,7 +2441,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DDIV])
                 listener.DDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2448,7 +2455,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IREM])
                 listener.IREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2462,7 +2469,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LREM])
                 listener.LREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2476,7 +2483,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FREM])
                 listener.FREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2490,7 +2497,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DREM])
                 listener.DREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2504,7 +2511,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.INEG])
                 listener.INEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2518,7 +2525,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LNEG])
                 listener.LNEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2532,7 +2539,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FNEG])
                 listener.FNEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2546,7 +2553,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DNEG])
                 listener.DNEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2560,7 +2567,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ISHL])
                 listener.ISHL();
         } catch (Throwable t) {
             handleException(t);
@@ -2574,7 +2581,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LSHL])
                 listener.LSHL();
         } catch (Throwable t) {
             handleException(t);
@@ -2588,7 +2595,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ISHR])
                 listener.ISHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2602,7 +2609,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LSHR])
                 listener.LSHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2616,7 +2623,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IUSHR])
                 listener.IUSHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2630,7 +2637,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LUSHR])
                 listener.LUSHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2644,7 +2651,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IAND])
                 listener.IAND();
         } catch (Throwable t) {
             handleException(t);
@@ -2658,7 +2665,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LAND])
                 listener.LAND();
         } catch (Throwable t) {
             handleException(t);
@@ -2672,7 +2679,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IOR])
                 listener.IOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2686,7 +2693,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LOR])
                 listener.LOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2700,7 +2707,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IXOR])
                 listener.IXOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2714,7 +2721,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LXOR])
                 listener.LXOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2728,7 +2735,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IINC])
                 listener.IINC(i, value);
         } catch (Throwable t) {
             handleException(t);
@@ -2742,7 +2749,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.I2L])
                 listener.I2L();
         } catch (Throwable t) {
             handleException(t);
@@ -2756,7 +2763,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.I2F])
                 listener.I2F();
         } catch (Throwable t) {
             handleException(t);
@@ -2770,7 +2777,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.I2D])
                 listener.I2D();
         } catch (Throwable t) {
             handleException(t);
@@ -2784,7 +2791,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.L2I])
                 listener.L2I();
         } catch (Throwable t) {
             handleException(t);
@@ -2798,7 +2805,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.L2F])
                 listener.L2F();
         } catch (Throwable t) {
             handleException(t);
@@ -2812,7 +2819,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.L2D])
                 listener.L2D();
         } catch (Throwable t) {
             handleException(t);
@@ -2826,7 +2833,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.F2I])
                 listener.F2I();
         } catch (Throwable t) {
             handleException(t);
@@ -2840,7 +2847,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.F2L])
                 listener.F2L();
         } catch (Throwable t) {
             handleException(t);
@@ -2854,7 +2861,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.F2D])
                 listener.F2D();
         } catch (Throwable t) {
             handleException(t);
@@ -2868,7 +2875,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.D2I])
                 listener.D2I();
         } catch (Throwable t) {
             handleException(t);
@@ -2882,7 +2889,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.D2L])
                 listener.D2L();
         } catch (Throwable t) {
             handleException(t);
@@ -2896,7 +2903,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.D2F])
                 listener.D2F();
         } catch (Throwable t) {
             handleException(t);
@@ -2910,7 +2917,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.I2B])
                 listener.I2B();
         } catch (Throwable t) {
             handleException(t);
@@ -2924,7 +2931,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.I2C])
                 listener.I2C();
         } catch (Throwable t) {
             handleException(t);
@@ -2938,7 +2945,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.I2S])
                 listener.I2S();
         } catch (Throwable t) {
             handleException(t);
@@ -2952,7 +2959,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LCMP])
                 listener.LCMP();
         } catch (Throwable t) {
             handleException(t);
@@ -2966,7 +2973,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FCMPL])
                 listener.FCMPL();
         } catch (Throwable t) {
             handleException(t);
@@ -2980,7 +2987,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FCMPG])
                 listener.FCMPG();
         } catch (Throwable t) {
             handleException(t);
@@ -2994,7 +3001,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DCMPL])
                 listener.DCMPL();
         } catch (Throwable t) {
             handleException(t);
@@ -3008,7 +3015,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DCMPG])
                 listener.DCMPG();
         } catch (Throwable t) {
             handleException(t);
@@ -3023,7 +3030,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IFEQ])
                 listener.IFEQ(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3038,7 +3045,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IFNE])
                 listener.IFNE(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3053,7 +3060,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IFLT])
                 listener.IFLT(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3068,7 +3075,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IFGE])
                 listener.IFGE(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3083,7 +3090,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IFGT])
                 listener.IFGT(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3098,7 +3105,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IFLE])
                 listener.IFLE(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3113,7 +3120,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IF_ICMPEQ])
                 listener.IF_ICMPEQ(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3129,7 +3136,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IF_ICMPNE])
                 listener.IF_ICMPNE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3145,7 +3152,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IF_ICMPLT])
                 listener.IF_ICMPLT(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3161,7 +3168,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IF_ICMPGE])
                 listener.IF_ICMPGE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3177,7 +3184,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IF_ICMPGT])
                 listener.IF_ICMPGT(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3193,7 +3200,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IF_ICMPLE])
                 listener.IF_ICMPLE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3209,7 +3216,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IF_ACMPEQ])
                 listener.IF_ACMPEQ(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3225,7 +3232,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IF_ACMPNE])
                 listener.IF_ACMPNE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3240,7 +3247,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.GOTO])
                 listener.GOTO();
         } catch (Throwable t) {
             handleException(t);
@@ -3254,7 +3261,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.JSR])
                 listener.JSR();
         } catch (Throwable t) {
             handleException(t);
@@ -3268,7 +3275,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.RET])
                 listener.RET();
         } catch (Throwable t) {
             handleException(t);
@@ -3283,7 +3290,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.TABLESWITCH])
                 listener.TABLESWITCH(className, methName, branchIndex, target,
                         min, max);
         } catch (Throwable t) {
@@ -3299,7 +3306,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LOOKUPSWITCH])
                 listener.LOOKUPSWITCH(className, methName, branchIndex, target,
                         goals);
         } catch (Throwable t) {
@@ -3314,7 +3321,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IRETURN])
                 listener.IRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3328,7 +3335,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.LRETURN])
                 listener.LRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3342,7 +3349,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.FRETURN])
                 listener.FRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3356,7 +3363,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.DRETURN])
                 listener.DRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3370,7 +3377,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ARETURN])
                 listener.ARETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3384,7 +3391,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.RETURN])
                 listener.RETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3398,7 +3405,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.GETSTATIC])
                 listener.GETSTATIC(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3412,7 +3419,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.PUTSTATIC])
                 listener.PUTSTATIC(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3427,7 +3434,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.GETFIELD])
                 listener.GETFIELD(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3442,7 +3449,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.PUTFIELD])
                 listener.PUTFIELD(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3456,7 +3463,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.INVOKESTATIC])
                 listener.INVOKESTATIC(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3470,7 +3477,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.INVOKESPECIAL])
                 listener.INVOKESPECIAL(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3485,7 +3492,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.INVOKEVIRTUAL])
                 listener.INVOKEVIRTUAL(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3500,7 +3507,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.INVOKESPECIAL])
                 listener.INVOKESPECIAL(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3515,7 +3522,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.INVOKEINTERFACE])
                 listener.INVOKEINTERFACE(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3576,7 +3583,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.NEWARRAY])
                 listener.NEWARRAY(length,
                         getArrayComponentType(componentTypeInt),
                         className,
@@ -3593,7 +3600,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ANEWARRAY])
                 listener.ANEWARRAY(length, componentTypeName, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -3607,7 +3614,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ARRAYLENGTH])
                 listener.ARRAYLENGTH(reference);
         } catch (Throwable t) {
             handleException(t);
@@ -3621,7 +3628,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.ATHROW])
                 listener.ATHROW((Throwable) throwable);
         } catch (Throwable t) {
             handleException(t);
@@ -3635,7 +3642,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.CHECKCAST])
                 listener.CHECKCAST(reference, typeName);
         } catch (Throwable t) {
             handleException(t);
@@ -3649,7 +3656,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.INSTANCEOF])
                 listener.INSTANCEOF(reference, typeName);
         } catch (Throwable t) {
             handleException(t);
@@ -3663,7 +3670,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.MONITORENTER])
                 listener.MONITORENTER();
         } catch (Throwable t) {
             handleException(t);
@@ -3677,7 +3684,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.MONITOREXIT])
                 listener.MONITOREXIT();
         } catch (Throwable t) {
             handleException(t);
@@ -3691,7 +3698,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.WIDE])
                 listener.WIDE();
         } catch (Throwable t) {
             handleException(t);
@@ -3705,7 +3712,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.MULTIANEWARRAY])
                 listener.MULTIANEWARRAY(arrayTypeDesc, nrDimensions, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -3720,7 +3727,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IFNULL])
                 listener.IFNULL(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3735,7 +3742,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.IFNONNULL])
                 listener.IFNONNULL(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3749,7 +3756,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.GOTO_W])
                 listener.GOTO_W();
         } catch (Throwable t) {
             handleException(t);
@@ -3763,7 +3770,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatch[Callbacks.JSR_W])
                 listener.JSR_W();
         } catch (Throwable t) {
             handleException(t);
@@ -100,6 +100,14 @@ public class DefaultLocalSearchObjective<T extends Chromosome<T>> implements Loc
         throw new UnsupportedOperationException("Not implemented for default objective");
     }
 
+    /**
+     * This operation should not be invoked for this class
+     */
+    @Override
+    public int hasChangedWithoutExecution(T chromosome) {
+        throw new UnsupportedOperationException("Not implemented for default objective");
+    }
+
     /**
      * This operation should not be invoked for this class
      */
@@ -78,6 +78,16 @@ public interface LocalSearchObjective<T extends Chromosome<T>> {
      */
     int hasChanged(T chromosome);
 
+    /**
+     * Like {@link #hasChanged(Chromosome)}, for an individual whose last execution
+     * result is up to date (e.g., it was executed ahead of time on a clone), and
+     * which is therefore not executed again
+     *
+     * @param chromosome a {@link org.evosuite.ga.Chromosome} object.
+     * @return a int.
+     */
+    int hasChangedWithoutExecution(T chromosome);
+
     void addFitnessFunction(FitnessFunction<T> fitness);
 
     /**
@@ -32,6 +32,7 @@ import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
 import org.evosuite.testcase.secondaryobjectives.TestCaseSecondaryObjective;
 import org.evosuite.testcase.statements.*;
 import org.evosuite.testcase.variable.VariableReference;
@@ -138,6 +139,8 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
      */
     protected List<TestChromosome> breedNextGeneration() {
         List<TestChromosome> offspringPopulation = new ArrayList<>(Properties.POPULATION);
+        // with parallel execution, the offspring is evaluated as a whole once it is complete
+        final boolean evaluateAsBatch = TestCaseExecutorPool.isEnabled();
         // we apply only Properties.POPULATION/2 iterations since in each generation
         // we generate two offsprings
         for (int i = 0; i < Properties.POPULATION / 2 && !this.isFinished(); i++) {
@@ -171,7 +174,8 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
             if (offspring1.isChanged()) {
                 this.clearCachedResults(offspring1);
                 offspring1.updateAge(this.currentIteration);
-                this.calculateFitness(offspring1);
+                if (!evaluateAsBatch)
+                    this.calculateFitness(offspring1);
                 offspringPopulation.add(offspring1);
             }
 
@@ -180,7 +184,8 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
             if (offspring2.isChanged()) {
                 this.clearCachedResults(offspring2);
                 offspring2.updateAge(this.currentIteration);
-                this.calculateFitness(offspring2);
+                if (!evaluateAsBatch)
+                    this.calculateFitness(offspring2);
                 offspringPopulation.add(offspring2);
             }
         }
@@ -197,10 +202,15 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
             }
             if (tch.isChanged()) {
                 tch.updateAge(this.currentIteration);
-                this.calculateFitness(tch);
+                if (!evaluateAsBatch)
+                    this.calculateFitness(tch);
                 offspringPopulation.add(tch);
             }
         }
+        if (evaluateAsBatch) {
+            TestCaseExecutorPool.executePending(offspringPopulation);
+            offspringPopulation.forEach(this::calculateFitness);
+        }
         logger.info("Number of offsprings = {}", offspringPopulation.size());
         return offspringPopulation;
     }
@@ -25,6 +25,8 @@ import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.comparators.OnlyCrowdingComparator;
 import org.evosuite.ga.metaheuristics.mosa.structural.MultiCriteriaManager;
 import org.evosuite.ga.operators.ranking.CrowdingDistance;
+import org.evosuite.rmi.ClientServices;
+import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.utils.LoggingUtils;
@@ -174,6 +176,8 @@ public class DynaMOSA extends AbstractMOSA {
             this.notifyIteration();
         }
 
+        ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Goal_Evaluations_Per_Second,
+                this.goalsManager.getGoalEvaluationsPerSecond());
         this.notifySearchFinished();
     }
 
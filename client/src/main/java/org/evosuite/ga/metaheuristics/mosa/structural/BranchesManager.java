@@ -82,10 +82,14 @@ public class BranchesManager extends StructuralGoalManager {
 
     public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
         // run the test
-        TestCase test = c.getTestCase();
-        ExecutionResult result = TestCaseExecutor.runTest(test);
-        c.setLastExecutionResult(result);
-        c.setChanged(false);
+        // (unless it has already been executed as part of a batch)
+        ExecutionResult result = c.getLastExecutionResult();
+        if (result == null || c.isChanged()) {
+            TestCase test = c.getTestCase();
+            result = TestCaseExecutor.runTest(test);
+            c.setLastExecutionResult(result);
+            c.setChanged(false);
+        }
 
         if (result.hasTimeout() || result.hasTestException()) {
             currentGoals.forEach(f -> c.setFitness(f, Double.MAX_VALUE));
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa.structural;
+
+import org.evosuite.coverage.line.LineCoverageTestFitness;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionTrace;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Assigns a dense index to each coverage goal, so that the goals covered by an execution
+ * can be represented as a {@link BitSet}.
+ * <p>
+ * For the goals whose coverage can be read directly from the sets of covered branches,
+ * branchless methods and lines of an {@link ExecutionTrace}, {@link #getCoveredGoals(ExecutionTrace)}
+ * gives the goals covered by the trace without computing any fitness value. The
+ * coverage of all the other goals has to be determined with their fitness function.
+ */
+public class GoalIndex implements Serializable {
+
+    private static final long serialVersionUID = -1532868151306212539L;
+
+    private final List<TestFitnessFunction> goals = new ArrayList<>();
+
+    private final Map<TestFitnessFunction, Integer> indices = new HashMap<>();
+
+    private final Map<Integer, Integer> trueBranches = new HashMap<>();
+
+    private final Map<Integer, Integer> falseBranches = new HashMap<>();
+
+    private final Map<String, Integer> branchlessMethods = new HashMap<>();
+
+    /**
+     * Several classes can have a goal for the same line number
+     */
+    private final Map<Integer, BitSet> lines = new HashMap<>();
+
+    /**
+     * Index of the goals to consider once a goal is covered. Computed lazily
+     */
+    private final List<int[]> successors = new ArrayList<>();
+
+    /**
+     * Returns the index of the given goal, adding the goal to the index if needed
+     *
+     * @param goal
+     * @return
+     */
+    public int indexOf(TestFitnessFunction goal) {
+        Integer index = indices.get(goal);
+        if (index == null) {
+            index = goals.size();
+            goals.add(goal);
+            successors.add(null);
+            indices.put(goal, index);
+            if (goal instanceof LineCoverageTestFitness) {
+                lines.computeIfAbsent(((LineCoverageTestFitness) goal).getLine(), l -> new BitSet()).set(index);
+            }
+        }
+        return index;
+    }
+
+    public TestFitnessFunction getGoal(int index) {
+        return goals.get(index);
+    }
+
+    public int size() {
+        return goals.size();
+    }
+
+    public void addTrueBranch(int branchId, TestFitnessFunction goal) {
+        trueBranches.put(branchId, indexOf(goal));
+    }
+
+    public void addFalseBranch(int branchId, TestFitnessFunction goal) {
+        falseBranches.put(branchId, indexOf(goal));
+    }
+
+    public void addBranchlessMethod(String method, TestFitnessFunction goal) {
+        branchlessMethods.put(method, indexOf(goal));
+    }
+
+    /**
+     * @param index
+     * @return the successors of the goal, or <code>null</code> if not set yet
+     */
+    public int[] getSuccessors(int index) {
+        return successors.get(index);
+    }
+
+    public void setSuccessors(int index, Collection<? extends TestFitnessFunction> goals) {
+        int[] array = new int[goals.size()];
+        int i = 0;
+        for (TestFitnessFunction goal : goals) {
+            array[i++] = indexOf(goal);
+        }
+        successors.set(index, array);
+    }
+
+    /**
+     * Returns the goals that are covered according to the covered branches, branchless
+     * methods and lines of the given trace. Goals of other kinds are never in the result,
+     * even if covered
+     *
+     * @param trace
+     * @return
+     */
+    public BitSet getCoveredGoals(ExecutionTrace trace) {
+        BitSet covered = new BitSet(goals.size());
+        for (Integer branchId : trace.getCoveredTrueBranches()) {
+            Integer index = trueBranches.get(branchId);
+            if (index != null) {
+                covered.set(index);
+            }
+        }
+        for (Integer branchId : trace.getCoveredFalseBranches()) {
+            Integer index = falseBranches.get(branchId);
+            if (index != null) {
+                covered.set(index);
+            }
+        }
+        for (String method : trace.getCoveredBranchlessMethods()) {
+            Integer index = branchlessMethods.get(method);
+            if (index != null) {
+                covered.set(index);
+            }
+        }
+        if (!lines.isEmpty()) {
+            for (Integer line : trace.getCoveredLines()) {
+                BitSet goalsOnLine = lines.get(line);
+                if (goalsOnLine != null) {
+                    covered.or(goalsOnLine);
+                }
+            }
+        }
+        return covered;
+    }
+}
@@ -91,6 +91,18 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
      */
     private final Map<String, TestFitnessFunction> branchlessMethodCoverageMap = new LinkedHashMap<>();
 
+    /**
+     * Dense index of all the goals, used to find the goals covered by a test directly from its
+     * execution trace, without computing their fitness
+     */
+    protected final GoalIndex goalIndex = new GoalIndex();
+
+    /**
+     * Number of goals whose coverage was determined by {@link #calculateFitness}, and time spent doing it
+     */
+    private long evaluatedGoals = 0L;
+    private long evaluationTimeInNanos = 0L;
+
     /**
      * Creates a new {@code MultiCriteriaManager} with the given list of targets. The targets are
      * encoded as fitness functions, which are expected to be minimization functions.
@@ -148,6 +160,10 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 
         // initialize current goals
         this.currentGoals.addAll(graph.getRootBranches());
+
+        for (TestFitnessFunction target : targets) {
+            goalIndex.indexOf(target);
+        }
     }
 
     private void addDependencies4TryCatch() {
@@ -172,10 +188,13 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 
             if (goal.getBranch() == null) { // the goal is to call the method at hand
                 branchlessMethodCoverageMap.put(goal.getClassName() + "." + goal.getMethod(), ff);
+                goalIndex.addBranchlessMethod(goal.getClassName() + "." + goal.getMethod(), ff);
             } else if (goal.getBranchExpressionValue()) { // we want to take the given branch
                 branchCoverageTrueMap.put(goal.getBranch().getActualBranchId(), ff);
+                goalIndex.addTrueBranch(goal.getBranch().getActualBranchId(), ff);
             } else { // we don't want to take the given branch
                 branchCoverageFalseMap.put(goal.getBranch().getActualBranchId(), ff);
+                goalIndex.addFalseBranch(goal.getBranch().getActualBranchId(), ff);
             }
         }
     }
@@ -382,10 +401,14 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
     @Override
     public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
         // Run the test and record the execution result.
-        TestCase test = c.getTestCase();
-        ExecutionResult result = TestCaseExecutor.runTest(test);
-        c.setLastExecutionResult(result);
-        c.setChanged(false);
+        // (unless it has already been executed as part of a batch)
+        ExecutionResult result = c.getLastExecutionResult();
+        if (result == null || c.isChanged()) {
+            TestCase test = c.getTestCase();
+            result = TestCaseExecutor.runTest(test);
+            c.setLastExecutionResult(result);
+            c.setChanged(false);
+        }
 
         // If the test failed to execute properly, or if the test does not cover anything,
         // it means none of the current gaols could be reached.
@@ -394,7 +417,16 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
             return;
         }
 
-        Set<TestFitnessFunction> visitedTargets = new LinkedHashSet<>(getUncoveredGoals().size() * 2);
+        long start = System.nanoTime();
+        final ExecutionTrace trace = result.getTrace();
+
+        /*
+         * Goals covered according to the branches, methods and lines in the trace. For those,
+         * there is no need to compute the fitness, which is only needed for the goals that are
+         * not covered
+         */
+        BitSet coveredByTrace = goalIndex.getCoveredGoals(trace);
+        BitSet visitedTargets = new BitSet(goalIndex.size());
 
         /*
          * The processing list of current targets. If it turns out that any such target has been
@@ -403,20 +435,32 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
          * children will be part of the currentGoals for the next generation (together with the
          * missed goals of the currentGoals of the current generation).
          */
-        LinkedList<TestFitnessFunction> targets = new LinkedList<>(this.currentGoals);
+        ArrayDeque<Integer> targets = new ArrayDeque<>(this.currentGoals.size());
+        for (TestFitnessFunction target : this.currentGoals) {
+            targets.add(goalIndex.indexOf(target));
+        }
 
         // 1) We update the set of current goals.
-        while (targets.size() > 0 && !ga.isFinished()) {
+        while (!targets.isEmpty() && !ga.isFinished()) {
             // We evaluate the given test case against all current targets.
             // (There might have been serendipitous coverage of other targets, though.)
-            TestFitnessFunction target = targets.poll();
-
-            int pastSize = visitedTargets.size();
-            visitedTargets.add(target);
-            if (pastSize == visitedTargets.size())
+            int index = targets.poll();
+            if (visitedTargets.get(index))
                 continue;
+            visitedTargets.set(index);
+
+            TestFitnessFunction target = goalIndex.getGoal(index);
+            evaluatedGoals++;
 
-            double fitness = target.getFitness(c);
+            double fitness;
+            if (coveredByTrace.get(index)) {
+                // counted as an evaluation, as getFitness would have done
+                fitness = 0.0;
+                c.setFitness(target, fitness);
+                c.increaseNumberOfEvaluations();
+            } else {
+                fitness = target.getFitness(c);
+            }
 
             /*
              * Checks if the current test target has been reached and, in accordance, marks it as
@@ -431,23 +475,22 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
                  * to see which ones of those goals are already reached by control flow.
                  */
                 if (target instanceof BranchCoverageTestFitness) {
-                    for (TestFitnessFunction child : graph.getStructuralChildren(target)) {
-                        targets.addLast(child);
-                    }
-                    for (TestFitnessFunction dependentTarget : dependencies.get(target)) {
-                        targets.addLast(dependentTarget);
+                    for (int successor : getSuccessors(index, target)) {
+                        if (!visitedTargets.get(successor)) {
+                            targets.addLast(successor);
+                        }
                     }
                 }
             } else {
                 currentGoals.add(target); // marks the goal as uncovered
             }
         }
+        evaluationTimeInNanos += System.nanoTime() - start;
 
         // Removes all newly covered goals from the list of currently uncovered goals.
         currentGoals.removeAll(this.getCoveredGoals());
 
         // 2) We update the archive.
-        final ExecutionTrace trace = result.getTrace();
         for (int branchid : trace.getCoveredFalseBranches()) {
             TestFitnessFunction branch = this.branchCoverageFalseMap.get(branchid);
             if (branch == null)
@@ -485,6 +528,33 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
         }
     }
 
+    /**
+     * Returns the structural children and the control-dependent goals of the given branch
+     */
+    private int[] getSuccessors(int index, TestFitnessFunction branch) {
+        int[] successors = goalIndex.getSuccessors(index);
+        if (successors == null) {
+            List<TestFitnessFunction> goals = new ArrayList<>(graph.getStructuralChildren(branch));
+            Set<TestFitnessFunction> dependentTargets = dependencies.get(branch);
+            if (dependentTargets != null) {
+                goals.addAll(dependentTargets);
+            }
+            goalIndex.setSuccessors(index, goals);
+            successors = goalIndex.getSuccessors(index);
+        }
+        return successors;
+    }
+
+    /**
+     * @return number of goals whose coverage was determined per second spent in {@link #calculateFitness}
+     */
+    public double getGoalEvaluationsPerSecond() {
+        if (evaluationTimeInNanos == 0L) {
+            return 0.0;
+        }
+        return evaluatedGoals / (evaluationTimeInNanos / 1_000_000_000.0);
+    }
+
     /**
      * This method analyzes the execution results of a TestChromosome looking for generated exceptions.
      * Such exceptions are converted in instances of the class {@link ExceptionCoverageTestFitness},
@@ -66,7 +66,7 @@ public class MaxTestsStoppingCondition<T extends Chromosome<T>> extends Stopping
     /**
      * <p>testExecuted</p>
      */
-    public static void testExecuted() {
+    public static synchronized void testExecuted() {
         numTests++;
     }
 
@@ -41,6 +41,7 @@ import org.evosuite.testcarver.instrument.TransformerUtil;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.commons.SerialVersionUIDAdder;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.util.TraceClassVisitor;
@@ -145,11 +146,6 @@ public class BytecodeInstrumentation {
      */
     public byte[] transformBytes(ClassLoader classLoader, String className, ClassReader reader) {
 
-        int readFlags = ClassReader.SKIP_FRAMES;
-
-        if (Properties.INSTRUMENTATION_SKIP_DEBUG)
-            readFlags |= ClassReader.SKIP_DEBUG;
-
         String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
 
         if (!checkIfCanInstrument(classNameWithDots)) {
@@ -159,6 +155,38 @@ public class BytecodeInstrumentation {
 
         TransformationStatistics.reset();
 
+        InstrumentationCache cache = InstrumentationCache.getInstance();
+        if (!cache.isEnabled() || !isCacheable(classNameWithDots)) {
+            return instrument(classLoader, className, classNameWithDots, reader);
+        }
+
+        String cacheKey = cache.getKey(className, reader.b);
+        byte[] cachedBytes = cache.get(cacheKey);
+        if (cachedBytes != null) {
+            logger.debug("Using cached instrumentation of class {}", classNameWithDots);
+            return cachedBytes;
+        }
+
+        byte[] bytes;
+        InstrumentationSideData sideData;
+        InstrumentationSideData.startRecording();
+        try {
+            bytes = instrument(classLoader, className, classNameWithDots, reader);
+        } finally {
+            sideData = InstrumentationSideData.stopRecording();
+        }
+        cache.put(cacheKey, bytes, sideData);
+        return bytes;
+    }
+
+    private byte[] instrument(ClassLoader classLoader, String className, String classNameWithDots,
+                              ClassReader reader) {
+
+        int readFlags = ClassReader.SKIP_FRAMES;
+
+        if (Properties.INSTRUMENTATION_SKIP_DEBUG)
+            readFlags |= ClassReader.SKIP_DEBUG;
+
         /*
          * To use COMPUTE_FRAMES we need to remove JSR commands. Therefore, we
          * have a JSRInlinerAdapter in NonTargetClassAdapter as well as
@@ -178,7 +206,8 @@ public class BytecodeInstrumentation {
 
         if (Properties.PURE_INSPECTORS) {
             CheapPurityAnalyzer purityAnalyzer = CheapPurityAnalyzer.getInstance();
-            cv = new PurityAnalysisClassVisitor(cv, className, purityAnalyzer);
+            cv = new PurityAnalysisClassVisitor(cv, className,
+                    InstrumentationSideData.recordPurity(purityAnalyzer));
         }
 
         if (Properties.MAX_LOOP_ITERATIONS >= 0) {
@@ -224,8 +253,14 @@ public class BytecodeInstrumentation {
         // Collect constant values for the value pool
         cv = new PrimitiveClassAdapter(cv, className);
 
+        CreateClassResetClassAdapter resetClassAdapter = null;
         if (Properties.RESET_STATIC_FIELDS) {
-            cv = handleStaticReset(className, cv);
+            // Adds the instrumentation to deal with re-initializing classes: a
+            // __STATIC_RESET() cloning the original <clinit> method or an empty one
+            resetClassAdapter = new CreateClassResetClassAdapter(cv, className,
+                    Properties.RESET_STATIC_FINAL_FIELDS);
+            // Adds a callback before leaving the <clinit> method
+            cv = new EndOfClassInitializerVisitor(resetClassAdapter, className);
         }
 
         // Mock instrumentation (eg File and TCP).
@@ -289,9 +324,23 @@ public class BytecodeInstrumentation {
             reader.accept(cv, readFlags);
         }
 
+        if (resetClassAdapter != null) {
+            InstrumentationSideData.recordFinalFields(resetClassAdapter.getModifiedStaticFields());
+        }
         return writer.toByteArray();
     }
 
+    /**
+     * The instrumentation of classes that are analyzed embeds the identifiers
+     * of their coverage goals (e.g., branches and mutants), which depend on the
+     * other classes loaded so far, and testability transformations depend on
+     * other classes. Hence, only the remaining classes can be cached.
+     */
+    private static boolean isCacheable(String classNameWithDots) {
+        return !Properties.TT && !Properties.TEST_CARVING
+                && !DependencyAnalysis.shouldAnalyze(classNameWithDots);
+    }
+
     private byte[] handleCarving(String className, ClassWriter writer) {
         ClassReader cr = new ClassReader(writer.toByteArray());
         ClassNode cn2 = new ClassNode();
@@ -310,30 +359,4 @@ public class BytecodeInstrumentation {
         return cw.toByteArray();
     }
 
-    /**
-     * Adds the instrumentation to deal with re-iniatilizing classes: adding
-     * __STATIC_RESET() methods, inserting callbacks for PUTSTATIC and GETSTATIC
-     * instructions
-     *
-     * @param className
-     * @param cv
-     * @return
-     */
-    private static ClassVisitor handleStaticReset(String className, ClassVisitor cv) {
-        // Create a __STATIC_RESET() cloning the original <clinit> method or
-        // create one by default
-        final CreateClassResetClassAdapter resetClassAdapter;
-        if (Properties.RESET_STATIC_FINAL_FIELDS) {
-            resetClassAdapter = new CreateClassResetClassAdapter(cv, className, true);
-        } else {
-            resetClassAdapter = new CreateClassResetClassAdapter(cv, className, false);
-        }
-        cv = resetClassAdapter;
-
-        // Adds a callback before leaving the <clinit> method
-        EndOfClassInitializerVisitor exitClassInitAdapter = new EndOfClassInitializerVisitor(cv, className);
-        cv = exitClassInitAdapter;
-        return cv;
-    }
-
 }
@@ -0,0 +1,340 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.Properties;
+import org.evosuite.runtime.LoopCounter;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.instrumentation.LoopCounterMethodAdapter;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Persistent, content-addressed cache of instrumented bytecode, stored in
+ * {@link Properties#INSTRUMENTATION_CACHE_DIR}.
+ * <p>
+ * Entries are keyed by a hash of the original bytecode of the class, of the
+ * properties and runtime settings that drive the instrumentation, of the
+ * classpath (as the computation of stack map frames depends on the class
+ * hierarchy) and of the EvoSuite classes themselves.
+ * <p>
+ * Each entry stores the {@link InstrumentationSideData} of the class along
+ * with its bytecode, which is registered again on a hit. The indices of the
+ * loop counters embedded in the code depend on the classes instrumented
+ * before, hence they are not part of the key: on a hit, the loops are
+ * registered again with the {@link LoopCounter}, and the code is renumbered
+ * if their indices changed.
+ */
+public class InstrumentationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentationCache.class);
+
+    private static final InstrumentationCache instance = new InstrumentationCache();
+
+    private static final String LOOP_COUNTER = Type.getInternalName(LoopCounter.class);
+
+    /**
+     * To be increased whenever the layout of the cache changes
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Properties that change the instrumentation of a class
+     */
+    private static final String[] RELEVANT_PROPERTIES = {"instrumentation_skip_debug", "reset_static_fields",
+            "reset_static_final_fields", "pure_inspectors", "max_loop_iterations", "make_accessible",
+            "test_carving", "string_replacement", "replace_calls", "virtual_fs", "virtual_net", "TT", "tt_scope",
+            "exception_branches", "error_branches", "instrument_parent", "instrument_context",
+            "instrument_libraries", "instrument_method_calls", "criterion", "PROJECT_PREFIX",
+            "TARGET_CLASS_PREFIX", "TARGET_CLASS", "CP"};
+
+    /**
+     * Fingerprints of classpath entries, which are only computed once per entry
+     */
+    private final Map<String, String> entryFingerprints = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private InstrumentationCache() {
+    }
+
+    public static InstrumentationCache getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return Properties.INSTRUMENTATION_CACHE_DIR != null && !Properties.INSTRUMENTATION_CACHE_DIR.isEmpty();
+    }
+
+    /**
+     * @param className     name of the class, with slashes
+     * @param originalBytes the bytecode of the class before instrumentation
+     * @return the key of the instrumented class under the current configuration
+     */
+    public String getKey(String className, byte[] originalBytes) {
+        MessageDigest digest = newDigest();
+        update(digest, "version=" + FORMAT_VERSION);
+        update(digest, "class=" + className);
+        for (String key : RELEVANT_PROPERTIES) {
+            try {
+                update(digest, key + "=" + Properties.getStringValue(key));
+            } catch (Properties.NoSuchParameterException | IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read property " + key, e);
+            }
+        }
+        update(digest, "class_prefix=" + Properties.CLASS_PREFIX);
+        update(digest, getRuntimeSettings());
+        if (Properties.CP != null) {
+            for (String entry : Properties.CP.split(File.pathSeparator)) {
+                update(digest, getEntryFingerprint(entry));
+            }
+        }
+        update(digest, getEntryFingerprint(getEvoSuiteLocation()));
+        digest.update(originalBytes);
+        return String.format("%064x", new BigInteger(1, digest.digest()));
+    }
+
+    /**
+     * Registers the side data of a cached class and returns its bytecode, with
+     * the loops renumbered if needed.
+     *
+     * @param key the key of the class, see {@link #getKey(String, byte[])}
+     * @return the cached instrumented bytecode, or null if there is none
+     */
+    public byte[] get(String key) {
+        Path file = getFile(key);
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() == FORMAT_VERSION) {
+                    InstrumentationSideData sideData = InstrumentationSideData.read(in);
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    bytes = registerLoops(bytes);
+                    sideData.register();
+                    hits.incrementAndGet();
+                    return bytes;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Cannot read cached class {}: {}", file, e.getMessage());
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the instrumented bytecode of a class. Failures are only logged,
+     * as the cache is an optimization.
+     *
+     * @param key      the key of the class, see {@link #getKey(String, byte[])}
+     * @param bytes    the instrumented bytecode
+     * @param sideData the side data registered by the instrumentation
+     */
+    public void put(String key, byte[] bytes, InstrumentationSideData sideData) {
+        Path file = getFile(key);
+        try {
+            Files.createDirectories(file.getParent());
+            // Other clients may share the directory, so entries are published atomically
+            Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FORMAT_VERSION);
+                sideData.write(out);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot write cached class {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Registers new indices for the loops of a cached class, in the order in
+     * which {@link LoopCounterMethodAdapter} assigned them, and replaces the
+     * indices embedded in the code if they differ.
+     */
+    private static byte[] registerLoops(byte[] bytes) {
+        ClassNode cn = new ClassNode();
+        new ClassReader(bytes).accept(cn, 0);
+        String className = cn.name.replace('/', '.');
+        boolean renumbered = false;
+        Map<Integer, Integer> indices = new HashMap<>();
+        for (MethodNode mn : cn.methods) {
+            for (AbstractInsnNode insn : mn.instructions) {
+                if (!isCheckLoop(insn)) {
+                    continue;
+                }
+                AbstractInsnNode previous = insn.getPrevious();
+                if (!(previous instanceof LdcInsnNode) || !(((LdcInsnNode) previous).cst instanceof Integer)) {
+                    throw new IllegalStateException("No loop index in " + className + "." + mn.name + mn.desc);
+                }
+                LdcInsnNode ldc = (LdcInsnNode) previous;
+                Integer index = indices.computeIfAbsent((Integer) ldc.cst,
+                        i -> LoopCounter.getInstance().getNewIndex(className, mn.name + mn.desc));
+                if (!index.equals(ldc.cst)) {
+                    ldc.cst = index;
+                    renumbered = true;
+                }
+            }
+        }
+        if (!renumbered) {
+            return bytes;
+        }
+        // The stack map frames are not affected by the indices
+        ClassWriter writer = new ClassWriter(0);
+        cn.accept(writer);
+        return writer.toByteArray();
+    }
+
+    private static boolean isCheckLoop(AbstractInsnNode insn) {
+        if (insn.getOpcode() != Opcodes.INVOKEVIRTUAL) {
+            return false;
+        }
+        MethodInsnNode call = (MethodInsnNode) insn;
+        return call.owner.equals(LOOP_COUNTER) && call.name.equals("checkLoop");
+    }
+
+    public long getNumberOfHits() {
+        return hits.get();
+    }
+
+    public long getNumberOfMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Reset the statistics and the fingerprints of the classpath entries.
+     * The content of the cache directory is not affected.
+     */
+    public void reset() {
+        hits.set(0);
+        misses.set(0);
+        entryFingerprints.clear();
+    }
+
+    private Path getFile(String key) {
+        return Paths.get(Properties.INSTRUMENTATION_CACHE_DIR, key.substring(0, 2), key + ".entry");
+    }
+
+    private static String getRuntimeSettings() {
+        StringBuilder sb = new StringBuilder();
+        for (Field field : RuntimeSettings.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+                try {
+                    sb.append(field.getName()).append('=').append(field.get(null)).append(';');
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String getEvoSuiteLocation() {
+        CodeSource source = InstrumentationCache.class.getProtectionDomain().getCodeSource();
+        if (source == null)
+            return "";
+        try {
+            return Paths.get(source.getLocation().toURI()).toString();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return source.getLocation().toString();
+        }
+    }
+
+    /**
+     * Size and modification time of a classpath entry. For directories, the
+     * latest modification time and the total size of the contained files.
+     */
+    private String getEntryFingerprint(String entry) {
+        return entryFingerprints.computeIfAbsent(entry, e -> {
+            File file = new File(e);
+            if (!file.exists())
+                return e + ":missing";
+            if (file.isFile())
+                return e + ":" + file.length() + ":" + file.lastModified();
+
+            long size = 0;
+            long lastModified = file.lastModified();
+            try (Stream<Path> files = Files.walk(file.toPath())) {
+                for (Path path : (Iterable<Path>) files::iterator) {
+                    File f = path.toFile();
+                    size += f.length();
+                    lastModified = Math.max(lastModified, f.lastModified());
+                }
+            } catch (IOException | RuntimeException ex) {
+                logger.debug("Cannot scan classpath entry {}: {}", e, ex.getMessage());
+            }
+            return e + ":" + size + ":" + lastModified;
+        });
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
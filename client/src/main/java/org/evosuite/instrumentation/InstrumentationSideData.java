@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.assertion.CheapPurityAnalyzer;
+import org.evosuite.runtime.classhandling.ModifiedTargetStaticFields;
+import org.evosuite.runtime.instrumentation.RemoveFinalClassAdapter;
+import org.evosuite.seeding.ConstantPoolManager;
+import org.objectweb.asm.Type;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Side data registered while instrumenting a class, i.e., the constants for
+ * the value pool, the facts of the purity analysis and the classes and static
+ * fields whose final modifier was removed. It is stored along with the
+ * instrumented bytecode in the {@link InstrumentationCache}, such that it can
+ * be registered again on a hit without instrumenting the class.
+ * <p>
+ * The registrations are recorded by the thread that instruments the class,
+ * between {@link #startRecording()} and {@link #stopRecording()}.
+ */
+public final class InstrumentationSideData {
+
+    private enum Kind {
+        SUT_CONSTANT, NON_SUT_CONSTANT, FINAL_CLASS, FINAL_FIELD, METHOD, INTERFACE_METHOD, METHOD_WITH_BODY,
+        UPDATES_FIELD_METHOD, STATIC_CALL, VIRTUAL_CALL, INTERFACE_CALL, SPECIAL_CALL
+    }
+
+    private static final class Registration {
+
+        private final Kind kind;
+
+        private final Object[] values;
+
+        private Registration(Kind kind, Object... values) {
+            this.kind = kind;
+            this.values = values;
+        }
+    }
+
+    private static final ThreadLocal<InstrumentationSideData> recording = new ThreadLocal<>();
+
+    private final List<Registration> registrations = new ArrayList<>();
+
+    private InstrumentationSideData() {
+    }
+
+    /**
+     * Start recording the side data registered by the current thread
+     */
+    public static void startRecording() {
+        recording.set(new InstrumentationSideData());
+    }
+
+    /**
+     * @return the side data registered by the current thread since
+     * {@link #startRecording()}, or null if there was no recording
+     */
+    public static InstrumentationSideData stopRecording() {
+        InstrumentationSideData sideData = recording.get();
+        recording.remove();
+        return sideData;
+    }
+
+    private static void record(Kind kind, Object... values) {
+        InstrumentationSideData sideData = recording.get();
+        if (sideData != null) {
+            sideData.registrations.add(new Registration(kind, values));
+        }
+    }
+
+    /**
+     * The value pool only keeps strings, types and boxed numbers, hence the
+     * other constants need not be recorded
+     */
+    public static void recordConstant(boolean sut, Object value) {
+        if (value instanceof String || value instanceof Type || value instanceof Integer
+                || value instanceof Long || value instanceof Float || value instanceof Double) {
+            record(sut ? Kind.SUT_CONSTANT : Kind.NON_SUT_CONSTANT, value);
+        }
+    }
+
+    public static void recordFinalClass(String className) {
+        record(Kind.FINAL_CLASS, className);
+    }
+
+    public static void recordFinalFields(Collection<String> fields) {
+        for (String field : fields) {
+            record(Kind.FINAL_FIELD, field);
+        }
+    }
+
+    /**
+     * @param purityAnalyzer the analyzer used by the instrumentation
+     * @return an analyzer that records what is added to the given one, if the
+     * current thread is recording, or the given analyzer otherwise
+     */
+    public static CheapPurityAnalyzer recordPurity(CheapPurityAnalyzer purityAnalyzer) {
+        if (recording.get() == null) {
+            return purityAnalyzer;
+        }
+        return new RecordingPurityAnalyzer(purityAnalyzer);
+    }
+
+    /**
+     * Registers the side data again, as the instrumentation of the class would
+     */
+    public void register() {
+        ConstantPoolManager poolManager = ConstantPoolManager.getInstance();
+        CheapPurityAnalyzer purityAnalyzer = CheapPurityAnalyzer.getInstance();
+        for (Registration registration : registrations) {
+            Object[] v = registration.values;
+            switch (registration.kind) {
+                case SUT_CONSTANT:
+                    poolManager.addSUTConstant(v[0]);
+                    break;
+                case NON_SUT_CONSTANT:
+                    poolManager.addNonSUTConstant(v[0]);
+                    break;
+                case FINAL_CLASS:
+                    RemoveFinalClassAdapter.finalClasses.add((String) v[0]);
+                    break;
+                case FINAL_FIELD:
+                    ModifiedTargetStaticFields.getInstance().addFinalFields(Collections.singletonList((String) v[0]));
+                    break;
+                case METHOD:
+                    purityAnalyzer.addMethod((String) v[0], (String) v[1], (String) v[2]);
+                    break;
+                case INTERFACE_METHOD:
+                    purityAnalyzer.addInterfaceMethod((String) v[0], (String) v[1], (String) v[2]);
+                    break;
+                case METHOD_WITH_BODY:
+                    purityAnalyzer.addMethodWithBody((String) v[0], (String) v[1], (String) v[2]);
+                    break;
+                case UPDATES_FIELD_METHOD:
+                    purityAnalyzer.addUpdatesFieldMethod((String) v[0], (String) v[1], (String) v[2]);
+                    break;
+                case STATIC_CALL:
+                    purityAnalyzer.addStaticCall((String) v[0], (String) v[1], (String) v[2], (String) v[3],
+                            (String) v[4], (String) v[5]);
+                    break;
+                case VIRTUAL_CALL:
+                    purityAnalyzer.addVirtualCall((String) v[0], (String) v[1], (String) v[2], (String) v[3],
+                            (String) v[4], (String) v[5]);
+                    break;
+                case INTERFACE_CALL:
+                    purityAnalyzer.addInterfaceCall((String) v[0], (String) v[1], (String) v[2], (String) v[3],
+                            (String) v[4], (String) v[5]);
+                    break;
+                case SPECIAL_CALL:
+                    purityAnalyzer.addSpecialCall((String) v[0], (String) v[1], (String) v[2], (String) v[3],
+                            (String) v[4], (String) v[5]);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown registration: " + registration.kind);
+            }
+        }
+    }
+
+    public int size() {
+        return registrations.size();
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(registrations.size());
+        for (Registration registration : registrations) {
+            out.writeByte(registration.kind.ordinal());
+            out.writeByte(registration.values.length);
+            for (Object value : registration.values) {
+                writeValue(out, value);
+            }
+        }
+    }
+
+    static InstrumentationSideData read(DataInputStream in) throws IOException {
+        InstrumentationSideData sideData = new InstrumentationSideData();
+        int size = in.readInt();
+        Kind[] kinds = Kind.values();
+        for (int i = 0; i < size; i++) {
+            int kind = in.readUnsignedByte();
+            if (kind >= kinds.length) {
+                throw new IOException("Unknown registration " + kind);
+            }
+            Object[] values = new Object[in.readUnsignedByte()];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = readValue(in);
+            }
+            sideData.registrations.add(new Registration(kinds[kind], values));
+        }
+        return sideData;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte('N');
+        } else if (value instanceof String) {
+            // Strings in the constant pool are not limited by the modified UTF-8 of writeUTF
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeByte('S');
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Type) {
+            out.writeByte('T');
+            out.writeUTF(((Type) value).getDescriptor());
+        } else if (value instanceof Integer) {
+            out.writeByte('I');
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte('J');
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte('F');
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte('D');
+            out.writeDouble((Double) value);
+        } else {
+            throw new IOException("Cannot store value of type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'N':
+                return null;
+            case 'S':
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            case 'T':
+                return Type.getType(in.readUTF());
+            case 'I':
+                return in.readInt();
+            case 'J':
+                return in.readLong();
+            case 'F':
+                return in.readFloat();
+            case 'D':
+                return in.readDouble();
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    /**
+     * Forwards the facts of the purity analysis to the actual analyzer, and
+     * records them
+     */
+    private static final class RecordingPurityAnalyzer extends CheapPurityAnalyzer {
+
+        private final CheapPurityAnalyzer delegate;
+
+        private RecordingPurityAnalyzer(CheapPurityAnalyzer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void addMethod(String className, String methodName, String methodDescriptor) {
+            record(Kind.METHOD, className, methodName, methodDescriptor);
+            delegate.addMethod(className, methodName, methodDescriptor);
+        }
+
+        @Override
+        public void addInterfaceMethod(String className, String methodName, String methodDescriptor) {
+            record(Kind.INTERFACE_METHOD, className, methodName, methodDescriptor);
+            delegate.addInterfaceMethod(className, methodName, methodDescriptor);
+        }
+
+        @Override
+        public void addMethodWithBody(String className, String methodName, String methodDescriptor) {
+            record(Kind.METHOD_WITH_BODY, className, methodName, methodDescriptor);
+            delegate.addMethodWithBody(className, methodName, methodDescriptor);
+        }
+
+        @Override
+        public void addUpdatesFieldMethod(String className, String methodName, String descriptor) {
+            record(Kind.UPDATES_FIELD_METHOD, className, methodName, descriptor);
+            delegate.addUpdatesFieldMethod(className, methodName, descriptor);
+        }
+
+        @Override
+        public void addStaticCall(String sourceClassName, String sourceMethodName, String sourceDescriptor,
+                                  String targetClassName, String targetMethodName, String targetDescriptor) {
+            record(Kind.STATIC_CALL, sourceClassName, sourceMethodName, sourceDescriptor, targetClassName,
+                    targetMethodName, targetDescriptor);
+            delegate.addStaticCall(sourceClassName, sourceMethodName, sourceDescriptor, targetClassName,
+                    targetMethodName, targetDescriptor);
+        }
+
+        @Override
+        public void addVirtualCall(String sourceClassName, String sourceMethodName, String sourceDescriptor,
+                                   String targetClassName, String targetMethodName, String targetDescriptor) {
+            record(Kind.VIRTUAL_CALL, sourceClassName, sourceMethodName, sourceDescriptor, targetClassName,
+                    targetMethodName, targetDescriptor);
+            delegate.addVirtualCall(sourceClassName, sourceMethodName, sourceDescriptor, targetClassName,
+                    targetMethodName, targetDescriptor);
+        }
+
+        @Override
+        public void addInterfaceCall(String sourceClassName, String sourceMethodName, String sourceDescriptor,
+                                     String targetClassName, String targetMethodName, String targetDescriptor) {
+            record(Kind.INTERFACE_CALL, sourceClassName, sourceMethodName, sourceDescriptor, targetClassName,
+                    targetMethodName, targetDescriptor);
+            delegate.addInterfaceCall(sourceClassName, sourceMethodName, sourceDescriptor, targetClassName,
+                    targetMethodName, targetDescriptor);
+        }
+
+        @Override
+        public void addSpecialCall(String sourceClassName, String sourceMethodName, String sourceDescriptor,
+                                   String targetClassName, String targetMethodName, String targetDescriptor) {
+            record(Kind.SPECIAL_CALL, sourceClassName, sourceMethodName, sourceDescriptor, targetClassName,
+                    targetMethodName, targetDescriptor);
+            delegate.addSpecialCall(sourceClassName, sourceMethodName, sourceDescriptor, targetClassName,
+                    targetMethodName, targetDescriptor);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -102,6 +103,36 @@ public class InstrumentingClassLoader extends ClassLoader {
         }
     }
 
+    /**
+     * Define a class from bytecode that is only available in memory (e.g., just
+     * compiled), transforming it as if it was loaded from the classpath
+     *
+     * @param fullyQualifiedTargetClass name of the class
+     * @param bytecode                  content of the .class file
+     * @return the loaded class
+     * @throws ClassNotFoundException if the bytecode could not be defined
+     */
+    public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytecode) throws ClassNotFoundException {
+
+        String className = fullyQualifiedTargetClass.replace('.', '/');
+
+        try (InputStream is = new ByteArrayInputStream(bytecode)) {
+
+            byte[] byteBuffer = getTransformedBytes(className, is);
+
+            createPackageDefinition(fullyQualifiedTargetClass);
+            Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+            classes.put(fullyQualifiedTargetClass, result);
+
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from memory");
+            return result;
+        } catch (Throwable t) {
+            logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+            throw new ClassNotFoundException(t.getMessage(), t);
+        }
+    }
+
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
         synchronized (getClassLoadingLock(name)) {
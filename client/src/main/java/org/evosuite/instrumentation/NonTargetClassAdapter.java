@@ -50,6 +50,7 @@ public class NonTargetClassAdapter extends ClassVisitor {
     public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
         if ((access & Opcodes.ACC_FINAL) == Opcodes.ACC_FINAL) {
             RemoveFinalClassAdapter.finalClasses.add(name.replace('/', '.'));
+            InstrumentationSideData.recordFinalClass(name.replace('/', '.'));
         }
 
         // We are removing final access to allow mocking
@@ -74,6 +75,7 @@ public class NonTargetClassAdapter extends ClassVisitor {
     public void visitInnerClass(String name, String outerName, String innerName, int access) {
         if ((access & Opcodes.ACC_FINAL) == Opcodes.ACC_FINAL) {
             RemoveFinalClassAdapter.finalClasses.add(name.replace('/', '.'));
+            InstrumentationSideData.recordFinalClass(name.replace('/', '.'));
         }
         // We are removing final access to allow mocking
         super.visitInnerClass(name, outerName, innerName, access & ~Opcodes.ACC_FINAL);
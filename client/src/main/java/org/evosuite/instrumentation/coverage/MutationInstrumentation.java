@@ -274,8 +274,9 @@ public class MutationInstrumentation implements MethodInstrumentation {
 
             LdcInsnNode mutationId = new LdcInsnNode(mutation.getId());
             instructions.add(mutationId);
-            FieldInsnNode activeId = new FieldInsnNode(Opcodes.GETSTATIC,
-                    Type.getInternalName(MutationObserver.class), "activeMutation", "I");
+            MethodInsnNode activeId = new MethodInsnNode(Opcodes.INVOKESTATIC,
+                    Type.getInternalName(MutationObserver.class), "getActiveMutation",
+                    Type.getMethodDescriptor(Type.INT_TYPE), false);
             instructions.add(activeId);
             instructions.add(new JumpInsnNode(Opcodes.IF_ICMPNE, nextLabel));
             instructions.add(mutation.getMutation());
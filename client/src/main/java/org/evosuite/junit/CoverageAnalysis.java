@@ -141,6 +141,15 @@ public class CoverageAnalysis {
          */
         sortTestClasses(testClasses);
 
+        if (isSharded()) {
+            if (Properties.COVERAGE_MATRIX) {
+                throw new IllegalArgumentException("Coverage matrix not yet available when measuring coverage with several clients");
+            }
+            testClasses = getShard(testClasses, getShardIndex(), Properties.NUM_PARALLEL_CLIENTS);
+            LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Measuring coverage of "
+                    + testClasses.size() + " test class(es) of this shard");
+        }
+
         Class<?>[] tests = testClasses.toArray(new Class<?>[testClasses.size()]);
         LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Executing test(s)");
         if (Properties.SELECTED_JUNIT == null) {
@@ -450,7 +459,77 @@ public class CoverageAnalysis {
         return testClasses;
     }
 
-    private static void analyzeCoverageCriterion(List<JUnitResult> results, Properties.Criterion criterion) {
+    /**
+     * With several clients, each one measures the coverage of a subset of the test classes,
+     * and the master merges their covered goals
+     */
+    private static boolean isSharded() {
+        return Properties.NUM_PARALLEL_CLIENTS > 1;
+    }
+
+    private static int getShardIndex() {
+        String identifier = ClientProcess.getIdentifier();
+        return Integer.parseInt(identifier.substring(ClientProcess.CLIENT_PREFIX.length()));
+    }
+
+    /**
+     * Select the test classes of a shard. The selection only depends on the names of
+     * the classes, so that all clients agree on it
+     *
+     * @param testClasses
+     * @param shardIndex
+     * @param numberOfShards
+     * @return the test classes of the shard, in the same order as in <code>testClasses</code>
+     */
+    protected static List<Class<?>> getShard(List<Class<?>> testClasses, int shardIndex, int numberOfShards) {
+        List<String> names = new ArrayList<>();
+        for (Class<?> testClass : testClasses) {
+            names.add(testClass.getName());
+        }
+        Collections.sort(names);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            positions.put(names.get(i), i);
+        }
+
+        List<Class<?>> shard = new ArrayList<>();
+        for (Class<?> testClass : testClasses) {
+            if (positions.get(testClass.getName()) % numberOfShards == shardIndex) {
+                shard.add(testClass);
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * Keys that identify the goals independently of the JVM in which they were created, so
+     * that the coverage of different shards can be merged. Mutation ids depend on the order
+     * in which classes are instrumented, hence mutants are identified by their location.
+     * Goals with the same description are distinguished by their order of appearance.
+     *
+     * @param goals
+     * @return one key per goal, in the same order as <code>goals</code>
+     */
+    protected static List<String> getGoalKeys(List<?> goals) {
+        List<String> keys = new ArrayList<>(goals.size());
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (Object goal : goals) {
+            String key;
+            if (goal instanceof Mutation) {
+                Mutation mutation = (Mutation) goal;
+                key = mutation.getClassName() + "." + mutation.getMethodName() + ":"
+                        + mutation.getLineNumber() + " - " + mutation.getMutationName();
+            } else {
+                key = goal.toString();
+            }
+            int occurrence = occurrences.merge(key, 1, Integer::sum);
+            keys.add(occurrence == 1 ? key : key + "#" + occurrence);
+        }
+        return keys;
+    }
+
+    private static void analyzeCoverageCriterion(List<JUnitResult> results, Properties.Criterion criterion,
+                                                 CoverageShard shard) {
 
         logger.info("analysing coverage of " + criterion);
 
@@ -502,8 +581,9 @@ public class CoverageAnalysis {
                         for (JUnitResult mR : mutationResults) {
                             if (mR.getFailureCount() != tR.getFailureCount()) {
                                 logger.info("Mutation killed: " + mutationID);
-                                covered.set(mutation.getId());
-                                coverage_matrix[index_test][mutationID] = true;
+                                int index_component = goals.indexOf(mutation);
+                                covered.set(index_component);
+                                coverage_matrix[index_test][index_component] = true;
                                 break;
                             }
                         }
@@ -531,6 +611,12 @@ public class CoverageAnalysis {
         }
         totalCoveredGoals += covered.cardinality();
 
+        if (shard != null) {
+            // the coverage is reported by the master, once merged with the one of the other shards
+            shard.addCriterion(criterion, getGoalKeys(goals), covered);
+            return;
+        }
+
         if (Properties.COVERAGE_MATRIX) {
             CoverageReportGenerator.writeCoverage(coverage_matrix, criterion);
         }
@@ -578,17 +664,25 @@ public class CoverageAnalysis {
             Properties.TARGET_CLASS = targetClass;
             LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Target class "
                     + Properties.TARGET_CLASS);
-            ClientServices.getInstance().getClientNode().updateProperty("TARGET_CLASS", Properties.TARGET_CLASS);
+            CoverageShard shard = isSharded() ? new CoverageShard(targetClass, results.size()) : null;
+            if (shard == null) {
+                ClientServices.getInstance().getClientNode().updateProperty("TARGET_CLASS", Properties.TARGET_CLASS);
+            }
 
             for (Criterion c : criterion) {
                 Properties.CRITERION = new Criterion[]{c};
 
-                analyzeCoverageCriterion(results, c);
+                analyzeCoverageCriterion(results, c, shard);
             }
 
             // restore
             Properties.CRITERION = criterion;
 
+            if (shard != null) {
+                ClientServices.getInstance().getClientNode().sendCoverageShard(shard);
+                continue;
+            }
+
             LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Total number of covered goals: "
                     + totalCoveredGoals + " / " + "" + totalGoals);
             ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Total_Goals, totalGoals);
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.evosuite.Properties.Criterion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Coverage of a target class obtained by running only a subset (ie, a shard) of the
+ * test classes. The goals covered by each shard are merged to obtain the coverage of
+ * the whole test suite.
+ *
+ * <p>Shards are computed by different JVMs, in which goals are not necessarily created in
+ * the same order nor given the same ids. Goals are hence identified by a key that does not
+ * depend on the JVM (see {@link CoverageAnalysis#getGoalKeys(List)}), and merged by key.
+ */
+public class CoverageShard implements Serializable {
+
+    private static final long serialVersionUID = -4265383178458927332L;
+
+    private static final Logger logger = LoggerFactory.getLogger(CoverageShard.class);
+
+    private final String targetClass;
+
+    private int numberOfShards = 1;
+
+    private int testsExecuted;
+
+    private final Map<Criterion, List<String>> goals = new LinkedHashMap<>();
+
+    private final Map<Criterion, Set<String>> coveredGoals = new LinkedHashMap<>();
+
+    public CoverageShard(String targetClass, int testsExecuted) {
+        this.targetClass = targetClass;
+        this.testsExecuted = testsExecuted;
+    }
+
+    public String getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * @return how many shards were merged in this one
+     */
+    public int getNumberOfShards() {
+        return numberOfShards;
+    }
+
+    public int getTestsExecuted() {
+        return testsExecuted;
+    }
+
+    public Set<Criterion> getCriteria() {
+        return goals.keySet();
+    }
+
+    /**
+     * Record the goals of a criterion covered by the tests of this shard
+     *
+     * @param criterion
+     * @param goalKeys  the keys of all the goals of the criterion
+     * @param covered   the index in <code>goalKeys</code> of the covered goals
+     */
+    public void addCriterion(Criterion criterion, List<String> goalKeys, BitSet covered) {
+        Set<String> coveredKeys = new LinkedHashSet<>();
+        for (int i = covered.nextSetBit(0); i >= 0 && i < goalKeys.size(); i = covered.nextSetBit(i + 1)) {
+            coveredKeys.add(goalKeys.get(i));
+        }
+        goals.put(criterion, new ArrayList<>(goalKeys));
+        coveredGoals.put(criterion, coveredKeys);
+    }
+
+    public int getNumberOfGoals(Criterion criterion) {
+        List<String> keys = goals.get(criterion);
+        return keys == null ? 0 : keys.size();
+    }
+
+    public int getNumberOfCoveredGoals(Criterion criterion) {
+        Set<String> keys = coveredGoals.get(criterion);
+        return keys == null ? 0 : keys.size();
+    }
+
+    /**
+     * A goal is covered if it is covered by at least one of the shards. If the shards
+     * do not agree on the goals of a criterion, the union of their goals is kept.
+     *
+     * @param other coverage of the same target class obtained with other tests
+     */
+    public void merge(CoverageShard other) {
+        if (!targetClass.equals(other.targetClass)) {
+            throw new IllegalArgumentException("Cannot merge coverage of " + other.targetClass
+                    + " into coverage of " + targetClass);
+        }
+        for (Criterion criterion : other.getCriteria()) {
+            List<String> otherGoals = other.goals.get(criterion);
+            List<String> mergedGoals = goals.get(criterion);
+            if (mergedGoals == null) {
+                goals.put(criterion, new ArrayList<>(otherGoals));
+                coveredGoals.put(criterion, new LinkedHashSet<>(other.coveredGoals.get(criterion)));
+                continue;
+            }
+            Set<String> known = new LinkedHashSet<>(mergedGoals);
+            if (known.size() != otherGoals.size() || !known.containsAll(otherGoals)) {
+                logger.warn("Shards disagree on the " + criterion + " goals of " + targetClass + ": "
+                        + mergedGoals.size() + " vs " + otherGoals.size() + " goals, keeping their union");
+                for (String key : otherGoals) {
+                    if (known.add(key)) {
+                        mergedGoals.add(key);
+                    }
+                }
+            }
+            coveredGoals.get(criterion).addAll(other.coveredGoals.get(criterion));
+        }
+        testsExecuted += other.testsExecuted;
+        numberOfShards += other.numberOfShards;
+    }
+
+    /**
+     * @return the ratio of covered goals, or 1 if the criterion has no goal
+     */
+    public double getCoverage(Criterion criterion) {
+        int numberOfGoals = getNumberOfGoals(criterion);
+        if (numberOfGoals == 0) {
+            return 1.0;
+        }
+        return (double) getNumberOfCoveredGoals(criterion) / (double) numberOfGoals;
+    }
+
+    /**
+     * @return the covered goals as a string of 0s and 1s, as expected by the coverage bit string variables
+     */
+    public String getCoverageBitString(Criterion criterion) {
+        int numberOfGoals = getNumberOfGoals(criterion);
+        if (numberOfGoals == 0) {
+            return "1";
+        }
+        Set<String> covered = coveredGoals.get(criterion);
+        StringBuilder str = new StringBuilder(numberOfGoals);
+        for (String key : goals.get(criterion)) {
+            str.append(covered.contains(key) ? "1" : "0");
+        }
+        return str.toString();
+    }
+
+    public int getTotalGoals() {
+        int total = 0;
+        for (List<String> keys : goals.values()) {
+            total += keys.size();
+        }
+        return total;
+    }
+
+    public int getTotalCoveredGoals() {
+        int total = 0;
+        for (Set<String> keys : coveredGoals.values()) {
+            total += keys.size();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * File manager that keeps the compiled classes in memory, so that the
+ * generated tests can be compiled and loaded without touching the disk.
+ * Dependencies are still resolved by the underlying standard file manager
+ * (i.e., on the classpath given to the compiler).
+ */
+class InMemoryJavaFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+    /**
+     * Bytecode of the compiled classes (including inner and anonymous ones),
+     * indexed by fully qualified name
+     */
+    private final Map<String, ByteArrayOutputStream> compiledClasses = new LinkedHashMap<>();
+
+    InMemoryJavaFileManager(StandardJavaFileManager fileManager) {
+        super(fileManager);
+    }
+
+    /**
+     * @param className fully qualified name of the class defined in the source
+     * @param content   Java source code
+     * @return a compilation unit whose content is only kept in memory
+     */
+    static JavaFileObject createSource(String className, String content) {
+        return new SourceFile(className, content);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                               FileObject sibling) throws IOException {
+        if (kind != JavaFileObject.Kind.CLASS) {
+            return super.getJavaFileForOutput(location, className, kind, sibling);
+        }
+        ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+        compiledClasses.put(className, bytecode);
+        return new SimpleJavaFileObject(toURI(className, kind), kind) {
+            @Override
+            public OutputStream openOutputStream() {
+                return bytecode;
+            }
+        };
+    }
+
+    /**
+     * @return the bytecode of all the classes generated by the compiler,
+     * indexed by fully qualified name
+     */
+    Map<String, byte[]> getCompiledClasses() {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (Map.Entry<String, ByteArrayOutputStream> entry : compiledClasses.entrySet()) {
+            classes.put(entry.getKey(), entry.getValue().toByteArray());
+        }
+        return classes;
+    }
+
+    private static URI toURI(String className, JavaFileObject.Kind kind) {
+        return URI.create("string:///" + className.replace('.', '/') + kind.extension);
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String content;
+
+        private SourceFile(String className, String content) {
+            super(toURI(className, Kind.SOURCE), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+}
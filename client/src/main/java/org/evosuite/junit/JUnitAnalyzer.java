@@ -19,7 +19,6 @@
  */
 package org.evosuite.junit;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -46,7 +45,6 @@ import javax.tools.*;
 import javax.tools.JavaCompiler.CompilationTask;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -64,11 +62,6 @@ public abstract class JUnitAnalyzer {
 
     private static final Logger logger = LoggerFactory.getLogger(JUnitAnalyzer.class);
 
-    private static int dirCounter = 0;
-
-    private static final String JAVA = ".java";
-    private static final String CLASS = ".class";
-
     private static NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 
     private static final VersionDependentAnalyzing versionDependentAnalyzer;
@@ -79,8 +72,11 @@ public abstract class JUnitAnalyzer {
     }
 
     /**
-     * Try to compile each test separately, and remove the ones that cannot be
-     * compiled
+     * Compile all the tests in a single batch, and remove the ones that cannot be
+     * compiled. Each test is written in its own compilation unit (with its own
+     * scaffolding), so that the errors reported by the compiler can be mapped
+     * back to the tests that caused them. Sources and bytecode are only kept in
+     * memory.
      *
      * @param tests
      */
@@ -92,44 +88,79 @@ public abstract class JUnitAnalyzer {
             return;
         }
 
-        Iterator<TestCase> iter = tests.iterator();
+        List<TestCase> checked = new ArrayList<>();
+        List<List<JavaFileObject>> units = new ArrayList<>();
+        Map<JavaFileObject, Integer> owners = new HashMap<>();
 
-        while (iter.hasNext()) {
+        for (TestCase test : tests) {
             if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
                 break;
             }
 
-            TestCase test = iter.next();
+            List<JavaFileObject> testUnits = new ArrayList<>();
+            for (Map.Entry<String, String> source : generateSources(Collections.singletonList(test)).entrySet()) {
+                JavaFileObject unit = InMemoryJavaFileManager.createSource(source.getKey(), source.getValue());
+                testUnits.add(unit);
+                owners.put(unit, checked.size());
+            }
+            checked.add(test);
+            units.add(testUnits);
+        }
+
+        Set<Integer> failing = new TreeSet<>();
+        List<Integer> toCompile = new ArrayList<>();
+        for (int i = 0; i < checked.size(); i++) {
+            toCompile.add(i);
+        }
 
-            File dir = createNewTmpDir();
-            if (dir == null) {
-                logger.warn("Failed to create tmp dir");
-                return;
+        /*
+         * The compiler might stop reporting errors after the first faulty
+         * compilation unit, so the remaining tests are compiled again until
+         * either they all compile, or no further error can be attributed
+         */
+        while (!toCompile.isEmpty()) {
+            List<JavaFileObject> batch = new ArrayList<>();
+            for (int i : toCompile) {
+                batch.addAll(units.get(i));
             }
-            logger.debug("Created tmp folder: " + dir.getAbsolutePath());
 
-            try {
-                List<TestCase> singleList = new ArrayList<>();
-                singleList.add(test);
-                List<File> generated = compileTests(singleList, dir);
-                if (generated == null) {
-                    iter.remove();
-                    String code = test.toCode();
-                    logger.error("Failed to compile test case:\n" + code);
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            if (compile(batch, diagnostics) != null) {
+                break;
+            }
+
+            Set<Integer> withErrors = new TreeSet<>();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                Integer owner = diagnostic.getSource() == null ? null : owners.get(diagnostic.getSource());
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR && owner != null) {
+                    withErrors.add(owner);
                 }
-            } finally {
-                //let's be sure we clean up all what we wrote on disk
-                if (dir != null) {
-                    try {
-                        FileUtils.deleteDirectory(dir);
-                        logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-                    } catch (Exception e) {
-                        logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
+            }
+
+            if (withErrors.isEmpty()) {
+                logger.warn("Cannot attribute compilation errors to any test, compiling each test separately");
+                logCompilationErrors(diagnostics);
+                for (int i : toCompile) {
+                    if (compile(units.get(i), new DiagnosticCollector<>()) == null) {
+                        withErrors.add(i);
                     }
                 }
+                failing.addAll(withErrors);
+                break;
             }
 
-        } // end of while
+            logCompilationErrors(diagnostics);
+            failing.addAll(withErrors);
+            toCompile.removeAll(withErrors);
+        }
+
+        Set<TestCase> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i : failing) {
+            TestCase test = checked.get(i);
+            toRemove.add(test);
+            logger.error("Failed to compile test case:\n" + test.toCode());
+        }
+        tests.removeIf(toRemove::contains);
     }
 
     /**
@@ -152,16 +183,10 @@ public abstract class JUnitAnalyzer {
             return numUnstable;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.error("Failed to create tmp dir");
-            return numUnstable;
-        }
-        logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
         try {
-            List<File> generated = compileTests(tests, dir);
-            if (generated == null) {
+            Map<String, String> sources = generateSources(tests);
+            Map<String, byte[]> compiled = compileSources(sources);
+            if (compiled == null) {
                 /*
                  * Note: in theory this shouldn't really happen, as check for compilation
                  * is done before calling this method
@@ -177,14 +202,14 @@ public abstract class JUnitAnalyzer {
 
             // Create a new classloader so that each test gets freshly loaded classes
             loader = new NonInstrumentingClassLoader();
-            Class<?>[] testClasses = loadTests(generated);
+            Class<?>[] testClasses = loadTests(sources.keySet(), compiled);
 
             if (testClasses == null) {
                 logger.error("Found no classes for compiled tests");
                 return numUnstable;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (result.wasSuccessful()) {
                 return numUnstable; //everything is OK
@@ -264,24 +289,13 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return numUnstable;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (Exception e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
-
         }
 
         //if we arrive here, then it means at least one test was unstable
         return numUnstable;
     }
 
-    private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+    private static JUnitResult runTests(Class<?>[] testClasses)
             throws JUnitExecutionException {
         return runJUnitOnCurrentProcess(testClasses);
     }
@@ -305,7 +319,13 @@ public abstract class JUnitAnalyzer {
     // EvoSuite classloader, and thus cannot easily be re-loaded
     private static int NUM = 0;
 
-    private static List<File> compileTests(List<TestCase> tests, File dir) {
+    /**
+     * Generate the JUnit source code of the tests, without writing it to disk
+     *
+     * @param tests
+     * @return the source of each generated class, indexed by fully qualified name
+     */
+    private static Map<String, String> generateSources(List<TestCase> tests) {
 
         TestSuiteWriter suite = new TestSuiteWriter();
         suite.insertAllTests(tests);
@@ -315,112 +335,120 @@ public abstract class JUnitAnalyzer {
         String name = Properties.TARGET_CLASS.substring(beginIndex);
         name += "_" + (NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
 
-        try {
-            //now generate the JUnit test case
-            List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-            for (File file : generated) {
-                if (!file.exists()) {
-                    logger.error("Supposed to generate " + file
-                            + " but it does not exist");
-                    return null;
-                }
-            }
+        String packagePrefix = Properties.CLASS_PREFIX;
+        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
+            packagePrefix += ".";
+        }
 
-            //try to compile the test cases
-            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-            if (compiler == null) {
-                logger.error("No Java compiler is available");
-                return null;
-            }
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (Map.Entry<String, String> source : suite.generateTestSuite(name, Collections.emptyList()).entrySet()) {
+            sources.put(packagePrefix + source.getKey(), source.getValue());
+        }
+        return sources;
+    }
 
-            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-            Locale locale = Locale.getDefault();
-            Charset charset = StandardCharsets.UTF_8;
-            StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-                    locale,
-                    charset);
+    /**
+     * @param sources the source of each class, indexed by fully qualified name
+     * @return the bytecode of all the compiled classes, or null if the compilation failed
+     */
+    private static Map<String, byte[]> compileSources(Map<String, String> sources) {
+        List<JavaFileObject> compilationUnits = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            compilationUnits.add(InMemoryJavaFileManager.createSource(source.getKey(), source.getValue()));
+        }
 
-            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, byte[]> compiled = compile(compilationUnits, diagnostics);
+        if (compiled == null) {
+            logger.error("Compilation failed on compilation units: " + sources.keySet());
+            logCompilationErrors(diagnostics);
+        }
+        return compiled;
+    }
 
-            String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-            if (JarPathing.containsAPathingJar(evosuiteCP)) {
-                evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-            }
+    /**
+     * Compile the given units in a single compilation task, keeping the
+     * generated bytecode in memory
+     *
+     * @return the bytecode of all the compiled classes (including inner and
+     * anonymous ones) indexed by fully qualified name, or null if the
+     * compilation failed
+     */
+    private static Map<String, byte[]> compile(List<JavaFileObject> compilationUnits,
+                                               DiagnosticCollector<JavaFileObject> diagnostics) {
 
-            String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-            if (JarPathing.containsAPathingJar(targetProjectCP)) {
-                targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-            }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            logger.error("No Java compiler is available");
+            return null;
+        }
 
-            String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics,
+                Locale.getDefault(),
+                StandardCharsets.UTF_8);
 
-            List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
+        List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", getCompilationClasspath()));
+        /*
+         * By default, javac does not analyse the remaining compilation units once
+         * one of them has errors. These (hidden) options make it report the errors
+         * of all units (first one is for Java 9+, second one for Java 8)
+         */
+        optionList.add("-XDshould-stop.ifError=FLOW");
+        optionList.add("-XDshouldStopPolicyIfError=FLOW");
 
+        try (InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(standardFileManager)) {
             CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
                     optionList, null, compilationUnits);
-            boolean compiled = task.call();
-            fileManager.close();
-
-            if (!compiled) {
-                logger.error("Compilation failed on compilation units: " + compilationUnits);
-                logger.error("Classpath: " + classpath);
-                //TODO remove
-                logger.error("evosuiteCP: " + evosuiteCP);
-
-
-                for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-                    if (diagnostic.getMessage(null).startsWith("error while writing")) {
-                        logger.error("Error is due to file permissions, ignoring...");
-                        return generated;
-                    }
-                    logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
-                            + diagnostic.getLineNumber());
-                }
-
-                StringBuffer buffer = new StringBuffer();
-                for (JavaFileObject sourceFile : compilationUnits) {
-                    List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
-
-                    buffer.append(compilationUnits.iterator().next().toString() + "\n");
-
-                    for (int i = 0; i < lines.size(); i++) {
-                        buffer.append((i + 1) + ": " + lines.get(i) + "\n");
-                    }
-                }
-                logger.error(buffer.toString());
+            if (!task.call()) {
                 return null;
             }
-
-            return generated;
-
+            return fileManager.getCompiledClasses();
         } catch (IOException e) {
             logger.error("" + e, e);
             return null;
         }
     }
 
-    protected static File createNewTmpDir() {
-        File dir = null;
-        String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
-                + (dirCounter++) + "_" + +System.currentTimeMillis();
+    private static String getCompilationClasspath() {
+        String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+        if (JarPathing.containsAPathingJar(evosuiteCP)) {
+            evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+        }
 
-        //first create a tmp folder
-        dir = new File(dirName);
-        if (!dir.mkdirs()) {
-            logger.error("Cannot create tmp dir: " + dirName);
-            return null;
+        String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        if (JarPathing.containsAPathingJar(targetProjectCP)) {
+            targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
         }
 
-        if (!dir.exists()) {
-            logger.error("Weird behavior: we created folder, but Java cannot determine if it exists? Folder: "
-                    + dirName);
-            return null;
+        return targetProjectCP + File.pathSeparator + evosuiteCP;
+    }
+
+    private static void logCompilationErrors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        Set<JavaFileObject> faultyUnits = new LinkedHashSet<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+                    + diagnostic.getLineNumber());
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getSource() != null) {
+                faultyUnits.add(diagnostic.getSource());
+            }
         }
 
-        return dir;
+        StringBuilder buffer = new StringBuilder();
+        for (JavaFileObject sourceFile : faultyUnits) {
+            buffer.append(sourceFile.getName()).append("\n");
+            try {
+                String[] lines = sourceFile.getCharContent(true).toString().split("\\R", -1);
+                for (int i = 0; i < lines.length; i++) {
+                    buffer.append(i + 1).append(": ").append(lines[i]).append("\n");
+                }
+            } catch (IOException e) {
+                buffer.append(e).append("\n");
+            }
+        }
+        logger.error(buffer.toString());
     }
 
-    private static Class<?>[] loadTests(List<File> tests) {
+    private static Class<?>[] loadTests(Set<String> sourceClasses, Map<String, byte[]> compiled) {
 
         /*
          * Ideally, when we run a generated test case, it
@@ -434,67 +462,42 @@ public abstract class JUnitAnalyzer {
          * non-instrumenting classloader to re-load the CUT, and so see
          * if the JavaAgent works properly.
          */
-        Class<?>[] testClasses = getClassesFromFiles(tests);
-        List<File> otherClasses = listOnlyFiles(tests);
+
         /*
-         * this is important to force the loading of all files generated
-         * in the target folder.
-         * If we do not do that, then we will miss all the anonymous classes
+         * first load only the scaffolding files
          */
-        getClassesFromFiles(otherClasses);
-
-        return testClasses;
-    }
-
-    private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException {
-        if (tests == null || tests.isEmpty()) {
-            return null;
-        }
-
-        Set<String> classNames = new LinkedHashSet<>();
-
-        File parentFolder = tests.get(0).getParentFile();
-        for (File file : tests) {
-            if (!file.getParentFile().equals(parentFolder)) {
-                throw new IllegalArgumentException("Tests file are not in the same folder");
+        for (String className : sourceClasses) {
+            if (isScaffolding(className)) {
+                loadClass(className, compiled.get(className));
             }
-            classNames.add(removeFileExtension(file.getName()));
         }
 
         /*
-         * if we already loaded a CUT due to its .java, do not want
-         * to re-loaded it for a .class file that is in the same folder
+         * once the scaffoldings are loaded, we can load the tests that
+         * depend on them
          */
-
-        List<File> otherClasses = new LinkedList<>();
-
-        for (File file : parentFolder.listFiles()) {
-            String name = removeFileExtension(file.getName());
-
-            if (classNames.contains(name)) {
+        List<Class<?>> testClasses = new ArrayList<>();
+        for (String className : sourceClasses) {
+            if (isScaffolding(className)) {
                 continue;
             }
-
-            classNames.add(name);
-            otherClasses.add(file);
-        }
-
-        return otherClasses;
-    }
-
-
-    private static String removeFileExtension(String str) {
-        if (str == null) {
-            return null;
+            Class<?> clazz = loadClass(className, compiled.get(className));
+            if (clazz != null) {
+                testClasses.add(clazz);
+            }
         }
 
-        int pos = str.lastIndexOf(".");
-
-        if (pos == -1) {
-            return str;
+        /*
+         * this is important to force the loading of all the other compiled
+         * classes. If we do not do that, then we will miss all the anonymous classes
+         */
+        for (Map.Entry<String, byte[]> entry : compiled.entrySet()) {
+            if (!sourceClasses.contains(entry.getKey())) {
+                loadClass(entry.getKey(), entry.getValue());
+            }
         }
 
-        return str.substring(0, pos);
+        return testClasses.toArray(new Class<?>[testClasses.size()]);
     }
 
     /**
@@ -507,8 +510,7 @@ public abstract class JUnitAnalyzer {
      * </p>
      *
      * <p>
-     * Here we compile to a tmp folder, load and execute the test cases, and
-     * then clean up (ie delete all generated files).
+     * Here we compile in memory, and then load and execute the test cases.
      * </p>
      *
      * @param tests
@@ -522,29 +524,24 @@ public abstract class JUnitAnalyzer {
             return true;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.warn("Failed to create tmp dir");
-            return false;
-        }
-
         try {
-            List<File> generated = compileTests(tests, dir);
-            if (generated == null) {
+            Map<String, String> sources = generateSources(tests);
+            Map<String, byte[]> compiled = compileSources(sources);
+            if (compiled == null) {
                 logger.warn("Failed to compile the test cases ");
                 return false;
             }
 
             //as last step, execute the generated/compiled test cases
 
-            Class<?>[] testClasses = loadTests(generated);
+            Class<?>[] testClasses = loadTests(sources.keySet(), compiled);
 
             if (testClasses == null) {
                 logger.error("Found no classes for compiled tests");
                 return false;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (!result.wasSuccessful()) {
                 logger.error("" + result.getFailureCount() + " test cases failed");
@@ -568,15 +565,6 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return false;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (IOException e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
         }
 
         logger.debug("Successfully compiled and run test cases generated for "
@@ -584,89 +572,22 @@ public abstract class JUnitAnalyzer {
         return true;
     }
 
-    /**
-     * Given a list of files representing .java/.class classes, load them (it
-     * assumes the classpath to be correctly set)
-     *
-     * @param files
-     * @return
-     */
-    private static Class<?>[] getClassesFromFiles(Collection<File> files) {
-        /*
-         * first load only the scaffolding files
-         */
-        for (File file : files) {
-            if (!isScaffolding(file)) {
-                continue;
-            }
-            loadClass(file);
-        }
-
-        List<Class<?>> classes = new ArrayList<>();
-
-        /*
-         * once the scaffoldings are loaded, we can load the tests that
-         * depend on them
-         */
-        for (File file : files) {
-            if (isScaffolding(file)) {
-                continue;
-            }
-            Class<?> clazz = loadClass(file);
-            if (clazz != null) {
-                classes.add(clazz);
-            }
-        }
-
-        return classes.toArray(new Class<?>[classes.size()]);
-    }
-
-    private static boolean isScaffolding(File file) {
-        String name = file.getName();
-        return name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + JAVA) ||
-                name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + CLASS);
+    private static boolean isScaffolding(String className) {
+        return className.endsWith("_" + Properties.SCAFFOLDING_SUFFIX);
     }
 
-    private static Class<?> loadClass(File file) {
-        if (!file.isFile()) {
-            return null;
-        }
-
-        String packagePrefix = Properties.CLASS_PREFIX;
-        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-            packagePrefix += ".";
-        }
-
-        String name = file.getName();
-
-        if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-            /*
-             * this could happen when we scan a folder for all src/compiled
-             * files
-             */
+    private static Class<?> loadClass(String className, byte[] bytecode) {
+        if (bytecode == null) {
+            logger.error("No bytecode was generated for class " + className);
             return null;
         }
 
-        String fileName = file.getAbsolutePath();
-
-        if (name.endsWith(JAVA)) {
-            name = name.substring(0, name.length() - JAVA.length());
-            fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-        } else {
-            assert name.endsWith(CLASS);
-            name = name.substring(0, name.length() - CLASS.length());
-        }
-
-        String className = packagePrefix + name;
-
         Class<?> testClass = null;
         try {
             logger.info("Loading class " + className);
-            //testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-            testClass = loader.loadClassFromFile(className, fileName);
+            testClass = loader.loadClassFromBytes(className, bytecode);
         } catch (ClassNotFoundException e) {
-            logger.error("Failed to load test case " + className + " from file "
-                    + file.getAbsolutePath() + " , error " + e, e);
+            logger.error("Failed to load test case " + className + " , error " + e, e);
         }
         return testClass;
     }
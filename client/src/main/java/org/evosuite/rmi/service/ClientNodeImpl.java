@@ -27,12 +27,14 @@ import org.evosuite.coverage.ClassStatisticsPrinter;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.stoppingconditions.RMIStoppingCondition;
 import org.evosuite.junit.CoverageAnalysis;
+import org.evosuite.junit.CoverageShard;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.result.TestGenerationResultBuilder;
 import org.evosuite.runtime.sandbox.PermissionStatistics;
 import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
+import org.evosuite.statistics.OutputVariable;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.FileIOUtils;
 import org.evosuite.utils.Listener;
@@ -77,6 +79,11 @@ public class ClientNodeImpl<T extends Chromosome<T>>
      */
     protected volatile CountDownLatch finishedLatch;
 
+    /**
+     * A latch used, once finished, to wait for the master to give a new target class
+     */
+    protected volatile CountDownLatch nextTargetLatch;
+
 
     protected Registry registry;
 
@@ -85,10 +92,20 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
     protected final ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
 
-    private final BlockingQueue<OutputVariable> outputVariableQueue = new LinkedBlockingQueue<>();
+    /**
+     * Maximum number of output variables sent to the master in a single RMI call
+     */
+    private static final int MAX_STATISTICS_BATCH = 256;
+
+    private final BlockingQueue<OutputVariable<?>> outputVariableQueue = new LinkedBlockingQueue<>();
 
     private Collection<Set<T>> bestSolutions;
 
+    /**
+     * Used to send emigrants directly to the other clients, when running several clients in parallel
+     */
+    private volatile MigrationChannel<T> migrationChannel;
+
     private Thread statisticsThread;
 
     //only for testing
@@ -101,20 +118,10 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         clientRmiIdentifier = identifier;
         doneLatch = new CountDownLatch(1);
         finishedLatch = new CountDownLatch(1);
+        nextTargetLatch = new CountDownLatch(1);
         this.bestSolutions = Collections.synchronizedList(new ArrayList<>(Properties.NUM_PARALLEL_CLIENTS));
     }
 
-    private static class OutputVariable {
-        public RuntimeVariable variable;
-        public Object value;
-
-        public OutputVariable(RuntimeVariable variable, Object value) {
-            super();
-            this.variable = variable;
-            this.value = value;
-        }
-    }
-
     @Override
     public void startNewSearch() throws RemoteException, IllegalStateException {
         if (!state.equals(ClientState.NOT_STARTED)) {
@@ -151,6 +158,7 @@ public class ClientNodeImpl<T extends Chromosome<T>>
                         + Properties.TARGET_CLASS + ": " + t));
             }
 
+            closeMigrationChannel();
             changeState(ClientState.DONE);
 
             if (Properties.SANDBOX) {
@@ -194,22 +202,69 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     }
 
     @Override
-    public void emigrate(Set<T> immigrants) {
+    public boolean waitForNextTarget() {
+        stopStatisticsThread();
+        changeState(ClientState.FINISHED);
         try {
-            logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + immigrants.size() + " immigrants");
-            masterNode.evosuite_migrate(clientRmiIdentifier, immigrants);
-        } catch (RemoteException e) {
-            logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot send immigrating individuals to master", e);
+            nextTargetLatch.await();
+        } catch (InterruptedException e) {
+            return false;
         }
+        return true;
+    }
+
+    @Override
+    public void prepareForNewTarget(String targetClass) throws RemoteException, IllegalStateException {
+        if (!state.equals(ClientState.FINISHED)) {
+            throw new IllegalStateException("Client is not finished yet: " + state);
+        }
+
+        /*
+         * The reset is done on the same thread the searches are run on, as some of the
+         * state (eg, the sandbox) is bound to it
+         */
+        try {
+            searchExecutor.submit(() -> ClientProcess.resetForNewTarget(targetClass)).get();
+        } catch (InterruptedException | ExecutionException e) {
+            logger.error("Failed to reset client for target class " + targetClass, e);
+            throw new IllegalStateException(e);
+        }
+
+        doneLatch = new CountDownLatch(1);
+        finishedLatch = new CountDownLatch(1);
+        bestSolutions.clear();
+        startStatisticsThread();
+        changeState(ClientState.NOT_STARTED);
+
+        CountDownLatch latch = nextTargetLatch;
+        nextTargetLatch = new CountDownLatch(1);
+        latch.countDown();
+    }
+
+    @Override
+    public void emigrate(Set<T> immigrants) {
+        if (migrationChannel == null) {
+            migrationChannel = new MigrationChannel<>(registry, clientRmiIdentifier, Properties.NUM_PARALLEL_CLIENTS);
+        }
+        logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + immigrants.size() + " immigrants");
+        migrationChannel.emigrate(immigrants);
     }
 
     @Override
     public void sendBestSolution(Set<T> solutions) {
         try {
             logger.debug(ClientProcess.getPrettyPrintIdentifier() + "sending best solutions to " + ClientProcess.DEFAULT_CLIENT_NAME);
-            masterNode.evosuite_collectBestSolutions(clientRmiIdentifier, solutions);
-        } catch (RemoteException e) {
-            logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot send best solution to master", e);
+            ClientNodeRemote<?> node = (ClientNodeRemote<?>) registry.lookup(ClientProcess.DEFAULT_CLIENT_NAME);
+            node.collectBestSolutions(MigrationChannel.encode(solutions));
+        } catch (Exception e) {
+            logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot send best solution to " + ClientProcess.DEFAULT_CLIENT_NAME, e);
+        }
+    }
+
+    private void closeMigrationChannel() {
+        if (migrationChannel != null) {
+            migrationChannel.close();
+            migrationChannel = null;
         }
     }
 
@@ -266,6 +321,17 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         }
     }
 
+    @Override
+    public void sendCoverageShard(CoverageShard shard) {
+        logger.info("Sending coverage of " + shard.getTargetClass() + " to master process");
+
+        try {
+            masterNode.evosuite_collectCoverageShard(clientRmiIdentifier, shard);
+        } catch (RemoteException e) {
+            logger.error("Cannot send coverage of " + shard.getTargetClass() + " to master", e);
+        }
+    }
+
     @Override
     public void updateProperty(String propertyName, Object value) {
         logger.info("Updating property '" + propertyName + "' with value '" + value + "' on master process");
@@ -285,7 +351,7 @@ public class ClientNodeImpl<T extends Chromosome<T>>
          * As this code might be called from unsafe blocks, we just put the values
          * on a queue, and have a privileged thread doing the RMI connection to master
          */
-        outputVariableQueue.offer(new OutputVariable(variable, value));
+        outputVariableQueue.offer(new OutputVariable<>(variable.name(), value));
     }
 
     @Override
@@ -331,28 +397,56 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     }
 
     public void stop() {
-        if (statisticsThread != null) {
-            statisticsThread.interrupt();
-            List<OutputVariable> vars = new ArrayList<>();
-            outputVariableQueue.drainTo(vars);
-            for (OutputVariable ov : vars) {
-                try {
-                    masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
-                } catch (RemoteException e) {
-                    logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
-                    break;
-                }
-            }
+        stopStatisticsThread();
+        changeState(ClientState.FINISHED);
+    }
 
+    private void stopStatisticsThread() {
+        if (statisticsThread == null) {
+            return;
+        }
+        statisticsThread.interrupt();
+        try {
+            statisticsThread.join(3000);
+        } catch (InterruptedException e) {
+            logger.error("Failed to stop statisticsThread in time");
+        }
+        statisticsThread = null;
+
+        List<OutputVariable<?>> vars = new ArrayList<>();
+        outputVariableQueue.drainTo(vars);
+        if (!vars.isEmpty()) {
             try {
-                statisticsThread.join(3000);
-            } catch (InterruptedException e) {
-                logger.error("Failed to stop statisticsThread in time");
+                masterNode.evosuite_collectStatistics(clientRmiIdentifier, vars);
+            } catch (RemoteException e) {
+                logger.error("Error when exporting " + vars.size() + " statistics", e);
             }
-            statisticsThread = null;
         }
+    }
 
-        changeState(ClientState.FINISHED);
+    private void startStatisticsThread() {
+        statisticsThread = new Thread() {
+            @Override
+            public void run() {
+                while (!this.isInterrupted()) {
+                    List<OutputVariable<?>> batch = new ArrayList<>();
+                    try {
+                        batch.add(outputVariableQueue.take()); //this is blocking
+                        // whatever was queued in the meantime goes in the same RMI call
+                        outputVariableQueue.drainTo(batch, MAX_STATISTICS_BATCH - 1);
+                        masterNode.evosuite_collectStatistics(clientRmiIdentifier, batch);
+                    } catch (InterruptedException e) {
+                        break;
+                    } catch (RemoteException e) {
+                        logger.error("Error when exporting " + batch.size() + " statistics: " + batch, e);
+                        break;
+                    }
+                }
+            }
+        };
+        statisticsThread.setName("Statistics sender in client process");
+        Sandbox.addPrivilegedThread(statisticsThread);
+        statisticsThread.start();
     }
 
     @Override
@@ -362,28 +456,7 @@ public class ClientNodeImpl<T extends Chromosome<T>>
             masterNode.evosuite_registerClientNode(clientRmiIdentifier);
             masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state,
                     new ClientStateInformation(state));
-
-            statisticsThread = new Thread() {
-                @Override
-                public void run() {
-                    while (!this.isInterrupted()) {
-                        OutputVariable ov = null;
-                        try {
-                            ov = outputVariableQueue.take(); //this is blocking
-                            masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
-                        } catch (InterruptedException e) {
-                            break;
-                        } catch (RemoteException e) {
-                            logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
-                            break;
-                        }
-                    }
-                }
-            };
-            statisticsThread.setName("Statistics sender in client process");
-            Sandbox.addPrivilegedThread(statisticsThread);
-            statisticsThread.start();
-
+            startStatisticsThread();
         } catch (Exception e) {
             logger.error("Error when connecting to master via RMI", e);
             return false;
@@ -520,16 +593,32 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     }
 
     @Override
-    public void immigrate(Set<T> migrants) throws RemoteException {
+    public boolean immigrate(byte[] migrants) throws RemoteException {
+        if (!ClientState.SEARCH.equals(state)) {
+            return false;
+        }
+        Set<T> individuals;
+        try {
+            individuals = MigrationChannel.decode(migrants);
+        } catch (Exception e) {
+            logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot deserialize immigrants", e);
+            return true;
+        }
         logger.debug(ClientProcess.getPrettyPrintIdentifier() + "receiving "
-                + (migrants != null ? migrants.size() : 0) + " immigrants");
-        fireEvent(migrants);
+                + individuals.size() + " immigrants");
+        fireEvent(individuals);
+        return true;
     }
 
     @Override
-    public void collectBestSolutions(Set<T> solutions) throws RemoteException {
-        logger.debug(ClientProcess.getPrettyPrintIdentifier() + "added solution to set");
-        bestSolutions.add(solutions);
+    public void collectBestSolutions(byte[] solutions) throws RemoteException {
+        try {
+            bestSolutions.add(MigrationChannel.decode(solutions));
+            logger.debug(ClientProcess.getPrettyPrintIdentifier() + "added solution to set");
+        } catch (Exception e) {
+            logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot deserialize best solutions", e);
+            throw new RemoteException("Cannot deserialize best solutions", e);
+        }
     }
 
     @Override
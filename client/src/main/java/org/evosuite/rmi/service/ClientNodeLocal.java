@@ -20,6 +20,7 @@
 package org.evosuite.rmi.service;
 
 import org.evosuite.ga.Chromosome;
+import org.evosuite.junit.CoverageShard;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.Listenable;
 
@@ -46,10 +47,26 @@ public interface ClientNodeLocal<T extends Chromosome<T>> extends Listenable<Set
 
     void flushStatisticsForClassChange();
 
+    /**
+     * Send to the master the coverage of a target class obtained with the test classes
+     * assigned to this client, to be merged with the ones of the other clients
+     *
+     * @param shard
+     */
+    void sendCoverageShard(CoverageShard shard);
+
     void updateProperty(String propertyName, Object value);
 
     void waitUntilDone();
 
+    /**
+     * Mark the client as finished, and wait until the master either gives it a
+     * new target class or kills it
+     *
+     * @return <code>true</code> if a new search is going to be started on a new target class
+     */
+    boolean waitForNextTarget();
+
     void emigrate(Set<T> immigrants);
 
     void sendBestSolution(Set<T> solutions);
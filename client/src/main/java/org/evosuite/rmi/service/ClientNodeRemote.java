@@ -37,6 +37,16 @@ public interface ClientNodeRemote<T extends Chromosome<T>> extends Remote {
 
     void cancelCurrentSearch() throws RemoteException;
 
+    /**
+     * Reset the client, which is finished with its previous target class, so that
+     * a new search can be started on the given target class
+     *
+     * @param targetClass
+     * @throws RemoteException
+     * @throws IllegalStateException if the client is not finished yet
+     */
+    void prepareForNewTarget(String targetClass) throws RemoteException, IllegalStateException;
+
     /**
      * @param timeoutInMs maximum amount of time we can wait for the client to finish
      * @return <code>true</code> if client is finished
@@ -52,7 +62,20 @@ public interface ClientNodeRemote<T extends Chromosome<T>> extends Remote {
 
     void printClassStatistics() throws RemoteException;
 
-    void immigrate(Set<T> migrants) throws RemoteException;
+    /**
+     * Receive individuals from another client
+     *
+     * @param migrants the individuals, as encoded by {@link MigrationChannel#encode(Set)}
+     * @return <code>false</code> if the client is not searching anymore, and so the migrants should be sent elsewhere
+     * @throws RemoteException
+     */
+    boolean immigrate(byte[] migrants) throws RemoteException;
 
-    void collectBestSolutions(Set<T> solutions) throws RemoteException;
+    /**
+     * Receive the final solutions of another client
+     *
+     * @param solutions the solutions, as encoded by {@link MigrationChannel#encode(Set)}
+     * @throws RemoteException
+     */
+    void collectBestSolutions(byte[] solutions) throws RemoteException;
 }
@@ -75,6 +75,16 @@ public class DummyClientNodeImpl<T extends Chromosome<T>> extends ClientNodeImpl
 
     }
 
+    @Override
+    public boolean waitForNextTarget() {
+        return false;
+    }
+
+    @Override
+    public void prepareForNewTarget(String targetClass) throws RemoteException {
+
+    }
+
     @Override
     public void startNewSearch() throws RemoteException {
         // TODO Auto-generated method stub
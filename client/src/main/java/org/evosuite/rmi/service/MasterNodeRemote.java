@@ -21,13 +21,14 @@ package org.evosuite.rmi.service;
 
 import org.evosuite.Properties.NoSuchParameterException;
 import org.evosuite.ga.Chromosome;
+import org.evosuite.junit.CoverageShard;
 import org.evosuite.result.TestGenerationResult;
+import org.evosuite.statistics.OutputVariable;
 import org.evosuite.statistics.RuntimeVariable;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Master Node view in the client process.
@@ -51,13 +52,20 @@ public interface MasterNodeRemote extends Remote {
 
     void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value) throws RemoteException;
 
+    /**
+     * Send several output variables at once, in the order in which they were tracked
+     *
+     * @param clientRmiIdentifier
+     * @param variables
+     * @throws RemoteException
+     */
+    void evosuite_collectStatistics(String clientRmiIdentifier, List<OutputVariable<?>> variables) throws RemoteException;
+
     void evosuite_collectTestGenerationResult(String clientRmiIdentifier, List<TestGenerationResult> results) throws RemoteException;
 
     void evosuite_flushStatisticsForClassChange(String clientRmiIdentifier) throws RemoteException;
 
-    void evosuite_updateProperty(String clientRmiIdentifier, String propertyName, Object value) throws RemoteException, IllegalArgumentException, IllegalAccessException, NoSuchParameterException;
+    void evosuite_collectCoverageShard(String clientRmiIdentifier, CoverageShard shard) throws RemoteException;
 
-    void evosuite_migrate(String clientRmiIdentifier, Set<? extends Chromosome<?>> migrants) throws RemoteException;
-
-    void evosuite_collectBestSolutions(String clientRmiIdentifier, Set<? extends Chromosome<?>> solutions) throws RemoteException;
+    void evosuite_updateProperty(String clientRmiIdentifier, String propertyName, Object value) throws RemoteException, IllegalArgumentException, IllegalAccessException, NoSuchParameterException;
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.evosuite.ClientProcess;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.rmi.registry.Registry;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Sends the emigrants of a client directly to the next client in the ring
+ * of parallel clients, without going through the master.
+ *
+ * <p>
+ * The search thread only selects and copies the individuals to send. Serializing and
+ * sending them is done on a separate thread, which skips the individuals that were
+ * already sent before. If the previous batches have not been sent yet, new batches
+ * are dropped, so that the search never waits for the other clients.
+ */
+public class MigrationChannel<T extends Chromosome<T>> {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigrationChannel.class);
+
+    /**
+     * Batches waiting to be sent. Migrants get stale quickly, so there is no point in
+     * queuing more than a couple of them
+     */
+    private static final int MAX_PENDING_BATCHES = 2;
+
+    private final Registry registry;
+
+    private final int clientId;
+
+    private final int numberOfClients;
+
+    private final BlockingQueue<Batch<T>> pending = new ArrayBlockingQueue<>(MAX_PENDING_BATCHES);
+
+    /**
+     * SHA-256 digests of the code of the individuals already sent (see
+     * {@link #digest(Chromosome)}), which there is no need to send again. Copies of
+     * a test are neither equal to it nor serialized to the same bytes, as each test
+     * case has its own id. Only accessed by the sender thread
+     */
+    private final Set<ByteBuffer> alreadySent = new HashSet<>();
+
+    /**
+     * Cache of the RMI stubs of the other clients. Only accessed by the sender thread
+     */
+    private final Map<Integer, ClientNodeRemote<T>> clients = new HashMap<>();
+
+    private final Thread sender;
+
+    private final AtomicLong sentBatches = new AtomicLong(0);
+    private final AtomicLong sentIndividuals = new AtomicLong(0);
+    private final AtomicLong sentBytes = new AtomicLong(0);
+    private final AtomicLong droppedBatches = new AtomicLong(0);
+    private final AtomicLong latencyInNanos = new AtomicLong(0);
+
+    private static class Batch<T> {
+        final Set<T> individuals;
+        final long creationTime = System.nanoTime();
+
+        Batch(Set<T> individuals) {
+            this.individuals = individuals;
+        }
+    }
+
+    /**
+     * @param registry            the registry where the clients are bound
+     * @param clientRmiIdentifier the identifier of this client
+     * @param numberOfClients
+     */
+    public MigrationChannel(Registry registry, String clientRmiIdentifier, int numberOfClients) {
+        this.registry = registry;
+        this.clientId = Integer.parseInt(clientRmiIdentifier.substring(ClientProcess.CLIENT_PREFIX.length()));
+        this.numberOfClients = numberOfClients;
+
+        sender = new Thread(this::sendBatches);
+        sender.setName("Migration sender in client process");
+        sender.setDaemon(true);
+        Sandbox.addPrivilegedThread(sender);
+        sender.start();
+    }
+
+    /**
+     * Send the given individuals to the next client. Called by the search thread
+     *
+     * @param emigrants
+     * @return <code>false</code> if the individuals were dropped, as the previous ones are still being sent
+     */
+    public boolean emigrate(Set<T> emigrants) {
+        Set<T> batch = new LinkedHashSet<>();
+        for (T individual : emigrants) {
+            // the search keeps modifying its individuals while they are being sent
+            batch.add(individual.clone());
+        }
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        if (!pending.offer(new Batch<>(batch))) {
+            droppedBatches.incrementAndGet();
+            logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Dropping " + batch.size()
+                    + " emigrants, as the previous ones have not been sent yet");
+            return false;
+        }
+        return true;
+    }
+
+    private void sendBatches() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Batch<T> batch;
+            try {
+                batch = pending.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            Set<T> individuals = new LinkedHashSet<>();
+            Set<ByteBuffer> digests = new HashSet<>();
+            byte[] bytes;
+            try {
+                for (T individual : batch.individuals) {
+                    ByteBuffer digest = digest(individual);
+                    if (!alreadySent.contains(digest) && digests.add(digest)) {
+                        individuals.add(individual);
+                    }
+                }
+                if (individuals.isEmpty()) {
+                    continue;
+                }
+                bytes = encode(individuals);
+            } catch (IOException e) {
+                logger.error(ClientProcess.getPrettyPrintIdentifier() + "Cannot serialize emigrants", e);
+                continue;
+            }
+
+            if (send(bytes)) {
+                alreadySent.addAll(digests);
+                sentBatches.incrementAndGet();
+                sentIndividuals.addAndGet(individuals.size());
+                sentBytes.addAndGet(bytes.length);
+                latencyInNanos.addAndGet(System.nanoTime() - batch.creationTime);
+            }
+        }
+    }
+
+    /**
+     * Implements a ring topology: the migrants go to the next client that is still searching
+     */
+    private boolean send(byte[] migrants) {
+        for (int i = 1; i < numberOfClients; i++) {
+            int neighbour = (clientId + i) % numberOfClients;
+            try {
+                if (getClient(neighbour).immigrate(migrants)) {
+                    return true;
+                }
+            } catch (RemoteException | NotBoundException e) {
+                // the client might be finished already
+                logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Cannot send emigrants to client " + neighbour + ": " + e);
+                clients.remove(neighbour);
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClientNodeRemote<T> getClient(int id) throws RemoteException, NotBoundException {
+        ClientNodeRemote<T> client = clients.get(id);
+        if (client == null) {
+            client = (ClientNodeRemote<T>) registry.lookup(ClientProcess.CLIENT_PREFIX + id);
+            clients.put(id, client);
+        }
+        return client;
+    }
+
+    /**
+     * Stop sending migrants. Batches not sent yet are discarded
+     */
+    public void close() {
+        sender.interrupt();
+        try {
+            sender.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pending.clear();
+
+        logger.info(ClientProcess.getPrettyPrintIdentifier() + "Sent " + sentIndividuals.get() + " emigrants in "
+                + sentBatches.get() + " batches (" + sentBytes.get() + " bytes, average latency "
+                + getAverageLatencyInMs() + "ms), dropped " + droppedBatches.get() + " batches");
+    }
+
+    public long getNumberOfSentBatches() {
+        return sentBatches.get();
+    }
+
+    public long getNumberOfSentIndividuals() {
+        return sentIndividuals.get();
+    }
+
+    public long getNumberOfSentBytes() {
+        return sentBytes.get();
+    }
+
+    public long getNumberOfDroppedBatches() {
+        return droppedBatches.get();
+    }
+
+    /**
+     * @return average time between the selection of a batch and its delivery to another client
+     */
+    public long getAverageLatencyInMs() {
+        long batches = sentBatches.get();
+        return batches == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencyInNanos.get() / batches);
+    }
+
+    /**
+     * @param individual a test or a test suite
+     * @return the SHA-256 digest of its code, i.e., of its string representation
+     */
+    private static ByteBuffer digest(Chromosome<?> individual) {
+        byte[] code = individual.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(code));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Serialize and compress a set of individuals to be sent to another client
+     *
+     * @param individuals
+     * @return
+     * @throws IOException
+     */
+    public static byte[] encode(Set<?> individuals) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeObject(new HashSet<>(individuals));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Inverse of {@link #encode(Set)}
+     *
+     * @param bytes
+     * @return
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<T> decode(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            return (Set<T>) in.readObject();
+        }
+    }
+}
@@ -21,6 +21,7 @@
 package org.evosuite.seeding;
 
 import org.evosuite.Properties;
+import org.evosuite.instrumentation.InstrumentationSideData;
 import org.evosuite.utils.Randomness;
 
 /**
@@ -88,10 +89,12 @@ public class ConstantPoolManager {
      */
 
     public void addSUTConstant(Object value) {
+        InstrumentationSideData.recordConstant(true, value);
         pools[0].add(value);
     }
 
     public void addNonSUTConstant(Object value) {
+        InstrumentationSideData.recordConstant(false, value);
         pools[1].add(value);
     }
 
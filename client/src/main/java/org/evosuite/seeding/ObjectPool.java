@@ -24,7 +24,7 @@ import org.evosuite.testcarver.extraction.CarvingRunListener;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testsuite.TestSuiteChromosome;
-import org.evosuite.utils.DebuggingObjectOutputStream;
+import org.evosuite.utils.CompactSerialization;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.generic.GenericClass;
 import org.evosuite.utils.generic.GenericClassFactory;
@@ -144,10 +144,15 @@ public class ObjectPool implements Serializable {
      */
     public static ObjectPool getPoolFromFile(String fileName) {
         try {
-            InputStream in = new FileInputStream(fileName);
-            ObjectInputStream objectIn = new ObjectInputStream(in);
-            ObjectPool pool = (ObjectPool) objectIn.readObject();
-            in.close();
+            ObjectPool pool;
+            if (CompactSerialization.isCompact(new File(fileName))) {
+                pool = readCompactPool(fileName);
+            } else {
+                InputStream in = new FileInputStream(fileName);
+                ObjectInputStream objectIn = new ObjectInputStream(in);
+                pool = (ObjectPool) objectIn.readObject();
+                in.close();
+            }
             // TODO: Do we also need to call that in the other factory methods?
             pool.filterUnaccessibleTests();
             return pool;
@@ -158,6 +163,30 @@ public class ObjectPool implements Serializable {
         return null;
     }
 
+    /**
+     * In the compact format, each sequence is stored on its own, so a sequence
+     * that cannot be read anymore does not invalidate the whole pool
+     */
+    private static ObjectPool readCompactPool(String fileName) throws IOException {
+        ObjectPool pool = new ObjectPool();
+        try (CompactSerialization.Reader reader = new CompactSerialization.Reader(new File(fileName))) {
+            while (true) {
+                Object obj;
+                try {
+                    obj = reader.read();
+                } catch (ClassNotFoundException e) {
+                    logger.warn("Cannot read sequence from object pool " + fileName + ": " + e.getMessage());
+                    continue;
+                }
+                if (obj == null) {
+                    break;
+                }
+                pool.addSequence((ObjectSequence) obj);
+            }
+        }
+        return pool;
+    }
+
     protected void filterUnaccessibleTests() {
         for (Set<TestCase> testSet : pool.values()) {
             Iterator<TestCase> testIterator = testSet.iterator();
@@ -242,11 +271,12 @@ public class ObjectPool implements Serializable {
     }
 
     public void writePool(String fileName) {
-        try {
-            ObjectOutputStream out = new DebuggingObjectOutputStream(
-                    new FileOutputStream(fileName));
-            out.writeObject(this);
-            out.close();
+        try (CompactSerialization.Writer out = new CompactSerialization.Writer(new File(fileName))) {
+            for (Map.Entry<GenericClass<?>, Set<TestCase>> entry : pool.entrySet()) {
+                for (TestCase test : entry.getValue()) {
+                    out.write(new ObjectSequence(entry.getKey(), test));
+                }
+            }
         } catch (IOException e) {
             logger.warn("Error while writing pool to file " + fileName + ": " + e);
         }
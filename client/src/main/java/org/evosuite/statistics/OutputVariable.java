@@ -19,7 +19,11 @@
  */
 package org.evosuite.statistics;
 
-public class OutputVariable<T> {
+import java.io.Serializable;
+
+public class OutputVariable<T> implements Serializable {
+
+    private static final long serialVersionUID = 2386520402498383418L;
 
     private final String name;
 
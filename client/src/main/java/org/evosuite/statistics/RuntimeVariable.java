@@ -598,6 +598,11 @@ public enum RuntimeVariable {
      */
     Time2MaxCoverage,
 
+    /**
+     * Number of coverage goals evaluated per second by DynaMOSA
+     */
+    Goal_Evaluations_Per_Second,
+
     /* -------------------------------------------------------------------- */
     /******* DSE related section *******/
 
@@ -627,6 +632,22 @@ public enum RuntimeVariable {
     QueryCacheSize,
     QueryCacheCalls,
     QueryCacheHitRate,
+    SolverCacheHitRate,
+    /**
+     * Total size (in expression nodes) of the constraints in the solver cache
+     */
+    SolverCacheSize,
+    SolverCacheEvictions,
+
+    /**
+     * Incremental solver session statistics
+     */
+    SolverSessionsStarted,
+    SolverSessionRestarts,
+    SolverSessionQueries,
+    SolverSessionHitRate,
+    SolverSessionReusedAssertions,
+    AvgSolverSessionLatency,
 
     /**
      * Min Coverage across all goals
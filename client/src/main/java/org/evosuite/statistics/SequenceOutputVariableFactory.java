@@ -53,8 +53,32 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
     protected abstract T getValue(TestSuiteChromosome individual);
 
     public void update(TestSuiteChromosome individual) {
-        timeStamps.add(System.currentTimeMillis() - startTime);
-        values.add(getValue(individual));
+        update(System.currentTimeMillis() - startTime, getValue(individual));
+    }
+
+    void update(long timeStamp, T value) {
+        int size = timeStamps.size();
+        if (size >= 2 && !isIntervalBoundaryBetween(timeStamps.get(size - 2), timeStamp)) {
+            /*
+             * The timeline only needs, for each interval, the last value before it and
+             * the first one after it. If there is no boundary between the second last value
+             * and this new one, then the last value will never be used, and can be replaced.
+             * This keeps the memory bounded on long searches
+             */
+            timeStamps.set(size - 1, timeStamp);
+            values.set(size - 1, value);
+        } else {
+            timeStamps.add(timeStamp);
+            values.add(value);
+        }
+    }
+
+    private static boolean isIntervalBoundaryBetween(long from, long to) {
+        long interval = Properties.TIMELINE_INTERVAL;
+        if (interval <= 0) {
+            return true;
+        }
+        return Math.floorDiv(from, interval) != Math.floorDiv(to, interval);
     }
 
     public List<String> getVariableNames() {
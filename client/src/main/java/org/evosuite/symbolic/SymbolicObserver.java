@@ -42,6 +42,7 @@ import org.evosuite.symbolic.expr.str.StringConstant;
 import org.evosuite.symbolic.expr.str.StringValue;
 import org.evosuite.symbolic.expr.str.StringVariable;
 import org.evosuite.symbolic.vm.ExpressionFactory;
+import org.evosuite.symbolic.vm.ExpressionInterner;
 import org.evosuite.symbolic.vm.SymbolicEnvironment;
 import org.evosuite.symbolic.vm.heap.SymbolicHeap;
 import org.evosuite.symbolic.vm.wrappers.Types;
@@ -672,11 +673,11 @@ public class SymbolicObserver extends ExecutionObserver {
         if ((TypeUtil.isFp32(elementType) || TypeUtil.isFp64(elementType)) && symb_value instanceof IntegerValue) {
             IntegerValue intExpr = (IntegerValue) symb_value;
             double concValue = intExpr.getConcreteValue().doubleValue();
-            symb_value = new IntegerToRealCast(intExpr, concValue);
+            symb_value = ExpressionInterner.intern(new IntegerToRealCast(intExpr, concValue));
         } else if ((TypeUtil.isBv32(elementType) || TypeUtil.isBv64(elementType)) && symb_value instanceof RealValue) {
             RealValue realExpr = (RealValue) symb_value;
             long concValue = realExpr.getConcreteValue().longValue();
-            symb_value = new RealToIntegerCast(realExpr, concValue);
+            symb_value = ExpressionInterner.intern(new RealToIntegerCast(realExpr, concValue));
         }
         return symb_value;
     }
@@ -1072,11 +1073,11 @@ public class SymbolicObserver extends ExecutionObserver {
                         env.topFrame().operandStack.pushFp64(realExpr);
                     } else if (TypeUtil.isBv32(argType)) {
                         int concV = realExpr.getConcreteValue().intValue();
-                        RealToIntegerCast castExpr = new RealToIntegerCast(realExpr, (long) concV);
+                        RealToIntegerCast castExpr = ExpressionInterner.intern(new RealToIntegerCast(realExpr, (long) concV));
                         env.topFrame().operandStack.pushBv32(castExpr);
                     } else if (TypeUtil.isBv64(argType)) {
                         long concV = realExpr.getConcreteValue().longValue();
-                        RealToIntegerCast castExpr = new RealToIntegerCast(realExpr, concV);
+                        RealToIntegerCast castExpr = ExpressionInterner.intern(new RealToIntegerCast(realExpr, concV));
                         env.topFrame().operandStack.pushBv64(castExpr);
                     } else {
                         /* unreachable code */
@@ -1089,11 +1090,11 @@ public class SymbolicObserver extends ExecutionObserver {
                         env.topFrame().operandStack.pushBv64(integerExpr);
                     } else if (TypeUtil.isFp32(argType)) {
                         float concV = integerExpr.getConcreteValue().floatValue();
-                        IntegerToRealCast castExpr = new IntegerToRealCast(integerExpr, (double) concV);
+                        IntegerToRealCast castExpr = ExpressionInterner.intern(new IntegerToRealCast(integerExpr, (double) concV));
                         env.topFrame().operandStack.pushFp32(castExpr);
                     } else if (TypeUtil.isFp64(argType)) {
                         double concV = integerExpr.getConcreteValue().doubleValue();
-                        IntegerToRealCast castExpr = new IntegerToRealCast(integerExpr, concV);
+                        IntegerToRealCast castExpr = ExpressionInterner.intern(new IntegerToRealCast(integerExpr, concV));
                         env.topFrame().operandStack.pushFp64(castExpr);
                     } else {
                         /* unreachable code */
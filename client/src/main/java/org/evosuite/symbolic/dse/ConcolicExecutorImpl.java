@@ -110,6 +110,12 @@ public class ConcolicExecutorImpl implements ConcolicExecutor {
         logger.info("Starting concolic execution");
         ExecutionResult result = new ExecutionResult(defaultTestCase, null);
 
+        /**
+         * Expressions are shared only within an execution
+         */
+        ExpressionInterner expressionInterner = new ExpressionInterner();
+        ExpressionInterner.setCurrent(expressionInterner);
+
         /**
          * Execute the test case
          */
@@ -120,6 +126,8 @@ public class ConcolicExecutorImpl implements ConcolicExecutor {
             return new PathCondition(new ArrayList<>());
         } finally {
             logger.debug("Cleaning concolic execution");
+            ExpressionInterner.setCurrent(null);
+            expressionInterner.clear();
             TestCaseExecutor.getInstance().setExecutionObservers(originalExecutionObservers);
         }
         VM.disableCallBacks(); // ignore all callbacks from now on
@@ -69,6 +69,19 @@ public class DSEStatistics {
             RuntimeVariable.QueryCacheCalls.name(),
             RuntimeVariable.QueryCacheHitRate.name(),
 
+            // Solver Cache
+            RuntimeVariable.SolverCacheHitRate.name(),
+            RuntimeVariable.SolverCacheSize.name(),
+            RuntimeVariable.SolverCacheEvictions.name(),
+
+            // Incremental solver sessions
+            RuntimeVariable.SolverSessionsStarted.name(),
+            RuntimeVariable.SolverSessionRestarts.name(),
+            RuntimeVariable.SolverSessionQueries.name(),
+            RuntimeVariable.SolverSessionHitRate.name(),
+            RuntimeVariable.SolverSessionReusedAssertions.name(),
+            RuntimeVariable.AvgSolverSessionLatency.name(),
+
             // Execution Times
             RuntimeVariable.TotalTimeSpentSolvingConstraints.name(),
             RuntimeVariable.TotalTimeSpentExecutingTestCases.name(),
@@ -120,6 +133,18 @@ public class DSEStatistics {
     private long querycacheSize = 0;
     private long queryCacheCalls = 0;
 
+    // Concolic executions reused for test cases already executed
+    private long concolicExecutionCacheCalls = 0;
+    private long concolicExecutionCacheHits = 0;
+
+    // Incremental solver sessions
+    private long solverSessionsStarted = 0;
+    private long solverSessionRestarts = 0;
+    private long solverSessionQueries = 0;
+    private long solverSessionHits = 0;
+    private long solverSessionReusedAssertions = 0;
+    private long totalSolverSessionLatencyMillis = 0;
+
     // New solutions found metrics
     private long nrOfSolutionWithNoImprovement = 0;
     private long nrOfNewTestFound = 0;
@@ -231,6 +256,11 @@ public class DSEStatistics {
         logger.info("");
         logSolverQueryCacheStatistics();
 
+        if (Properties.DSE_INCREMENTAL_SOLVER) {
+            logger.info("");
+            logSolverSessionStatistics();
+        }
+
         logger.info("");
         logConstraintSizeStatistics();
 
@@ -267,10 +297,22 @@ public class DSEStatistics {
         logger.info(String.format("  - Query Cache hitRare: %s", getQueryCacheHitRate(queryCacheHits, queryCacheCalls)));
     }
 
+    private void logSolverSessionStatistics() {
+        logger.info("* Incremental Solver Sessions:");
+        logger.info(String.format("  - Solver processes started: %s", solverSessionsStarted));
+        logger.info(String.format("  - Solver processes restarted: %s", solverSessionRestarts));
+        logger.info(String.format("  - Queries: %s", solverSessionQueries));
+        logger.info(String.format("  - Queries on a running process: %s", solverSessionHits));
+        logger.info(String.format("  - Reused assertions: %s", solverSessionReusedAssertions));
+        logger.info(String.format("  - Avg query latency: %sms", getAvgSolverSessionLatency()));
+    }
+
     private void logPathsExploredStatistics() {
         logger.info("* Paths exploration:");
         logger.info(String.format("  - paths explored: %s", pathsExploredCounter));
         logger.info(String.format("  - diverged paths: %s", pathDivergencesCounter));
+        logger.info(String.format("  - concolic executions: %s", concolicExecutionCacheCalls - concolicExecutionCacheHits));
+        logger.info(String.format("  - concolic executions reused: %s", concolicExecutionCacheHits));
     }
 
     private void logAdaptationStatistics() {
@@ -291,10 +333,11 @@ public class DSEStatistics {
 
     private void logCacheStatistics() {
         logger.info("* Constraint Cache Statistics");
-        final int numberOfSATs = SolverCache.getInstance().getNumberOfSATs();
-        final int numberOfUNSATs = SolverCache.getInstance().getNumberOfUNSATs();
+        final SolverCache solverCache = SolverCache.getInstance();
+        final int numberOfSATs = solverCache.getNumberOfSATs();
+        final int numberOfUNSATs = solverCache.getNumberOfUNSATs();
 
-        if (numberOfSATs == 0 || numberOfUNSATs == 0) {
+        if (numberOfSATs == 0 && numberOfUNSATs == 0) {
             logger.info("  - Constraint Cache was not used.");
 
         } else {
@@ -303,10 +346,16 @@ public class DSEStatistics {
 
             logger.info(String.format("  - Stored UNSAT constraints: %s", numberOfUNSATs));
 
+            logger.info(String.format("  - Cached constraints size: %s", solverCache.getCachedSize()));
+
+            logger.info(String.format("  - Evicted queries: %s", solverCache.getNumberOfEvictions()));
+
             NumberFormat percentFormat = NumberFormat.getPercentInstance();
             percentFormat.setMaximumFractionDigits(1);
-            String hit_rate_str = percentFormat.format(SolverCache.getInstance().getHitRate());
+            String hit_rate_str = percentFormat.format(solverCache.getHitRate());
             logger.info(String.format("  - Cache hit rate: %s", hit_rate_str));
+            logger.info(String.format("  - Hits by UNSAT subsets: %s", solverCache.getNumberOfUNSATSubsumptionHits()));
+            logger.info(String.format("  - Hits by reused models: %s", solverCache.getNumberOfModelReuseHits()));
         }
     }
 
@@ -626,6 +675,62 @@ public class DSEStatistics {
         querycacheSize++;
     }
 
+    /**
+     * Concolic execution cache related reports
+     */
+    public void reportNewConcolicExecutionCacheCall() {
+        concolicExecutionCacheCalls++;
+    }
+
+    public void reportNewConcolicExecutionCacheHit() {
+        concolicExecutionCacheHits++;
+    }
+
+    /**
+     * Incremental solver sessions related reports
+     */
+    public void reportNewSolverSession() {
+        solverSessionsStarted++;
+    }
+
+    /**
+     * Invoke this method when a solver process was discarded after a timeout
+     * or an error, such that a new one will be started.
+     */
+    public void reportSolverSessionRestart() {
+        solverSessionRestarts++;
+    }
+
+    /**
+     * Invoke this method when a query was answered by a solver session
+     *
+     * @param warm             whether the solver process already answered previous queries
+     * @param reusedAssertions number of assertions of the query that were already asserted
+     * @param latencyMillis    time between sending the query and getting the answer
+     */
+    public void reportNewSolverSessionQuery(boolean warm, int reusedAssertions, long latencyMillis) {
+        solverSessionQueries++;
+        if (warm) {
+            solverSessionHits++;
+        }
+        solverSessionReusedAssertions += reusedAssertions;
+        totalSolverSessionLatencyMillis += latencyMillis;
+    }
+
+    private double getSolverSessionHitRate() {
+        if (solverSessionQueries == 0) {
+            return 0;
+        }
+        return (double) solverSessionHits / (double) solverSessionQueries;
+    }
+
+    private double getAvgSolverSessionLatency() {
+        if (solverSessionQueries == 0) {
+            return 0;
+        }
+        return (double) totalSolverSessionLatencyMillis / (double) solverSessionQueries;
+    }
+
     /**
      * Entry point for statistics tracking on output variables
      */
@@ -633,6 +738,7 @@ public class DSEStatistics {
         trackConstraintTypes();
         trackSolverStatistics();
         trackQueryCacheStatistics();
+        trackSolverSessionStatistics();
         trackExplorationStatistics();
         trackExecutionTimeStatistics();
     }
@@ -688,6 +794,23 @@ public class DSEStatistics {
         trackOutputVariable(RuntimeVariable.QueryCacheSize, querycacheSize);
         trackOutputVariable(RuntimeVariable.QueryCacheCalls, queryCacheCalls);
         trackOutputVariable(RuntimeVariable.QueryCacheHitRate, getQueryCacheHitRate(queryCacheHits, queryCacheCalls));
+
+        final SolverCache solverCache = SolverCache.getInstance();
+        trackOutputVariable(RuntimeVariable.SolverCacheHitRate, solverCache.getHitRate());
+        trackOutputVariable(RuntimeVariable.SolverCacheSize, solverCache.getCachedSize());
+        trackOutputVariable(RuntimeVariable.SolverCacheEvictions, solverCache.getNumberOfEvictions());
+    }
+
+    /**
+     * Sets the incremental solver sessions related output variables to be saved.
+     */
+    private void trackSolverSessionStatistics() {
+        trackOutputVariable(RuntimeVariable.SolverSessionsStarted, solverSessionsStarted);
+        trackOutputVariable(RuntimeVariable.SolverSessionRestarts, solverSessionRestarts);
+        trackOutputVariable(RuntimeVariable.SolverSessionQueries, solverSessionQueries);
+        trackOutputVariable(RuntimeVariable.SolverSessionHitRate, getSolverSessionHitRate());
+        trackOutputVariable(RuntimeVariable.SolverSessionReusedAssertions, solverSessionReusedAssertions);
+        trackOutputVariable(RuntimeVariable.AvgSolverSessionLatency, getAvgSolverSessionLatency());
     }
 
     /**
@@ -35,6 +35,8 @@ import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestCaseUpdater;
 import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.statements.PrimitiveStatement;
+import org.evosuite.testcase.statements.Statement;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.utils.ClassUtil;
 import org.evosuite.utils.LoggingUtils;
@@ -80,6 +82,7 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     public static final String PATH_CONDITION_COLLECTED_SIZE = "Path condition collected with: {} branches";
     public static final String FINISHED_CONCOLIC_EXECUTION_DEBUG_MESSAGE = "Finished concolic execution.";
     public static final String EXECUTING_CONCOLICALLY_THE_CURRENT_TEST_CASE_DEBUG_MESSAGE = "Starting concolic execution of test case: {}";
+    public static final String REUSING_CONCOLIC_EXECUTION_DEBUG_MESSAGE = "Reusing the path condition of a previous concolic execution of the same test case";
 
     // TestCase generation
     public static final String NEW_TEST_CASE_SCORE_DEBUG_MESSAGE = "New test case score: {}";
@@ -106,6 +109,14 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
      **/
     protected final transient Map<Set<Constraint<?>>, SolverResult> queryCache = new HashMap<>();
 
+    /**
+     * Path conditions collected for the test cases of the method being explored, by test case
+     * (see {@link #getConcolicExecutionKey(TestCase)}). Different solutions (or a solution taken
+     * from the query cache) often produce the same test case, which then does not need to be
+     * executed again
+     **/
+    private final transient Map<List<Object>, PathCondition> concolicExecutionCache = new HashMap<>();
+
     /**
      * Exploration strategies
      **/
@@ -233,6 +244,9 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
         // Children cache
         HashSet<Set<Constraint<?>>> seenChildren = new HashSet();
 
+        // Test cases of other methods are never executed again
+        concolicExecutionCache.clear();
+
         // WorkList
         Queue<DSETestCase> testCasesWorkList = createWorkList();
 
@@ -505,8 +519,7 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     private GenerationalSearchPathCondition executeTestCaseConcolically(DSETestCase currentTestCase) {
         logger.debug(EXECUTING_CONCOLICALLY_THE_CURRENT_TEST_CASE_DEBUG_MESSAGE, currentTestCase.getTestCase().toCode());
 
-        TestCase clonedCurrentTestCase = currentTestCase.getTestCase().clone();
-        PathCondition result = engine.execute((DefaultTestCase) clonedCurrentTestCase);
+        PathCondition result = executeConcolically(currentTestCase.getTestCase());
 
         // In case of a divergence, we need to keep the lowest value
         int currentGeneratedFromIndex = Math.min(
@@ -519,6 +532,48 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
         return new GenerationalSearchPathCondition(result, currentGeneratedFromIndex);
     }
 
+    /**
+     * Executes concolically a clone of the given test case, unless the same test case
+     * was already executed while exploring the current method
+     *
+     * @param testCase
+     * @return
+     */
+    PathCondition executeConcolically(TestCase testCase) {
+        TestCase clonedTestCase = testCase.clone();
+        List<Object> key = getConcolicExecutionKey(clonedTestCase);
+
+        statisticsLogger.reportNewConcolicExecutionCacheCall();
+        PathCondition result = concolicExecutionCache.get(key);
+        if (result != null) {
+            statisticsLogger.reportNewConcolicExecutionCacheHit();
+            logger.debug(REUSING_CONCOLIC_EXECUTION_DEBUG_MESSAGE);
+        } else {
+            result = engine.execute((DefaultTestCase) clonedTestCase);
+            concolicExecutionCache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * The code of a test case does not tell apart all its inputs, eg floating point values
+     * that are printed the same, or 0.0 and -0.0. Two test cases are hence the same if they
+     * have the same code and their primitive statements have equal values.
+     *
+     * @param testCase
+     * @return
+     */
+    private static List<Object> getConcolicExecutionKey(TestCase testCase) {
+        List<Object> key = new ArrayList<>(testCase.size() + 1);
+        key.add(testCase.toCode());
+        for (Statement statement : testCase) {
+            if (statement instanceof PrimitiveStatement) {
+                key.add(((PrimitiveStatement<?>) statement).getValue());
+            }
+        }
+        return key;
+    }
+
     private SolverResult doSolveQuery(List<Constraint<?>> SMTQuery) {
         SolverResult smtQueryResult = null;
 
@@ -19,6 +19,7 @@
  */
 package org.evosuite.symbolic.expr;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -32,6 +33,16 @@ public abstract class AbstractExpression<T> implements Expression<T> {
 
     private final int size;
 
+    /**
+     * Expressions are immutable and shared by the expressions built on top of them,
+     * so the hash code and the variables are computed once and cached
+     */
+    private transient int hashCode;
+
+    private transient boolean hashCodeComputed;
+
+    private transient Set<Variable<?>> variables = null;
+
     public AbstractExpression(T concreteValue, int size, boolean containsSymbolicVariable) {
         this.concreteValue = concreteValue;
         this.size = size;
@@ -78,6 +89,44 @@ public abstract class AbstractExpression<T> implements Expression<T> {
         return concreteValue;
     }
 
+    @Override
+    public final int hashCode() {
+        if (!hashCodeComputed) {
+            hashCode = computeHashCode();
+            hashCodeComputed = true;
+        }
+        return hashCode;
+    }
+
+    /**
+     * Computes the hash code of this expression. Called at most once, as the result is cached
+     *
+     * @return the identity hash code, unless overridden
+     */
+    protected int computeHashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned set is cached and cannot be modified
+     */
+    @Override
+    public final Set<Variable<?>> getVariables() {
+        if (variables == null) {
+            variables = Collections.unmodifiableSet(computeVariables());
+        }
+        return variables;
+    }
+
+    /**
+     * Computes the variables of this expression. Called at most once, as the result is cached
+     *
+     * @return
+     */
+    protected abstract Set<Variable<?>> computeVariables();
+
     @Override
     public Set<Object> getConstants() {
         Set<Object> result = new HashSet<>();
@@ -96,12 +96,12 @@ public final class IntegerUnaryExpression extends AbstractExpression<Long> imple
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.expr.hashCode() + this.op.hashCode();
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>(this.expr.getVariables());
         return variables;
     }
@@ -79,7 +79,7 @@ public final class RealComparison extends AbstractExpression<Long> implements
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.left.hashCode() + this.right.hashCode();
     }
 
@@ -114,7 +114,7 @@ public final class RealComparison extends AbstractExpression<Long> implements
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>();
         variables.addAll(this.left.getVariables());
         variables.addAll(this.right.getVariables());
@@ -90,7 +90,7 @@ public final class StringBinaryComparison extends AbstractExpression<Long> imple
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.left.hashCode() + this.op.hashCode() + this.right.hashCode();
     }
 
@@ -136,7 +136,7 @@ public final class StringBinaryComparison extends AbstractExpression<Long> imple
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>();
         variables.addAll(this.left.getVariables());
         variables.addAll(this.right.getVariables());
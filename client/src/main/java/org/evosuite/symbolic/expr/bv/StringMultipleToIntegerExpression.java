@@ -151,7 +151,7 @@ public final class StringMultipleToIntegerExpression extends AbstractExpression<
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.op.hashCode() + this.left.hashCode() + this.right.hashCode()
                 + this.other_v.hashCode();
     }
@@ -176,7 +176,7 @@ public final class StringMultipleToIntegerExpression extends AbstractExpression<
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>();
         variables.addAll(this.left.getVariables());
         variables.addAll(this.right.getVariables());
@@ -92,7 +92,7 @@ public final class StringToIntegerCast extends AbstractExpression<Long> implemen
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.expr.hashCode();
     }
 
@@ -101,7 +101,7 @@ public final class StringToIntegerCast extends AbstractExpression<Long> implemen
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>(this.expr.getVariables());
         return variables;
     }
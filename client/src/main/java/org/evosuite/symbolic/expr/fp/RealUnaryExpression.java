@@ -98,13 +98,13 @@ public final class RealUnaryExpression extends AbstractExpression<Double> implem
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>(this.expr.getVariables());
         return variables;
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.op.hashCode() + this.getSize() + this.expr.hashCode();
     }
 
@@ -54,7 +54,7 @@ public final class StringReaderExpr extends AbstractExpression<Long> implements
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>(this.string.getVariables());
         return variables;
     }
@@ -76,7 +76,7 @@ public final class StringReaderExpr extends AbstractExpression<Long> implements
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return string.hashCode() + readerPosition;
     }
 
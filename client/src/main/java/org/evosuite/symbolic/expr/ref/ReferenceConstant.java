@@ -45,7 +45,7 @@ public abstract class ReferenceConstant extends ReferenceExpression {
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         return Collections.emptySet();
     }
 }
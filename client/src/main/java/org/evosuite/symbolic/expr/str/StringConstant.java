@@ -72,12 +72,12 @@ public final class StringConstant extends AbstractExpression<String> implements
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.concreteValue.hashCode();
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>();
         return variables;
     }
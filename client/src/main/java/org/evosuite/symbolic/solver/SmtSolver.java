@@ -20,12 +20,14 @@
 package org.evosuite.symbolic.solver;
 
 import org.apache.commons.exec.ExecuteException;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
 import org.evosuite.utils.ProcessLauncher;
 import org.evosuite.utils.ProcessTimeoutException;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 public abstract class SmtSolver extends Solver {
 
@@ -81,4 +83,30 @@ public abstract class SmtSolver extends Solver {
 
     }
 
+    /**
+     * Solves the query on a solver process that is kept alive between queries
+     * (see {@link SmtSolverSessionPool}). The output of the solver is written
+     * as if the query had been solved by a new process.
+     *
+     * @param solverCmd   the command line of an interactive, incremental solver
+     * @param smtQuery    the query to solve
+     * @param hardTimeout maximum time in milliseconds to wait for the solver
+     * @param stdout      where to write the output of the solver
+     * @throws IOException
+     * @throws SolverTimeoutException
+     * @throws SolverErrorException
+     */
+    protected static void solveInSession(String solverCmd, SmtQuery smtQuery, int hardTimeout, OutputStream stdout)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+
+        long solver_start_time_millis = System.currentTimeMillis();
+        try {
+            String output = SmtSolverSessionPool.getInstance().solve(solverCmd, smtQuery, hardTimeout);
+            stdout.write(output.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            long solver_end_time_millis = System.currentTimeMillis();
+            logger.debug("Solver session execution time was {}ms", solver_end_time_millis - solver_start_time_millis);
+        }
+    }
+
 }
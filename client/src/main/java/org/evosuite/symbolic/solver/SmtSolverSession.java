@@ -0,0 +1,384 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.apache.commons.exec.CommandLine;
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtConstantDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDefinition;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.evosuite.symbolic.solver.smt.SmtQueryPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A long-lived SMT solver process that is queried over its standard input and
+ * output.
+ * <p>
+ * Each assertion of a query is asserted in its own <code>(push 1)</code> frame.
+ * A new query only pops the frames that are not a prefix of it, and pushes the
+ * remaining assertions, so that consecutive path conditions that share a prefix
+ * (as produced by the DSE exploration strategies) do not need to be sent and
+ * processed again. Declarations are made in the frame of the first assertion
+ * that needs them, and are forgotten when that frame is popped.
+ * <p>
+ * A session that timed out, whose solver reported an error, or whose solver
+ * answered <code>unknown</code> (e.g., after reaching its time limit for the
+ * query) is closed and must not be used anymore.
+ */
+public class SmtSolverSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtSolverSession.class);
+
+    private static final String SUCCESS = "success";
+
+    private final String solverCmd;
+
+    private final List<String> preamble;
+
+    private final Process process;
+
+    private final Writer stdin;
+
+    private final BufferedReader stdout;
+
+    /**
+     * One frame per asserted assertion, from the bottom of the assertion stack
+     */
+    private final List<Frame> frames = new ArrayList<>();
+
+    /**
+     * Currently declared (or defined) symbols, with the command that declared them
+     */
+    private final Map<String, String> declarations = new LinkedHashMap<>();
+
+    private volatile boolean timedOut = false;
+
+    private boolean alive = true;
+
+    private int numberOfQueries = 0;
+
+    private static class Frame {
+        private final String assertion;
+        private final List<String> declaredSymbols = new ArrayList<>();
+
+        Frame(String assertion) {
+            this.assertion = assertion;
+        }
+    }
+
+    /**
+     * Launch a new solver process
+     *
+     * @param solverCmd the command line of the solver, that must read SMT-LIB
+     *                  commands interactively from its standard input
+     * @param preamble  the <code>set-option</code> and <code>set-logic</code>
+     *                  commands shared by all the queries of this session
+     * @param timeout   maximum time in milliseconds to wait for the solver to
+     *                  accept the preamble
+     * @param watchdog  executor used to kill the process after a timeout
+     * @throws IOException if the process could not be launched
+     */
+    public SmtSolverSession(String solverCmd, List<String> preamble, long timeout,
+                            ScheduledExecutorService watchdog) throws IOException {
+        this.solverCmd = solverCmd;
+        this.preamble = new ArrayList<>(preamble);
+
+        logger.debug("Launching solver session with command {}", solverCmd);
+        ProcessBuilder builder = new ProcessBuilder(CommandLine.parse(solverCmd).toStrings());
+        builder.redirectErrorStream(true);
+        this.process = builder.start();
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+
+        List<String> commands = new ArrayList<>();
+        commands.add("(set-option :print-success true)");
+        commands.addAll(this.preamble);
+        try {
+            send(commands, false, timeout, watchdog);
+        } catch (SolverTimeoutException | SolverErrorException e) {
+            close();
+            throw new IOException("Could not initialize solver session: " + e.getMessage(), e);
+        }
+    }
+
+    public String getSolverCmd() {
+        return solverCmd;
+    }
+
+    public List<String> getPreamble() {
+        return preamble;
+    }
+
+    public boolean isAlive() {
+        return alive;
+    }
+
+    /**
+     * @return the number of queries already answered by this session
+     */
+    public int getNumberOfQueries() {
+        return numberOfQueries;
+    }
+
+    /**
+     * @param assertions the printed assertions of a query
+     * @return how many of the assertions, from the first one, are already asserted
+     */
+    public int getCommonPrefixLength(List<String> assertions) {
+        int length = 0;
+        while (length < frames.size() && length < assertions.size()
+                && frames.get(length).assertion.equals(assertions.get(length))) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Check the satisfiability of the query, re-using the assertions that are
+     * already on the stack of the solver.
+     *
+     * @param query       the query. Its options and logic are expected to match the
+     *                    preamble of the session
+     * @param hardTimeout maximum time in milliseconds to wait for the solver
+     * @param watchdog    executor used to kill the process after the timeout
+     * @return the output of the solver, as it would be printed for the query in
+     * a non-incremental run (i.e., the answer to <code>check-sat</code>, followed
+     * by the model if the query is satisfiable)
+     * @throws SolverTimeoutException if the solver did not answer in time
+     * @throws SolverErrorException   if the solver rejected a command
+     * @throws IOException            if the communication with the process failed
+     */
+    public String solve(SmtQuery query, long hardTimeout, ScheduledExecutorService watchdog)
+            throws SolverTimeoutException, SolverErrorException, IOException {
+        if (!alive)
+            throw new IllegalStateException("Solver session was already closed");
+
+        SmtQueryPrinter printer = new SmtQueryPrinter();
+        Map<String, String> symbols = new LinkedHashMap<>();
+        for (SmtConstantDeclaration declaration : query.getConstantDeclarations()) {
+            symbols.put(declaration.getConstantName(), printer.print(declaration));
+        }
+        for (SmtFunctionDeclaration declaration : query.getFunctionDeclarations()) {
+            symbols.put(declaration.getFunctionName(), printer.print(declaration));
+        }
+        for (SmtFunctionDefinition definition : query.getFunctionDefinitions()) {
+            String text = definition.getFunctionDefinition().trim();
+            symbols.put(text.split("[\\s(]", 2)[0], printer.print(definition));
+        }
+        List<String> assertions = printAssertions(query);
+
+        int prefix = getCommonPrefixLength(assertions);
+        // a symbol declared with a different sort can only be dropped with its frame
+        for (Map.Entry<String, String> symbol : symbols.entrySet()) {
+            String declared = declarations.get(symbol.getKey());
+            if (declared != null && !declared.equals(symbol.getValue())) {
+                prefix = Math.min(prefix, getDeclaringFrame(symbol.getKey()));
+            }
+        }
+
+        List<String> commands = new ArrayList<>();
+        prefix = popFrames(prefix, commands);
+        if (prefix == assertions.size() && prefix > 0 && !declarations.keySet().containsAll(symbols.keySet())) {
+            prefix = popFrames(prefix - 1, commands);
+        }
+
+        for (int i = prefix; i < assertions.size(); i++) {
+            Frame frame = new Frame(assertions.get(i));
+            commands.add("(push 1)");
+            if (i == prefix) {
+                for (Map.Entry<String, String> symbol : symbols.entrySet()) {
+                    if (!declarations.containsKey(symbol.getKey())) {
+                        commands.add(symbol.getValue());
+                        declarations.put(symbol.getKey(), symbol.getValue());
+                        frame.declaredSymbols.add(symbol.getKey());
+                    }
+                }
+            }
+            commands.add(frame.assertion);
+            frames.add(frame);
+        }
+
+        commands.add("(check-sat)");
+        String result = send(commands, true, hardTimeout, watchdog);
+        if (result.equals("unknown")) {
+            // the solver gave up, its state is not trusted for the next queries
+            numberOfQueries++;
+            close();
+            return result;
+        }
+        String output = result;
+        if (result.equals("sat")) {
+            List<String> getModel = new ArrayList<>();
+            getModel.add("(get-model)");
+            output = result + "\n" + send(getModel, true, hardTimeout, watchdog);
+        }
+        numberOfQueries++;
+        return output;
+    }
+
+    /**
+     * @param query an SMT query
+     * @return the assertions of the query, as they are sent to the solver
+     */
+    public static List<String> printAssertions(SmtQuery query) {
+        SmtQueryPrinter printer = new SmtQueryPrinter();
+        List<String> assertions = new ArrayList<>(query.getAssertions().size());
+        for (SmtAssertion assertion : query.getAssertions()) {
+            assertions.add(printer.print(assertion));
+        }
+        return assertions;
+    }
+
+    private int getDeclaringFrame(String symbol) {
+        for (int i = 0; i < frames.size(); i++) {
+            if (frames.get(i).declaredSymbols.contains(symbol))
+                return i;
+        }
+        return 0;
+    }
+
+    /**
+     * Pop all frames above the given height
+     *
+     * @return the new height of the stack
+     */
+    private int popFrames(int height, List<String> commands) {
+        int toPop = frames.size() - height;
+        if (toPop > 0) {
+            commands.add("(pop " + toPop + ")");
+            while (frames.size() > height) {
+                Frame frame = frames.remove(frames.size() - 1);
+                for (String symbol : frame.declaredSymbols) {
+                    declarations.remove(symbol);
+                }
+            }
+        }
+        return frames.size();
+    }
+
+    /**
+     * Send the commands and read their answers. All commands are expected to
+     * answer <code>success</code>, except for the last one if it is a query
+     * (i.e., <code>check-sat</code> or <code>get-model</code>).
+     *
+     * @return the answer to the last command
+     */
+    private String send(List<String> commands, boolean endsWithQuery, long timeout, ScheduledExecutorService watchdog)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+        ScheduledFuture<?> kill = watchdog.schedule(() -> {
+            timedOut = true;
+            process.destroy();
+        }, timeout, TimeUnit.MILLISECONDS);
+
+        try {
+            for (String command : commands) {
+                stdin.write(command);
+                stdin.write('\n');
+            }
+            stdin.flush();
+
+            String answer = null;
+            for (int i = 0; i < commands.size(); i++) {
+                answer = readAnswer();
+                boolean isQuery = endsWithQuery && i == commands.size() - 1;
+                if (!isQuery && !answer.equals(SUCCESS)) {
+                    logger.debug("Solver answered {} to command {}", answer, commands.get(i));
+                    close();
+                    throw new SolverErrorException("Solver answered " + answer + " to command " + commands.get(i));
+                }
+            }
+            return answer;
+        } catch (IOException e) {
+            close();
+            if (timedOut) {
+                logger.debug("Solver session stopped due to solver timeout");
+                throw new SolverTimeoutException();
+            }
+            throw e;
+        } finally {
+            kill.cancel(false);
+        }
+    }
+
+    /**
+     * Read a single answer, either a symbol on a line or a balanced s-expression
+     */
+    private String readAnswer() throws IOException {
+        StringBuilder answer = new StringBuilder();
+        int depth = 0;
+        boolean inString = false;
+        int c;
+        while ((c = stdout.read()) != -1) {
+            if (answer.length() == 0 && Character.isWhitespace(c))
+                continue;
+
+            if (c == '"') {
+                inString = !inString;
+            } else if (!inString && c == '(') {
+                depth++;
+            } else if (!inString && c == ')') {
+                depth--;
+            }
+
+            if (depth == 0 && !inString && (c == '\n' || c == ')')) {
+                if (c == ')')
+                    answer.append((char) c);
+                return answer.toString().trim();
+            }
+            answer.append((char) c);
+        }
+        throw new IOException("Solver process terminated unexpectedly");
+    }
+
+    /**
+     * Terminate the solver process
+     */
+    public void close() {
+        if (!alive)
+            return;
+        alive = false;
+        frames.clear();
+        declarations.clear();
+        try {
+            stdin.write("(exit)\n");
+            stdin.flush();
+        } catch (IOException e) {
+            // the process is already gone
+        }
+        process.destroy();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Keeps a bounded number of idle {@link SmtSolverSession}s alive between
+ * queries. A query is sent to the idle session (with the same command line and
+ * options) that has the longest prefix of its assertions already asserted. A
+ * session that timed out or failed is discarded, and a new solver process is
+ * launched for the next query.
+ */
+public class SmtSolverSessionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtSolverSessionPool.class);
+
+    /**
+     * Name of the thread killing the solvers that exceed their timeout
+     */
+    public static final String WATCHDOG_THREAD = "SMT_SOLVER_WATCHDOG";
+
+    private static SmtSolverSessionPool instance = null;
+
+    /**
+     * Idle sessions, from the least to the most recently used one
+     */
+    private final LinkedList<SmtSolverSession> idleSessions = new LinkedList<>();
+
+    private final ScheduledThreadPoolExecutor watchdog;
+
+    private SmtSolverSessionPool() {
+        watchdog = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, WATCHDOG_THREAD);
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.setRemoveOnCancelPolicy(true);
+    }
+
+    public static synchronized SmtSolverSessionPool getInstance() {
+        if (instance == null) {
+            instance = new SmtSolverSessionPool();
+        }
+        return instance;
+    }
+
+    /**
+     * Terminate all solver processes
+     */
+    public static synchronized void pullDown() {
+        if (instance != null) {
+            synchronized (instance) {
+                for (SmtSolverSession session : instance.idleSessions) {
+                    session.close();
+                }
+                instance.idleSessions.clear();
+            }
+            instance.watchdog.shutdownNow();
+            instance = null;
+        }
+    }
+
+    /**
+     * @param query an SMT query
+     * @return the commands setting the options and logic of the query
+     */
+    public static List<String> buildPreamble(SmtQuery query) {
+        List<String> preamble = new ArrayList<>();
+        // options must be set before the logic
+        for (String optionName : new TreeSet<>(query.getOptions())) {
+            preamble.add(String.format("(set-option %s %s)", optionName, query.getOptionValue(optionName)));
+        }
+        if (query.hasLogic()) {
+            preamble.add("(set-logic " + query.getLogic() + ")");
+        }
+        return preamble;
+    }
+
+    /**
+     * Solve the query on a running solver process, launching one if needed
+     *
+     * @param solverCmd   the command line of an interactive solver
+     * @param query       the SMT query
+     * @param hardTimeout maximum time in milliseconds to wait for the solver
+     * @return the output of the solver for the query
+     * @throws SolverTimeoutException if the solver did not answer in time
+     * @throws SolverErrorException   if the solver rejected the query
+     * @throws IOException            if the communication with the solver failed
+     */
+    public String solve(String solverCmd, SmtQuery query, long hardTimeout)
+            throws SolverTimeoutException, SolverErrorException, IOException {
+        List<String> preamble = buildPreamble(query);
+        List<String> assertions = SmtSolverSession.printAssertions(query);
+
+        SmtSolverSession session = acquire(solverCmd, preamble, assertions);
+        if (session == null) {
+            session = new SmtSolverSession(solverCmd, preamble, hardTimeout, watchdog);
+            DSEStatistics.getInstance().reportNewSolverSession();
+        }
+
+        boolean warm = session.getNumberOfQueries() > 0;
+        int reusedAssertions = session.getCommonPrefixLength(assertions);
+        long startTime = System.currentTimeMillis();
+        try {
+            String output = session.solve(query, hardTimeout, watchdog);
+            DSEStatistics.getInstance().reportNewSolverSessionQuery(warm, reusedAssertions,
+                    System.currentTimeMillis() - startTime);
+            return output;
+        } finally {
+            if (session.isAlive()) {
+                release(session);
+            } else {
+                logger.debug("Discarding solver session after a timeout or an error");
+                DSEStatistics.getInstance().reportSolverSessionRestart();
+            }
+        }
+    }
+
+    private synchronized SmtSolverSession acquire(String solverCmd, List<String> preamble, List<String> assertions) {
+        SmtSolverSession best = null;
+        int bestPrefix = -1;
+        for (SmtSolverSession session : idleSessions) {
+            if (!session.getSolverCmd().equals(solverCmd) || !session.getPreamble().equals(preamble))
+                continue;
+            int prefix = session.getCommonPrefixLength(assertions);
+            if (prefix > bestPrefix) {
+                best = session;
+                bestPrefix = prefix;
+            }
+        }
+        if (best != null) {
+            idleSessions.remove(best);
+        }
+        return best;
+    }
+
+    private synchronized void release(SmtSolverSession session) {
+        idleSessions.addLast(session);
+        Iterator<SmtSolverSession> iterator = idleSessions.iterator();
+        while (idleSessions.size() > Properties.DSE_SOLVER_SESSIONS) {
+            SmtSolverSession leastRecentlyUsed = iterator.next();
+            iterator.remove();
+            leastRecentlyUsed.close();
+        }
+    }
+}
@@ -70,8 +70,9 @@ public abstract class Solver {
      * @throws SolverErrorException      the solver reported an error after its execution
      */
     public SolverResult solve(Collection<Constraint<?>> constraints) throws SolverTimeoutException, SolverParseException, SolverEmptyQueryException, SolverErrorException, IOException {
-        if (solverCache.hasCachedResult(constraints)) {
-            return solverCache.getCachedResult();
+        SolverResult cachedResult = solverCache.getCachedResult(constraints);
+        if (cachedResult != null) {
+            return cachedResult;
         }
 
         SolverResult solverResult;
@@ -19,34 +19,125 @@
  */
 package org.evosuite.symbolic.solver;
 
+import org.evosuite.Properties;
 import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Variable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Cache of solver results shared by all the {@link Solver} implementations.
+ * <p>
+ * Queries are keyed by their set of constraints, so that the order and the
+ * duplicates of the conjuncts do not matter. Besides exact matches, the cache
+ * answers (in the spirit of a counter-example cache):
+ * <ul>
+ * <li>UNSAT, if a cached UNSAT query is a subset of the query;</li>
+ * <li>SAT, if the model of a cached SAT query that shares constraints with the
+ * query (e.g., a superset of it) also satisfies the query. Models are always
+ * re-validated on the constraints of the query before being returned.</li>
+ * </ul>
+ * Entries are evicted in least-recently-used order once the total size of the
+ * cached constraints exceeds {@link Properties#DSE_SOLVER_CACHE_SIZE}.
+ * <p>
+ * All methods are thread-safe.
+ */
 public final class SolverCache {
 
+    private static final Logger logger = LoggerFactory.getLogger(SolverCache.class);
+
     private static final SolverCache instance = new SolverCache();
     private static final String CONTRAINT_NOT_CACHED_EXCEPTION_MESSAGE = "The constraint is not cached!";
     private static final String SOLVER_RESULT_CANNOT_BE_NULL_EXCEPTION_MESSAGE = "Unable to save solver result as its null.";
 
-    private int number_of_hits = 0;
-    private int number_of_accesses = 0;
+    /**
+     * Maximum number of cached models that are evaluated on a query
+     */
+    private static final int MAX_MODEL_CANDIDATES = 4;
+
+    private static final class Entry {
+        private final Set<Constraint<?>> constraints;
+        private final SolverResult result;
+        private final long size;
+
+        private Entry(Set<Constraint<?>> constraints, SolverResult result, long size) {
+            this.constraints = constraints;
+            this.result = result;
+            this.size = size;
+        }
+    }
+
+    private long number_of_hits = 0;
+    private long number_of_accesses = 0;
+    private long number_of_unsat_subsumption_hits = 0;
+    private long number_of_model_reuse_hits = 0;
+    private long number_of_evictions = 0;
     private int cached_sat_result_count = 0;
     private int cached_unsat_result_count = 0;
-    private boolean valid_cached_solution = false;
+    private long cached_size = 0;
+
+    /**
+     * Cached queries, in access order
+     */
+    private final LinkedHashMap<Set<Constraint<?>>, Entry> cached_solver_results = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Cached UNSAT and SAT queries containing each constraint
+     */
+    private final Map<Constraint<?>, List<Entry>> unsat_index = new HashMap<>();
+    private final Map<Constraint<?>, List<Entry>> sat_index = new HashMap<>();
 
-    private final HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<>();
-    private SolverResult cached_solution = null;
+    /**
+     * Result of the last call to {@link #hasCachedResult(Collection)} of each thread
+     */
+    private final ThreadLocal<SolverResult> cached_solution = new ThreadLocal<>();
 
-    public int getNumberOfUNSATs() {
+    public synchronized int getNumberOfUNSATs() {
         return cached_unsat_result_count;
     }
 
-    public int getNumberOfSATs() {
+    public synchronized int getNumberOfSATs() {
         return cached_sat_result_count;
     }
 
+    /**
+     * @return the number of lookups answered by a cached UNSAT subset of the query
+     */
+    public synchronized long getNumberOfUNSATSubsumptionHits() {
+        return number_of_unsat_subsumption_hits;
+    }
+
+    /**
+     * @return the number of lookups answered by the model of a different query
+     */
+    public synchronized long getNumberOfModelReuseHits() {
+        return number_of_model_reuse_hits;
+    }
+
+    public synchronized long getNumberOfEvictions() {
+        return number_of_evictions;
+    }
+
+    /**
+     * @return the total size (i.e., number of expression nodes) of the cached
+     * constraints, which is a proxy of the memory footprint of the cache
+     */
+    public synchronized long getCachedSize() {
+        return cached_size;
+    }
+
     private SolverCache() {
         /* empty constructor */
     }
@@ -55,47 +146,131 @@ public final class SolverCache {
         return instance;
     }
 
-    private void addUNSAT(Collection<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
-        cached_solver_results.put(unsat_constraints, unsatResult);
-        cached_unsat_result_count++;
+    /**
+     * Checks whether the result of the constraints can be obtained from the
+     * cache. If so, the result can be retrieved (by the same thread) with
+     * {@link #getCachedResult()}.
+     *
+     * @param constraints
+     * @return
+     */
+    public boolean hasCachedResult(Collection<Constraint<?>> constraints) {
+        SolverResult result = getCachedResult(constraints);
+        cached_solution.set(result);
+        return result != null;
     }
 
-    private void addSAT(Collection<Constraint<?>> sat_constraints, SolverResult satResult) {
-        cached_solver_results.put(sat_constraints, satResult);
-        cached_sat_result_count++;
+    /**
+     * If not in cache returns IllegalArgumentException()
+     *
+     * @return
+     */
+    public SolverResult getCachedResult() {
+        SolverResult result = cached_solution.get();
+        if (result == null) {
+            throw new IllegalArgumentException(CONTRAINT_NOT_CACHED_EXCEPTION_MESSAGE);
+        }
+
+        cached_solution.remove();
+        return result;
     }
 
-    public boolean hasCachedResult(Collection<Constraint<?>> constraints) {
+    /**
+     * Looks up the result of the constraints in the cache
+     *
+     * @param constraints the query
+     * @return the cached (or derived) result, or null if the cache cannot answer the query
+     */
+    public synchronized SolverResult getCachedResult(Collection<Constraint<?>> constraints) {
         number_of_accesses++;
+        Set<Constraint<?>> key = new HashSet<>(constraints);
 
-        if (this.cached_solver_results.containsKey(constraints)) {
-            valid_cached_solution = true;
-            cached_solution = this.cached_solver_results.get(constraints);
+        Entry exact = cached_solver_results.get(key);
+        if (exact != null) {
             number_of_hits++;
-            return true;
-        } else {
-            valid_cached_solution = false;
-            return false;
+            return exact.result;
+        }
+
+        Entry unsatSubset = findUNSATSubset(key);
+        if (unsatSubset != null) {
+            cached_solver_results.get(unsatSubset.constraints); // refresh its LRU position
+            number_of_hits++;
+            number_of_unsat_subsumption_hits++;
+            return unsatSubset.result;
         }
+
+        SolverResult reusedModel = findSatisfyingModel(key);
+        if (reusedModel != null) {
+            number_of_hits++;
+            number_of_model_reuse_hits++;
+            return reusedModel;
+        }
+
+        return null;
     }
 
-    public double getHitRate() {
-        return (double) this.number_of_hits / (double) this.number_of_accesses;
+    /**
+     * Looks for a cached UNSAT query all of whose constraints are in the query
+     */
+    private Entry findUNSATSubset(Set<Constraint<?>> query) {
+        Map<Entry, Integer> matches = new IdentityHashMap<>();
+        for (Constraint<?> constraint : query) {
+            List<Entry> entries = unsat_index.get(constraint);
+            if (entries == null)
+                continue;
+            for (Entry entry : entries) {
+                int count = matches.merge(entry, 1, Integer::sum);
+                if (count == entry.constraints.size()) {
+                    return entry;
+                }
+            }
+        }
+        return null;
     }
 
     /**
-     * If not in cache returns IllegalArgumentException()
-     *
-     * @return
+     * Tries the models of the cached SAT queries sharing most constraints with
+     * the query (supersets first)
      */
-    public SolverResult getCachedResult() {
+    private SolverResult findSatisfyingModel(Set<Constraint<?>> query) {
+        Map<Entry, Integer> matches = new IdentityHashMap<>();
+        for (Constraint<?> constraint : query) {
+            List<Entry> entries = sat_index.get(constraint);
+            if (entries == null)
+                continue;
+            for (Entry entry : entries) {
+                matches.merge(entry, 1, Integer::sum);
+            }
+        }
+        if (matches.isEmpty())
+            return null;
 
-        if (valid_cached_solution == false) {
-            throw new IllegalArgumentException(CONTRAINT_NOT_CACHED_EXCEPTION_MESSAGE);
+        List<Map.Entry<Entry, Integer>> candidates = new ArrayList<>(matches.entrySet());
+        candidates.sort((e1, e2) -> Integer.compare(e2.getValue(), e1.getValue()));
+
+        Set<Variable<?>> variables = Solver.getVariables(query);
+        for (int i = 0; i < candidates.size() && i < MAX_MODEL_CANDIDATES; i++) {
+            Entry candidate = candidates.get(i).getKey();
+            Map<String, Object> model = new HashMap<>(Solver.getConcreteValues(variables));
+            model.putAll(candidate.result.getModel());
+            SolverResult result = SolverResult.newSAT(model);
+            try {
+                if (Solver.checkSAT(query, result)) {
+                    cached_solver_results.get(candidate.constraints); // refresh its LRU position
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // the model does not fit the variables of the query
+                logger.debug("Cached model could not be evaluated on query: {}", e.getMessage());
+            }
         }
+        return null;
+    }
 
-        valid_cached_solution = false;
-        return this.cached_solution;
+    public synchronized double getHitRate() {
+        if (number_of_accesses == 0)
+            return 0;
+        return (double) this.number_of_hits / (double) this.number_of_accesses;
     }
 
     /**
@@ -104,16 +279,82 @@ public final class SolverCache {
      * @param constraints
      * @param solverResult
      */
-    public void saveSolverResult(Collection<Constraint<?>> constraints, SolverResult solverResult) {
+    public synchronized void saveSolverResult(Collection<Constraint<?>> constraints, SolverResult solverResult) {
         if (solverResult == null) {
             throw new IllegalArgumentException(SOLVER_RESULT_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
         }
+        if (solverResult.isUnknown()) {
+            return;
+        }
+
+        Set<Constraint<?>> key = Collections.unmodifiableSet(new HashSet<>(constraints));
+        if (cached_solver_results.containsKey(key)) {
+            return;
+        }
 
+        long size = 1;
+        for (Constraint<?> constraint : key) {
+            size += constraint.getSize();
+        }
+        if (solverResult.isSAT()) {
+            size += solverResult.getModel().size();
+        }
+
+        Entry entry = new Entry(key, solverResult, size);
+        cached_solver_results.put(key, entry);
+        cached_size += size;
+        Map<Constraint<?>, List<Entry>> index = solverResult.isUNSAT() ? unsat_index : sat_index;
+        for (Constraint<?> constraint : key) {
+            index.computeIfAbsent(constraint, c -> new ArrayList<>(2)).add(entry);
+        }
         if (solverResult.isUNSAT()) {
-            addUNSAT(constraints, solverResult);
+            cached_unsat_result_count++;
         } else {
-            addSAT(constraints, solverResult);
+            cached_sat_result_count++;
+        }
+
+        evictLeastRecentlyUsed();
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Iterator<Entry> iterator = cached_solver_results.values().iterator();
+        // the most recent entry is always kept
+        while (cached_size > Properties.DSE_SOLVER_CACHE_SIZE && cached_solver_results.size() > 1) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            cached_size -= eldest.size;
+            number_of_evictions++;
+
+            Map<Constraint<?>, List<Entry>> index = eldest.result.isUNSAT() ? unsat_index : sat_index;
+            for (Constraint<?> constraint : eldest.constraints) {
+                List<Entry> entries = index.get(constraint);
+                entries.remove(eldest);
+                if (entries.isEmpty()) {
+                    index.remove(constraint);
+                }
+            }
+            if (eldest.result.isUNSAT()) {
+                cached_unsat_result_count--;
+            } else {
+                cached_sat_result_count--;
+            }
         }
     }
 
+    /**
+     * Removes all cached results and resets the statistics
+     */
+    public synchronized void clear() {
+        cached_solver_results.clear();
+        unsat_index.clear();
+        sat_index.clear();
+        number_of_hits = 0;
+        number_of_accesses = 0;
+        number_of_unsat_subsumption_hits = 0;
+        number_of_model_reuse_hits = 0;
+        number_of_evictions = 0;
+        cached_sat_result_count = 0;
+        cached_unsat_result_count = 0;
+        cached_size = 0;
+    }
 }
@@ -105,11 +105,15 @@ public final class CVC4Solver extends SmtSolver {
         logger.debug("CVC4 Query:");
         logger.debug(smtQueryStr);
 
-        String cmd = buildCVC4cmd(cvcTimeout);
+        String cmd = buildCVC4cmd(cvcTimeout, Properties.DSE_INCREMENTAL_SOLVER);
 
         ByteArrayOutputStream stdout = new ByteArrayOutputStream();
         try {
-            launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
+            if (Properties.DSE_INCREMENTAL_SOLVER) {
+                solveInSession(cmd, query, (int) cvcTimeout, stdout);
+            } else {
+                launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
+            }
             String output = stdout.toString("UTF-8");
 
             if (output.startsWith("unknown")) {
@@ -240,7 +244,7 @@ public final class CVC4Solver extends SmtSolver {
 
     }
 
-    private static String buildCVC4cmd(long cvcTimeout) {
+    private static String buildCVC4cmd(long cvcTimeout, boolean incremental) {
         String cmd = Properties.CVC4_PATH;
         cmd += "  --rewrite-divk"; // rewrite-divk rewrites division (or
         // modulus) by a constant value
@@ -263,7 +267,13 @@ public final class CVC4Solver extends SmtSolver {
          * More details on both of these points can be found in Sections 5.2 - 5.4 of
          * http://homepage.cs.uiowa.edu/~ajreynol/thesis.pdf.
          */
-        cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+        if (incremental) {
+            cmd += " --incremental --interactive";
+            // --tlimit is cumulative over the whole session
+            cmd += " --tlimit-per=" + cvcTimeout; // set timeout of each query to cvcTimeout
+        } else {
+            cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+        }
         return cmd;
     }
 
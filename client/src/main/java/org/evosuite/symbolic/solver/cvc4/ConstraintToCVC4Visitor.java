@@ -90,8 +90,8 @@ final class ConstraintToCVC4Visitor implements ConstraintVisitor<SmtExpr, Void>
 	}
 
 	private SmtExpr visit(Expression<?> leftOperand, Comparator cmp, Expression<?> rightOperand) {
-        SmtExpr left = leftOperand.accept(exprVisitor, null);
-        SmtExpr right = rightOperand.accept(exprVisitor, null);
+        SmtExpr left = exprVisitor.translate(leftOperand);
+        SmtExpr right = exprVisitor.translate(rightOperand);
 
         if (left == null || right == null) {
             return null;
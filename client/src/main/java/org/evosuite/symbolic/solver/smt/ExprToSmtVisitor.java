@@ -71,11 +71,35 @@ import org.evosuite.symbolic.expr.token.StringNextTokenExpr;
 import org.evosuite.symbolic.solver.SmtExprBuilder;
 import org.evosuite.symbolic.vm.heap.SymbolicHeap;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
+    /**
+     * Translation of each expression visited so far. Expressions are shared among the
+     * constraints of a path condition, so each one is translated only once
+     */
+    private final Map<Expression<?>, SmtExpr> translations = new IdentityHashMap<>();
+
+    /**
+     * Translates the given expression, reusing the translation if the same expression
+     * was already translated by this visitor
+     *
+     * @param e
+     * @return the translation, or <code>null</code> if the expression cannot be translated
+     */
+    public final SmtExpr translate(Expression<?> e) {
+        SmtExpr smtExpr = translations.get(e);
+        if (smtExpr == null && !translations.containsKey(e)) {
+            smtExpr = e.accept(this, null);
+            translations.put(e, smtExpr);
+        }
+        return smtExpr;
+    }
+
     protected static SmtExpr approximateToConcreteValue(Expression<?> e) {
         if (e instanceof IntegerValue) {
             return approximateToConcreteValue((IntegerValue) e);
@@ -118,8 +142,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(IntegerBinaryExpression e, Void v) {
-        SmtExpr left = e.getLeftOperand().accept(this, null);
-        SmtExpr right = e.getRightOperand().accept(this, null);
+        SmtExpr left = translate(e.getLeftOperand());
+        SmtExpr right = translate(e.getRightOperand());
 
         if (left == null || right == null) {
             return null;
@@ -218,7 +242,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(IntegerUnaryExpression e, Void v) {
-        SmtExpr operand = e.getOperand().accept(this, null);
+        SmtExpr operand = translate(e.getOperand());
 
         if (operand == null) {
             return null;
@@ -255,7 +279,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(RealToIntegerCast e, Void v) {
-        SmtExpr operand = e.getArgument().accept(this, null);
+        SmtExpr operand = translate(e.getArgument());
         if (operand == null) {
             return null;
         }
@@ -272,7 +296,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(RealUnaryToIntegerExpression e, Void v) {
-        SmtExpr realExpr = e.getOperand().accept(this, null);
+        SmtExpr realExpr = translate(e.getOperand());
         if (realExpr == null) {
             return null;
         }
@@ -298,7 +322,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(IntegerToRealCast e, Void v) {
-        SmtExpr operand = e.getArgument().accept(this, null);
+        SmtExpr operand = translate(e.getArgument());
         if (operand == null) {
             return null;
         }
@@ -315,9 +339,9 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(RealBinaryExpression e, Void v) {
-        SmtExpr left = e.getLeftOperand().accept(this, null);
+        SmtExpr left = translate(e.getLeftOperand());
         Operator operator = e.getOperator();
-        SmtExpr right = e.getRightOperand().accept(this, null);
+        SmtExpr right = translate(e.getRightOperand());
 
         if (left == null || right == null) {
             return null;
@@ -389,7 +413,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(RealUnaryExpression e, Void v) {
-        SmtExpr operand = e.getOperand().accept(this, null);
+        SmtExpr operand = translate(e.getOperand());
 
         if (operand == null) {
             return null;
@@ -466,7 +490,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(IntegerToStringCast e, Void v) {
-        SmtExpr operand = e.getArgument().accept(this, null);
+        SmtExpr operand = translate(e.getArgument());
         if (operand == null) {
             return null;
         }
@@ -482,7 +506,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(RealToStringCast e, Void arg) {
-        SmtExpr operand = e.getArgument().accept(this, null);
+        SmtExpr operand = translate(e.getArgument());
         if (operand == null) {
             return null;
         }
@@ -499,7 +523,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(HasMoreTokensExpr e, Void v) {
-        SmtExpr expr = e.getTokenizerExpr().accept(this, null);
+        SmtExpr expr = translate(e.getTokenizerExpr());
         if (expr == null) {
             return null;
         }
@@ -527,8 +551,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public SmtExpr visit(ArraySelect.IntegerArraySelect r, Void arg) {
-        SmtExpr arrayExpr = r.getSymbolicArray().accept(this, null);
-        SmtExpr indexExpr = r.getSymbolicIndex().accept(this, null);
+        SmtExpr arrayExpr = translate(r.getSymbolicArray());
+        SmtExpr indexExpr = translate(r.getSymbolicIndex());
 
         if (arrayExpr == null || indexExpr == null) {
             return null;
@@ -544,9 +568,9 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public SmtExpr visit(ArrayStore.IntegerArrayStore r, Void arg) {
-        SmtExpr arrayExpr = r.getSymbolicArray().accept(this, null);
-        SmtExpr indexExpr = r.getSymbolicIndex().accept(this, null);
-        SmtExpr valueExpression = r.getSymbolicValue().accept(this, null);
+        SmtExpr arrayExpr = translate(r.getSymbolicArray());
+        SmtExpr indexExpr = translate(r.getSymbolicIndex());
+        SmtExpr valueExpression = translate(r.getSymbolicValue());
 
         if (arrayExpr == null || indexExpr == null || valueExpression == null) {
             return null;
@@ -563,8 +587,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public SmtExpr visit(ArraySelect.RealArraySelect r, Void arg) {
-        SmtExpr arrayExpr = r.getSymbolicArray().accept(this, null);
-        SmtExpr indexExpr = r.getSymbolicIndex().accept(this, null);
+        SmtExpr arrayExpr = translate(r.getSymbolicArray());
+        SmtExpr indexExpr = translate(r.getSymbolicIndex());
 
         if (arrayExpr == null || indexExpr == null) {
             return null;
@@ -580,8 +604,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public SmtExpr visit(ArraySelect.StringArraySelect r, Void arg) {
-        SmtExpr arrayExpr = r.getSymbolicArray().accept(this, null);
-        SmtExpr indexExpr = r.getSymbolicIndex().accept(this, null);
+        SmtExpr arrayExpr = translate(r.getSymbolicArray());
+        SmtExpr indexExpr = translate(r.getSymbolicIndex());
 
         if (arrayExpr == null || indexExpr == null) {
             return null;
@@ -597,9 +621,9 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public SmtExpr visit(ArrayStore.RealArrayStore r, Void arg) {
-        SmtExpr arrayExpr = r.getSymbolicArray().accept(this, null);
-        SmtExpr indexExpr = r.getSymbolicIndex().accept(this, null);
-        SmtExpr valueExpression = r.getSymbolicValue().accept(this, null);
+        SmtExpr arrayExpr = translate(r.getSymbolicArray());
+        SmtExpr indexExpr = translate(r.getSymbolicIndex());
+        SmtExpr valueExpression = translate(r.getSymbolicValue());
 
         if (arrayExpr == null || indexExpr == null || valueExpression == null) {
             return null;
@@ -615,9 +639,9 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public SmtExpr visit(ArrayStore.StringArrayStore r, Void arg) {
-        SmtExpr arrayExpr = r.getSymbolicArray().accept(this, null);
-        SmtExpr indexExpr = r.getSymbolicIndex().accept(this, null);
-        SmtExpr valueExpression = r.getSymbolicValue().accept(this, null);
+        SmtExpr arrayExpr = translate(r.getSymbolicArray());
+        SmtExpr indexExpr = translate(r.getSymbolicIndex());
+        SmtExpr valueExpression = translate(r.getSymbolicValue());
 
         if (arrayExpr == null || indexExpr == null || valueExpression == null) {
             return null;
@@ -683,8 +707,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
         Expression<?> rightOperand = e.getRightOperand();
         Operator op = e.getOperator();
 
-        SmtExpr left = leftOperand.accept(this, null);
-        SmtExpr right = rightOperand.accept(this, null);
+        SmtExpr left = translate(leftOperand);
+        SmtExpr right = translate(rightOperand);
 
         if (left == null || right == null) {
             return null;
@@ -733,8 +757,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(StringBinaryExpression e, Void arg) {
-        SmtExpr left = e.getLeftOperand().accept(this, null);
-        SmtExpr right = e.getRightOperand().accept(this, null);
+        SmtExpr left = translate(e.getLeftOperand());
+        SmtExpr right = translate(e.getRightOperand());
         Operator operator = e.getOperator();
 
         if (left == null || right == null) {
@@ -787,8 +811,8 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
         Operator op = e.getOperator();
         Expression<?> rightOperand = e.getRightOperand();
 
-        SmtExpr left = leftOperand.accept(this, null);
-        SmtExpr right = rightOperand.accept(this, null);
+        SmtExpr left = translate(leftOperand);
+        SmtExpr right = translate(rightOperand);
 
         if (left == null || right == null) {
             return null;
@@ -837,11 +861,11 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(StringMultipleComparison e, Void arg) {
-        SmtExpr left = e.getLeftOperand().accept(this, null);
+        SmtExpr left = translate(e.getLeftOperand());
         Operator operator = e.getOperator();
-        SmtExpr right = e.getRightOperand().accept(this, null);
+        SmtExpr right = translate(e.getRightOperand());
 
-        List<SmtExpr> others = e.getOther().stream().map(t -> t.accept(this, null)).collect(Collectors.toList());
+        List<SmtExpr> others = e.getOther().stream().map(t -> translate(t)).collect(Collectors.toList());
 
         if (left == null || right == null || others.contains(null)) {
             return null;
@@ -885,9 +909,9 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
     @Override
     public final SmtExpr visit(StringMultipleExpression e, Void arg) {
         Operator operator = e.getOperator();
-        SmtExpr left = e.getLeftOperand().accept(this, null);
-        SmtExpr right = e.getRightOperand().accept(this, null);
-        List<SmtExpr> others = e.getOther().stream().map(t -> t.accept(this, null)).collect(Collectors.toList());
+        SmtExpr left = translate(e.getLeftOperand());
+        SmtExpr right = translate(e.getRightOperand());
+        List<SmtExpr> others = e.getOther().stream().map(t -> translate(t)).collect(Collectors.toList());
 
         if (left == null || right == null || others.contains(null)) {
             return null;
@@ -930,9 +954,9 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(StringMultipleToIntegerExpression e, Void arg) {
-        SmtExpr left = e.getLeftOperand().accept(this, null);
-        SmtExpr right = e.getRightOperand().accept(this, null);
-        List<SmtExpr> others = e.getOther().stream().map(t -> t.accept(this, null)).collect(Collectors.toList());
+        SmtExpr left = translate(e.getLeftOperand());
+        SmtExpr right = translate(e.getRightOperand());
+        List<SmtExpr> others = e.getOther().stream().map(t -> translate(t)).collect(Collectors.toList());
 
         if (left == null || right == null || others.contains(null)) {
             return null;
@@ -970,7 +994,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(StringNextTokenExpr n, Void arg) {
-        SmtExpr operand = n.getTokenizerExpr().accept(this, null);
+        SmtExpr operand = translate(n.getTokenizerExpr());
         if (operand == null) {
             return null;
         }
@@ -987,7 +1011,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(StringReaderExpr e, Void arg) {
-        SmtExpr operand = e.getString().accept(this, null);
+        SmtExpr operand = translate(e.getString());
         if (operand == null) {
             return null;
         }
@@ -1005,7 +1029,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(StringUnaryExpression e, Void arg) {
-        SmtExpr operand = e.getOperand().accept(this, null);
+        SmtExpr operand = translate(e.getOperand());
 
         if (operand == null) {
             return null;
@@ -1033,7 +1057,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(StringUnaryToIntegerExpression e, Void arg) {
-        SmtExpr operand = e.getOperand().accept(this, null);
+        SmtExpr operand = translate(e.getOperand());
         if (operand == null) {
             return null;
         }
@@ -1079,7 +1103,7 @@ public class ExprToSmtVisitor implements ExpressionVisitor<SmtExpr, Void> {
 
     @Override
     public final SmtExpr visit(StringToIntegerCast e, Void arg) {
-        SmtExpr operand = e.getArgument().accept(this, null);
+        SmtExpr operand = translate(e.getArgument());
 
         if (operand == null) {
             return null;
@@ -21,7 +21,9 @@ package org.evosuite.symbolic.solver.smt;
 
 import org.evosuite.symbolic.solver.smt.SmtOperation.Operator;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Set;
 
 public final class SmtOperatorCollector implements SmtExprVisitor<Void, Void> {
@@ -58,8 +60,16 @@ public final class SmtOperatorCollector implements SmtExprVisitor<Void, Void> {
 
     private final Set<Operator> operators = new HashSet<>();
 
+    /**
+     * Operations can be shared among the assertions of a query, visit each of them once
+     */
+    private final Set<SmtOperation> visitedOperations = Collections.newSetFromMap(new IdentityHashMap<>());
+
     @Override
     public Void visit(SmtOperation n, Void arg) {
+        if (!visitedOperations.add(n)) {
+            return null;
+        }
         operators.add(n.getOperator());
         for (SmtExpr argument : n.getArguments()) {
             argument.accept(this, null);
@@ -19,7 +19,9 @@
  */
 package org.evosuite.symbolic.solver.smt;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Set;
 
 public final class SmtVariableCollector implements SmtExprVisitor<Void, Void> {
@@ -59,8 +61,16 @@ public final class SmtVariableCollector implements SmtExprVisitor<Void, Void> {
         return null;
     }
 
+    /**
+     * Operations can be shared among the assertions of a query, visit each of them once
+     */
+    private final Set<SmtOperation> visitedOperations = Collections.newSetFromMap(new IdentityHashMap<>());
+
     @Override
     public Void visit(SmtOperation n, Void arg) {
+        if (!visitedOperations.add(n)) {
+            return null;
+        }
         for (SmtExpr expr : n.getArguments()) {
             expr.accept(this, null);
         }
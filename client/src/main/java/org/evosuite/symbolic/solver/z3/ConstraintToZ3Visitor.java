@@ -36,6 +36,11 @@ import org.evosuite.symbolic.solver.smt.SmtExpr;
 
 class ConstraintToZ3Visitor implements ConstraintVisitor<SmtExpr, Void> {
 
+    /**
+     * Shared by all the constraints of a query, so that common subexpressions are translated once
+     */
+    private final ExprToSmtVisitor exprVisitor = new ExprToSmtVisitor();
+
     public ConstraintToZ3Visitor() {
     }
 
@@ -50,9 +55,8 @@ class ConstraintToZ3Visitor implements ConstraintVisitor<SmtExpr, Void> {
             return equalsExpr;
         }
 
-        ExprToSmtVisitor v = new ExprToSmtVisitor();
-        SmtExpr leftExpr = left.accept(v, null);
-        SmtExpr rightExpr = right.accept(v, null);
+        SmtExpr leftExpr = exprVisitor.translate(left);
+        SmtExpr rightExpr = exprVisitor.translate(right);
 
         if (leftExpr == null || rightExpr == null) {
             return null;
@@ -63,10 +67,8 @@ class ConstraintToZ3Visitor implements ConstraintVisitor<SmtExpr, Void> {
 
     @Override
     public SmtExpr visit(RealConstraint c, Void arg) {
-        ExprToSmtVisitor v = new ExprToSmtVisitor();
-
-        SmtExpr left = c.getLeftOperand().accept(v, null);
-        SmtExpr right = c.getRightOperand().accept(v, null);
+        SmtExpr left = exprVisitor.translate(c.getLeftOperand());
+        SmtExpr right = exprVisitor.translate(c.getRightOperand());
 
         if (left == null || right == null) {
             return null;
@@ -79,14 +81,12 @@ class ConstraintToZ3Visitor implements ConstraintVisitor<SmtExpr, Void> {
 
     @Override
     public SmtExpr visit(StringConstraint c, Void arg) {
-        ExprToSmtVisitor v = new ExprToSmtVisitor();
-
         StringComparison stringComparison = (StringComparison) c.getLeftOperand();
         Comparator cmp = c.getComparator();
         IntegerConstant integerConstant = (IntegerConstant) c.getRightOperand();
 
-        SmtExpr left = stringComparison.accept(v, null);
-        SmtExpr right = integerConstant.accept(v, null);
+        SmtExpr left = exprVisitor.translate(stringComparison);
+        SmtExpr right = exprVisitor.translate(integerConstant);
 
         if (left == null || right == null) {
             return null;
@@ -97,9 +97,8 @@ class ConstraintToZ3Visitor implements ConstraintVisitor<SmtExpr, Void> {
 
     @Override
 	public SmtExpr visit(ReferenceConstraint c, Void arg) {
-        ExprToSmtVisitor v = new ExprToSmtVisitor();
-        SmtExpr left = c.getLeftOperand().accept(v, null);
-		SmtExpr right = c.getRightOperand().accept(v, null);
+        SmtExpr left = exprVisitor.translate(c.getLeftOperand());
+		SmtExpr right = exprVisitor.translate(c.getRightOperand());
 
 		if (left == null || right == null) {
 			return null;
@@ -110,7 +109,7 @@ class ConstraintToZ3Visitor implements ConstraintVisitor<SmtExpr, Void> {
 		return boolExpr;
     }
 
-    private static SmtExpr translateCompareTo(Expression<?> left, Comparator cmp, Expression<?> right) {
+    private SmtExpr translateCompareTo(Expression<?> left, Comparator cmp, Expression<?> right) {
 
         if (!(left instanceof StringBinaryToIntegerExpression)) {
             return null;
@@ -132,9 +131,8 @@ class ConstraintToZ3Visitor implements ConstraintVisitor<SmtExpr, Void> {
             return null;
         }
 
-        ExprToSmtVisitor v = new ExprToSmtVisitor();
-        SmtExpr leftEquals = leftExpr.getLeftOperand().accept(v, null);
-        SmtExpr rightEquals = leftExpr.getRightOperand().accept(v, null);
+        SmtExpr leftEquals = exprVisitor.translate(leftExpr.getLeftOperand());
+        SmtExpr rightEquals = exprVisitor.translate(leftExpr.getRightOperand());
 
         if (leftEquals == null || rightEquals == null) {
             return null;
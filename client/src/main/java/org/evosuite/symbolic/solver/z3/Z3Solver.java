@@ -86,7 +86,11 @@ public class Z3Solver extends SmtSolver {
         ByteArrayOutputStream stdout = new ByteArrayOutputStream();
         String output;
         try {
-            launchNewSolvingProcess(z3Cmd, queryStr, (int) hard_timeout, stdout);
+            if (Properties.DSE_INCREMENTAL_SOLVER) {
+                solveInSession(z3Cmd, query, (int) hard_timeout, stdout);
+            } else {
+                launchNewSolvingProcess(z3Cmd, queryStr, (int) hard_timeout, stdout);
+            }
             output = stdout.toString("UTF-8");
         } catch (SolverErrorException ex) {
             output = stdout.toString("UTF-8");
@@ -408,8 +408,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         int con = left_concrete_value - right_concrete_value;
 
-        IntegerValue intExpr = new IntegerBinaryExpression(left,
-                Operator.MINUS, right, (long) con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(left,
+                Operator.MINUS, right, (long) con));
 
         env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -439,8 +439,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         long con = left_concrete_value - right_concrete_value;
 
-        IntegerValue intExpr = new IntegerBinaryExpression(left,
-                Operator.MINUS, right, con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(left,
+                Operator.MINUS, right, con));
 
         env.topFrame().operandStack.pushBv64(intExpr);
     }
@@ -468,8 +468,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         float con = left_concrete_value - right_concrete_value;
 
-        RealValue realExpr = new RealBinaryExpression(left, Operator.MINUS,
-                right, (double) con);
+        RealValue realExpr = ExpressionInterner.intern(new RealBinaryExpression(left, Operator.MINUS,
+                right, (double) con));
 
         env.topFrame().operandStack.pushFp32(realExpr);
     }
@@ -492,8 +492,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         double con = left_concrete_value - right_concrete_value;
 
-        RealValue realExpr = new RealBinaryExpression(left, Operator.MINUS,
-                right, con);
+        RealValue realExpr = ExpressionInterner.intern(new RealBinaryExpression(left, Operator.MINUS,
+                right, con));
 
         env.topFrame().operandStack.pushFp64(realExpr);
     }
@@ -823,8 +823,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         int con = -param_concrete_value;
 
-        IntegerValue intExpr = new IntegerUnaryExpression(param, Operator.NEG,
-                (long) con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerUnaryExpression(param, Operator.NEG,
+                (long) con));
 
         env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -847,8 +847,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         long con = -param_concrete_value;
 
-        IntegerValue intExpr = new IntegerUnaryExpression(param, Operator.NEG,
-                con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerUnaryExpression(param, Operator.NEG,
+                con));
 
         env.topFrame().operandStack.pushBv64(intExpr);
     }
@@ -866,8 +866,8 @@ public final class ArithmeticVM extends AbstractVM {
         }
         float con = -param_concrete_value;
 
-        RealValue realExpr = new RealUnaryExpression(param, Operator.NEG,
-                (double) con);
+        RealValue realExpr = ExpressionInterner.intern(new RealUnaryExpression(param, Operator.NEG,
+                (double) con));
 
         env.topFrame().operandStack.pushFp32(realExpr);
     }
@@ -884,7 +884,7 @@ public final class ArithmeticVM extends AbstractVM {
         }
         double con = -param_concrete_value;
 
-        RealValue realExpr = new RealUnaryExpression(param, Operator.NEG, con);
+        RealValue realExpr = ExpressionInterner.intern(new RealUnaryExpression(param, Operator.NEG, con));
 
         env.topFrame().operandStack.pushFp64(realExpr);
     }
@@ -910,8 +910,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         int concrete_value = left_concrete_value << (right_concrete_value & 0x001F);
 
-        IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-                left_expr, Operator.SHL, right_expr, (long) concrete_value);
+        IntegerBinaryExpression intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(
+                left_expr, Operator.SHL, right_expr, (long) concrete_value));
 
         env.topFrame().operandStack.pushBv32(intExpr);
     }
@@ -937,8 +937,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         int concrete_value = left_concrete_value >> (right_concrete_value & 0x001F);
 
-        IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-                left_expr, Operator.SHR, right_expr, (long) concrete_value);
+        IntegerBinaryExpression intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(
+                left_expr, Operator.SHR, right_expr, (long) concrete_value));
 
         env.topFrame().operandStack.pushBv32(intExpr);
     }
@@ -965,8 +965,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         int concrete_value = left_concrete_value >>> (right_concrete_value & 0x001F);
 
-        IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-                left_expr, Operator.USHR, right_expr, (long) concrete_value);
+        IntegerBinaryExpression intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(
+                left_expr, Operator.USHR, right_expr, (long) concrete_value));
 
         env.topFrame().operandStack.pushBv32(intExpr);
     }
@@ -993,8 +993,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         long concrete_value = left_concrete_value >>> (right_concrete_value & 0x001F);
 
-        IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-                left_expr, Operator.USHR, right_expr, concrete_value);
+        IntegerBinaryExpression intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(
+                left_expr, Operator.USHR, right_expr, concrete_value));
 
         env.topFrame().operandStack.pushBv64(intExpr);
     }
@@ -1020,8 +1020,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         long concrete_value = left_concrete_value >> (right_concrete_value & 0x001F);
 
-        IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-                left_expr, Operator.SHL, right_expr, concrete_value);
+        IntegerBinaryExpression intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(
+                left_expr, Operator.SHL, right_expr, concrete_value));
 
         env.topFrame().operandStack.pushBv64(intExpr);
     }
@@ -1046,8 +1046,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         long concrete_value = left_concrete_value << (right_concrete_value & 0x001F);
 
-        IntegerBinaryExpression intExpr = new IntegerBinaryExpression(
-                left_expr, Operator.SHL, right_expr, concrete_value);
+        IntegerBinaryExpression intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(
+                left_expr, Operator.SHL, right_expr, concrete_value));
 
         env.topFrame().operandStack.pushBv64(intExpr);
     }
@@ -1077,8 +1077,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         int con = left_concrete_value & right_concrete_value;
 
-        IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IAND,
-                right, (long) con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.IAND,
+                right, (long) con));
 
         env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -1109,8 +1109,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         int con = left_concrete_value | right_concrete_value;
 
-        IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IOR,
-                right, (long) con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.IOR,
+                right, (long) con));
 
         env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -1141,8 +1141,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         int con = left_concrete_value ^ right_concrete_value;
 
-        IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IXOR,
-                right, (long) con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.IXOR,
+                right, (long) con));
 
         env.topFrame().operandStack.pushBv32(intExpr);
 
@@ -1172,8 +1172,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         long con = left_concrete_value & right_concrete_value;
 
-        IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IAND,
-                right, con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.IAND,
+                right, con));
 
         env.topFrame().operandStack.pushBv64(intExpr);
     }
@@ -1202,8 +1202,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         long con = left_concrete_value | right_concrete_value;
 
-        IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IOR,
-                right, con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.IOR,
+                right, con));
 
         env.topFrame().operandStack.pushBv64(intExpr);
     }
@@ -1232,8 +1232,8 @@ public final class ArithmeticVM extends AbstractVM {
 
         long con = left_concrete_value ^ right_concrete_value;
 
-        IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IXOR,
-                right, con);
+        IntegerValue intExpr = ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.IXOR,
+                right, con));
 
         env.topFrame().operandStack.pushBv64(intExpr);
     }
@@ -1302,8 +1302,8 @@ public final class ArithmeticVM extends AbstractVM {
             concrete_value = -1;
         }
 
-        IntegerComparison intComp = new IntegerComparison(left, right,
-                (long) concrete_value);
+        IntegerComparison intComp = ExpressionInterner.intern(new IntegerComparison(left, right,
+                (long) concrete_value));
 
         env.topFrame().operandStack.pushBv32(intComp);
     }
@@ -1343,8 +1343,8 @@ public final class ArithmeticVM extends AbstractVM {
             concrete_value = -1;
         }
 
-        RealComparison ret = new RealComparison(left, right,
-                (long) concrete_value);
+        RealComparison ret = ExpressionInterner.intern(new RealComparison(left, right,
+                (long) concrete_value));
 
         env.topFrame().operandStack.pushBv32(ret);
     }
@@ -1391,8 +1391,8 @@ public final class ArithmeticVM extends AbstractVM {
             concrete_value = -1;
         }
 
-        RealComparison ret = new RealComparison(left, right,
-                (long) concrete_value);
+        RealComparison ret = ExpressionInterner.intern(new RealComparison(left, right,
+                (long) concrete_value));
 
         env.topFrame().operandStack.pushBv32(ret);
     }
@@ -1433,8 +1433,8 @@ public final class ArithmeticVM extends AbstractVM {
         if (!integerExpr.containsSymbolicVariable()) {
             realExpr = ExpressionFactory.buildNewRealConstant(concreteValue);
         } else {
-            realExpr = new IntegerToRealCast(integerExpr,
-                    (double) concreteValue);
+            realExpr = ExpressionInterner.intern(new IntegerToRealCast(integerExpr,
+                    (double) concreteValue));
         }
         env.topFrame().operandStack.pushFp32(realExpr);
     }
@@ -1452,8 +1452,8 @@ public final class ArithmeticVM extends AbstractVM {
         if (!integerExpr.containsSymbolicVariable()) {
             realExpr = ExpressionFactory.buildNewRealConstant(concreteValue);
         } else {
-            realExpr = new IntegerToRealCast(integerExpr,
-                    concreteValue);
+            realExpr = ExpressionInterner.intern(new IntegerToRealCast(integerExpr,
+                    concreteValue));
         }
         env.topFrame().operandStack.pushFp64(realExpr);
     }
@@ -1473,8 +1473,8 @@ public final class ArithmeticVM extends AbstractVM {
         if (!integerExpr.containsSymbolicVariable()) {
             realExpr = ExpressionFactory.buildNewRealConstant(concreteValue);
         } else {
-            realExpr = new IntegerToRealCast(integerExpr,
-                    (double) concreteValue);
+            realExpr = ExpressionInterner.intern(new IntegerToRealCast(integerExpr,
+                    (double) concreteValue));
         }
         env.topFrame().operandStack.pushFp32(realExpr);
     }
@@ -1488,8 +1488,8 @@ public final class ArithmeticVM extends AbstractVM {
         if (!integerExpr.containsSymbolicVariable()) {
             realExpr = ExpressionFactory.buildNewRealConstant(concreteValue);
         } else {
-            realExpr = new IntegerToRealCast(integerExpr,
-                    concreteValue);
+            realExpr = ExpressionInterner.intern(new IntegerToRealCast(integerExpr,
+                    concreteValue));
         }
         env.topFrame().operandStack.pushFp64(realExpr);
     }
@@ -1503,7 +1503,7 @@ public final class ArithmeticVM extends AbstractVM {
         if (!realExpr.containsSymbolicVariable()) {
             intExpr = ExpressionFactory.buildNewIntegerConstant(concreteValue);
         } else {
-            intExpr = new RealToIntegerCast(realExpr, (long) concreteValue);
+            intExpr = ExpressionInterner.intern(new RealToIntegerCast(realExpr, (long) concreteValue));
         }
         env.topFrame().operandStack.pushBv32(intExpr);
     }
@@ -1517,7 +1517,7 @@ public final class ArithmeticVM extends AbstractVM {
         if (!realExpr.containsSymbolicVariable()) {
             intExpr = ExpressionFactory.buildNewIntegerConstant(concreteValue);
         } else {
-            intExpr = new RealToIntegerCast(realExpr, concreteValue);
+            intExpr = ExpressionInterner.intern(new RealToIntegerCast(realExpr, concreteValue));
         }
         env.topFrame().operandStack.pushBv64(intExpr);
     }
@@ -1537,7 +1537,7 @@ public final class ArithmeticVM extends AbstractVM {
         if (!realExpr.containsSymbolicVariable()) {
             intExpr = ExpressionFactory.buildNewIntegerConstant(concreteValue);
         } else {
-            intExpr = new RealToIntegerCast(realExpr, (long) concreteValue);
+            intExpr = ExpressionInterner.intern(new RealToIntegerCast(realExpr, (long) concreteValue));
         }
         env.topFrame().operandStack.pushBv32(intExpr);
     }
@@ -1551,7 +1551,7 @@ public final class ArithmeticVM extends AbstractVM {
         if (!realExpr.containsSymbolicVariable()) {
             intExpr = ExpressionFactory.buildNewIntegerConstant(concreteValue);
         } else {
-            intExpr = new RealToIntegerCast(realExpr, concreteValue);
+            intExpr = ExpressionInterner.intern(new RealToIntegerCast(realExpr, concreteValue));
         }
         env.topFrame().operandStack.pushBv64(intExpr);
     }
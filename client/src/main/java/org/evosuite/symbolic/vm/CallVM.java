@@ -417,7 +417,7 @@ public final class CallVM extends AbstractVM {
             symbolicResult = buildNewAppendExpression(symbolicResult, currentParameter);
 
             // Appends next literal
-            symbolicResult = new StringBinaryExpression(symbolicResult, Operator.APPEND_STRING, currentLiteral, symbolicResult.getConcreteValue() + currentLiteral.getConcreteValue());
+            symbolicResult = ExpressionInterner.intern(new StringBinaryExpression(symbolicResult, Operator.APPEND_STRING, currentLiteral, symbolicResult.getConcreteValue() + currentLiteral.getConcreteValue()));
         }
 
 
@@ -438,15 +438,15 @@ public final class CallVM extends AbstractVM {
         Class type = expression.getConcreteValue().getClass();
 
         if (type.equals(Integer.class) || type.equals(Long.class) || type.equals(Short.class) || type.equals(Byte.class)) {
-            return new StringBinaryExpression(symbolicResult, Operator.APPEND_INTEGER, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue());
+            return ExpressionInterner.intern(new StringBinaryExpression(symbolicResult, Operator.APPEND_INTEGER, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue()));
         } else if (type.equals(Character.class)) {
-            return new StringBinaryExpression(symbolicResult, Operator.APPEND_CHAR, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue());
+            return ExpressionInterner.intern(new StringBinaryExpression(symbolicResult, Operator.APPEND_CHAR, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue()));
         } else if (type.equals(Boolean.class)) {
-            return new StringBinaryExpression(symbolicResult, Operator.APPEND_BOOLEAN, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue());
+            return ExpressionInterner.intern(new StringBinaryExpression(symbolicResult, Operator.APPEND_BOOLEAN, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue()));
         } else if (type.equals(Float.class) || type.equals(Double.class)) {
-            return new StringBinaryExpression(symbolicResult, Operator.APPEND_REAL, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue());
+            return ExpressionInterner.intern(new StringBinaryExpression(symbolicResult, Operator.APPEND_REAL, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue()));
         } else if (type.equals(String.class)) {
-            return new StringBinaryExpression(symbolicResult, Operator.APPEND_STRING, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue());
+            return ExpressionInterner.intern(new StringBinaryExpression(symbolicResult, Operator.APPEND_STRING, expression, symbolicResult.getConcreteValue() + expression.getConcreteValue()));
         } else {
             throw new IllegalArgumentException("Expression appended type not supported yet");
         }
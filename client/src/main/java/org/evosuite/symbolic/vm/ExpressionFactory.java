@@ -125,7 +125,7 @@ public abstract class ExpressionFactory {
 
         // can only optimize if left is a literal
         if (!(left instanceof IntegerConstant))
-            return new IntegerBinaryExpression(left, Operator.PLUS, right, con);
+            return ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.PLUS, right, con));
 
         /*
          * (add 0 x) --> x
@@ -155,12 +155,12 @@ public abstract class ExpressionFactory {
 
                 IntegerConstant a_plus_b = buildNewIntegerConstant(a + b);
 
-                return new IntegerBinaryExpression(a_plus_b, Operator.PLUS,
-                        add.getRightOperand(), con);
+                return ExpressionInterner.intern(new IntegerBinaryExpression(a_plus_b, Operator.PLUS,
+                        add.getRightOperand(), con));
             }
         }
 
-        return new IntegerBinaryExpression(left, Operator.PLUS, right, con);
+        return ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.PLUS, right, con));
     }
 
     public static RealValue add(RealValue left, RealValue right, double con) {
@@ -176,7 +176,7 @@ public abstract class ExpressionFactory {
                                                 RealValue left, double con) {
         // can only optimize if left is a literal
         if (!(left instanceof RealConstant))
-            return new RealBinaryExpression(left, Operator.PLUS, right, con);
+            return ExpressionInterner.intern(new RealBinaryExpression(left, Operator.PLUS, right, con));
 
         /*
          * (add 0 x) --> x
@@ -206,12 +206,12 @@ public abstract class ExpressionFactory {
 
                 RealConstant a_plus_b = buildNewRealConstant(a + b);
 
-                return new RealBinaryExpression(a_plus_b, Operator.PLUS,
-                        add.getRightOperand(), con);
+                return ExpressionInterner.intern(new RealBinaryExpression(a_plus_b, Operator.PLUS,
+                        add.getRightOperand(), con));
             }
         }
 
-        return new RealBinaryExpression(left, Operator.PLUS, right, con);
+        return ExpressionInterner.intern(new RealBinaryExpression(left, Operator.PLUS, right, con));
 
     }
 
@@ -252,8 +252,8 @@ public abstract class ExpressionFactory {
 
         }
 
-        return new IntegerBinaryExpression(left, Operator.MUL, right,
-                con);
+        return ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.MUL, right,
+                con));
     }
 
     public static RealValue mul(RealValue left, RealValue right, double con) {
@@ -291,7 +291,7 @@ public abstract class ExpressionFactory {
 
         }
 
-        return new RealBinaryExpression(left, Operator.MUL, right, con);
+        return ExpressionInterner.intern(new RealBinaryExpression(left, Operator.MUL, right, con));
     }
 
     public static RealValue div(RealValue left, RealValue right, double con) {
@@ -302,7 +302,7 @@ public abstract class ExpressionFactory {
         if (left instanceof RealConstant && left.getConcreteValue() == 0)
             return buildNewRealConstant(0);
 
-        return new RealBinaryExpression(left, Operator.DIV, right, con);
+        return ExpressionInterner.intern(new RealBinaryExpression(left, Operator.DIV, right, con));
     }
 
     public static IntegerValue div(IntegerValue left, IntegerValue right,
@@ -314,7 +314,7 @@ public abstract class ExpressionFactory {
         if (left instanceof IntegerConstant && left.getConcreteValue() == 0)
             return buildNewIntegerConstant(0);
 
-        return new IntegerBinaryExpression(left, Operator.DIV, right, con);
+        return ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.DIV, right, con));
     }
 
     public static RealValue rem(RealValue left, RealValue right, double con) {
@@ -325,7 +325,7 @@ public abstract class ExpressionFactory {
         if (left instanceof RealConstant && left.getConcreteValue() == 0)
             return buildNewRealConstant(0);
 
-        return new RealBinaryExpression(left, Operator.REM, right, con);
+        return ExpressionInterner.intern(new RealBinaryExpression(left, Operator.REM, right, con));
     }
 
     public static IntegerValue rem(IntegerValue left, IntegerValue right,
@@ -337,7 +337,7 @@ public abstract class ExpressionFactory {
         if (left instanceof IntegerConstant && left.getConcreteValue() == 0)
             return buildNewIntegerConstant(0);
 
-        return new IntegerBinaryExpression(left, Operator.REM, right, con);
+        return ExpressionInterner.intern(new IntegerBinaryExpression(left, Operator.REM, right, con));
     }
 
     /**************************** Arrays ****************************/
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.vm;
+
+import org.evosuite.symbolic.expr.Expression;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Hash-consing of the symbolic expressions built during a concolic execution.
+ * <p>
+ * Interning an expression returns an already built expression that is structurally
+ * equal and has the same concrete value, if any. Otherwise the expression itself is
+ * recorded and returned. As expressions are interned bottom-up, the operands of an
+ * interned expression are interned too, so that equal subexpressions (eg, the ones
+ * built by a loop of the SUT) are stored once and form a DAG.
+ * <p>
+ * Each concolic execution owns its own interner, which is made current for the time of the
+ * execution (see {@link #setCurrent(ExpressionInterner)}) and dropped at its end, so that
+ * no expression outlives the execution in the table. Outside of a concolic execution
+ * expressions are not interned.
+ */
+public final class ExpressionInterner {
+
+    /**
+     * The table is cleared when it grows over this size, which only loses sharing
+     */
+    private static final int MAX_SIZE = 1 << 20;
+
+    /**
+     * The interner of the running concolic execution, if any
+     */
+    private static volatile ExpressionInterner current = null;
+
+    private final Map<Key, Expression<?>> expressions = new HashMap<>();
+
+    /**
+     * Make the given interner the one used by {@link #intern(Expression)}
+     *
+     * @param interner the interner of a starting concolic execution, or null once it is over
+     */
+    public static void setCurrent(ExpressionInterner interner) {
+        current = interner;
+    }
+
+    /**
+     * Returns the canonical expression equal to the given one in the running
+     * concolic execution, or the given expression if there is none
+     *
+     * @param expr a newly built expression
+     * @param <E>
+     * @return
+     */
+    public static <E extends Expression<?>> E intern(E expr) {
+        ExpressionInterner interner = current;
+        if (interner == null) {
+            return expr;
+        }
+        return interner.share(expr);
+    }
+
+    /**
+     * Returns the expression recorded in this interner equal to the given one
+     *
+     * @param expr a newly built expression
+     * @param <E>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Expression<?>> E share(E expr) {
+        Key key = new Key(expr);
+        Expression<?> interned = expressions.get(key);
+        if (interned != null) {
+            return (E) interned;
+        }
+        if (expressions.size() >= MAX_SIZE) {
+            expressions.clear();
+        }
+        expressions.put(key, expr);
+        return expr;
+    }
+
+    /**
+     * Forget all the interned expressions
+     */
+    public void clear() {
+        expressions.clear();
+    }
+
+    /**
+     * Two expressions are the same if they have the same class, are structurally equal
+     * and have the same concrete value, which is not considered by their equals method
+     */
+    private static final class Key {
+
+        private final Expression<?> expr;
+
+        private Key(Expression<?> expr) {
+            this.expr = expr;
+        }
+
+        @Override
+        public int hashCode() {
+            return expr.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Expression<?> other = ((Key) obj).expr;
+            return expr.getClass() == other.getClass()
+                    && Objects.equals(expr.getConcreteValue(), other.getConcreteValue())
+                    && expr.equals(other);
+        }
+    }
+}
@@ -28,6 +28,8 @@ import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 
@@ -49,9 +51,38 @@ public class ExecutionTracer {
     private boolean disabled = true;
 
     /**
-     * Flag that is used to kill threads that are stuck in endless loops
+     * Flag that is used to kill threads that are stuck in endless loops. It is
+     * set by the thread that enforces the timeout
      */
-    private boolean killSwitch = false;
+    private volatile boolean killSwitch = false;
+
+    /**
+     * The probes only check the kill switch once every
+     * TIMEOUT_CHECK_MASK + 1 calls (which must be a power of two)
+     */
+    private static final int TIMEOUT_CHECK_MASK = 0x3F;
+
+    private int numProbes = 0;
+
+    private static final int DYNAMIC_CONSTANT_BUFFER_SIZE = 256;
+
+    /**
+     * Integer operands of the branches passed by the execution, buffered until
+     * the executor adds them to the dynamic constant pool at the end of the
+     * execution (see {@link #flushDynamicConstants()}). Operands beyond the
+     * size of the buffer are dropped
+     */
+    private final int[] dynamicConstants = new int[DYNAMIC_CONSTANT_BUFFER_SIZE];
+
+    private int numDynamicConstants = 0;
+
+    /**
+     * Operands flushed by the tracer of an isolated worker. The dynamic
+     * constant pool is not thread-safe, so they are only added to it by the
+     * thread that drives the workers (see {@link #mergeDynamicConstants()}).
+     * Null for the default tracer, which adds them directly
+     */
+    private final List<Integer> workerConstants;
 
     private int num_statements = 0;
 
@@ -66,6 +97,23 @@ public class ExecutionTracer {
      */
     private static volatile Thread currentThread = null;
 
+    /**
+     * Tracers that are bound to the threads of an isolated execution worker
+     * (see {@link TestCaseExecutorPool}). Both the thread that drives the
+     * execution and the thread that runs the test are bound to the same tracer
+     */
+    private static final ThreadLocal<ExecutionTracer> boundTracer = new ThreadLocal<>();
+
+    /**
+     * Avoids the thread local lookup on every probe as long as no worker is active
+     */
+    private static volatile boolean hasBoundTracers = false;
+
+    /**
+     * The thread executing the test case, only used for bound tracers
+     */
+    private volatile Thread executionThread = null;
+
     /**
      * <p>
      * setThread
@@ -77,6 +125,51 @@ public class ExecutionTracer {
         currentThread = thread;
     }
 
+    /**
+     * Create a new tracer that is not shared with the default execution, to be
+     * bound to the threads of an isolated execution worker
+     *
+     * @return a new {@link org.evosuite.testcase.execution.ExecutionTracer}
+     */
+    public static ExecutionTracer newIsolatedTracer() {
+        return new ExecutionTracer(true);
+    }
+
+    /**
+     * Make all static callbacks issued by the calling thread use the given
+     * tracer rather than the default one
+     *
+     * @param tracer the tracer of an isolated execution worker
+     */
+    public static void bindToCurrentThread(ExecutionTracer tracer) {
+        hasBoundTracers = true;
+        boundTracer.set(tracer);
+    }
+
+    /**
+     * Revert the calling thread to the default tracer
+     */
+    public static void unbindFromCurrentThread() {
+        boundTracer.remove();
+    }
+
+    /**
+     * Called once no worker is left: the probes can go back to skipping the
+     * thread local lookup
+     */
+    public static void unbindAllThreads() {
+        hasBoundTracers = false;
+    }
+
+    /**
+     * Set the thread that executes the test cases traced by this (bound) tracer
+     *
+     * @param thread a {@link java.lang.Thread} object.
+     */
+    public void setExecutionThread(Thread thread) {
+        this.executionThread = thread;
+    }
+
     /**
      * <p>
      * disable
@@ -182,6 +275,11 @@ public class ExecutionTracer {
      * @return a {@link org.evosuite.testcase.execution.ExecutionTracer} object.
      */
     public static ExecutionTracer getExecutionTracer() {
+        if (hasBoundTracers) {
+            ExecutionTracer tracer = boundTracer.get();
+            if (tracer != null)
+                return tracer;
+        }
         if (instance == null) {
             instance = new ExecutionTracer();
         }
@@ -192,11 +290,99 @@ public class ExecutionTracer {
      * Reset for new execution
      */
     public void clear() {
+        flushDynamicConstants();
         trace = new ExecutionTraceProxy();
-        BooleanHelper.clearStack();
+        // the stack is shared by all workers, the pool clears it once per batch
+        if (workerConstants == null)
+            BooleanHelper.clearStack();
         num_statements = 0;
     }
 
+    /**
+     * Fast path of the probes, equivalent to checking
+     * {@link #getExecutionTracer()}, whether it is enabled and
+     * {@link #isThreadNeqCurrentThread()}, with a single lookup of the tracer
+     * bound to the calling thread
+     *
+     * @return the tracer of the calling thread, or null if the probe is to be
+     * ignored
+     */
+    private static ExecutionTracer getActiveTracer() {
+        ExecutionTracer tracer = hasBoundTracers ? boundTracer.get() : null;
+        Thread executionThread;
+        if (tracer != null) {
+            executionThread = tracer.executionThread;
+        } else {
+            tracer = instance;
+            if (tracer == null)
+                tracer = getExecutionTracer();
+            executionThread = currentThread;
+        }
+        if (tracer.disabled)
+            return null;
+
+        if (checkCallerThread && Thread.currentThread() != executionThread) {
+            // reports and fixes a missing thread on the default tracer
+            if (executionThread == null && tracer == instance && !isThreadNeqCurrentThread())
+                return tracer;
+            return null;
+        }
+        return tracer;
+    }
+
+    /**
+     * Same as {@link #checkTimeout()} on an active tracer, but only checks the
+     * kill switch once every few probes
+     */
+    private void checkTimeoutSampled() {
+        if ((++numProbes & TIMEOUT_CHECK_MASK) == 0 && killSwitch && !isInStaticInit())
+            throw new TestCaseExecutor.TimeoutExceeded();
+    }
+
+    private void addDynamicConstant(int value) {
+        // a test thread that survived its timeout may race with the drain
+        int num = numDynamicConstants;
+        if (num < DYNAMIC_CONSTANT_BUFFER_SIZE) {
+            dynamicConstants[num] = value;
+            numDynamicConstants = num + 1;
+        }
+    }
+
+    /**
+     * Add the buffered operands of the branches to the dynamic constant pool
+     */
+    public void flushDynamicConstants() {
+        int num = numDynamicConstants;
+        numDynamicConstants = 0;
+        if (workerConstants != null) {
+            synchronized (workerConstants) {
+                for (int i = 0; i < num; i++) {
+                    workerConstants.add(dynamicConstants[i]);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < num; i++) {
+            ConstantPoolManager.getInstance().addDynamicConstant(dynamicConstants[i]);
+        }
+    }
+
+    /**
+     * Add the operands flushed by this worker tracer to the dynamic constant
+     * pool. Must only be called by the thread that drives the workers, once
+     * they are done
+     */
+    void mergeDynamicConstants() {
+        if (workerConstants == null)
+            return;
+        synchronized (workerConstants) {
+            for (Integer value : workerConstants) {
+                ConstantPoolManager.getInstance().addDynamicConstant(value);
+            }
+            workerConstants.clear();
+        }
+    }
+
     /**
      * Obviously more than one thread is executing during the creation of
      * concurrent TestCases. #TODO steenbuck we should test if
@@ -208,6 +394,11 @@ public class ExecutionTracer {
         if (!checkCallerThread) {
             return false;
         }
+        if (hasBoundTracers) {
+            ExecutionTracer tracer = boundTracer.get();
+            if (tracer != null)
+                return Thread.currentThread() != tracer.executionThread;
+        }
         if (currentThread == null) {
             logger.error("CurrentThread has not been set!");
             Map<Thread, StackTraceElement[]> map = Thread.getAllStackTraces();
@@ -256,15 +447,11 @@ public class ExecutionTracer {
      */
     public static void enteredMethod(String classname, String methodname, Object caller)
             throws TestCaseExecutor.TimeoutExceeded {
-        ExecutionTracer tracer = getExecutionTracer();
-
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
         //logger.trace("Entering method " + classname + "." + methodname);
         tracer.trace.enteredMethod(classname, methodname, caller);
@@ -278,11 +465,8 @@ public class ExecutionTracer {
      * @param methodName a {@link java.lang.String} object.
      */
     public static void returnValue(int value, String className, String methodName) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
         //logger.trace("Return value: " + value);
@@ -297,10 +481,7 @@ public class ExecutionTracer {
      * @param methodName a {@link java.lang.String} object.
      */
     public static void returnValue(Object value, String className, String methodName) {
-        if (isThreadNeqCurrentThread())
-            return;
-
-        if (!ExecutionTracer.isEnabled())
+        if (getActiveTracer() == null)
             return;
 
         if (value == null) {
@@ -349,11 +530,8 @@ public class ExecutionTracer {
      * @param methodname a {@link java.lang.String} object.
      */
     public static void leftMethod(String classname, String methodname) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
         tracer.trace.exitMethod(classname, methodname);
@@ -391,14 +569,11 @@ public class ExecutionTracer {
      * @param methodName a {@link java.lang.String} object.
      */
     public static void passedLine(String className, String methodName, int line) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
         tracer.trace.linePassed(className, methodName, line);
     }
@@ -413,17 +588,14 @@ public class ExecutionTracer {
      */
     public static void passedBranch(int val, int opcode, int branch, int bytecode_id) {
 
-        ExecutionTracer tracer = getExecutionTracer();
+        ExecutionTracer tracer = getActiveTracer();
         // logger.info("passedBranch val="+val+", opcode="+opcode+", branch="+branch+", bytecode_id="+bytecode_id);
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        if (tracer == null)
             return;
 
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
-        ConstantPoolManager.getInstance().addDynamicConstant(val);
+        tracer.addDynamicConstant(val);
 
         // logger.trace("Called passedBranch1 with opcode "+AbstractVisitor.OPCODES[opcode]+" and val "+val+" in branch "+branch);
         double distance_true = 0.0;
@@ -475,14 +647,11 @@ public class ExecutionTracer {
     }
 
     public static void passedPutStatic(String classNameWithDots, String fieldName) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        if (isThreadNeqCurrentThread())
-            return;
-
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
         tracer.trace.putStaticPassed(classNameWithDots, fieldName);
     }
@@ -515,14 +684,11 @@ public class ExecutionTracer {
      * @param fieldName
      */
     public static void passedGetStatic(String classNameWithDots, String fieldName) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
         tracer.trace.getStaticPassed(classNameWithDots, fieldName);
     }
@@ -539,17 +705,14 @@ public class ExecutionTracer {
      */
     public static void passedBranch(int val1, int val2, int opcode, int branch,
                                     int bytecode_id) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
-        ConstantPoolManager.getInstance().addDynamicConstant(val1);
-        ConstantPoolManager.getInstance().addDynamicConstant(val2);
+        tracer.addDynamicConstant(val1);
+        tracer.addDynamicConstant(val2);
 
 		/* logger.trace("Called passedBranch2 with opcode "
 		        + AbstractVisitor.OPCODES[opcode] + ", val1=" + val1 + ", val2=" + val2
@@ -615,14 +778,11 @@ public class ExecutionTracer {
      */
     public static void passedBranch(Object val1, Object val2, int opcode, int branch,
                                     int bytecode_id) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        if (isThreadNeqCurrentThread())
-            return;
-
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
         double distance_true = 0;
         double distance_false = 0;
@@ -652,14 +812,11 @@ public class ExecutionTracer {
      * @param bytecode_id a int.
      */
     public static void passedBranch(Object val, int opcode, int branch, int bytecode_id) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        if (isThreadNeqCurrentThread())
-            return;
-
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
         double distance_true = 0;
         double distance_false = 0;
@@ -691,11 +848,8 @@ public class ExecutionTracer {
      * @param defID  a int.
      */
     public static void passedDefinition(Object object, Object caller, int defID) {
-        if (isThreadNeqCurrentThread())
-            return;
-
-        ExecutionTracer tracer = getExecutionTracer();
-        if (!tracer.disabled)
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer != null)
             tracer.trace.definitionPassed(object, caller, defID);
     }
 
@@ -707,11 +861,8 @@ public class ExecutionTracer {
      */
     public static void passedUse(Object object, Object caller, int useID) {
 
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
         tracer.trace.usePassed(object, caller, useID);
@@ -728,11 +879,8 @@ public class ExecutionTracer {
      * @param defuseId
      */
     public static void passedFieldMethodCall(Object callee, Object caller, int defuseId) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
         if (DefUsePool.isKnownAsDefinition(defuseId)) {
@@ -756,14 +904,11 @@ public class ExecutionTracer {
      * @param mutationId a int.
      */
     public static void passedMutation(double distance, int mutationId) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
         tracer.trace.mutationPassed(mutationId, distance);
     }
@@ -779,14 +924,11 @@ public class ExecutionTracer {
      */
     public static void exceptionThrown(Object exception, String className,
                                        String methodName) {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
-            return;
-
-        if (isThreadNeqCurrentThread())
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
         tracer.trace.setExplicitException((Throwable) exception);
 
@@ -798,14 +940,11 @@ public class ExecutionTracer {
      * </p>
      */
     public static void statementExecuted() {
-        ExecutionTracer tracer = getExecutionTracer();
-        if (tracer.disabled)
+        ExecutionTracer tracer = getActiveTracer();
+        if (tracer == null)
             return;
 
-        if (isThreadNeqCurrentThread())
-            return;
-
-        checkTimeout();
+        tracer.checkTimeoutSampled();
 
         tracer.num_statements++;
     }
@@ -822,7 +961,12 @@ public class ExecutionTracer {
     }
 
     private ExecutionTracer() {
+        this(false);
+    }
+
+    private ExecutionTracer(boolean isolated) {
         trace = new ExecutionTraceProxy();
+        workerConstants = isolated ? new ArrayList<>() : null;
     }
 
 }
@@ -0,0 +1,405 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Branch distances and branch execution counts of an execution, stored in
+ * primitive arrays indexed by the (dense) branch id assigned by the
+ * {@link org.evosuite.coverage.branch.BranchPool}. A bitset keeps track of the
+ * branches that were reached, such that a reset does not need to touch the
+ * arrays: slots are (re-)initialized the first time a branch is passed.
+ * <p>
+ * The map accessors return read-only views backed by the arrays, and are only
+ * meant for iteration by the fitness functions. The views refer to the arrays
+ * by their kind, as the arrays are replaced when the trace grows.
+ */
+final class PrimitiveBranchTrace {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private enum Distances {TRUE, FALSE, TRUE_SUM, FALSE_SUM}
+
+    private enum Counts {EXECUTION, TRUE, FALSE}
+
+    private final BitSet reached;
+
+    private double[] trueDistances;
+
+    private double[] falseDistances;
+
+    private double[] trueDistancesSum;
+
+    private double[] falseDistancesSum;
+
+    private int[] executionCount;
+
+    private int[] trueCount;
+
+    private int[] falseCount;
+
+    PrimitiveBranchTrace() {
+        reached = new BitSet(INITIAL_CAPACITY);
+        trueDistances = new double[INITIAL_CAPACITY];
+        falseDistances = new double[INITIAL_CAPACITY];
+        trueDistancesSum = new double[INITIAL_CAPACITY];
+        falseDistancesSum = new double[INITIAL_CAPACITY];
+        executionCount = new int[INITIAL_CAPACITY];
+        trueCount = new int[INITIAL_CAPACITY];
+        falseCount = new int[INITIAL_CAPACITY];
+    }
+
+    private PrimitiveBranchTrace(PrimitiveBranchTrace other) {
+        // only copy the prefix that can contain reached branches
+        int length = Math.max(other.reached.length(), 1);
+        reached = (BitSet) other.reached.clone();
+        trueDistances = Arrays.copyOf(other.trueDistances, length);
+        falseDistances = Arrays.copyOf(other.falseDistances, length);
+        trueDistancesSum = Arrays.copyOf(other.trueDistancesSum, length);
+        falseDistancesSum = Arrays.copyOf(other.falseDistancesSum, length);
+        executionCount = Arrays.copyOf(other.executionCount, length);
+        trueCount = Arrays.copyOf(other.trueCount, length);
+        falseCount = Arrays.copyOf(other.falseCount, length);
+    }
+
+    /**
+     * Record the distances of a passed branch
+     *
+     * @param branch        the branch id
+     * @param trueDistance  distance to the true branch
+     * @param falseDistance distance to the false branch
+     * @param countCoverage whether to count the execution of the branch
+     */
+    void branchPassed(int branch, double trueDistance, double falseDistance, boolean countCoverage) {
+        ensureCapacity(branch);
+        if (!reached.get(branch)) {
+            reached.set(branch);
+            trueDistances[branch] = trueDistance;
+            falseDistances[branch] = falseDistance;
+            trueDistancesSum[branch] = trueDistance;
+            falseDistancesSum[branch] = falseDistance;
+            executionCount[branch] = 0;
+            trueCount[branch] = 0;
+            falseCount[branch] = 0;
+        } else {
+            trueDistances[branch] = Math.min(trueDistances[branch], trueDistance);
+            falseDistances[branch] = Math.min(falseDistances[branch], falseDistance);
+            trueDistancesSum[branch] += trueDistance;
+            falseDistancesSum[branch] += falseDistance;
+        }
+
+        if (countCoverage) {
+            executionCount[branch]++;
+            if (trueDistance == 0.0)
+                trueCount[branch]++;
+            if (falseDistance == 0.0)
+                falseCount[branch]++;
+        }
+    }
+
+    private void ensureCapacity(int branch) {
+        if (branch < trueDistances.length)
+            return;
+
+        int length = Math.max(branch + 1, trueDistances.length * 2);
+        trueDistances = Arrays.copyOf(trueDistances, length);
+        falseDistances = Arrays.copyOf(falseDistances, length);
+        trueDistancesSum = Arrays.copyOf(trueDistancesSum, length);
+        falseDistancesSum = Arrays.copyOf(falseDistancesSum, length);
+        executionCount = Arrays.copyOf(executionCount, length);
+        trueCount = Arrays.copyOf(trueCount, length);
+        falseCount = Arrays.copyOf(falseCount, length);
+    }
+
+    /**
+     * Forget all branches, keeping the allocated arrays for the next execution
+     */
+    void reset() {
+        reached.clear();
+    }
+
+    PrimitiveBranchTrace copy() {
+        return new PrimitiveBranchTrace(this);
+    }
+
+    boolean isReached(int branch) {
+        return branch >= 0 && reached.get(branch);
+    }
+
+    boolean isCoveredTrue(int branch) {
+        return isReached(branch) && trueCount[branch] > 0;
+    }
+
+    boolean isCoveredFalse(int branch) {
+        return isReached(branch) && falseCount[branch] > 0;
+    }
+
+    double getTrueDistance(int branch) {
+        checkReached(branch);
+        return trueDistances[branch];
+    }
+
+    double getFalseDistance(int branch) {
+        checkReached(branch);
+        return falseDistances[branch];
+    }
+
+    private void checkReached(int branch) {
+        if (!isReached(branch))
+            throw new IllegalArgumentException("Branch " + branch + " was not reached");
+    }
+
+    private double[] getArray(Distances kind) {
+        switch (kind) {
+            case TRUE:
+                return trueDistances;
+            case FALSE:
+                return falseDistances;
+            case TRUE_SUM:
+                return trueDistancesSum;
+            default:
+                return falseDistancesSum;
+        }
+    }
+
+    /**
+     * @return null if no kind of count is given
+     */
+    private int[] getArray(Counts kind) {
+        if (kind == null)
+            return null;
+        switch (kind) {
+            case EXECUTION:
+                return executionCount;
+            case TRUE:
+                return trueCount;
+            default:
+                return falseCount;
+        }
+    }
+
+    Set<Integer> getReachedBranches() {
+        return new ReachedSet(null);
+    }
+
+    Set<Integer> getCountedBranches() {
+        return new ReachedSet(Counts.EXECUTION);
+    }
+
+    Map<Integer, Double> getTrueDistances() {
+        return new DistanceView(Distances.TRUE);
+    }
+
+    Map<Integer, Double> getFalseDistances() {
+        return new DistanceView(Distances.FALSE);
+    }
+
+    Map<Integer, Double> getTrueDistancesSum() {
+        return new DistanceView(Distances.TRUE_SUM);
+    }
+
+    Map<Integer, Double> getFalseDistancesSum() {
+        return new DistanceView(Distances.FALSE_SUM);
+    }
+
+    Map<Integer, Integer> getExecutionCount() {
+        return new CountView(Counts.EXECUTION);
+    }
+
+    Map<Integer, Integer> getTrueCount() {
+        return new CountView(Counts.TRUE);
+    }
+
+    Map<Integer, Integer> getFalseCount() {
+        return new CountView(Counts.FALSE);
+    }
+
+    /**
+     * Iterates over the reached branches, optionally only those with a
+     * positive count. Arrays are looked up on each access, as they may be
+     * replaced when growing.
+     */
+    private abstract class BranchIterator<T> implements Iterator<T> {
+
+        private final Counts counts;
+
+        private int next;
+
+        BranchIterator(Counts counts) {
+            this.counts = counts;
+            this.next = advance(reached.nextSetBit(0));
+        }
+
+        private int advance(int branch) {
+            int[] c = getArray(counts);
+            while (branch >= 0 && c != null && c[branch] == 0) {
+                branch = reached.nextSetBit(branch + 1);
+            }
+            return branch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public T next() {
+            if (next < 0)
+                throw new NoSuchElementException();
+            int branch = next;
+            next = advance(reached.nextSetBit(branch + 1));
+            return get(branch);
+        }
+
+        protected abstract T get(int branch);
+    }
+
+    private final class ReachedSet extends AbstractSet<Integer> {
+
+        private final Counts counts;
+
+        ReachedSet(Counts counts) {
+            this.counts = counts;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Integer))
+                return false;
+            int branch = (Integer) o;
+            int[] c = getArray(counts);
+            return isReached(branch) && (c == null || c[branch] > 0);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new BranchIterator<Integer>(counts) {
+                @Override
+                protected Integer get(int branch) {
+                    return branch;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int[] c = getArray(counts);
+            if (c == null)
+                return reached.cardinality();
+            int size = 0;
+            for (int branch = reached.nextSetBit(0); branch >= 0; branch = reached.nextSetBit(branch + 1)) {
+                if (c[branch] > 0)
+                    size++;
+            }
+            return size;
+        }
+    }
+
+    private final class DistanceView extends AbstractMap<Integer, Double> {
+
+        private final Distances values;
+
+        DistanceView(Distances values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer && isReached((Integer) key);
+        }
+
+        @Override
+        public Double get(Object key) {
+            if (!containsKey(key))
+                return null;
+            return getArray(values)[(Integer) key];
+        }
+
+        @Override
+        public Set<Entry<Integer, Double>> entrySet() {
+            return new AbstractSet<Entry<Integer, Double>>() {
+                @Override
+                public Iterator<Entry<Integer, Double>> iterator() {
+                    return new BranchIterator<Entry<Integer, Double>>(null) {
+                        @Override
+                        protected Entry<Integer, Double> get(int branch) {
+                            return new SimpleImmutableEntry<>(branch, getArray(values)[branch]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return reached.cardinality();
+                }
+            };
+        }
+    }
+
+    private final class CountView extends AbstractMap<Integer, Integer> {
+
+        private final Counts counts;
+
+        CountView(Counts counts) {
+            this.counts = counts;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer && isReached((Integer) key) && getArray(counts)[(Integer) key] > 0;
+        }
+
+        @Override
+        public Integer get(Object key) {
+            if (!containsKey(key))
+                return null;
+            return getArray(counts)[(Integer) key];
+        }
+
+        @Override
+        public Set<Entry<Integer, Integer>> entrySet() {
+            return new AbstractSet<Entry<Integer, Integer>>() {
+                @Override
+                public Iterator<Entry<Integer, Integer>> iterator() {
+                    return new BranchIterator<Entry<Integer, Integer>>(counts) {
+                        @Override
+                        protected Entry<Integer, Integer> get(int branch) {
+                            return new SimpleImmutableEntry<>(branch, getArray(counts)[branch]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return new ReachedSet(counts).size();
+                }
+            };
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.evosuite.testcase.execution;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.mutation.MutationObserver;
 import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
 import org.evosuite.ga.stoppingconditions.MaxTestsStoppingCondition;
 import org.evosuite.runtime.LoopCounter;
@@ -73,8 +74,23 @@ public class TestCaseExecutor implements ThreadFactory {
 
     private static TestCaseExecutor instance = null;
 
+    /**
+     * Executor of the isolated worker the calling thread belongs to, if any
+     */
+    private static final ThreadLocal<TestCaseExecutor> workerInstance = new ThreadLocal<>();
+
     private ExecutorService executor;
 
+    /**
+     * Tracer of an isolated worker, null for the shared executor
+     */
+    private final ExecutionTracer workerTracer;
+
+    /**
+     * Mutation activated on an isolated worker, null for the shared executor
+     */
+    private final MutationObserver.ActiveMutation workerMutation;
+
     private Thread currentThread = null;
 
     private ThreadGroup threadGroup = null;
@@ -113,7 +129,15 @@ public class TestCaseExecutor implements ThreadFactory {
      * @return a {@link org.evosuite.testcase.execution.TestCaseExecutor}
      * object.
      */
-    public static synchronized TestCaseExecutor getInstance() {
+    public static TestCaseExecutor getInstance() {
+        TestCaseExecutor worker = workerInstance.get();
+        if (worker != null)
+            return worker;
+
+        return getSharedInstance();
+    }
+
+    private static synchronized TestCaseExecutor getSharedInstance() {
         if (instance == null)
             instance = new TestCaseExecutor();
 
@@ -146,10 +170,71 @@ public class TestCaseExecutor implements ThreadFactory {
     }
 
     private TestCaseExecutor() {
+        this(null);
+    }
+
+    private TestCaseExecutor(ExecutionTracer workerTracer) {
+        this.workerTracer = workerTracer;
+        this.workerMutation = workerTracer == null ? null : new MutationObserver.ActiveMutation();
         executor = Executors.newSingleThreadExecutor(this);
         newObservers();
     }
 
+    /**
+     * Create an isolated executor with its own tracer, to be used by a
+     * worker of the {@link TestCaseExecutorPool}. Unlike the shared instance,
+     * a worker does not set up the sandbox and the runtime on each execution,
+     * this is done once per batch by the pool.
+     *
+     * @return a new {@link org.evosuite.testcase.execution.TestCaseExecutor}
+     */
+    static TestCaseExecutor newWorker() {
+        return new TestCaseExecutor(ExecutionTracer.newIsolatedTracer());
+    }
+
+    /**
+     * Make the calling thread use this worker for all executions (i.e.,
+     * {@link #getInstance()}, {@link ExecutionTracer#getExecutionTracer()} and
+     * the active mutation of {@link MutationObserver})
+     */
+    void bindWorkerToCurrentThread() {
+        workerInstance.set(this);
+        ExecutionTracer.bindToCurrentThread(workerTracer);
+        MutationObserver.bindToCurrentThread(workerMutation);
+    }
+
+    /**
+     * Revert the calling thread to the shared executor
+     */
+    static void unbindWorkerFromCurrentThread() {
+        workerInstance.remove();
+        ExecutionTracer.unbindFromCurrentThread();
+        MutationObserver.unbindFromCurrentThread();
+    }
+
+    /**
+     * Shut down the thread of an isolated worker
+     */
+    void shutdownWorker() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Add the dynamic constants collected by an isolated worker to the shared
+     * pool, on the calling thread
+     */
+    void mergeDynamicConstants() {
+        if (isWorker())
+            workerTracer.mergeDynamicConstants();
+    }
+
+    private boolean isWorker() {
+        return workerTracer != null;
+    }
+
     public static class TimeoutExceeded extends RuntimeException {
         private static final long serialVersionUID = -5314228165430676893L;
     }
@@ -175,6 +260,7 @@ public class TestCaseExecutor implements ThreadFactory {
                 instance.executor = null;
             }
         }
+        TestCaseExecutorPool.pullDown();
     }
 
     /**
@@ -268,7 +354,8 @@ public class TestCaseExecutor implements ThreadFactory {
         Scope scope = new Scope();
         ExecutionResult result = execute(tc, scope, timeout);
 
-        if (Properties.RESET_STATIC_FIELDS) {
+        // workers leave the reset to the pool, once the whole batch is done
+        if (Properties.RESET_STATIC_FIELDS && !isWorker()) {
             logger.debug("Resetting classes after execution");
             ClassReInitializer.getInstance().reInitializeClassesAfterTestExecution(tc, result);
         }
@@ -290,7 +377,8 @@ public class TestCaseExecutor implements ThreadFactory {
         resetObservers();
         ExecutionObserver.setCurrentTest(tc);
         MaxTestsStoppingCondition.testExecuted();
-        Runtime.getInstance().resetRuntime();
+        if (!isWorker())
+            Runtime.getInstance().resetRuntime();
 
         long startTime = System.currentTimeMillis();
 
@@ -298,6 +386,7 @@ public class TestCaseExecutor implements ThreadFactory {
 
         // #TODO steenbuck could be nicer (TestRunnable should be an interface
         TestRunnable callable = new TestRunnable(tc, scope, observers);
+        callable.setHandleSharedEnvironment(!isWorker());
         callable.storeCurrentThreads();
 
         /*
@@ -314,16 +403,19 @@ public class TestCaseExecutor implements ThreadFactory {
 
             ExecutionResult result = null;
 
-            // important to call it before setting up the sandbox
-            SystemInUtil.getInstance().initForTestCase();
-            JOptionPaneInputs.getInstance().initForTestCase();
+            if (!isWorker()) {
+                // important to call it before setting up the sandbox
+                SystemInUtil.getInstance().initForTestCase();
+                JOptionPaneInputs.getInstance().initForTestCase();
 
-            Sandbox.goingToExecuteSUTCode();
+                Sandbox.goingToExecuteSUTCode();
+            }
             TestGenerationContext.getInstance().goingToExecuteSUTCode();
             try {
                 result = handler.execute(callable, executor, timeout, Properties.CPU_TIMEOUT);
             } finally {
-                Sandbox.doneWithExecutingSUTCode();
+                if (!isWorker())
+                    Sandbox.doneWithExecutingSUTCode();
                 TestGenerationContext.getInstance().doneWithExecutingSUTCode();
             }
 
@@ -341,8 +433,10 @@ public class TestCaseExecutor implements ThreadFactory {
              */
 
             long endTime = System.currentTimeMillis();
-            timeExecuted += endTime - startTime;
-            testsExecuted++;
+            synchronized (TestCaseExecutor.class) {
+                timeExecuted += endTime - startTime;
+                testsExecuted++;
+            }
             return result;
         } catch (ThreadDeath t) {
             logger.warn("Caught ThreadDeath during test execution");
@@ -464,7 +558,7 @@ public class TestCaseExecutor implements ThreadFactory {
             ExecutionTracer.disable();
 
             // TODO: If this is true, is this problematic?
-            if (Sandbox.isOnAndExecutingSUTCode()) {
+            if (!isWorker() && Sandbox.isOnAndExecutingSUTCode()) {
                 Sandbox.doneWithExecutingSUTCode();
                 TestGenerationContext.getInstance().doneWithExecutingSUTCode();
             }
@@ -483,7 +577,9 @@ public class TestCaseExecutor implements ThreadFactory {
         } finally {
             if (threadGroup != null)
                 PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
-            TestCluster.getInstance().handleRuntimeAccesses(tc);
+            if (!isWorker())
+                TestCluster.getInstance().handleRuntimeAccesses(tc);
+            ExecutionTracer.getExecutionTracer().flushDynamicConstants();
         }
     }
 
@@ -531,11 +627,22 @@ public class TestCaseExecutor implements ThreadFactory {
             PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
         }
         threadGroup = new ThreadGroup(TEST_EXECUTION_THREAD_GROUP);
+        if (isWorker()) {
+            Runnable task = r;
+            r = () -> {
+                bindWorkerToCurrentThread();
+                task.run();
+            };
+        }
         currentThread = new Thread(threadGroup, r);
         currentThread.setName(TEST_EXECUTION_THREAD + "_" + threadCounter);
         threadCounter++;
         currentThread.setContextClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
-        ExecutionTracer.setThread(currentThread);
+        if (isWorker()) {
+            workerTracer.setExecutionThread(currentThread);
+        } else {
+            ExecutionTracer.setThread(currentThread);
+        }
         return currentThread;
     }
 
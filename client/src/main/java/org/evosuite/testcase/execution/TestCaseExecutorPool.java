@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.mutation.MutationObserver;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.instrumentation.testability.BooleanHelper;
+import org.evosuite.runtime.Runtime;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.runtime.util.AtMostOnceLogger;
+import org.evosuite.setup.TestCluster;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>
+ * Pool of isolated {@link TestCaseExecutor} workers, used to execute all the
+ * pending tests of a population at the same time. Each worker has its own
+ * {@link ExecutionTracer} bound to its threads, and each test gets its own
+ * {@link Scope}.
+ * </p>
+ *
+ * <p>
+ * Only the execution is done in parallel: the results are cached in the
+ * chromosomes, and the fitness functions (and the archive) are then evaluated
+ * sequentially as usual. The dynamic constants collected by the workers are
+ * only added to the constant pool once the whole batch is done. For this reason
+ * the pool is only used if no {@link ExecutionObserver} is registered.
+ * </p>
+ *
+ * <p>
+ * The workers are threads of the same JVM, and the SUT classes are loaded only
+ * once. Tests of the same batch therefore share the static state of the SUT and
+ * the mocked environment (e.g., the virtual file system), which could only be
+ * reset once per batch rather than once per test. As the results would then
+ * depend on the order of the executions, the workers are not used at all if
+ * any of the static field resets or the mocked environment is enabled (see
+ * {@link #canIsolateWorkers()}).
+ * </p>
+ */
+public class TestCaseExecutorPool implements ThreadFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestCaseExecutorPool.class);
+
+    /**
+     * Name used to define the threads that drive the workers
+     */
+    public static final String DISPATCHER_THREAD = "TEST_EXECUTION_DISPATCHER";
+
+    private static TestCaseExecutorPool instance = null;
+
+    private final ExecutorService dispatcher;
+
+    private final BlockingQueue<TestCaseExecutor> workers;
+
+    private final int numWorkers;
+
+    private int threadCounter = 0;
+
+    private TestCaseExecutorPool(int numWorkers) {
+        this.numWorkers = numWorkers;
+        this.workers = new ArrayBlockingQueue<>(numWorkers);
+        for (int i = 0; i < numWorkers; i++) {
+            workers.add(TestCaseExecutor.newWorker());
+        }
+        this.dispatcher = Executors.newFixedThreadPool(numWorkers, this);
+    }
+
+    public static synchronized TestCaseExecutorPool getInstance() {
+        if (instance == null || instance.numWorkers != Properties.NUM_EXECUTION_WORKERS) {
+            pullDown();
+            instance = new TestCaseExecutorPool(Properties.NUM_EXECUTION_WORKERS);
+        }
+        return instance;
+    }
+
+    /**
+     * Shut down all workers
+     */
+    public static synchronized void pullDown() {
+        if (instance != null) {
+            instance.dispatcher.shutdownNow();
+            for (TestCaseExecutor worker : instance.workers) {
+                worker.shutdownWorker();
+            }
+            instance = null;
+            ExecutionTracer.unbindAllThreads();
+            MutationObserver.unbindAllThreads();
+        }
+    }
+
+    /**
+     * Tests running at the same time on the workers would see each other's changes
+     * to the state that is otherwise reset before each execution: the static fields
+     * of the SUT, and the mocked environment (virtual file system and network,
+     * replaced calls, System.in and GUI inputs)
+     *
+     * @return true if the current configuration does not rely on such state
+     */
+    public static boolean canIsolateWorkers() {
+        return !Properties.RESET_STATIC_FIELDS
+                && !Properties.VIRTUAL_FS
+                && !Properties.VIRTUAL_NET
+                && !Properties.REPLACE_CALLS
+                && !Properties.REPLACE_SYSTEM_IN
+                && !Properties.REPLACE_GUI;
+    }
+
+    /**
+     * Whether several tests can be executed at the same time on the workers,
+     * i.e., if more than one worker is configured and the executions do not
+     * share state
+     *
+     * @return true if the workers can be used
+     */
+    public static boolean hasWorkers() {
+        if (Properties.NUM_EXECUTION_WORKERS < 2)
+            return false;
+        if (!canIsolateWorkers()) {
+            AtMostOnceLogger.warn(logger, "Ignoring num_execution_workers=" + Properties.NUM_EXECUTION_WORKERS
+                    + ": tests running in parallel would share the static state of the SUT and the mocked environment."
+                    + " Disable reset_static_fields, virtual_fs, virtual_net, replace_calls, replace_system_in and"
+                    + " replace_gui to execute tests in parallel");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parallel execution is only used if the workers can be used, and if no
+     * observers need to see the executions
+     *
+     * @return true if populations should be executed as a batch
+     */
+    public static boolean isEnabled() {
+        return hasWorkers()
+                && TestCaseExecutor.getInstance().getExecutionObservers().isEmpty();
+    }
+
+    /**
+     * Execute all tests of the given chromosomes that have no up-to-date
+     * execution result, if parallel execution is enabled. The fitness
+     * functions will then re-use the cached results.
+     *
+     * @param chromosomes test chromosomes or test suite chromosomes
+     */
+    public static void executePending(Collection<? extends Chromosome<?>> chromosomes) {
+        if (!isEnabled())
+            return;
+
+        Set<TestChromosome> pending = new LinkedHashSet<>();
+        for (Chromosome<?> chromosome : chromosomes) {
+            if (chromosome instanceof TestChromosome) {
+                addIfPending((TestChromosome) chromosome, pending);
+            } else if (chromosome instanceof TestSuiteChromosome) {
+                for (TestChromosome test : ((TestSuiteChromosome) chromosome).getTestChromosomes()) {
+                    addIfPending(test, pending);
+                }
+            }
+        }
+
+        // Nothing to gain from the overhead of a batch
+        if (pending.size() < 2)
+            return;
+
+        getInstance().execute(new ArrayList<>(pending));
+    }
+
+    private static void addIfPending(TestChromosome test, Set<TestChromosome> pending) {
+        if (test.isChanged() || test.getLastExecutionResult() == null)
+            pending.add(test);
+    }
+
+    /**
+     * Execute the given tests on the workers, and store the results in the
+     * chromosomes
+     *
+     * @param tests the tests to execute
+     */
+    public void execute(List<TestChromosome> tests) {
+        logger.debug("Executing batch of {} tests on {} workers", tests.size(), numWorkers);
+
+        List<Callable<ExecutionResult>> tasks = new ArrayList<>(tests.size());
+        for (TestChromosome test : tests) {
+            tasks.add(() -> TestCaseExecutor.getInstance().execute(test.getTestCase()));
+        }
+        List<ExecutionResult> results = executeOnWorkers(tasks);
+        if (results == null)
+            return;
+
+        // Shared state is only updated once all workers are done
+        for (int i = 0; i < tests.size(); i++) {
+            TestChromosome test = tests.get(i);
+            ExecutionResult result = results.get(i);
+            MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
+            TestCluster.getInstance().handleRuntimeAccesses(test.getTestCase());
+            test.setLastExecutionResult(result);
+            test.setChanged(false);
+        }
+    }
+
+    /**
+     * Run the given tasks on the workers, with the runtime environment set up
+     * once for the whole batch. Each task runs on a thread that is bound to a
+     * worker, i.e., {@link TestCaseExecutor#getInstance()},
+     * {@link ExecutionTracer#getExecutionTracer()} and the active mutation of
+     * {@link MutationObserver} refer to that worker.
+     *
+     * @param tasks the tasks to run, typically executing one test each
+     * @return the results of the tasks, in the same order, or null if the
+     * execution was interrupted
+     * @throws IllegalStateException if the executions would share state, see {@link #canIsolateWorkers()}
+     */
+    public <T> List<T> executeOnWorkers(List<? extends Callable<T>> tasks) {
+        if (!canIsolateWorkers()) {
+            throw new IllegalStateException("Tests cannot be executed in parallel while static fields are reset or the environment is mocked");
+        }
+        // shared by all workers, hence only reset once per batch
+        Runtime.getInstance().resetRuntime();
+        BooleanHelper.clearStack();
+
+        List<T> results = new ArrayList<>(tasks.size());
+        if (!Properties.PRINT_TO_SYSTEM) {
+            LoggingUtils.muteCurrentOutAndErrStream();
+        }
+        Sandbox.goingToExecuteSUTCode();
+        try {
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(dispatcher.submit(() -> runOnWorker(task)));
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            for (TestCaseExecutor worker : workers) {
+                worker.mergeDynamicConstants();
+            }
+        } catch (InterruptedException e) {
+            logger.info("Interrupted while waiting for the execution workers");
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            logger.error("ExecutionException (this is likely a serious error in the framework)", e);
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            return null;
+        } finally {
+            Sandbox.doneWithExecutingSUTCode();
+            if (!Properties.PRINT_TO_SYSTEM) {
+                LoggingUtils.restorePreviousOutAndErrStream();
+            }
+        }
+        return results;
+    }
+
+    private <T> T runOnWorker(Callable<T> task) throws Exception {
+        TestCaseExecutor worker = workers.take();
+        try {
+            worker.bindWorkerToCurrentThread();
+            return task.call();
+        } finally {
+            TestCaseExecutor.unbindWorkerFromCurrentThread();
+            workers.put(worker);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, DISPATCHER_THREAD + "_" + threadCounter++);
+        thread.setDaemon(true);
+        // the dispatchers set up the executions, as the search thread would do
+        Sandbox.addPrivilegedThread(thread);
+        return thread;
+    }
+}
@@ -68,6 +68,13 @@ public class TestRunnable implements InterfaceTestRunnable {
 
     protected final ThreadStopper threadStopper;
 
+    /**
+     * Whether this runnable sets up (and restores) the output streams and the
+     * shutdown hooks, which are shared by the whole JVM. This is not the case
+     * for tests executed as part of a batch of the {@link TestCaseExecutorPool}
+     */
+    private boolean handleSharedEnvironment = true;
+
     /**
      * <p>
      * Constructor for TestRunnable.
@@ -86,6 +93,8 @@ public class TestRunnable implements InterfaceTestRunnable {
         KillSwitch killSwitch = ExecutionTracer::setKillSwitch;
         Set<String> threadsToIgnore = new LinkedHashSet<>();
         threadsToIgnore.add(TestCaseExecutor.TEST_EXECUTION_THREAD);
+        // started on demand while the other workers are executing their tests
+        threadsToIgnore.add(TestCaseExecutorPool.DISPATCHER_THREAD);
         threadsToIgnore.addAll(Arrays.asList(Properties.IGNORE_THREADS));
 
         threadStopper = new ThreadStopper(killSwitch, threadsToIgnore, Properties.TIMEOUT);
@@ -107,6 +116,18 @@ public class TestRunnable implements InterfaceTestRunnable {
         threadStopper.storeCurrentThreads();
     }
 
+    /**
+     * <p>
+     * setHandleSharedEnvironment
+     * </p>
+     *
+     * @param handleSharedEnvironment false if the output streams and shutdown
+     *                                hooks are handled for a whole batch of tests
+     */
+    public void setHandleSharedEnvironment(boolean handleSharedEnvironment) {
+        this.handleSharedEnvironment = handleSharedEnvironment;
+    }
+
     /**
      * Try to kill (and then join) the SUT threads. Killing the SUT threads is
      * important, because some spawn threads could just wait on objects/locks,
@@ -172,7 +193,7 @@ public class TestRunnable implements InterfaceTestRunnable {
         PrintStream out = (Properties.PRINT_TO_SYSTEM ? System.out : new PrintStream(byteStream));
         byteStream.reset();
 
-        if (!Properties.PRINT_TO_SYSTEM) {
+        if (!Properties.PRINT_TO_SYSTEM && handleSharedEnvironment) {
             LoggingUtils.muteCurrentOutAndErrStream();
         }
 
@@ -185,7 +206,7 @@ public class TestRunnable implements InterfaceTestRunnable {
         AtomicInteger num = new AtomicInteger(0);
 
         try {
-            if (Properties.REPLACE_CALLS) {
+            if (Properties.REPLACE_CALLS && handleSharedEnvironment) {
                 ShutdownHookHandler.getInstance().initHandler();
             }
 
@@ -223,10 +244,10 @@ public class TestRunnable implements InterfaceTestRunnable {
             logger.error("Suppressed/ignored exception during test case execution on class "
                     + Properties.TARGET_CLASS + ": " + e.getMessage(), e);
         } finally {
-            if (!Properties.PRINT_TO_SYSTEM) {
+            if (!Properties.PRINT_TO_SYSTEM && handleSharedEnvironment) {
                 LoggingUtils.restorePreviousOutAndErrStream();
             }
-            if (Properties.REPLACE_CALLS) {
+            if (Properties.REPLACE_CALLS && handleSharedEnvironment) {
                 /*
                  * For simplicity, we call it here. Ideally, we could call it among the
                  * statements, with "non-safe" version, to check if any exception is thrown.
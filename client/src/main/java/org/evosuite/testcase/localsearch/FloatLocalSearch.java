@@ -31,6 +31,12 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -45,6 +51,11 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
 
     private T oldValue;
 
+    /**
+     * Values tried without improvement, at any precision, which are not executed again
+     */
+    private final Set<T> rejectedValues = new HashSet<>();
+
     /* (non-Javadoc)
      * @see org.evosuite.testcase.LocalSearch#doSearch(org.evosuite.testcase.TestChromosome, int, org.evosuite.ga.LocalSearchObjective)
      */
@@ -77,6 +88,7 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
         if (Double.isInfinite(value) || Double.isNaN(value)) {
             return false;
         }
+        rejectedValues.clear();
         logger.info("Applying search to: " + p.getCode());
 
         int change = doSearch(test, statement, objective, 1.0, 2, p);
@@ -163,17 +175,21 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
         boolean done = false;
         while (!done) {
             done = true;
+            // Both directions are executed at the same time if possible, +delta is still tried first
+            SpeculativeProbes<T> probes = SpeculativeProbes.execute(test, statement,
+                    Arrays.asList(s -> s.increment(initialDelta), s -> s.increment(-initialDelta)), rejectedValues);
             // Try +1
             p.increment(initialDelta);
             logger.info("Trying increment of " + p.getCode());
             //logger.info(" -> " + p.getCode());
-            int change = objective.hasChanged(test);
+            int change = hasChanged(objective, test, p, probes, 0);
             if (change != 0)
                 changed = change;
 
             if (change < 0) {
                 done = false;
                 // changed = true;
+                rejectedValues.add(oldValue);
 
                 iterate(factor * initialDelta, factor, objective, test, p, statement);
                 oldValue = p.getValue();
@@ -188,11 +204,12 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
                 p.increment(-initialDelta);
                 logger.info("Trying decrement of " + p.getCode());
                 //logger.info(" -> " + p.getCode());
-                change = objective.hasChanged(test);
+                change = hasChanged(objective, test, p, probes, 1);
                 if (change < 0) {
                     logger.info("Iterating because of improvement");
                     changed = change;
                     done = false;
+                    rejectedValues.add(oldValue);
                     iterate(-factor * initialDelta, factor, objective, test, p, statement);
                     oldValue = p.getValue();
                     oldResult = test.getLastExecutionResult();
@@ -204,6 +221,9 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
                     test.setChanged(false);
                 }
             }
+            if (probes != null) {
+                probes.dropUnused();
+            }
         }
 
         logger.debug("Finished local search with result " + p.getCode());
@@ -218,8 +238,12 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
         ExecutionResult oldResult = test.getLastExecutionResult();
         logger.info("Trying increment " + delta + " of " + p.getCode());
 
+        SpeculativeProbes<T> probes = executeIteration(test, statement, delta, factor);
+        int probe = 0;
+
         p.increment(delta);
-        while (objective.hasImproved(test)) {
+        while (hasChanged(objective, test, p, probes, probe++) < 0) {
+            rejectedValues.add(oldValue);
             oldValue = p.getValue();
             oldResult = test.getLastExecutionResult();
             test.setChanged(false);
@@ -227,9 +251,16 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
             delta = factor * delta;
             //if (delta > 1)
             //	return improvement;
+            if (probes != null && probe == probes.size()) {
+                probes = executeIteration(test, statement, delta, factor);
+                probe = 0;
+            }
             logger.info("Trying increment " + delta + " of " + p.getCode());
             p.increment(delta);
         }
+        if (probes != null) {
+            probes.dropUnused();
+        }
 
         p.setValue(oldValue);
         test.setLastExecutionResult(oldResult);
@@ -238,4 +269,51 @@ public class FloatLocalSearch<T extends Number> extends StatementLocalSearch {
         return improvement;
 
     }
+
+    /**
+     * Executes ahead of time the next values of an iteration, as long as each of
+     * them improves the fitness: the i-th probe adds delta, factor*delta, ..., factor^i*delta
+     *
+     * @return the probes, or null if the tests cannot be executed in parallel
+     */
+    private SpeculativeProbes<T> executeIteration(TestChromosome test, int statement, double delta, double factor) {
+        int width = SpeculativeProbes.getWidth();
+        if (width < 2) {
+            return null;
+        }
+        List<Consumer<NumericalPrimitiveStatement<T>>> moves = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            final int steps = i + 1;
+            moves.add(s -> {
+                double step = delta;
+                for (int j = 0; j < steps; j++) {
+                    s.increment(step);
+                    step = factor * step;
+                }
+            });
+        }
+        return SpeculativeProbes.execute(test, statement, moves, rejectedValues);
+    }
+
+    /**
+     * Like {@link LocalSearchObjective#hasChanged}, but skips the values in {@link #rejectedValues},
+     * and uses the result of the given probe if it executed the value ahead of time
+     *
+     * @return 0 if the value was skipped
+     */
+    private int hasChanged(LocalSearchObjective<TestChromosome> objective, TestChromosome test,
+                           NumericalPrimitiveStatement<T> p, SpeculativeProbes<T> probes, int probe) {
+        T value = p.getValue();
+        if (rejectedValues.contains(value)) {
+            logger.info("Skipping value already tried: " + p.getCode());
+            return 0;
+        }
+        ExecutionResult result = probes == null ? null : probes.take(probe, value);
+        int change = result == null ? objective.hasChanged(test)
+                : SpeculativeProbes.evaluate(objective, test, result);
+        if (change >= 0) {
+            rejectedValues.add(value);
+        }
+        return change;
+    }
 }
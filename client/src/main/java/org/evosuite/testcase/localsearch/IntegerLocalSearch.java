@@ -28,6 +28,13 @@ import org.evosuite.testcase.statements.numeric.NumericalPrimitiveStatement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * <p>
  * IntegerLocalSearch class.
@@ -41,6 +48,13 @@ public class IntegerLocalSearch<T> extends StatementLocalSearch {
 
     private T oldValue;
 
+    /**
+     * Values that did not improve the fitness. As the fitness of the test can
+     * only improve during the search, they cannot improve it later on, and
+     * executing the test with them again would be a waste of budget
+     */
+    private final Set<T> rejectedValues = new HashSet<>();
+
     /* (non-Javadoc)
      * @see org.evosuite.testcase.LocalSearch#doSearch(org.evosuite.testcase.TestChromosome, int, org.evosuite.ga.LocalSearchObjective)
      */
@@ -71,17 +85,22 @@ public class IntegerLocalSearch<T> extends StatementLocalSearch {
         NumericalPrimitiveStatement<T> p = (NumericalPrimitiveStatement<T>) test.getTestCase().getStatement(statement);
         ExecutionResult oldResult = test.getLastExecutionResult();
         oldValue = p.getValue();
+        rejectedValues.clear();
         logger.info("Applying search to: " + p.getCode());
 
         boolean done = false;
         while (!done) {
             done = true;
+            // Both directions are executed at the same time if possible, +1 is still tried first
+            SpeculativeProbes<T> probes = SpeculativeProbes.execute(test, statement,
+                    Arrays.asList(s -> s.increment(1), s -> s.increment(-1)), rejectedValues);
             // Try +1
             p.increment(1);
             logger.info("Trying increment of " + p.getCode());
-            if (objective.hasImproved(test)) {
+            if (hasImproved(objective, test, p, probes, 0)) {
                 done = false;
                 improved = true;
+                rejectedValues.add(oldValue);
 
                 iterate(2, objective, test, p, statement);
                 oldValue = p.getValue();
@@ -95,9 +114,10 @@ public class IntegerLocalSearch<T> extends StatementLocalSearch {
 
                 p.increment(-1);
                 logger.info("Trying decrement of " + p.getCode());
-                if (objective.hasImproved(test)) {
+                if (hasImproved(objective, test, p, probes, 1)) {
                     improved = true;
                     done = false;
+                    rejectedValues.add(oldValue);
                     iterate(-2, objective, test, p, statement);
                     oldValue = p.getValue();
                     oldResult = test.getLastExecutionResult();
@@ -108,6 +128,9 @@ public class IntegerLocalSearch<T> extends StatementLocalSearch {
                     test.setChanged(false);
                 }
             }
+            if (probes != null) {
+                probes.dropUnused();
+            }
         }
 
         if (improved) {
@@ -129,16 +152,27 @@ public class IntegerLocalSearch<T> extends StatementLocalSearch {
         ExecutionResult oldResult = test.getLastExecutionResult();
 
 
+        SpeculativeProbes<T> probes = executeIteration(test, statement, delta);
+        int probe = 0;
+
         p.increment(delta);
         logger.info("Trying increment " + delta + " of " + p.getCode());
-        while (objective.hasImproved(test)) {
+        while (hasImproved(objective, test, p, probes, probe++)) {
+            rejectedValues.add(oldValue);
             oldValue = p.getValue();
             oldResult = test.getLastExecutionResult();
             improvement = true;
             delta = 2 * delta;
+            if (probes != null && probe == probes.size()) {
+                probes = executeIteration(test, statement, delta);
+                probe = 0;
+            }
             p.increment(delta);
             logger.info("Trying increment " + delta + " of " + p.getCode());
         }
+        if (probes != null) {
+            probes.dropUnused();
+        }
         logger.info("No improvement on " + p.getCode());
 
         p.setValue(oldValue);
@@ -150,4 +184,51 @@ public class IntegerLocalSearch<T> extends StatementLocalSearch {
 
     }
 
+    /**
+     * Executes ahead of time the next values of an iteration, as long as each of
+     * them improves the fitness: the i-th probe adds delta, 2*delta, ..., 2^i*delta
+     *
+     * @return the probes, or null if the tests cannot be executed in parallel
+     */
+    private SpeculativeProbes<T> executeIteration(TestChromosome test, int statement, long delta) {
+        int width = SpeculativeProbes.getWidth();
+        if (width < 2) {
+            return null;
+        }
+        List<Consumer<NumericalPrimitiveStatement<T>>> moves = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            final int steps = i + 1;
+            moves.add(s -> {
+                long step = delta;
+                for (int j = 0; j < steps; j++) {
+                    s.increment(step);
+                    step = 2 * step;
+                }
+            });
+        }
+        return SpeculativeProbes.execute(test, statement, moves, rejectedValues);
+    }
+
+    /**
+     * Executes the test with the current value of the statement, unless the
+     * value is already known not to improve the fitness, or it was executed
+     * ahead of time by the given probe
+     */
+    private boolean hasImproved(LocalSearchObjective<TestChromosome> objective, TestChromosome test,
+                                NumericalPrimitiveStatement<T> p, SpeculativeProbes<T> probes, int probe) {
+        T value = p.getValue();
+        if (rejectedValues.contains(value)) {
+            logger.info("Skipping value already tried: " + p.getCode());
+            return false;
+        }
+        ExecutionResult result = probes == null ? null : probes.take(probe, value);
+        boolean improved = result == null ? objective.hasImproved(test)
+                : SpeculativeProbes.evaluate(objective, test, result) < 0;
+        if (improved) {
+            return true;
+        }
+        rejectedValues.add(value);
+        return false;
+    }
+
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.localsearch;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.localsearch.LocalSearchBudget;
+import org.evosuite.ga.localsearch.LocalSearchObjective;
+import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
+import org.evosuite.testcase.statements.numeric.NumericalPrimitiveStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Values of a numeric statement that the AVM may try next, executed ahead of time.
+ * <p>
+ * The AVM tries one value at a time, and each value has to be executed before the
+ * objective can tell whether it improved the fitness. If tests can be executed in
+ * parallel (see {@link TestCaseExecutorPool#isEnabled()}), a clone of the test is
+ * created for each of the next values, and the clones are executed at the same time
+ * on the workers. The search then evaluates the values in the same order as without
+ * speculation, using the results of the clones rather than executing the test again
+ * (see {@link #take(int, Object)}). Only the values that the search actually reaches
+ * are applied to the test and the objective, and the probes that are dropped are still
+ * charged to the {@link LocalSearchBudget} (see {@link #dropUnused()}).
+ *
+ * @param <T> the type of the values of the statement
+ */
+final class SpeculativeProbes<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpeculativeProbes.class);
+
+    private final List<T> values;
+
+    /**
+     * Execution result of each probe, null if the probe was not executed or was already taken
+     */
+    private final List<ExecutionResult> results;
+
+    private SpeculativeProbes(List<T> values, List<ExecutionResult> results) {
+        this.values = values;
+        this.results = results;
+    }
+
+    /**
+     * @return how many probes can be executed at the same time, 0 if the tests cannot
+     * be executed in parallel
+     */
+    static int getWidth() {
+        if (!TestCaseExecutorPool.isEnabled())
+            return 0;
+        return Properties.NUM_EXECUTION_WORKERS;
+    }
+
+    /**
+     * Executes, at the same time, a clone of the test for each of the given moves of the
+     * statement. Values that are already known not to improve the fitness are not executed.
+     *
+     * @param test           the test being searched
+     * @param statement      the position of the statement in the test
+     * @param moves          changes to apply to a clone of the statement, one per probe
+     * @param rejectedValues values that are not executed
+     * @return the probes, or null if the tests cannot be executed in parallel or the
+     * execution was interrupted
+     */
+    @SuppressWarnings("unchecked")
+    static <T> SpeculativeProbes<T> execute(TestChromosome test, int statement,
+                                            List<Consumer<NumericalPrimitiveStatement<T>>> moves,
+                                            Set<T> rejectedValues) {
+        if (getWidth() < 2)
+            return null;
+
+        List<T> values = new ArrayList<>(moves.size());
+        List<TestCase> clones = new ArrayList<>(moves.size());
+        List<Callable<ExecutionResult>> tasks = new ArrayList<>(moves.size());
+        for (Consumer<NumericalPrimitiveStatement<T>> move : moves) {
+            TestCase clone = test.getTestCase().clone();
+            NumericalPrimitiveStatement<T> p = (NumericalPrimitiveStatement<T>) clone.getStatement(statement);
+            move.accept(p);
+            values.add(p.getValue());
+            if (rejectedValues.contains(p.getValue())) {
+                clones.add(null);
+            } else {
+                clones.add(clone);
+                tasks.add(() -> TestCaseExecutor.getInstance().execute(clone));
+            }
+        }
+
+        List<ExecutionResult> executed = tasks.isEmpty() ? Collections.emptyList()
+                : TestCaseExecutorPool.getInstance().executeOnWorkers(tasks);
+        if (executed == null)
+            return null;
+
+        List<ExecutionResult> results = new ArrayList<>(moves.size());
+        int next = 0;
+        for (TestCase clone : clones) {
+            if (clone == null) {
+                results.add(null);
+            } else {
+                ExecutionResult result = executed.get(next++);
+                MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
+                results.add(result);
+            }
+        }
+        logger.debug("Executed {} probes of {} ahead of time", tasks.size(), values);
+        return new SpeculativeProbes<>(values, results);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Takes the result of a probe, which can then be applied to the test in place of an execution
+     *
+     * @param index the position of the probe
+     * @param value the value the search has reached
+     * @return the result of the probe, or null if the probe was not executed or is for another value
+     */
+    ExecutionResult take(int index, T value) {
+        if (index >= values.size() || !values.get(index).equals(value))
+            return null;
+        ExecutionResult result = results.get(index);
+        results.set(index, null);
+        return result;
+    }
+
+    /**
+     * Charges the probes that were executed but not taken to the local search budget,
+     * as they used up as much of it as the ones that were taken
+     */
+    void dropUnused() {
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) != null) {
+                LocalSearchBudget.getInstance().countFitnessEvaluation();
+                results.set(i, null);
+            }
+        }
+    }
+
+    /**
+     * Apply the result of a probe to the test, whose statement has the value of the probe,
+     * and evaluate the test without executing it again
+     *
+     * @return see {@link LocalSearchObjective#hasChanged}
+     */
+    static int evaluate(LocalSearchObjective<TestChromosome> objective, TestChromosome test,
+                        ExecutionResult result) {
+        result.setTest(test.getTestCase());
+        test.setLastExecutionResult(result);
+        test.setChanged(false);
+        return objective.hasChangedWithoutExecution(test);
+    }
+}
@@ -23,7 +23,7 @@ import org.evosuite.TestGenerationContext;
 import org.evosuite.runtime.util.Inputs;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.Statement;
-import org.evosuite.utils.DebuggingObjectOutputStream;
+import org.evosuite.utils.CompactSerialization;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,41 +42,31 @@ public class TestSuiteSerialization {
     public static boolean saveTests(List<TestSuiteChromosome> list, File target) throws IllegalArgumentException {
         Inputs.checkNull(list, target);
 
-        File parent = target.getParentFile();
-        if (!parent.exists()) {
-            parent.mkdirs();
-        }
-
-        try (ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target))) {
-            for (TestSuiteChromosome ts : list) {
-                for (TestChromosome tc : ts.getTestChromosomes()) {
-                    out.writeObject(tc);
-                }
-            }
-
-            out.flush();
-            out.close();
-        } catch (IOException e) {
-            logger.error("Failed to open/handle " + target.getAbsolutePath() + " for writing: " + e.getMessage());
-            return false;
+        List<TestChromosome> tests = new ArrayList<>();
+        for (TestSuiteChromosome ts : list) {
+            tests.addAll(ts.getTestChromosomes());
         }
-
-        return true;
+        return writeTests(tests, target);
     }
 
     public static boolean saveTests(TestSuiteChromosome ts, File target) throws IllegalArgumentException {
+        return writeTests(ts.getTestChromosomes(), target);
+    }
+
+    private static boolean writeTests(List<TestChromosome> tests, File target) {
         File parent = target.getParentFile();
         if (!parent.exists()) {
             parent.mkdirs();
         }
 
-        try (ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target))) {
-            for (TestChromosome tc : ts.getTestChromosomes()) {
-                out.writeObject(tc);
+        try (CompactSerialization.Writer out = new CompactSerialization.Writer(target)) {
+            for (TestChromosome tc : tests) {
+                try {
+                    out.write(tc);
+                } catch (NotSerializableException e) {
+                    logger.warn("Cannot serialize test, as it refers to a non serializable " + e.getMessage());
+                }
             }
-
-            out.flush();
-            out.close();
         } catch (IOException e) {
             logger.error("Failed to open/handle " + target.getAbsolutePath() + " for writing: " + e.getMessage());
             return false;
@@ -85,7 +75,6 @@ public class TestSuiteSerialization {
         return true;
     }
 
-
     public static boolean saveTests(List<TestSuiteChromosome> ts, File folder, String fileName) throws IllegalArgumentException {
         Inputs.checkNull(ts, folder, fileName);
 
@@ -112,29 +101,12 @@ public class TestSuiteSerialization {
 
         List<TestChromosome> list = new ArrayList<>();
 
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(target))) {
-
-            try {
-                Object obj = in.readObject();
-                while (obj != null) {
-                    if (obj instanceof TestChromosome) {
-                        //this check might fail if old version is used, and EvoSuite got updated
-                        TestChromosome tc = (TestChromosome) obj;
-                        for (Statement st : tc.getTestCase()) {
-                            st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
-                        }
-
-                        list.add(tc);
-                    }
-                    obj = in.readObject();
-                }
-            } catch (EOFException e) {
-                //fine
-            } catch (Exception e) {
-                logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
+        try (TestReader reader = openTests(target)) {
+            TestChromosome tc = reader.next();
+            while (tc != null) {
+                list.add(tc);
+                tc = reader.next();
             }
-
-            in.close();
         } catch (FileNotFoundException e) {
             logger.warn("Cannot load tests because file does not exist: " + target.getAbsolutePath());
         } catch (IOException e) {
@@ -143,4 +115,91 @@ public class TestSuiteSerialization {
 
         return list;
     }
+
+    /**
+     * Open the given file of serialized tests, to read them one at a time.
+     * Both the compact format and the plain Java serialization used by older versions are supported.
+     *
+     * @param target
+     * @return
+     * @throws IOException if the file cannot be opened
+     */
+    public static TestReader openTests(File target) throws IOException {
+        Inputs.checkNull(target);
+        if (!target.exists()) {
+            throw new FileNotFoundException(target.getAbsolutePath());
+        }
+        return new TestReader(target);
+    }
+
+    /**
+     * Lazy reader of serialized tests, which does not need to keep all of them in memory
+     */
+    public static class TestReader implements Closeable {
+
+        private final File target;
+
+        private final CompactSerialization.Reader compact;
+
+        private final ObjectInputStream legacy;
+
+        private boolean done = false;
+
+        private TestReader(File target) throws IOException {
+            this.target = target;
+            if (CompactSerialization.isCompact(target)) {
+                this.compact = new CompactSerialization.Reader(target);
+                this.legacy = null;
+            } else {
+                this.compact = null;
+                this.legacy = new ObjectInputStream(new BufferedInputStream(new FileInputStream(target)));
+            }
+        }
+
+        /**
+         * @return the next test, or <code>null</code> if there are no more
+         */
+        public TestChromosome next() {
+            while (!done) {
+                Object obj;
+                try {
+                    obj = compact != null ? compact.read() : legacy.readObject();
+                } catch (EOFException e) {
+                    //fine
+                    obj = null;
+                } catch (ClassNotFoundException e) {
+                    logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
+                    if (compact != null) {
+                        // only this test is lost
+                        continue;
+                    }
+                    obj = null;
+                } catch (Exception e) {
+                    logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
+                    obj = null;
+                }
+
+                if (obj == null) {
+                    done = true;
+                } else if (obj instanceof TestChromosome) {
+                    //this check might fail if old version is used, and EvoSuite got updated
+                    TestChromosome tc = (TestChromosome) obj;
+                    for (Statement st : tc.getTestCase()) {
+                        st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+                    }
+                    return tc;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (compact != null) {
+                compact.close();
+            } else {
+                legacy.close();
+            }
+        }
+    }
 }
@@ -186,6 +186,15 @@ public class TestSuiteLocalSearchObjective implements LocalSearchObjective<TestC
     @Override
     public int hasChanged(TestChromosome testCase) {
         testCase.setChanged(true);
+        return hasChangedWithoutExecution(testCase);
+    }
+
+    /**
+     * Like {@link #hasChanged(TestChromosome)}, but the last execution result of
+     * the individual is used if it is up to date
+     */
+    @Override
+    public int hasChangedWithoutExecution(TestChromosome testCase) {
         suite.setTestChromosome(testIndex, testCase);
         LocalSearchBudget.getInstance().countFitnessEvaluation();
         for (TestSuiteFitnessFunction fitnessFunction : fitnessFunctions)
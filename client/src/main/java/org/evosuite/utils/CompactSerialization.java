@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Versioned binary format to store a sequence of serializable objects (e.g., tests) in a file,
+ * which can be read lazily one object at a time.
+ *
+ * <p>
+ * After a header with a magic number and the version of the format, the (deflated) file is a
+ * sequence of length-prefixed records, each one containing a single object written with its own
+ * {@link ObjectOutputStream}. This way, reading an object does not keep alive all the previous ones
+ * (as a single {@link ObjectInputStream} does to resolve back references), and a record that
+ * cannot be deserialized (e.g., because the SUT changed) does not prevent reading the following ones.
+ * The class descriptors are interned: the first record using a class contains its descriptor,
+ * and the following ones only an index to it.
+ *
+ * <p>
+ * Files written with plain Java serialization do not start with the magic number, see {@link #isCompact(File)}.
+ */
+public class CompactSerialization {
+
+    private static final int MAGIC = 0xE705_5E81;
+
+    private static final int VERSION = 1;
+
+    /**
+     * Marker of a class descriptor which was not written before
+     */
+    private static final int NEW_DESCRIPTOR = -1;
+
+    /**
+     * @param file
+     * @return whether the file was written in this format, rather than with plain Java serialization
+     */
+    public static boolean isCompact(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Write objects to a file in compact format
+     */
+    public static class Writer implements Closeable {
+
+        private final DataOutputStream out;
+
+        private final Map<String, Integer> descriptors = new HashMap<>();
+
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+
+        public Writer(File file) throws IOException {
+            OutputStream stream = new BufferedOutputStream(new FileOutputStream(file));
+            DataOutputStream header = new DataOutputStream(stream);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.flush();
+            this.out = new DataOutputStream(new DeflaterOutputStream(stream));
+        }
+
+        /**
+         * Write the given object, and everything reachable from it, as a new record
+         *
+         * @param obj
+         * @throws IOException
+         */
+        public void write(Object obj) throws IOException {
+            record.reset();
+            int knownDescriptors = descriptors.size();
+            try (ObjectOutputStream oos = new InterningObjectOutputStream(record, descriptors)) {
+                oos.writeObject(obj);
+            } catch (IOException e) {
+                // the record is discarded, and so the descriptors only written in it
+                descriptors.values().removeIf(index -> index >= knownDescriptors);
+                throw e;
+            }
+            out.writeInt(record.size());
+            record.writeTo(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Read lazily the objects in a file in compact format
+     */
+    public static class Reader implements Closeable {
+
+        private final DataInputStream in;
+
+        private final List<ObjectStreamClass> descriptors = new ArrayList<>();
+
+        /**
+         * Whether the descriptors of a record could not be read, so the following
+         * records might refer to descriptors that are unknown
+         */
+        private boolean broken = false;
+
+        public Reader(File file) throws IOException {
+            // read as a stream: a mapped file stays locked (e.g., on Windows) until it is garbage collected
+            InputStream stream = new BufferedInputStream(new FileInputStream(file));
+            DataInputStream header = new DataInputStream(stream);
+            if (header.readInt() != MAGIC) {
+                stream.close();
+                throw new IOException("Not a file in compact format: " + file.getAbsolutePath());
+            }
+            int version = header.readInt();
+            if (version != VERSION) {
+                stream.close();
+                throw new IOException("Unsupported version " + version + " of " + file.getAbsolutePath());
+            }
+            this.in = new DataInputStream(new InflaterInputStream(stream));
+        }
+
+        /**
+         * @return the next object, or <code>null</code> if there are no more
+         * @throws IOException            if the file is corrupted
+         * @throws ClassNotFoundException if the object refers to classes that do not exist anymore.
+         *                                It is still possible to read the following objects.
+         */
+        public Object read() throws IOException, ClassNotFoundException {
+            if (broken) {
+                return null;
+            }
+
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+
+            try (ObjectInputStream ois = new InterningObjectInputStream(new ByteArrayInputStream(bytes), descriptors)) {
+                return ois.readObject();
+            } catch (ClassNotFoundException e) {
+                // the whole record was still consumed
+                throw e;
+            } catch (IOException e) {
+                broken = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static class InterningObjectOutputStream extends ObjectOutputStream {
+
+        private final Map<String, Integer> descriptors;
+
+        InterningObjectOutputStream(OutputStream out, Map<String, Integer> descriptors) throws IOException {
+            super(out);
+            this.descriptors = descriptors;
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+            Integer index = descriptors.get(desc.getName());
+            if (index != null) {
+                writeInt(index);
+                return;
+            }
+            writeInt(NEW_DESCRIPTOR);
+            super.writeClassDescriptor(desc);
+            descriptors.put(desc.getName(), descriptors.size());
+        }
+    }
+
+    private static class InterningObjectInputStream extends ObjectInputStream {
+
+        private final List<ObjectStreamClass> descriptors;
+
+        InterningObjectInputStream(InputStream in, List<ObjectStreamClass> descriptors) throws IOException {
+            super(in);
+            this.descriptors = descriptors;
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            int index = readInt();
+            if (index != NEW_DESCRIPTOR) {
+                if (index < 0 || index >= descriptors.size()) {
+                    throw new IOException("Unknown class descriptor " + index);
+                }
+                return descriptors.get(index);
+            }
+            ObjectStreamClass desc = super.readClassDescriptor();
+            descriptors.add(desc);
+            return desc;
+        }
+    }
+}
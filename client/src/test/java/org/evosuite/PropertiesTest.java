@@ -100,4 +100,31 @@ public class PropertiesTest {
         Properties.getInstance().resetToDefaults();
         Assert.assertEquals(defaultValue, Properties.TARGET_CLASS);
     }
+
+    @Test
+    public void testReload() {
+        String previous = System.getProperty("TARGET_CLASS");
+        try {
+            System.setProperty("TARGET_CLASS", "org.foo.bar.First");
+            Properties.getInstance().reload();
+            Assert.assertEquals("org.foo.bar.First", Properties.TARGET_CLASS);
+            Assert.assertEquals("org.foo.bar", Properties.CLASS_PREFIX);
+
+            final boolean defaultValue = Properties.TEST_CARVING;
+            Properties.TEST_CARVING = !defaultValue;
+            System.setProperty("TARGET_CLASS", "Second");
+            Properties.getInstance().reload();
+            Assert.assertEquals("Second", Properties.TARGET_CLASS);
+            Assert.assertEquals("", Properties.CLASS_PREFIX);
+            Assert.assertEquals(defaultValue, Properties.TEST_CARVING);
+        } finally {
+            if (previous == null) {
+                System.clearProperty("TARGET_CLASS");
+            } else {
+                System.setProperty("TARGET_CLASS", previous);
+            }
+            Properties.CLASS_PREFIX = "";
+            Properties.PROJECT_PREFIX = "";
+        }
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MutationObserverBindingTest {
+
+    @After
+    public void tearDown() {
+        MutationObserver.unbindFromCurrentThread();
+        MutationObserver.deactivateMutation();
+    }
+
+    @Test
+    public void testBoundMutationDoesNotChangeSharedOne() {
+        MutationObserver.activateMutation(3);
+
+        MutationObserver.bindToCurrentThread(new MutationObserver.ActiveMutation());
+        Assert.assertEquals(-1, MutationObserver.getActiveMutation());
+        MutationObserver.activateMutation(7);
+        Assert.assertEquals(7, MutationObserver.getActiveMutation());
+
+        MutationObserver.unbindFromCurrentThread();
+        Assert.assertEquals(3, MutationObserver.getActiveMutation());
+    }
+
+    @Test
+    public void testThreadsOfTheSameWorkerShareTheMutation() throws InterruptedException {
+        MutationObserver.ActiveMutation worker = new MutationObserver.ActiveMutation();
+        MutationObserver.bindToCurrentThread(worker);
+        MutationObserver.activateMutation(5);
+
+        AtomicInteger seenByWorker = new AtomicInteger();
+        Thread executionThread = new Thread(() -> {
+            MutationObserver.bindToCurrentThread(worker);
+            seenByWorker.set(MutationObserver.getActiveMutation());
+        });
+        executionThread.start();
+        executionThread.join();
+        Assert.assertEquals(5, seenByWorker.get());
+
+        AtomicInteger seenByOther = new AtomicInteger();
+        Thread other = new Thread(() -> seenByOther.set(MutationObserver.getActiveMutation()));
+        other.start();
+        other.join();
+        Assert.assertEquals(-1, seenByOther.get());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.dse;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CallbacksTest {
+
+    private static class AddListener extends AbstractVM {
+        @Override
+        public void IADD() {
+        }
+    }
+
+    private static class StackParamListener extends AbstractVM {
+        @Override
+        public void CALLER_STACK_PARAM(int nr, int calleeLocalsIndex, long value) {
+        }
+    }
+
+    @Test
+    public void testOnlyImplementingListenersAreCalled() {
+        IVM add = new AddListener();
+        IVM stackParam = new StackParamListener();
+        IVM[][] dispatch = Callbacks.dispatch(new IVM[]{add, stackParam});
+
+        assertArrayEquals(new IVM[]{add}, dispatch[Callbacks.IADD]);
+        assertEquals(0, dispatch[Callbacks.ISUB].length);
+    }
+
+    @Test
+    public void testOverloadedCallbacksShareListeners() {
+        IVM stackParam = new StackParamListener();
+        IVM[][] dispatch = Callbacks.dispatch(new IVM[]{stackParam});
+
+        assertArrayEquals(new IVM[]{stackParam}, dispatch[Callbacks.CALLER_STACK_PARAM]);
+    }
+
+    @Test
+    public void testListenerOrderIsPreserved() {
+        IVM first = new AddListener();
+        IVM second = new AddListener();
+        IVM[][] dispatch = Callbacks.dispatch(new IVM[]{first, second});
+
+        assertArrayEquals(new IVM[]{first, second}, dispatch[Callbacks.IADD]);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa.structural;
+
+import com.examples.with.different.packagename.FlagExample1;
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.branch.BranchCoverageFactory;
+import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.coverage.line.LineCoverageFactory;
+import org.evosuite.coverage.line.LineCoverageTestFitness;
+import org.evosuite.ga.ConstructionFailedException;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFactory;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GoalIndexTest {
+
+    private static java.util.Properties currentProperties;
+
+    private Class<?> sut;
+
+    private List<TestFitnessFunction> goals;
+
+    @Before
+    public void setUp() throws ClassNotFoundException {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+        ClassReInitializer.resetSingleton();
+        currentProperties = (java.util.Properties) System.getProperties().clone();
+
+        Properties.CRITERION = new Criterion[]{Criterion.BRANCH, Criterion.LINE};
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+
+        goals = new ArrayList<>();
+        goals.addAll(new BranchCoverageFactory().getCoverageGoals());
+        goals.addAll(new LineCoverageFactory().getCoverageGoals());
+    }
+
+    @After
+    public void tearDown() {
+        TestGenerationContext.getInstance().resetContext();
+        System.setProperties(currentProperties);
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private DefaultTestCase createTest(int x) throws ConstructionFailedException, NoSuchMethodException {
+        GenericClass<?> clazz = GenericClassFactory.get(sut);
+        DefaultTestCase test = new DefaultTestCase();
+        GenericConstructor gc = new GenericConstructor(clazz.getRawClass().getConstructors()[0], clazz);
+
+        TestFactory testFactory = TestFactory.getInstance();
+        VariableReference callee = testFactory.addConstructor(test, gc, 0, 0);
+        VariableReference value = test.addStatement(new IntPrimitiveStatement(test, x));
+
+        Method m = clazz.getRawClass().getMethod("testMe", int.class);
+        test.addStatement(new MethodStatement(test, new GenericMethod(m, sut), callee,
+                Collections.singletonList(value)));
+        return test;
+    }
+
+    private TestChromosome execute(DefaultTestCase test) {
+        TestChromosome tc = new TestChromosome();
+        tc.setTestCase(test);
+        ExecutionResult result = TestCaseExecutor.runTest(test);
+        tc.setLastExecutionResult(result);
+        tc.setChanged(false);
+        return tc;
+    }
+
+    private void checkCoveredGoals(int x, boolean expectedBranchValue) throws Exception {
+        MultiCriteriaManager manager = new MultiCriteriaManager(goals);
+        GoalIndex index = manager.goalIndex;
+        TestChromosome tc = execute(createTest(x));
+
+        BitSet covered = index.getCoveredGoals(tc.getLastExecutionResult().getTrace());
+
+        boolean branch = false, branchless = false, line = false;
+        for (TestFitnessFunction goal : goals) {
+            // the fitness is computed on a fresh execution of the same test
+            TestChromosome copy = execute(createTest(x));
+            boolean expected = goal.getFitness(copy) == 0.0;
+            assertEquals(goal.toString(), expected, covered.get(index.indexOf(goal)));
+
+            if (expected && goal instanceof BranchCoverageTestFitness) {
+                BranchCoverageTestFitness branchGoal = (BranchCoverageTestFitness) goal;
+                if (branchGoal.getBranch() == null) {
+                    branchless = true;
+                } else if (branchGoal.getBranchExpressionValue() == expectedBranchValue) {
+                    branch = true;
+                }
+            } else if (expected && goal instanceof LineCoverageTestFitness) {
+                line = true;
+            }
+        }
+        assertTrue(branch);
+        assertTrue(branchless);
+        assertTrue(line);
+    }
+
+    @Test
+    public void testTrueBranchesResolveToCoveredGoals() throws Exception {
+        checkCoveredGoals(0, true);
+    }
+
+    @Test
+    public void testFalseBranchesResolveToCoveredGoals() throws Exception {
+        checkCoveredGoals(28241, false);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGoalsCoveredByTraceAreCountedAsEvaluations() throws Exception {
+        // line goals also evaluate the branches they depend on, so only branches are used
+        // to get one evaluation per goal
+        Properties.CRITERION = new Criterion[]{Criterion.BRANCH};
+        MultiCriteriaManager manager = new MultiCriteriaManager(
+                new ArrayList<>(new BranchCoverageFactory().getCoverageGoals()));
+        TestChromosome tc = execute(createTest(0));
+
+        GeneticAlgorithm<TestChromosome> ga = mock(GeneticAlgorithm.class);
+        when(ga.isFinished()).thenReturn(false);
+        manager.calculateFitness(tc, ga);
+
+        assertTrue(tc.getFitnessValues().containsValue(0.0));
+
+        // a goal covered by the trace counts as one evaluation, any other goal counts as
+        // many evaluations as its fitness function does
+        int expected = 0;
+        for (Map.Entry<FitnessFunction<TestChromosome>, Double> entry : tc.getFitnessValues().entrySet()) {
+            if (entry.getValue() == 0.0) {
+                expected++;
+            } else {
+                TestChromosome copy = execute(createTest(0));
+                entry.getKey().getFitness(copy);
+                expected += copy.getNumberOfEvaluations();
+            }
+        }
+        assertEquals(expected, tc.getNumberOfEvaluations());
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import com.examples.with.different.packagename.ArrayStack;
+import org.apache.commons.io.IOUtils;
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.runtime.LoopCounter;
+import org.evosuite.runtime.instrumentation.RemoveFinalClassAdapter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InstrumentationCacheTest {
+
+    private static final String CLASS_NAME = ArrayStack.class.getName().replace('.', '/');
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final InstrumentationCache cache = InstrumentationCache.getInstance();
+
+    @Before
+    public void setUp() throws IOException {
+        Properties.getInstance().resetToDefaults();
+        Properties.TARGET_CLASS = "some.other.Target";
+        Properties.INSTRUMENTATION_CACHE_DIR = folder.newFolder("cache").getAbsolutePath();
+        cache.reset();
+        LoopCounter.getInstance().reset();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+        cache.reset();
+        LoopCounter.getInstance().reset();
+    }
+
+    private static byte[] getOriginalBytes() throws IOException {
+        try (InputStream is = ArrayStack.class.getClassLoader().getResourceAsStream(CLASS_NAME + ".class")) {
+            return IOUtils.toByteArray(is);
+        }
+    }
+
+    private static byte[] instrument() throws IOException {
+        return new BytecodeInstrumentation().transformBytes(new InstrumentingClassLoader(), CLASS_NAME,
+                new ClassReader(getOriginalBytes()));
+    }
+
+    /**
+     * @return the indices of the loops, in the order of the code
+     */
+    private static List<Integer> getLoopIndices(byte[] bytes) {
+        ClassNode cn = new ClassNode();
+        new ClassReader(bytes).accept(cn, 0);
+        List<Integer> indices = new ArrayList<>();
+        for (MethodNode mn : cn.methods) {
+            for (AbstractInsnNode insn : mn.instructions) {
+                if (insn instanceof MethodInsnNode && ((MethodInsnNode) insn).name.equals("checkLoop")) {
+                    indices.add((Integer) ((LdcInsnNode) insn.getPrevious()).cst);
+                }
+            }
+        }
+        return indices;
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+
+    @Test
+    public void testInstrumentedClassIsReused() throws IOException {
+        int start = LoopCounter.getInstance().getNumberOfLoops();
+        byte[] first = instrument();
+        Assert.assertEquals(0, cache.getNumberOfHits());
+        Assert.assertEquals(1, cache.getNumberOfMisses());
+        int loops = LoopCounter.getInstance().getNumberOfLoops() - start;
+        Assert.assertTrue(loops > 0);
+        Assert.assertEquals(range(start, start + loops), getLoopIndices(first));
+
+        // other classes were instrumented in between
+        LoopCounter.getInstance().getNewIndex();
+        int next = LoopCounter.getInstance().getNumberOfLoops();
+
+        byte[] second = instrument();
+        Assert.assertEquals(1, cache.getNumberOfHits());
+        // the loops are registered again and renumbered on a hit
+        Assert.assertEquals(next + loops, LoopCounter.getInstance().getNumberOfLoops());
+        Assert.assertEquals(range(next, next + loops), getLoopIndices(second));
+        Assert.assertEquals(first.length, second.length);
+    }
+
+    @Test
+    public void testRenumberedClassCanBeLoaded() throws Exception {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        new InstrumentingClassLoader().loadClass(ArrayStack.class.getName());
+        LoopCounter.getInstance().getNewIndex();
+
+        long misses = cache.getNumberOfMisses();
+        Class<?> clazz = new InstrumentingClassLoader().loadClass(ArrayStack.class.getName());
+        Assert.assertTrue(cache.getNumberOfHits() > 0);
+        Assert.assertEquals(misses, cache.getNumberOfMisses());
+        Object stack = clazz.getConstructor().newInstance();
+        clazz.getMethod("push", Object.class).invoke(stack, "foo");
+        Assert.assertEquals(1, clazz.getMethod("search", Object.class).invoke(stack, "foo"));
+    }
+
+    @Test
+    public void testKeyDependsOnConfiguration() throws IOException {
+        byte[] bytes = getOriginalBytes();
+        String key = cache.getKey(CLASS_NAME, bytes);
+        Assert.assertEquals(key, cache.getKey(CLASS_NAME, bytes));
+
+        Properties.RESET_STATIC_FIELDS = !Properties.RESET_STATIC_FIELDS;
+        Assert.assertNotEquals(key, cache.getKey(CLASS_NAME, bytes));
+        Properties.RESET_STATIC_FIELDS = !Properties.RESET_STATIC_FIELDS;
+
+        // the loops registered so far do not matter
+        LoopCounter.getInstance().getNewIndex();
+        Assert.assertEquals(key, cache.getKey(CLASS_NAME, bytes));
+    }
+
+    @Test
+    public void testSideDataIsRegisteredOnHit() throws IOException {
+        InstrumentationSideData.startRecording();
+        InstrumentationSideData.recordConstant(true, "foo");
+        InstrumentationSideData.recordConstant(false, new Object());
+        InstrumentationSideData.recordFinalClass("some.FinalClass");
+        InstrumentationSideData sideData = InstrumentationSideData.stopRecording();
+        Assert.assertEquals(2, sideData.size());
+
+        cache.put("0123", getOriginalBytes(), sideData);
+        RemoveFinalClassAdapter.reset();
+        Assert.assertArrayEquals(getOriginalBytes(), cache.get("0123"));
+        Assert.assertTrue(RemoveFinalClassAdapter.finalClasses.contains("some.FinalClass"));
+        RemoveFinalClassAdapter.reset();
+    }
+
+    @Test
+    public void testTargetClassIsNotCached() throws IOException {
+        Properties.TARGET_CLASS = ArrayStack.class.getName();
+        instrument();
+        instrument();
+        Assert.assertEquals(0, cache.getNumberOfHits());
+        Assert.assertEquals(0, cache.getNumberOfMisses());
+    }
+}
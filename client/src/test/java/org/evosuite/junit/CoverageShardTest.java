@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.evosuite.Properties.Criterion;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class CoverageShardTest {
+
+    private static BitSet bits(int... indices) {
+        BitSet bitSet = new BitSet();
+        for (int i : indices) {
+            bitSet.set(i);
+        }
+        return bitSet;
+    }
+
+    private static List<String> keys(String... keys) {
+        return Arrays.asList(keys);
+    }
+
+    @Test
+    public void testMergeIsUnionOfCoveredGoals() {
+        CoverageShard first = new CoverageShard("Foo", 2);
+        first.addCriterion(Criterion.LINE, keys("l1", "l2", "l3", "l4"), bits(0, 1));
+        first.addCriterion(Criterion.BRANCH, keys("b1", "b2"), bits(0));
+
+        CoverageShard second = new CoverageShard("Foo", 3);
+        second.addCriterion(Criterion.LINE, keys("l1", "l2", "l3", "l4"), bits(1, 3));
+        second.addCriterion(Criterion.BRANCH, keys("b1", "b2"), bits());
+
+        first.merge(second);
+
+        assertEquals(2, first.getNumberOfShards());
+        assertEquals(5, first.getTestsExecuted());
+        assertEquals("1101", first.getCoverageBitString(Criterion.LINE));
+        assertEquals(0.75, first.getCoverage(Criterion.LINE), 0.0001);
+        assertEquals("10", first.getCoverageBitString(Criterion.BRANCH));
+        assertEquals(6, first.getTotalGoals());
+        assertEquals(4, first.getTotalCoveredGoals());
+    }
+
+    @Test
+    public void testNoGoals() {
+        CoverageShard shard = new CoverageShard("Foo", 0);
+        shard.addCriterion(Criterion.METHOD, keys(), bits());
+
+        assertEquals(1.0, shard.getCoverage(Criterion.METHOD), 0.0001);
+        assertEquals("1", shard.getCoverageBitString(Criterion.METHOD));
+    }
+
+    @Test
+    public void testMergeByKeyWhenGoalsAreInDifferentOrder() {
+        CoverageShard first = new CoverageShard("Foo", 1);
+        first.addCriterion(Criterion.LINE, keys("l1", "l2", "l3"), bits(0));
+
+        CoverageShard second = new CoverageShard("Foo", 1);
+        second.addCriterion(Criterion.LINE, keys("l3", "l1", "l2"), bits(0));
+
+        first.merge(second);
+
+        assertEquals("101", first.getCoverageBitString(Criterion.LINE));
+        assertEquals(2, first.getTotalCoveredGoals());
+    }
+
+    @Test
+    public void testMergeKeepsUnionOfDifferentGoals() {
+        CoverageShard first = new CoverageShard("Foo", 1);
+        first.addCriterion(Criterion.LINE, keys("l1", "l2"), bits(1));
+
+        CoverageShard second = new CoverageShard("Foo", 1);
+        second.addCriterion(Criterion.LINE, keys("l2", "l3"), bits(1));
+
+        first.merge(second);
+
+        assertEquals(3, first.getNumberOfGoals(Criterion.LINE));
+        assertEquals("011", first.getCoverageBitString(Criterion.LINE));
+    }
+
+    @Test
+    public void testGoalKeysOfEqualGoalsAreDistinct() {
+        assertEquals(keys("a", "b", "a#2"), CoverageAnalysis.getGoalKeys(keys("a", "b", "a")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCannotMergeDifferentClasses() {
+        new CoverageShard("Foo", 0).merge(new CoverageShard("Bar", 0));
+    }
+}
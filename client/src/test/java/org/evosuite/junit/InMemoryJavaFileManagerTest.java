@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.evosuite.instrumentation.NonInstrumentingClassLoader;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class InMemoryJavaFileManagerTest {
+
+    private static final List<String> OPTIONS = Arrays.asList(
+            "-XDshould-stop.ifError=FLOW", "-XDshouldStopPolicyIfError=FLOW");
+
+    private static JavaCompiler getCompiler() {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(compiler);
+        return compiler;
+    }
+
+    @Test
+    public void testClassesAreCompiledAndLoadedInMemory() throws Exception {
+        JavaCompiler compiler = getCompiler();
+        JavaFileObject source = InMemoryJavaFileManager.createSource("foo.InMemoryFoo",
+                "package foo; public class InMemoryFoo { public Object get() { return new Object() { "
+                        + "public String toString() { return \"bar\"; } }; } }");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(
+                compiler.getStandardFileManager(diagnostics, Locale.getDefault(), StandardCharsets.UTF_8));
+        Assert.assertTrue(compiler.getTask(null, fileManager, diagnostics, OPTIONS, null,
+                Arrays.asList(source)).call());
+        fileManager.close();
+
+        Map<String, byte[]> classes = fileManager.getCompiledClasses();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("foo.InMemoryFoo", "foo.InMemoryFoo$1")), classes.keySet());
+
+        NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
+        Class<?> clazz = loader.loadClassFromBytes("foo.InMemoryFoo", classes.get("foo.InMemoryFoo"));
+        loader.loadClassFromBytes("foo.InMemoryFoo$1", classes.get("foo.InMemoryFoo$1"));
+        Object instance = clazz.getConstructor().newInstance();
+        Assert.assertEquals("bar", clazz.getMethod("get").invoke(instance).toString());
+    }
+
+    @Test
+    public void testErrorsOfAllUnitsAreReportedInOneBatch() throws Exception {
+        JavaCompiler compiler = getCompiler();
+        JavaFileObject first = InMemoryJavaFileManager.createSource("foo.First",
+                "package foo; public class First { int x = \"not an int\"; }");
+        JavaFileObject ok = InMemoryJavaFileManager.createSource("foo.Ok",
+                "package foo; public class Ok { }");
+        JavaFileObject second = InMemoryJavaFileManager.createSource("foo.Second",
+                "package foo; public class Second { void m() { undefined(); } }");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(
+                compiler.getStandardFileManager(diagnostics, Locale.getDefault(), StandardCharsets.UTF_8));
+        Assert.assertFalse(compiler.getTask(null, fileManager, diagnostics, OPTIONS, null,
+                Arrays.asList(first, ok, second)).call());
+        fileManager.close();
+
+        Set<JavaFileObject> faulty = new HashSet<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                faulty.add(diagnostic.getSource());
+            }
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList(first, second)), faulty);
+    }
+}
@@ -20,7 +20,6 @@
 package org.evosuite.junit;
 
 import com.examples.with.different.packagename.sandbox.OpenStream;
-import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.runtime.sandbox.Sandbox;
@@ -33,7 +32,6 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
-import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
@@ -150,16 +148,4 @@ public class JUnitAnalyzerTest {
         Assert.assertFalse(file.exists());
     }
 
-    @Test
-    public void testCreationOfTmpDir() throws IOException {
-
-        File dir = JUnitAnalyzer.createNewTmpDir();
-        Assert.assertNotNull(dir);
-        Assert.assertTrue(dir.exists());
-
-        FileUtils.deleteDirectory(dir);
-        Assert.assertFalse(dir.exists());
-    }
-
-
 }
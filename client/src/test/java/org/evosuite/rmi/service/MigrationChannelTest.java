@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.evosuite.ClientProcess;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.rmi.NotBoundException;
+import java.rmi.registry.Registry;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MigrationChannelTest {
+
+    private MigrationChannel<TestChromosome> channel;
+
+    @After
+    public void tearDown() {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private static TestChromosome buildIndividual(int value) {
+        DefaultTestCase test = new DefaultTestCase();
+        test.addStatement(new IntPrimitiveStatement(test, value));
+        TestChromosome individual = new TestChromosome();
+        individual.setTestCase(test);
+        return individual;
+    }
+
+    private static void waitForSentBatches(MigrationChannel<?> channel, long batches) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while (channel.getNumberOfSentBatches() < batches && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(batches, channel.getNumberOfSentBatches());
+    }
+
+    @Test
+    public void testEncodeDecode() throws Exception {
+        Set<TestChromosome> individuals = new LinkedHashSet<>();
+        individuals.add(buildIndividual(1));
+        individuals.add(buildIndividual(2));
+
+        Set<TestChromosome> decoded = MigrationChannel.decode(MigrationChannel.encode(individuals));
+        Set<String> expected = new HashSet<>();
+        for (TestChromosome individual : individuals) {
+            expected.add(individual.getTestCase().toCode());
+        }
+        Set<String> actual = new HashSet<>();
+        for (TestChromosome individual : decoded) {
+            actual.add(individual.getTestCase().toCode());
+        }
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnreachableNeighbourIsSkipped() throws Exception {
+        Registry registry = mock(Registry.class);
+        ClientNodeRemote<TestChromosome> next = mock(ClientNodeRemote.class);
+        when(registry.lookup(ClientProcess.CLIENT_PREFIX + 1)).thenThrow(new NotBoundException());
+        when(registry.lookup(ClientProcess.CLIENT_PREFIX + 2)).thenReturn(next);
+        when(next.immigrate(any())).thenReturn(true);
+
+        channel = new MigrationChannel<>(registry, ClientProcess.CLIENT_PREFIX + 0, 3);
+        Assert.assertTrue(channel.emigrate(Collections.singleton(buildIndividual(1))));
+
+        waitForSentBatches(channel, 1);
+        verify(next).immigrate(any());
+        Assert.assertEquals(1, channel.getNumberOfSentIndividuals());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIndividualsAreOnlySentOnce() throws Exception {
+        Registry registry = mock(Registry.class);
+        ClientNodeRemote<TestChromosome> next = mock(ClientNodeRemote.class);
+        when(registry.lookup(ClientProcess.CLIENT_PREFIX + 1)).thenReturn(next);
+        when(next.immigrate(any())).thenReturn(true);
+
+        channel = new MigrationChannel<>(registry, ClientProcess.CLIENT_PREFIX + 0, 2);
+        TestChromosome individual = buildIndividual(1);
+        Assert.assertTrue(channel.emigrate(Collections.singleton(individual)));
+        waitForSentBatches(channel, 1);
+
+        Assert.assertTrue(channel.emigrate(Collections.singleton(individual.clone())));
+        Assert.assertTrue(channel.emigrate(Collections.singleton(buildIndividual(2))));
+        waitForSentBatches(channel, 2);
+        verify(next, times(2)).immigrate(any());
+        Assert.assertEquals(2, channel.getNumberOfSentIndividuals());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchesAreDroppedWhenQueueIsFull() throws Exception {
+        Registry registry = mock(Registry.class);
+        ClientNodeRemote<TestChromosome> next = mock(ClientNodeRemote.class);
+        when(registry.lookup(ClientProcess.CLIENT_PREFIX + 1)).thenReturn(next);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(next.immigrate(any())).thenAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        channel = new MigrationChannel<>(registry, ClientProcess.CLIENT_PREFIX + 0, 2);
+        Assert.assertTrue(channel.emigrate(Collections.singleton(buildIndividual(1))));
+        // the sender is now blocked on the first batch
+        Assert.assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        Assert.assertTrue(channel.emigrate(Collections.singleton(buildIndividual(2))));
+        Assert.assertTrue(channel.emigrate(Collections.singleton(buildIndividual(3))));
+        Assert.assertFalse(channel.emigrate(Collections.singleton(buildIndividual(4))));
+        Assert.assertEquals(1, channel.getNumberOfDroppedBatches());
+
+        release.countDown();
+        waitForSentBatches(channel, 3);
+        verify(next, timeout(5000).times(3)).immigrate(any());
+
+        // a dropped individual was not sent, and can still be
+        Assert.assertTrue(channel.emigrate(Collections.singleton(buildIndividual(4))));
+        waitForSentBatches(channel, 4);
+    }
+}
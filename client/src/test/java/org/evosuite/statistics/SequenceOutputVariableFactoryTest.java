@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.StoppingCondition;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SequenceOutputVariableFactoryTest {
+
+    private static class Factory extends SequenceOutputVariableFactory<Double> {
+
+        Factory() {
+            super(RuntimeVariable.CoverageTimeline);
+        }
+
+        @Override
+        protected Double getValue(TestSuiteChromosome individual) {
+            return 0.0;
+        }
+
+        /**
+         * Records the value as it was before timelines were compacted
+         */
+        void add(long timeStamp, Double value) {
+            timeStamps.add(timeStamp);
+            values.add(value);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Properties.getInstance().resetToDefaults();
+        Properties.STOPPING_CONDITION = StoppingCondition.MAXTIME;
+        Properties.SEARCH_BUDGET = 10;
+        Properties.TIMELINE_INTERVAL = 1000;
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private void checkSameTimeline(boolean interpolation) {
+        Properties.TIMELINE_INTERPOLATION = interpolation;
+
+        Factory compacted = new Factory();
+        Factory complete = new Factory();
+
+        // several values per interval, some intervals without values, and values past the budget
+        Random random = new Random(42);
+        long timeStamp = 0;
+        double value = 0;
+        int updates = 0;
+        while (timeStamp < 12_000) {
+            compacted.update(timeStamp, value);
+            complete.add(timeStamp, value);
+            updates++;
+            timeStamp += random.nextInt(random.nextInt(10) == 0 ? 2500 : 300);
+            value += random.nextDouble();
+        }
+        assertTrue(compacted.timeStamps.size() < updates / 2);
+
+        List<OutputVariable<Double>> expected = complete.getOutputVariables();
+        List<OutputVariable<Double>> actual = compacted.getOutputVariables();
+        assertEquals(10, expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getName(), expected.get(i).getValue(), actual.get(i).getValue());
+        }
+    }
+
+    @Test
+    public void testCompactedTimelineWithInterpolation() {
+        checkSameTimeline(true);
+    }
+
+    @Test
+    public void testCompactedTimelineWithoutInterpolation() {
+        checkSameTimeline(false);
+    }
+
+    @Test
+    public void testValueOnIntervalBoundaryIsKept() {
+        Factory factory = new Factory();
+        factory.update(0, 0.0);
+        factory.update(500, 1.0);
+        factory.update(999, 2.0);
+        factory.update(1000, 3.0);
+        factory.update(1500, 4.0);
+
+        assertEquals(4, factory.timeStamps.size());
+        assertEquals(Long.valueOf(999), factory.timeStamps.get(1));
+        assertEquals(Long.valueOf(1000), factory.timeStamps.get(2));
+    }
+}
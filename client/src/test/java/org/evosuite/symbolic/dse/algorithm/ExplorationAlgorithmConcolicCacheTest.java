@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ * <p>
+ * This file is part of EvoSuite.
+ * <p>
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.dse.algorithm;
+
+import org.evosuite.symbolic.PathCondition;
+import org.evosuite.symbolic.dse.ConcolicExecutor;
+import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.symbolic.dse.DSETestCase;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.numeric.DoublePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExplorationAlgorithmConcolicCacheTest {
+
+    private static class TestExplorationAlgorithm extends ExplorationAlgorithm {
+
+        private static final long serialVersionUID = 1L;
+
+        TestExplorationAlgorithm(ConcolicExecutor engine) {
+            super(false, DSEStatistics.getInstance(), engine, null);
+        }
+
+        @Override
+        protected Queue<DSETestCase> createWorkList() {
+            return new LinkedList<>();
+        }
+
+        @Override
+        protected double getTestScore(TestCase newTestCase, boolean hasPathConditionDiverged) {
+            return 0;
+        }
+    }
+
+    private static DefaultTestCase buildTestCase(int value) {
+        DefaultTestCase test = new DefaultTestCase();
+        test.addStatement(new IntPrimitiveStatement(test, value));
+        return test;
+    }
+
+    private static DefaultTestCase buildDoubleTestCase(double value) {
+        DefaultTestCase test = new DefaultTestCase();
+        test.addStatement(new DoublePrimitiveStatement(test, value));
+        return test;
+    }
+
+    @Test
+    public void testSameTestCaseIsExecutedOnce() {
+        ConcolicExecutor engine = mock(ConcolicExecutor.class);
+        PathCondition pathCondition = new PathCondition(new ArrayList<>());
+        when(engine.execute(any(DefaultTestCase.class))).thenReturn(pathCondition);
+
+        TestExplorationAlgorithm algorithm = new TestExplorationAlgorithm(engine);
+        PathCondition first = algorithm.executeConcolically(buildTestCase(42));
+        PathCondition second = algorithm.executeConcolically(buildTestCase(42));
+
+        verify(engine, times(1)).execute(any(DefaultTestCase.class));
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testDifferentTestCasesAreExecuted() {
+        ConcolicExecutor engine = mock(ConcolicExecutor.class);
+        PathCondition firstPathCondition = new PathCondition(new ArrayList<>());
+        PathCondition secondPathCondition = new PathCondition(new ArrayList<>());
+        when(engine.execute(any(DefaultTestCase.class))).thenReturn(firstPathCondition, secondPathCondition);
+
+        TestExplorationAlgorithm algorithm = new TestExplorationAlgorithm(engine);
+        PathCondition first = algorithm.executeConcolically(buildTestCase(42));
+        PathCondition second = algorithm.executeConcolically(buildTestCase(43));
+
+        verify(engine, times(2)).execute(any(DefaultTestCase.class));
+        assertSame(firstPathCondition, first);
+        assertSame(secondPathCondition, second);
+    }
+
+    @Test
+    public void testSignedZerosAreExecuted() {
+        ConcolicExecutor engine = mock(ConcolicExecutor.class);
+        when(engine.execute(any(DefaultTestCase.class))).thenReturn(new PathCondition(new ArrayList<>()));
+
+        TestExplorationAlgorithm algorithm = new TestExplorationAlgorithm(engine);
+        algorithm.executeConcolically(buildDoubleTestCase(0.0));
+        algorithm.executeConcolically(buildDoubleTestCase(-0.0));
+        algorithm.executeConcolically(buildDoubleTestCase(Double.NaN));
+        algorithm.executeConcolically(buildDoubleTestCase(Double.NaN));
+
+        verify(engine, times(3)).execute(any(DefaultTestCase.class));
+    }
+
+    @Test
+    public void testCloseDoublesAreExecuted() {
+        ConcolicExecutor engine = mock(ConcolicExecutor.class);
+        when(engine.execute(any(DefaultTestCase.class))).thenReturn(new PathCondition(new ArrayList<>()));
+
+        TestExplorationAlgorithm algorithm = new TestExplorationAlgorithm(engine);
+        algorithm.executeConcolically(buildDoubleTestCase(0.1));
+        algorithm.executeConcolically(buildDoubleTestCase(Math.nextUp(0.1)));
+
+        verify(engine, times(2)).execute(any(DefaultTestCase.class));
+    }
+}
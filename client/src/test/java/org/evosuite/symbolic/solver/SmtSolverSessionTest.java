@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtExpr;
+import org.evosuite.symbolic.solver.smt.SmtIntVariable;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.evosuite.symbolic.solver.smt.SmtQueryPrinter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Checks the protocol of the incremental solver sessions against a fake
+ * solver script that logs the commands it receives.
+ */
+public class SmtSolverSessionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ScheduledThreadPoolExecutor watchdog;
+
+    private File log;
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(new File("/bin/sh").canExecute());
+        watchdog = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+    }
+
+    private String createFakeSolver(String checkSatAnswer) throws IOException {
+        log = folder.newFile("commands.log");
+        File script = folder.newFile("solver.sh");
+        String content = "while IFS= read -r line; do\n"
+                + "  echo \"$line\" >> " + log.getAbsolutePath() + "\n"
+                + "  case \"$line\" in\n"
+                + "    \"(check-sat)\") " + checkSatAnswer + " ;;\n"
+                + "    \"(get-model)\") echo \"(model (define-fun x () Int 5))\" ;;\n"
+                + "    \"(exit)\") exit 0 ;;\n"
+                + "    *) echo success ;;\n"
+                + "  esac\n"
+                + "done\n";
+        Files.write(script.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return "/bin/sh " + script.getAbsolutePath();
+    }
+
+    private static SmtQuery buildQuery(SmtExpr... formulas) {
+        SmtQuery query = new SmtQuery();
+        query.addConstantDeclaration(SmtExprBuilder.mkIntConstantDeclaration("x"));
+        for (SmtExpr formula : formulas) {
+            query.addAssertion(new SmtAssertion(formula));
+        }
+        return query;
+    }
+
+    private List<String> readLog() throws IOException {
+        return Files.readAllLines(log.toPath(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testSharedPrefixIsNotSentAgain() throws Exception {
+        String cmd = createFakeSolver("echo sat");
+        SmtIntVariable x = SmtExprBuilder.mkIntVariable("x");
+        SmtExpr positive = SmtExprBuilder.mkGt(x, SmtExprBuilder.ZERO_INT);
+        SmtExpr lessThanNine = SmtExprBuilder.mkLt(x, SmtExprBuilder.NINE_INT);
+        SmtExpr equalsOne = SmtExprBuilder.mkEq(x, SmtExprBuilder.ONE_INT);
+
+        SmtSolverSession session = new SmtSolverSession(cmd, Collections.emptyList(), 5000, watchdog);
+        try {
+            String output = session.solve(buildQuery(positive, lessThanNine), 5000, watchdog);
+            Assert.assertTrue(output.startsWith("sat\n(model"));
+            int firstQueryLength = readLog().size();
+
+            SmtQuery secondQuery = buildQuery(positive, equalsOne);
+            Assert.assertEquals(1, session.getCommonPrefixLength(SmtSolverSession.printAssertions(secondQuery)));
+            session.solve(secondQuery, 5000, watchdog);
+            Assert.assertEquals(2, session.getNumberOfQueries());
+
+            SmtQueryPrinter printer = new SmtQueryPrinter();
+            List<String> commands = readLog();
+            List<String> expected = Arrays.asList(
+                    "(pop 1)",
+                    "(push 1)",
+                    printer.print(new SmtAssertion(equalsOne)),
+                    "(check-sat)",
+                    "(get-model)");
+            Assert.assertEquals(expected, commands.subList(firstQueryLength, commands.size()));
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    public void testDeclarationsAreRestoredAfterPop() throws Exception {
+        String cmd = createFakeSolver("echo unsat");
+        SmtIntVariable x = SmtExprBuilder.mkIntVariable("x");
+        SmtExpr positive = SmtExprBuilder.mkGt(x, SmtExprBuilder.ZERO_INT);
+        SmtExpr negative = SmtExprBuilder.mkLt(x, SmtExprBuilder.ZERO_INT);
+
+        SmtSolverSession session = new SmtSolverSession(cmd, Collections.emptyList(), 5000, watchdog);
+        try {
+            Assert.assertEquals("unsat", session.solve(buildQuery(positive), 5000, watchdog));
+            int firstQueryLength = readLog().size();
+            Assert.assertEquals("unsat", session.solve(buildQuery(negative), 5000, watchdog));
+
+            List<String> commands = readLog().subList(firstQueryLength, readLog().size());
+            Assert.assertEquals("(pop 1)", commands.get(0));
+            Assert.assertEquals("(push 1)", commands.get(1));
+            Assert.assertTrue(commands.get(2).startsWith("(declare-const x"));
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    public void testSessionIsClosedAfterUnknown() throws Exception {
+        String cmd = createFakeSolver("echo unknown");
+        SmtIntVariable x = SmtExprBuilder.mkIntVariable("x");
+
+        SmtSolverSession session = new SmtSolverSession(cmd, Collections.emptyList(), 5000, watchdog);
+        try {
+            String output = session.solve(buildQuery(SmtExprBuilder.mkGt(x, SmtExprBuilder.ZERO_INT)), 5000, watchdog);
+            Assert.assertEquals("unknown", output);
+            Assert.assertFalse(session.isAlive());
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    public void testSessionIsClosedAfterTimeout() throws Exception {
+        String cmd = createFakeSolver("sleep 10");
+        SmtIntVariable x = SmtExprBuilder.mkIntVariable("x");
+
+        SmtSolverSession session = new SmtSolverSession(cmd, Collections.emptyList(), 5000, watchdog);
+        try {
+            session.solve(buildQuery(SmtExprBuilder.mkGt(x, SmtExprBuilder.ZERO_INT)), 200, watchdog);
+            Assert.fail("Expected a timeout");
+        } catch (SolverTimeoutException e) {
+            Assert.assertFalse(session.isAlive());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SolverCacheTest {
+
+    private static final long DEFAULT_DSE_SOLVER_CACHE_SIZE = Properties.DSE_SOLVER_CACHE_SIZE;
+
+    private final SolverCache cache = SolverCache.getInstance();
+
+    private final IntegerVariable x = new IntegerVariable("x", 0, -1000, 1000);
+
+    private final IntegerVariable y = new IntegerVariable("y", 0, -1000, 1000);
+
+    @Before
+    public void setUp() {
+        cache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.DSE_SOLVER_CACHE_SIZE = DEFAULT_DSE_SOLVER_CACHE_SIZE;
+        cache.clear();
+    }
+
+    private static Constraint<?> constraint(IntegerVariable v, Comparator cmp, long value) {
+        return new IntegerConstraint(v, cmp, new IntegerConstant(value));
+    }
+
+    private static SolverResult sat(String name, long value) {
+        Map<String, Object> model = new HashMap<>();
+        model.put(name, value);
+        return SolverResult.newSAT(model);
+    }
+
+    @Test
+    public void testOrderOfConjunctsDoesNotMatter() {
+        Constraint<?> c1 = constraint(x, Comparator.GT, 0);
+        Constraint<?> c2 = constraint(y, Comparator.LT, 5);
+        cache.saveSolverResult(Arrays.asList(c1, c2), SolverResult.newUNSAT());
+
+        SolverResult result = cache.getCachedResult(Arrays.asList(c2, c1, c2));
+        Assert.assertNotNull(result);
+        Assert.assertTrue(result.isUNSAT());
+        Assert.assertEquals(1.0, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void testUNSATSubsetImpliesUNSAT() {
+        Constraint<?> greater = constraint(x, Comparator.GT, 10);
+        Constraint<?> lower = constraint(x, Comparator.LT, 5);
+        cache.saveSolverResult(Arrays.asList(greater, lower), SolverResult.newUNSAT());
+
+        List<Constraint<?>> query = Arrays.asList(constraint(y, Comparator.EQ, 0), lower, greater);
+        SolverResult result = cache.getCachedResult(query);
+        Assert.assertNotNull(result);
+        Assert.assertTrue(result.isUNSAT());
+        Assert.assertEquals(1, cache.getNumberOfUNSATSubsumptionHits());
+
+        // a subset of an UNSAT query may be satisfiable
+        Assert.assertNull(cache.getCachedResult(Collections.singletonList(greater)));
+    }
+
+    @Test
+    public void testModelOfSupersetIsReused() {
+        Constraint<?> positive = constraint(x, Comparator.GT, 0);
+        Constraint<?> small = constraint(x, Comparator.LT, 10);
+        cache.saveSolverResult(Arrays.asList(positive, small), sat("x", 3L));
+
+        SolverResult result = cache.getCachedResult(Collections.singletonList(positive));
+        Assert.assertNotNull(result);
+        Assert.assertTrue(result.isSAT());
+        Assert.assertEquals(3L, result.getValue("x"));
+        Assert.assertEquals(1, cache.getNumberOfModelReuseHits());
+        // the concrete value of the variable is restored after the validation
+        Assert.assertEquals(0L, (long) x.getConcreteValue());
+    }
+
+    @Test
+    public void testModelIsValidatedBeforeReuse() {
+        Constraint<?> positive = constraint(x, Comparator.GT, 0);
+        cache.saveSolverResult(Collections.singletonList(positive), sat("x", 3L));
+
+        Constraint<?> large = constraint(x, Comparator.GT, 100);
+        Assert.assertNull(cache.getCachedResult(Arrays.asList(positive, large)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedQueriesAreEvicted() {
+        Constraint<?> c1 = constraint(x, Comparator.EQ, 1);
+        Constraint<?> c2 = constraint(x, Comparator.EQ, 2);
+        Constraint<?> c3 = constraint(x, Comparator.EQ, 3);
+
+        cache.saveSolverResult(Collections.singletonList(c1), SolverResult.newUNSAT());
+        long entrySize = cache.getCachedSize();
+        Properties.DSE_SOLVER_CACHE_SIZE = 2 * entrySize;
+
+        cache.saveSolverResult(Collections.singletonList(c2), SolverResult.newUNSAT());
+        // c1 becomes the most recently used query
+        Assert.assertNotNull(cache.getCachedResult(Collections.singletonList(c1)));
+        cache.saveSolverResult(Collections.singletonList(c3), SolverResult.newUNSAT());
+
+        Assert.assertEquals(1, cache.getNumberOfEvictions());
+        Assert.assertEquals(2 * entrySize, cache.getCachedSize());
+        Assert.assertNotNull(cache.getCachedResult(Collections.singletonList(c1)));
+        Assert.assertNull(cache.getCachedResult(Collections.singletonList(c2)));
+        Assert.assertNotNull(cache.getCachedResult(Collections.singletonList(c3)));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.vm;
+
+import org.evosuite.symbolic.expr.Operator;
+import org.evosuite.symbolic.expr.bv.IntegerBinaryExpression;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ExpressionInternerTest {
+
+    private ExpressionInterner interner;
+
+    @Before
+    public void setUp() {
+        interner = new ExpressionInterner();
+        ExpressionInterner.setCurrent(interner);
+    }
+
+    @After
+    public void tearDown() {
+        ExpressionInterner.setCurrent(null);
+    }
+
+    @Test
+    public void testEqualExpressionsAreShared() {
+        IntegerVariable x = new IntegerVariable("x", 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntegerConstant one = new IntegerConstant(1);
+
+        IntegerBinaryExpression first = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.PLUS, one, 2L));
+        IntegerBinaryExpression second = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.PLUS, one, 2L));
+        assertSame(first, second);
+
+        IntegerBinaryExpression firstTwice = ExpressionInterner.intern(new IntegerBinaryExpression(first, Operator.PLUS, one, 3L));
+        IntegerBinaryExpression secondTwice = ExpressionInterner.intern(new IntegerBinaryExpression(second, Operator.PLUS, one, 3L));
+        assertSame(firstTwice, secondTwice);
+        assertSame(firstTwice.getLeftOperand(), first);
+    }
+
+    @Test
+    public void testDifferentConcreteValuesAreNotShared() {
+        IntegerVariable x = new IntegerVariable("x", 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntegerConstant one = new IntegerConstant(1);
+
+        IntegerBinaryExpression first = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.PLUS, one, 2L));
+        IntegerBinaryExpression second = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.PLUS, one, 5L));
+        assertNotSame(first, second);
+        assertEquals(5L, (long) second.getConcreteValue());
+    }
+
+    @Test
+    public void testDifferentOperatorsAreNotShared() {
+        IntegerVariable x = new IntegerVariable("x", 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntegerConstant one = new IntegerConstant(1);
+
+        IntegerBinaryExpression plus = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.PLUS, one, 2L));
+        IntegerBinaryExpression mul = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.MUL, one, 2L));
+        assertNotSame(plus, mul);
+    }
+
+    @Test
+    public void testNothingIsSharedOutsideOfAnExecution() {
+        IntegerVariable x = new IntegerVariable("x", 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntegerConstant one = new IntegerConstant(1);
+
+        ExpressionInterner.setCurrent(null);
+        IntegerBinaryExpression first = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.PLUS, one, 2L));
+        IntegerBinaryExpression second = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.PLUS, one, 2L));
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testClearForgetsExpressions() {
+        IntegerVariable x = new IntegerVariable("x", 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntegerConstant one = new IntegerConstant(1);
+
+        IntegerBinaryExpression first = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.PLUS, one, 2L));
+        interner.clear();
+        IntegerBinaryExpression second = ExpressionInterner.intern(new IntegerBinaryExpression(x, Operator.PLUS, one, 2L));
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testVariablesAreCached() {
+        IntegerVariable x = new IntegerVariable("x", 1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        IntegerVariable y = new IntegerVariable("y", 2, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        IntegerBinaryExpression sum = new IntegerBinaryExpression(x, Operator.PLUS, y, 3L);
+        assertEquals(2, sum.getVariables().size());
+        assertSame(sum.getVariables(), sum.getVariables());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ExecutionTracerBindingTest {
+
+    @After
+    public void tearDown() {
+        ExecutionTracer.unbindFromCurrentThread();
+    }
+
+    @Test
+    public void testBoundTracerIsUsedByCurrentThread() {
+        ExecutionTracer shared = ExecutionTracer.getExecutionTracer();
+        ExecutionTracer isolated = ExecutionTracer.newIsolatedTracer();
+        Assert.assertNotSame(shared, isolated);
+
+        ExecutionTracer.bindToCurrentThread(isolated);
+        Assert.assertSame(isolated, ExecutionTracer.getExecutionTracer());
+
+        ExecutionTracer.unbindFromCurrentThread();
+        Assert.assertSame(shared, ExecutionTracer.getExecutionTracer());
+    }
+
+    @Test
+    public void testBindingIsNotVisibleToOtherThreads() throws InterruptedException {
+        ExecutionTracer shared = ExecutionTracer.getExecutionTracer();
+        ExecutionTracer isolated = ExecutionTracer.newIsolatedTracer();
+        ExecutionTracer.bindToCurrentThread(isolated);
+
+        AtomicReference<ExecutionTracer> seen = new AtomicReference<>();
+        Thread other = new Thread(() -> seen.set(ExecutionTracer.getExecutionTracer()));
+        other.start();
+        other.join();
+
+        Assert.assertSame(shared, seen.get());
+    }
+
+    @Test
+    public void testOnlyExecutionThreadIsTraced() throws InterruptedException {
+        ExecutionTracer isolated = ExecutionTracer.newIsolatedTracer();
+        AtomicReference<Boolean> neq = new AtomicReference<>();
+        Thread executionThread = new Thread(() -> {
+            ExecutionTracer.bindToCurrentThread(isolated);
+            neq.set(ExecutionTracer.isThreadNeqCurrentThread());
+        });
+        isolated.setExecutionThread(executionThread);
+        executionThread.start();
+        executionThread.join();
+        Assert.assertFalse(neq.get());
+
+        // the driving thread shares the tracer, but is not traced
+        ExecutionTracer.bindToCurrentThread(isolated);
+        Assert.assertTrue(ExecutionTracer.isThreadNeqCurrentThread());
+    }
+}
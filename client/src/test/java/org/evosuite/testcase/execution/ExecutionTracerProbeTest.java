@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.seeding.ConstantPoolManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+
+public class ExecutionTracerProbeTest {
+
+    private ExecutionTracer tracer;
+
+    @Before
+    public void setUp() {
+        ConstantPoolManager.getInstance().reset();
+        tracer = ExecutionTracer.newIsolatedTracer();
+        tracer.setExecutionThread(Thread.currentThread());
+        ExecutionTracer.bindToCurrentThread(tracer);
+        ExecutionTracer.enable();
+    }
+
+    @After
+    public void tearDown() {
+        ExecutionTracer.setKillSwitch(false);
+        ExecutionTracer.disable();
+        ExecutionTracer.unbindFromCurrentThread();
+        ConstantPoolManager.getInstance().reset();
+    }
+
+    private static boolean isInDynamicPool(int value) {
+        return ConstantPoolManager.getInstance().getDynamicConstantPool().toString().contains("" + value);
+    }
+
+    @Test
+    public void testDynamicConstantsAreAddedWhenTheWorkerIsMerged() {
+        ExecutionTracer.passedBranch(1777, 1999, Opcodes.IF_ICMPEQ, 1, 0);
+        Assert.assertTrue(tracer.getTrace().getCoveredFalseBranches().contains(1));
+        Assert.assertFalse(isInDynamicPool(1777));
+
+        // the pool is not thread-safe: workers only queue their constants
+        tracer.clear();
+        Assert.assertFalse(isInDynamicPool(1777));
+
+        tracer.mergeDynamicConstants();
+        Assert.assertTrue(isInDynamicPool(1777));
+        Assert.assertTrue(isInDynamicPool(1999));
+    }
+
+    @Test
+    public void testDynamicConstantsBeyondTheBufferAreDropped() {
+        ExecutionTracer.passedBranch(1555, Opcodes.IFEQ, 1, 0);
+        for (int i = 0; i < 1000; i++) {
+            ExecutionTracer.passedBranch(0, Opcodes.IFEQ, 1, 0);
+        }
+        ExecutionTracer.passedBranch(1666, Opcodes.IFEQ, 1, 0);
+
+        tracer.flushDynamicConstants();
+        tracer.mergeDynamicConstants();
+        Assert.assertTrue(isInDynamicPool(1555));
+        Assert.assertFalse(isInDynamicPool(1666));
+    }
+
+    @Test
+    public void testProbesOfOtherThreadsAreIgnored() throws InterruptedException {
+        Thread other = new Thread(() -> {
+            ExecutionTracer.bindToCurrentThread(tracer);
+            ExecutionTracer.passedBranch(1333, Opcodes.IFEQ, 1, 0);
+        });
+        other.start();
+        other.join();
+
+        tracer.clear();
+        tracer.mergeDynamicConstants();
+        Assert.assertFalse(isInDynamicPool(1333));
+    }
+
+    @Test
+    public void testKillSwitchIsEventuallyChecked() {
+        ExecutionTracer.setKillSwitch(true);
+        try {
+            for (int i = 0; i < 1000; i++) {
+                ExecutionTracer.passedLine("Foo", "bar()V", i);
+            }
+            Assert.fail("Expected a timeout");
+        } catch (TestCaseExecutor.TimeoutExceeded e) {
+            // expected
+        }
+    }
+}
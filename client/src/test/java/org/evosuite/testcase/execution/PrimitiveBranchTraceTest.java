@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class PrimitiveBranchTraceTest {
+
+    @Test
+    public void testDistancesKeepMinimumAndSum() {
+        PrimitiveBranchTrace trace = new PrimitiveBranchTrace();
+        trace.branchPassed(3, 2.0, 0.0, true);
+        trace.branchPassed(3, 1.0, 4.0, true);
+
+        Assert.assertTrue(trace.isReached(3));
+        Assert.assertFalse(trace.isReached(2));
+        Assert.assertEquals(1.0, trace.getTrueDistance(3), 0.0);
+        Assert.assertEquals(0.0, trace.getFalseDistance(3), 0.0);
+        Assert.assertEquals(3.0, trace.getTrueDistancesSum().get(3), 0.0);
+        Assert.assertEquals(4.0, trace.getFalseDistancesSum().get(3), 0.0);
+        Assert.assertNull(trace.getTrueDistances().get(2));
+    }
+
+    @Test
+    public void testCountsOnlyWhenTracingCoverage() {
+        PrimitiveBranchTrace trace = new PrimitiveBranchTrace();
+        trace.branchPassed(1, 0.0, 1.0, false);
+        trace.branchPassed(5, 0.0, 1.0, true);
+        trace.branchPassed(5, 1.0, 0.0, true);
+        trace.branchPassed(5, 0.0, 1.0, true);
+
+        Assert.assertFalse(trace.isCoveredTrue(1));
+        Assert.assertTrue(trace.isCoveredTrue(5));
+        Assert.assertTrue(trace.isCoveredFalse(5));
+
+        Map<Integer, Integer> expected = new HashMap<>();
+        expected.put(5, 3);
+        Assert.assertEquals(expected, trace.getExecutionCount());
+        Assert.assertEquals(2, (int) trace.getTrueCount().get(5));
+        Assert.assertEquals(1, (int) trace.getFalseCount().get(5));
+
+        Set<Integer> reached = new HashSet<>();
+        reached.add(1);
+        reached.add(5);
+        Assert.assertEquals(reached, trace.getReachedBranches());
+        Assert.assertEquals(2, trace.getTrueDistances().size());
+        Assert.assertEquals(1, trace.getCountedBranches().size());
+    }
+
+    @Test
+    public void testViewsSeeBranchesPassedAfterGrowing() {
+        PrimitiveBranchTrace trace = new PrimitiveBranchTrace();
+        trace.branchPassed(1, 2.0, 0.0, true);
+        Map<Integer, Double> trueDistances = trace.getTrueDistances();
+        Map<Integer, Integer> executionCount = trace.getExecutionCount();
+        Set<Integer> counted = trace.getCountedBranches();
+
+        // replaces the arrays
+        trace.branchPassed(1000, 0.5, 0.0, true);
+        trace.branchPassed(1, 1.0, 0.0, true);
+
+        Assert.assertEquals(1.0, trueDistances.get(1), 0.0);
+        Assert.assertEquals(0.5, trueDistances.get(1000), 0.0);
+        Assert.assertEquals(2, (int) executionCount.get(1));
+        Assert.assertEquals(1, (int) executionCount.get(1000));
+        Assert.assertTrue(counted.contains(1000));
+        Assert.assertEquals(2, counted.size());
+
+        Map<Integer, Double> expected = new HashMap<>();
+        expected.put(1, 1.0);
+        expected.put(1000, 0.5);
+        Assert.assertEquals(expected, new HashMap<>(trueDistances));
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        PrimitiveBranchTrace trace = new PrimitiveBranchTrace();
+        trace.branchPassed(1000, 0.5, 0.0, true);
+        Assert.assertEquals(0.5, trace.getTrueDistance(1000), 0.0);
+        Assert.assertEquals(1, trace.getTrueDistances().size());
+    }
+
+    @Test
+    public void testResetReusesSlots() {
+        PrimitiveBranchTrace trace = new PrimitiveBranchTrace();
+        trace.branchPassed(2, 0.0, 3.0, true);
+        trace.reset();
+
+        Assert.assertFalse(trace.isReached(2));
+        Assert.assertTrue(trace.getTrueDistances().isEmpty());
+        Assert.assertTrue(trace.getExecutionCount().isEmpty());
+
+        trace.branchPassed(2, 7.0, 0.0, true);
+        Assert.assertEquals(7.0, trace.getTrueDistance(2), 0.0);
+        Assert.assertEquals(7.0, trace.getTrueDistancesSum().get(2), 0.0);
+        Assert.assertFalse(trace.isCoveredTrue(2));
+        Assert.assertEquals(1, (int) trace.getExecutionCount().get(2));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        PrimitiveBranchTrace trace = new PrimitiveBranchTrace();
+        trace.branchPassed(4, 2.0, 0.0, true);
+        PrimitiveBranchTrace copy = trace.copy();
+
+        trace.branchPassed(4, 0.0, 1.0, true);
+        trace.branchPassed(9, 1.0, 1.0, true);
+        copy.branchPassed(200, 1.0, 1.0, true);
+
+        Assert.assertEquals(2.0, copy.getTrueDistance(4), 0.0);
+        Assert.assertEquals(1, (int) copy.getExecutionCount().get(4));
+        Assert.assertFalse(copy.isReached(9));
+        Assert.assertFalse(trace.isReached(200));
+        Assert.assertEquals(0.0, trace.getTrueDistance(4), 0.0);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public class TestCaseExecutorPoolTest {
+
+    @Before
+    public void setUp() {
+        Properties.getInstance().resetToDefaults();
+        Properties.NUM_EXECUTION_WORKERS = 2;
+    }
+
+    @After
+    public void tearDown() {
+        TestCaseExecutorPool.pullDown();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static void disableSharedState() {
+        Properties.RESET_STATIC_FIELDS = false;
+        Properties.VIRTUAL_FS = false;
+        Properties.VIRTUAL_NET = false;
+        Properties.REPLACE_CALLS = false;
+        Properties.REPLACE_SYSTEM_IN = false;
+        Properties.REPLACE_GUI = false;
+    }
+
+    @Test
+    public void testWorkersAreNotUsedWithDefaultProperties() {
+        Assert.assertFalse(TestCaseExecutorPool.canIsolateWorkers());
+        Assert.assertFalse(TestCaseExecutorPool.hasWorkers());
+        Assert.assertFalse(TestCaseExecutorPool.isEnabled());
+    }
+
+    @Test
+    public void testWorkersAreNotUsedWhenStaticFieldsAreReset() {
+        disableSharedState();
+        Assert.assertTrue(TestCaseExecutorPool.hasWorkers());
+
+        Properties.RESET_STATIC_FIELDS = true;
+        Assert.assertFalse(TestCaseExecutorPool.hasWorkers());
+    }
+
+    @Test
+    public void testWorkersAreNotUsedWithVirtualFileSystem() {
+        disableSharedState();
+        Properties.VIRTUAL_FS = true;
+        Assert.assertFalse(TestCaseExecutorPool.hasWorkers());
+    }
+
+    @Test
+    public void testSingleWorkerIsNotUsed() {
+        disableSharedState();
+        Properties.NUM_EXECUTION_WORKERS = 1;
+        Assert.assertFalse(TestCaseExecutorPool.hasWorkers());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExecutionOnWorkersIsRefusedWithSharedState() {
+        List<Callable<Integer>> tasks = Arrays.asList(() -> 1, () -> 2);
+        TestCaseExecutorPool.getInstance().executeOnWorkers(tasks);
+    }
+
+    @Test
+    public void testExecutionOnWorkers() {
+        disableSharedState();
+        List<Callable<Integer>> tasks = Arrays.asList(() -> 1, () -> 2, () -> 3);
+        Assert.assertEquals(Arrays.asList(1, 2, 3), TestCaseExecutorPool.getInstance().executeOnWorkers(tasks));
+    }
+}
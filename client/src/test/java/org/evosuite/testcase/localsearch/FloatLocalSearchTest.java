@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.localsearch;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.localsearch.LocalSearchBudget;
+import org.evosuite.ga.localsearch.LocalSearchObjective;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
+import org.evosuite.testcase.statements.numeric.DoublePrimitiveStatement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FloatLocalSearchTest {
+
+    private static final double TARGET = 2.25;
+
+    @Before
+    public void setUp() {
+        Properties.getInstance().resetToDefaults();
+        LocalSearchBudget.getInstance().localSearchStarted();
+    }
+
+    @After
+    public void tearDown() {
+        TestCaseExecutorPool.pullDown();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static TestChromosome buildTest(double value) {
+        DefaultTestCase testCase = new DefaultTestCase();
+        testCase.addStatement(new DoublePrimitiveStatement(testCase, value));
+        TestChromosome test = new TestChromosome();
+        test.setTestCase(testCase);
+        return test;
+    }
+
+    private static double getValue(TestChromosome test) {
+        return ((DoublePrimitiveStatement) test.getTestCase().getStatement(0)).getValue();
+    }
+
+    /**
+     * Creates an objective that improves while the value of the only statement
+     * of the test gets closer to {@link #TARGET}, and records the values the
+     * test was evaluated with
+     */
+    @SuppressWarnings("unchecked")
+    private static LocalSearchObjective<TestChromosome> buildObjective(List<Double> evaluatedValues) {
+        LocalSearchObjective<TestChromosome> objective = mock(LocalSearchObjective.class);
+        double[] bestDistance = {Double.MAX_VALUE};
+        Answer<Integer> hasChanged = invocation -> {
+            double value = getValue(invocation.getArgument(0));
+            evaluatedValues.add(value);
+            double distance = Math.abs(TARGET - value);
+            if (distance < bestDistance[0]) {
+                bestDistance[0] = distance;
+                return -1;
+            }
+            return distance > bestDistance[0] ? 1 : 0;
+        };
+        when(objective.hasChanged(any())).thenAnswer(hasChanged);
+        when(objective.hasChangedWithoutExecution(any())).thenAnswer(hasChanged);
+        when(objective.hasNotWorsened(any())).thenAnswer(invocation -> hasChanged.answer(invocation) < 1);
+        return objective;
+    }
+
+    private static void enableWorkers() {
+        Properties.NUM_EXECUTION_WORKERS = 2;
+        Properties.RESET_STATIC_FIELDS = false;
+        Properties.VIRTUAL_FS = false;
+        Properties.VIRTUAL_NET = false;
+        Properties.REPLACE_CALLS = false;
+        Properties.REPLACE_SYSTEM_IN = false;
+        Properties.REPLACE_GUI = false;
+    }
+
+    @Test
+    public void testSearchReachesTarget() {
+        TestChromosome test = buildTest(0.0);
+        List<Double> evaluatedValues = new ArrayList<>();
+        LocalSearchObjective<TestChromosome> objective = buildObjective(evaluatedValues);
+
+        boolean improved = new FloatLocalSearch<Double>().doSearch(test, 0, objective);
+
+        assertTrue(improved);
+        assertEquals(TARGET, getValue(test), 0.0);
+        verify(objective, never()).hasChangedWithoutExecution(any());
+    }
+
+    @Test
+    public void testSpeculativeSearchEvaluatesTheSameValues() {
+        List<Double> sequentialValues = new ArrayList<>();
+        TestChromosome sequential = buildTest(0.0);
+        new FloatLocalSearch<Double>().doSearch(sequential, 0, buildObjective(sequentialValues));
+
+        enableWorkers();
+        List<Double> speculativeValues = new ArrayList<>();
+        TestChromosome speculative = buildTest(0.0);
+        LocalSearchObjective<TestChromosome> objective = buildObjective(speculativeValues);
+        boolean improved = new FloatLocalSearch<Double>().doSearch(speculative, 0, objective);
+
+        assertTrue(improved);
+        assertEquals(getValue(sequential), getValue(speculative), 0.0);
+        assertEquals(sequentialValues, speculativeValues);
+        verify(objective, atLeastOnce()).hasChangedWithoutExecution(any());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.localsearch;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.localsearch.LocalSearchBudget;
+import org.evosuite.ga.localsearch.LocalSearchObjective;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.TestCaseExecutorPool;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IntegerLocalSearchTest {
+
+    private static final int TARGET = 5;
+
+    @Before
+    public void setUp() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    @After
+    public void tearDown() {
+        TestCaseExecutorPool.pullDown();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    /**
+     * Creates an objective that improves while the value of the only
+     * statement of the test gets closer to {@link #TARGET}, and records
+     * the values the test was executed with
+     */
+    @SuppressWarnings("unchecked")
+    private static LocalSearchObjective<TestChromosome> buildObjective(List<Integer> executedValues) {
+        LocalSearchObjective<TestChromosome> objective = mock(LocalSearchObjective.class);
+        int[] bestDistance = {Integer.MAX_VALUE};
+        Answer<Boolean> hasImproved = invocation -> {
+            TestChromosome test = invocation.getArgument(0);
+            int value = ((IntPrimitiveStatement) test.getTestCase().getStatement(0)).getValue();
+            executedValues.add(value);
+            int distance = Math.abs(TARGET - value);
+            if (distance < bestDistance[0]) {
+                bestDistance[0] = distance;
+                return true;
+            }
+            return false;
+        };
+        when(objective.hasImproved(any())).thenAnswer(hasImproved);
+        when(objective.hasChangedWithoutExecution(any())).thenAnswer(invocation -> hasImproved.answer(invocation) ? -1 : 1);
+        return objective;
+    }
+
+    @Test
+    public void testRejectedValuesAreNotExecutedAgain() {
+        DefaultTestCase testCase = new DefaultTestCase();
+        testCase.addStatement(new IntPrimitiveStatement(testCase, 0));
+        TestChromosome test = new TestChromosome();
+        test.setTestCase(testCase);
+
+        List<Integer> executedValues = new ArrayList<>();
+        IntegerLocalSearch<Integer> search = new IntegerLocalSearch<>();
+        boolean improved = search.doSearch(test, 0, buildObjective(executedValues));
+
+        assertTrue(improved);
+        assertEquals(TARGET, (int) ((IntPrimitiveStatement) testCase.getStatement(0)).getValue());
+        // e.g. 7 overshoots twice, and 4 and 6 are reached again from 5
+        assertEquals(executedValues.toString(), new HashSet<>(executedValues).size(), executedValues.size());
+    }
+
+    @Test
+    public void testDroppedProbesAreChargedToTheBudget() {
+        Properties.NUM_EXECUTION_WORKERS = 2;
+        Properties.RESET_STATIC_FIELDS = false;
+        Properties.VIRTUAL_FS = false;
+        Properties.VIRTUAL_NET = false;
+        Properties.REPLACE_CALLS = false;
+        Properties.REPLACE_SYSTEM_IN = false;
+        Properties.REPLACE_GUI = false;
+        Properties.LOCAL_SEARCH_BUDGET_TYPE = Properties.LocalSearchBudgetType.FITNESS_EVALUATIONS;
+        Properties.LOCAL_SEARCH_BUDGET = 1;
+        LocalSearchBudget.getInstance().localSearchStarted();
+
+        DefaultTestCase testCase = new DefaultTestCase();
+        testCase.addStatement(new IntPrimitiveStatement(testCase, 0));
+        TestChromosome test = new TestChromosome();
+        test.setTestCase(testCase);
+
+        LocalSearchObjective<TestChromosome> objective = buildObjective(new ArrayList<>());
+        boolean improved = new IntegerLocalSearch<Integer>().doSearch(test, 0, objective);
+
+        assertTrue(improved);
+        assertEquals(TARGET, (int) ((IntPrimitiveStatement) testCase.getStatement(0)).getValue());
+        verify(objective, atLeastOnce()).hasChangedWithoutExecution(any());
+        // the objective does not count its evaluations, the decrement executed with the first increment does
+        assertTrue(LocalSearchBudget.getInstance().isFinished());
+    }
+}
@@ -24,12 +24,28 @@ import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.PrimitiveStatement;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.*;
+import java.util.List;
 
 public class TestSerialization {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static TestChromosome createTest(int length) {
+        TestCase test = new DefaultTestCase();
+        for (int i = 0; i < length; i++) {
+            test.addStatement(PrimitiveStatement.getPrimitiveStatement(test, int.class));
+        }
+        TestChromosome testChromosome = new TestChromosome();
+        testChromosome.setTestCase(test);
+        return testChromosome;
+    }
+
     @Test
     public void testSerializationNonEmptySuite() throws IOException, ClassNotFoundException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -62,4 +78,38 @@ public class TestSerialization {
 
         Assert.assertEquals(chromosome.getTestChromosome(0).getFitness(), copy.getTestChromosome(0).getFitness(), 0.0);
     }
+
+    @Test
+    public void testSaveAndLoadTests() throws IOException {
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        for (int i = 1; i <= 10; i++) {
+            suite.addTest(createTest(i));
+        }
+        File target = new File(folder.getRoot(), "tests.ser");
+        Assert.assertTrue(TestSuiteSerialization.saveTests(suite, target));
+
+        List<TestChromosome> tests = TestSuiteSerialization.loadTests(target);
+        Assert.assertEquals(10, tests.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(suite.getTestChromosome(i).getTestCase().toCode(), tests.get(i).getTestCase().toCode());
+        }
+
+        try (TestSuiteSerialization.TestReader reader = TestSuiteSerialization.openTests(target)) {
+            Assert.assertEquals(1, reader.next().size());
+            Assert.assertEquals(2, reader.next().size());
+        }
+    }
+
+    @Test
+    public void testLoadTestsInOldFormat() throws IOException {
+        File target = new File(folder.getRoot(), "old.ser");
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(target))) {
+            out.writeObject(createTest(2));
+            out.writeObject(createTest(3));
+        }
+
+        List<TestChromosome> tests = TestSuiteSerialization.loadTests(target);
+        Assert.assertEquals(2, tests.size());
+        Assert.assertEquals(3, tests.get(1).size());
+    }
 }
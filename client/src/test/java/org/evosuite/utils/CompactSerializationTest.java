@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CompactSerializationTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static class Foo implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final int value;
+        final List<String> names;
+
+        Foo(int value, String... names) {
+            this.value = value;
+            this.names = new ArrayList<>(Arrays.asList(names));
+        }
+    }
+
+    private static class Bar implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final Object notSerializable = new Object();
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        File file = folder.newFile();
+        try (CompactSerialization.Writer writer = new CompactSerialization.Writer(file)) {
+            writer.write(new Foo(1, "a"));
+            writer.write(new Foo(2, "b", "c"));
+            writer.write("end");
+        }
+        Assert.assertTrue(CompactSerialization.isCompact(file));
+
+        try (CompactSerialization.Reader reader = new CompactSerialization.Reader(file)) {
+            Foo first = (Foo) reader.read();
+            Assert.assertEquals(1, first.value);
+            Foo second = (Foo) reader.read();
+            Assert.assertEquals(2, second.value);
+            Assert.assertEquals(Arrays.asList("b", "c"), second.names);
+            Assert.assertEquals("end", reader.read());
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testFailedRecordIsSkipped() throws Exception {
+        File file = folder.newFile();
+        try (CompactSerialization.Writer writer = new CompactSerialization.Writer(file)) {
+            writer.write(new Foo(1));
+            try {
+                writer.write(Arrays.asList(new Foo(2), new Bar()));
+                Assert.fail();
+            } catch (NotSerializableException e) {
+                //expected
+            }
+            // the descriptors of the failed record must be written again
+            writer.write(new Bar[0]);
+            writer.write(new Foo(3));
+        }
+
+        try (CompactSerialization.Reader reader = new CompactSerialization.Reader(file)) {
+            Assert.assertEquals(1, ((Foo) reader.read()).value);
+            Assert.assertEquals(0, ((Bar[]) reader.read()).length);
+            Assert.assertEquals(3, ((Foo) reader.read()).value);
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testSmallerThanJavaSerialization() throws Exception {
+        File compact = folder.newFile();
+        File plain = folder.newFile();
+        try (CompactSerialization.Writer writer = new CompactSerialization.Writer(compact);
+             ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(plain))) {
+            for (int i = 0; i < 1000; i++) {
+                Foo foo = new Foo(i, "name" + i);
+                writer.write(foo);
+                out.writeObject(foo);
+                // needed to not keep all the objects in memory when reading
+                out.reset();
+            }
+        }
+        Assert.assertFalse(CompactSerialization.isCompact(plain));
+        Assert.assertTrue(compact.length() < plain.length());
+    }
+}
@@ -153,7 +153,7 @@ public class ContinuousTestGeneration {
 
         //check project
         ProjectAnalyzer analyzer = new ProjectAnalyzer(target, prefix, cuts);
-        ProjectStaticData data = analyzer.analyze();
+        ProjectStaticData data = analyzer.analyze(StorageManager.getProjectAnalysisFile(), configuration.numberOfCores);
 
         if (data.getTotalNumberOfTestableCUTs() == 0) {
             return "There is no class to test in the chosen project\n" +
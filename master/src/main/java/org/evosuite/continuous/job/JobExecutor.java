@@ -56,6 +56,12 @@ public class JobExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(JobExecutor.class);
 
+    /**
+     * How long a job may run past its budget before it is considered stalled,
+     * eg to start the JVM and write the tests
+     */
+    private static final long STALL_GRACE_IN_MS = 60 * 1000L;
+
     private volatile boolean executing;
     private long startTimeInMs;
 
@@ -68,7 +74,18 @@ public class JobExecutor {
      * Several threads read from this queue to execute jobs
      * on separated process
      */
-    private BlockingQueue<JobDefinition> jobQueue;
+    private volatile JobQueue jobQueue;
+
+    /**
+     * Number of jobs that can run in parallel
+     */
+    private int cores;
+
+    /**
+     * Time by which the handlers of the current execution are stopped, even
+     * if some jobs are not finished
+     */
+    private volatile long deadlineInMs;
 
     /**
      * keep track of all the jobs that have been executed so far.
@@ -121,7 +138,7 @@ public class JobExecutor {
 
         logger.info("Going to execute " + jobs.size() + " jobs");
 
-        initExecution(jobs);
+        initExecution(jobs, cores);
 
         Thread mainThread = new Thread() {
             @Override
@@ -132,7 +149,7 @@ public class JobExecutor {
                     handler.start();
                 }
 
-                long longestJob = -1L;
+                long longestStallTimeout = -1L;
 
                 try {
                     LoggingUtils.getEvoLogger().info("Going to execute " + jobs.size() + " jobs");
@@ -141,18 +158,25 @@ public class JobExecutor {
                     LocalDateTime endBy = LocalDateTime.now().plus(minutes, ChronoUnit.MINUTES);
                     LoggingUtils.getEvoLogger().info("Estimated completion time: " + minutes + " minutes, by " + endBy);
 
-                    longestJob = execute(jobs);
+                    longestStallTimeout = execute(jobs);
                 } catch (Exception e) {
                     logger.error("Error while trying to execute the " + jobs.size() + " jobs: " + e.getMessage(), e);
                 } finally {
                     /*
                      * When we arrive here, in the worst case each handler is still executing a job,
-                     * plus one in the queue.
+                     * plus one in the queue. Jobs that stall are stopped within their stall timeout,
+                     * and a requeued job extends the deadline (see stalledJob).
                      * Note: this check is not precise
                      */
-                    if (!this.isInterrupted() && longestJob > 0) {
+                    if (!this.isInterrupted() && longestStallTimeout > 0) {
+                        extendDeadline(longestStallTimeout * 2);
                         try {
-                            latch.await((longestJob * 2) + (60000), TimeUnit.MILLISECONDS);
+                            long remaining;
+                            while ((remaining = deadlineInMs - System.currentTimeMillis()) > 0) {
+                                if (latch.await(remaining, TimeUnit.MILLISECONDS)) {
+                                    break;
+                                }
+                            }
                         } catch (InterruptedException e) {
                             this.interrupt();
                         }
@@ -168,6 +192,7 @@ public class JobExecutor {
                         handler.stopExecution();
                     }
 
+                    logStatistics();
                     executing = false;
                 }
             } //end of "run"
@@ -175,118 +200,144 @@ public class JobExecutor {
         mainThread.start();
     }
 
-    protected void initExecution(final List<JobDefinition> jobs) {
+    protected void initExecution(final List<JobDefinition> jobs, final int cores) {
         executing = true;
         startTimeInMs = System.currentTimeMillis();
+        deadlineInMs = startTimeInMs;
         latch = new CountDownLatch(jobs.size());
+        this.cores = cores;
 
         /*
-         * there is a good reason to have a blocking queue of size 1.
-         * we want to put jobs on the queue only when we know there is going
-         * to be a handler that can pull it.
-         * this helps the scheduler, as we can wait longer before making the decision
-         * of what job to schedule next
+         * Handlers pull jobs from the queue only when they are idle, and the
+         * queue decides which job to hand out only at that point in time.
+         * This helps the scheduler, as we can wait longer before making the decision
+         * of what job to schedule next (eg, based on which dependencies are finished
+         * and how much memory is left)
          */
-        jobQueue = new ArrayBlockingQueue<>(1);
+        jobQueue = new JobQueue(jobs, configuration.totalMemoryInMB);
         finishedJobs = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Wait till all the jobs have been handed out to the handlers, or the
+     * budget is over
+     *
+     * @param jobs
+     * @return the longest stall timeout among the jobs, in milliseconds
+     */
     protected long execute(List<JobDefinition> jobs) {
 
-        long longestJob = -1L;
-
-        //TODO handle memory
-        Queue<JobDefinition> toExecute = new LinkedList<>(jobs);
-
-        List<JobDefinition> postponed = new LinkedList<>();
-
-        mainLoop:
-        while (!toExecute.isEmpty() || !postponed.isEmpty()) {
+        long longestStallTimeout = -1L;
+        for (JobDefinition job : jobs) {
+            longestStallTimeout = Math.max(longestStallTimeout, getStallTimeoutInMs(job));
+        }
 
+        try {
             long remaining = getRemainingTimeInMs();
-            if (remaining <= 0) {
-                //time is over. do not submit any more job
-                break mainLoop;
-            }
-
-            JobDefinition chosenJob = null;
-
-            //postponed jobs have the priority
-            if (!postponed.isEmpty()) {
-                Iterator<JobDefinition> iterator = postponed.iterator();
-                postponedLoop:
-                while (iterator.hasNext()) {
-                    JobDefinition job = iterator.next();
-                    if (job.areDependenciesSatisfied(jobs, finishedJobs.keySet())) {
-                        chosenJob = job;
-                        iterator.remove();
-                        break postponedLoop;
-                    }
-                }
-            }
-
-            if (chosenJob == null && toExecute.isEmpty()) {
-                assert !postponed.isEmpty();
-                /*
-                 * tricky case: the are no more jobs in the queue, and there are
-                 * jobs that have been postponed. But, at the moment, we shouldn't
-                 * execute them due to missing dependencies.
-                 *
-                 * As the dependencies are just "optimizations" (eg, seeding), it is not
-                 * wrong to execute any of those postponed jobs.
-                 * There might be useful heuristics to pick up one in a smart way but,
-                 * for now, we just choose the first (and so oldest)
-                 */
-                chosenJob = postponed.remove(0); //it is important to get the oldest jobs
-            }
-
-            if (chosenJob == null) {
-                assert !toExecute.isEmpty();
-
-                toExecuteLoop:
-                while (!toExecute.isEmpty()) {
-                    JobDefinition job = toExecute.poll();
-                    if (job.areDependenciesSatisfied(jobs, finishedJobs.keySet())) {
-                        chosenJob = job;
-                        break toExecuteLoop;
-                    } else {
-                        postponed.add(job);
-                    }
-                }
-
-                if (chosenJob == null) {
+            while (remaining > 0) {
+                if (jobQueue.awaitEmpty(remaining)) {
                     /*
-                     * yet another tricky situation: we started with a list of jobs to execute,
-                     * and none in the postponed list; but we cannot execute any of those
-                     * jobs (this could happen if they all depend on jobs that are currently running).
-                     * We should hence just choose one of them. Easiest thing, and most clean,
-                     * to do is just to go back to beginning of the loop
+                     * all jobs have been handed out, but the queue is left open,
+                     * as stalled jobs can still be put back in it
                      */
-                    assert !postponed.isEmpty() && toExecute.isEmpty();
-                    continue mainLoop;
+                    return longestStallTimeout;
                 }
+                remaining = getRemainingTimeInMs();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); //important for check later
+        }
 
-            assert chosenJob != null;
-            longestJob = Math.max(longestJob, chosenJob.seconds * 1000);
-
-            try {
-                jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt(); //important for check later
-                break mainLoop;
-            }
+        //time is over. do not submit any more job
+        List<JobDefinition> left = jobQueue.close();
+        for (int i = 0; i < left.size(); i++) {
+            latch.countDown();
+        }
+        if (!left.isEmpty()) {
+            LoggingUtils.getEvoLogger().info("Not enough time left to execute " + left.size() + " jobs");
         }
 
-        return longestJob;
+        return longestStallTimeout;
     }
 
+    /**
+     * Log queue wait time, core utilisation and idle time of the current execution
+     */
+    protected void logStatistics() {
+        JobQueue queue = jobQueue;
+        long elapsed = System.currentTimeMillis() - startTimeInMs;
+        long available = elapsed * cores;
+        long busy = queue.getBusyTimeInMs();
+        int handedOut = queue.getNumberOfHandedOutJobs();
+
+        double utilisation = available == 0 ? 0d : Math.min(1d, (double) busy / available);
+        long idle = Math.max(0L, available - busy);
+        long averageWait = handedOut == 0 ? 0L : queue.getTotalWaitTimeInMs() / handedOut;
+
+        LoggingUtils.getEvoLogger().info(String.format(
+                "Executed %d jobs (%d stalled) on %d cores in %d seconds. Average queue wait time: %d seconds." +
+                        " Core utilisation: %.1f%%. Idle core time: %d seconds",
+                handedOut, queue.getNumberOfStalledJobs(), cores, elapsed / 1000, averageWait / 1000,
+                utilisation * 100, idle / 1000));
+    }
+
+    /**
+     * @return the queue of the current (or latest) execution
+     */
+    public JobQueue getJobQueue() {
+        return jobQueue;
+    }
+
+    /**
+     * How long to wait for a job before considering it stalled.
+     * The phases of a job share its budget (at least the minimum time
+     * per job, see JobHandler), so a job that is still running after
+     * its budget plus a fixed grace period is stalled
+     *
+     * @param job
+     * @return
+     */
+    public long getStallTimeoutInMs(JobDefinition job) {
+        long seconds = Math.max(job.seconds, 60L * configuration.minMinutesPerJob);
+        return seconds * 1000L + STALL_GRACE_IN_MS;
+    }
+
+    /**
+     * Make sure that the execution does not end before the given time from now
+     */
+    private synchronized void extendDeadline(long delayInMs) {
+        deadlineInMs = Math.max(deadlineInMs, System.currentTimeMillis() + delayInMs);
+    }
 
     public JobDefinition pollJob() throws InterruptedException {
         return jobQueue.take();
     }
 
+    /**
+     * A job has been stopped because it stalled
+     *
+     * @param job
+     * @return whether the job has been put back in the queue. If not, it is done
+     */
+    public boolean stalledJob(JobDefinition job) {
+        boolean requeued = getRemainingTimeInMs() > 0 && jobQueue.requeue(job);
+        if (requeued) {
+            // the job may wait for a busy handler before it runs again
+            extendDeadline(getStallTimeoutInMs(job) * 2);
+            LoggingUtils.getEvoLogger().info("Job for " + job.cut + " stalled, and it is going to be executed again");
+        } else {
+            LoggingUtils.getEvoLogger().info("Job for " + job.cut + " stalled");
+            completed(job);
+        }
+        return requeued;
+    }
+
     public void doneWithJob(JobDefinition job) {
+        jobQueue.done(job);
+        completed(job);
+    }
+
+    private void completed(JobDefinition job) {
         finishedJobs.put(job.cut, job);
         latch.countDown();
         LoggingUtils.getEvoLogger().info("Completed job. Left: " + latch.getCount());
@@ -40,6 +40,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The class that actually execute the job as a separated process
@@ -108,6 +109,7 @@ public class JobHandler extends Thread {
             }
 
             Process process = null;
+            boolean stalled = false;
 
             try {
 
@@ -139,9 +141,16 @@ public class JobHandler extends Thread {
                 process = builder.start();
                 latestProcess = process;
 
-                int exitCode = process.waitFor(); //no need to have timeout here, as it is handled by the scheduler/executor
-
-                if (exitCode != 0) {
+                /*
+                 * The process should end by itself within its budget. If it does not,
+                 * it is stalled: it is stopped, to give its core to another job
+                 */
+                if (!process.waitFor(executor.getStallTimeoutInMs(job), TimeUnit.MILLISECONDS)) {
+                    logger.warn("Job for " + job.cut + " did not end in time. Stopping it");
+                    process.destroyForcibly();
+                    stalled = true;
+                    executor.stalledJob(job);
+                } else if (process.exitValue() != 0) {
                     handleProcessError(job, process);
                 }
 
@@ -163,9 +172,12 @@ public class JobHandler extends Thread {
             } finally {
                 /*
                  * if there were problems with this job, still
-                 * be sure to decrease the job counter
+                 * be sure to decrease the job counter.
+                 * Stalled jobs are already handled by the executor
                  */
-                executor.doneWithJob(job);
+                if (!stalled) {
+                    executor.doneWithJob(job);
+                }
             }
         }
     }
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.job;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queue of the jobs of a schedule, from which idle {@link JobHandler}s pull
+ * their next job.
+ *
+ * <p>
+ * Jobs are handed out by priority: first the jobs other jobs (transitively) depend on,
+ * ordered by the length of the longest chain of jobs waiting for them, and then the
+ * longest jobs first. Starting the longest jobs first avoids ending a run with few long
+ * jobs running while the other cores are idle.
+ *
+ * <p>
+ * A job is only handed out if its memory fits in what is left of the memory budget
+ * by the jobs currently running. If no job is running, the first job is handed out regardless
+ * of its memory, otherwise it could never be executed.
+ *
+ * <p>
+ * Jobs whose dependencies are not finished yet are postponed, as long as there are other
+ * jobs that can be executed. As dependencies are just optimizations (eg, seeding), a postponed
+ * job is handed out instead of leaving a core idle.
+ */
+public class JobQueue {
+
+    private final int totalMemoryInMB;
+
+    /**
+     * Jobs still to hand out, sorted by priority
+     */
+    private final List<JobDefinition> pending;
+
+    /**
+     * The CUTs in the schedule. Dependencies on other CUTs are not waited for
+     */
+    private final Set<String> scheduled;
+
+    private final Set<String> finished = new HashSet<>();
+
+    /**
+     * Jobs that have been put back in the queue after they stalled
+     */
+    private final Set<Integer> requeued = new HashSet<>();
+
+    /**
+     * When each pending job was put in the queue, and when each running job started
+     */
+    private final Map<Integer, Long> timestamps = new HashMap<>();
+
+    private final Map<Integer, Integer> depths = new HashMap<>();
+
+    private final Map<Integer, Integer> positions = new HashMap<>();
+
+    private int usedMemoryInMB;
+
+    private int running;
+
+    private boolean closed;
+
+    private long totalWaitTimeInMs;
+
+    private long busyTimeInMs;
+
+    private int handedOut;
+
+    private int stalled;
+
+    public JobQueue(List<JobDefinition> jobs, int totalMemoryInMB) {
+        this.totalMemoryInMB = totalMemoryInMB;
+        this.pending = new ArrayList<>(jobs);
+        this.scheduled = new HashSet<>();
+        for (JobDefinition job : jobs) {
+            scheduled.add(job.cut);
+        }
+
+        computeDepths(jobs);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < jobs.size(); i++) {
+            JobDefinition job = jobs.get(i);
+            positions.put(job.jobID, i);
+            timestamps.put(job.jobID, now);
+        }
+        pending.sort(getPriority());
+    }
+
+    /**
+     * Compute the length of the longest chain of jobs that depend on each job
+     */
+    private void computeDepths(List<JobDefinition> jobs) {
+        Map<String, List<JobDefinition>> dependents = new HashMap<>();
+        for (JobDefinition job : jobs) {
+            if (job.dependentOnClasses == null) {
+                continue;
+            }
+            for (String cut : job.dependentOnClasses) {
+                dependents.computeIfAbsent(cut, k -> new ArrayList<>()).add(job);
+            }
+        }
+        for (JobDefinition job : jobs) {
+            computeDepth(job, dependents, new HashSet<>());
+        }
+    }
+
+    private int computeDepth(JobDefinition job, Map<String, List<JobDefinition>> dependents,
+                             Set<Integer> visiting) {
+        Integer depth = depths.get(job.jobID);
+        if (depth != null) {
+            return depth;
+        }
+        if (!visiting.add(job.jobID)) {
+            return 0; //cyclic dependency
+        }
+        int max = 0;
+        for (JobDefinition other : dependents.getOrDefault(job.cut, Collections.emptyList())) {
+            max = Math.max(max, 1 + computeDepth(other, dependents, visiting));
+        }
+        visiting.remove(job.jobID);
+        depths.put(job.jobID, max);
+        return max;
+    }
+
+    private Comparator<JobDefinition> getPriority() {
+        return Comparator.<JobDefinition, Boolean>comparing(job -> requeued.contains(job.jobID))
+                .thenComparing(job -> -depths.getOrDefault(job.jobID, 0))
+                .thenComparing(job -> -job.seconds)
+                .thenComparing(job -> positions.getOrDefault(job.jobID, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Wait for the next job to execute
+     *
+     * @return the job, which has to be given back with {@link #done(JobDefinition)}
+     * or {@link #requeue(JobDefinition)}
+     * @throws InterruptedException
+     */
+    public synchronized JobDefinition take() throws InterruptedException {
+        while (true) {
+            JobDefinition job = closed ? null : choose();
+            if (job != null) {
+                pending.remove(job);
+                long now = System.currentTimeMillis();
+                totalWaitTimeInMs += now - timestamps.get(job.jobID);
+                timestamps.put(job.jobID, now);
+                usedMemoryInMB += job.memoryInMB;
+                running++;
+                handedOut++;
+                notifyAll();
+                return job;
+            }
+            wait();
+        }
+    }
+
+    private JobDefinition choose() {
+        if (pending.isEmpty()) {
+            return null;
+        }
+        if (running == 0) {
+            JobDefinition ready = firstFitting(true);
+            return ready != null ? ready : pending.get(0);
+        }
+        JobDefinition ready = firstFitting(true);
+        if (ready != null) {
+            return ready;
+        }
+        if (hasReadyJob()) {
+            //wait for memory to be released, instead of running a postponed job
+            return null;
+        }
+        return firstFitting(false);
+    }
+
+    private JobDefinition firstFitting(boolean onlyReady) {
+        for (JobDefinition job : pending) {
+            if (onlyReady && !isReady(job)) {
+                continue;
+            }
+            if (running == 0 || usedMemoryInMB + job.memoryInMB <= totalMemoryInMB) {
+                return job;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasReadyJob() {
+        for (JobDefinition job : pending) {
+            if (isReady(job)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isReady(JobDefinition job) {
+        if (job.dependentOnClasses == null) {
+            return true;
+        }
+        for (String cut : job.dependentOnClasses) {
+            if (scheduled.contains(cut) && !finished.contains(cut)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A job handed out by {@link #take()} is finished
+     *
+     * @param job
+     */
+    public synchronized void done(JobDefinition job) {
+        release(job);
+        finished.add(job.cut);
+        notifyAll();
+    }
+
+    /**
+     * A job handed out by {@link #take()} stalled and was stopped. It is put back in the
+     * queue, after all the other jobs, unless it has already been put back once
+     *
+     * @param job
+     * @return whether the job is going to be executed again
+     */
+    public synchronized boolean requeue(JobDefinition job) {
+        release(job);
+        stalled++;
+        if (closed || !requeued.add(job.jobID)) {
+            finished.add(job.cut);
+            notifyAll();
+            return false;
+        }
+        timestamps.put(job.jobID, System.currentTimeMillis());
+        pending.add(job);
+        pending.sort(getPriority());
+        notifyAll();
+        return true;
+    }
+
+    private void release(JobDefinition job) {
+        Long start = timestamps.get(job.jobID);
+        if (start != null) {
+            busyTimeInMs += System.currentTimeMillis() - start;
+        }
+        usedMemoryInMB -= job.memoryInMB;
+        running--;
+    }
+
+    /**
+     * Do not hand out any more job, eg because the search budget is over
+     *
+     * @return the jobs that will not be executed
+     */
+    public synchronized List<JobDefinition> close() {
+        closed = true;
+        List<JobDefinition> left = new ArrayList<>(pending);
+        pending.clear();
+        notifyAll();
+        return left;
+    }
+
+    /**
+     * Wait till all the jobs have been handed out
+     *
+     * @param timeoutInMs
+     * @return whether there are no more jobs to hand out
+     * @throws InterruptedException
+     */
+    public synchronized boolean awaitEmpty(long timeoutInMs) throws InterruptedException {
+        long end = System.currentTimeMillis() + timeoutInMs;
+        long remaining = timeoutInMs;
+        while (!pending.isEmpty() && remaining > 0) {
+            wait(remaining);
+            remaining = end - System.currentTimeMillis();
+        }
+        return pending.isEmpty();
+    }
+
+    public synchronized int getNumberOfPendingJobs() {
+        return pending.size();
+    }
+
+    public synchronized int getNumberOfRunningJobs() {
+        return running;
+    }
+
+    public synchronized int getUsedMemoryInMB() {
+        return usedMemoryInMB;
+    }
+
+    /**
+     * @return the number of times a job was handed out, including re-executions
+     */
+    public synchronized int getNumberOfHandedOutJobs() {
+        return handedOut;
+    }
+
+    public synchronized int getNumberOfStalledJobs() {
+        return stalled;
+    }
+
+    /**
+     * @return the total time the handed out jobs waited in the queue
+     */
+    public synchronized long getTotalWaitTimeInMs() {
+        return totalWaitTimeInMs;
+    }
+
+    /**
+     * @return the total time spent executing jobs, summed over all cores
+     */
+    public synchronized long getBusyTimeInMs() {
+        return busyTimeInMs;
+    }
+
+    /**
+     * @param job
+     * @return the length of the longest chain of jobs in the schedule that depend on the given one
+     */
+    public synchronized int getDepth(JobDefinition job) {
+        return depths.getOrDefault(job.jobID, 0);
+    }
+}
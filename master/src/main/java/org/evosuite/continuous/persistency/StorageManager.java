@@ -458,6 +458,13 @@ public class StorageManager {
         return new File(Properties.CTG_DIR + File.separator + Properties.CTG_PROJECT_INFO);
     }
 
+    /**
+     * @return the file where the static analysis of the project is persisted between CTG executions
+     */
+    public static File getProjectAnalysisFile() {
+        return new File(Properties.CTG_DIR + File.separator + Properties.CTG_PROJECT_ANALYSIS);
+    }
+
     /**
      * Not only modify the state of <code>db</code>, but
      * also copy/replace new test cases on file disk
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.project;
+
+import org.apache.commons.io.FileUtils;
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * The static data of the classes of the project computed by previous analyses, persisted
+ * between CTG executions. The data of a class only depends on its bytecode and on the few
+ * properties that decide which methods are counted, so it is reused as long as the hash
+ * of those does not change.
+ *
+ * <p>
+ * The data is stored in a text file, with a line for each class: name, hash of
+ * the bytecode, number of branches and whether it has code, separated by tabs.
+ */
+public class ProjectAnalysisCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectAnalysisCache.class);
+
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * To increase whenever the analysis changes, so that previously computed data is not used
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Immutable static data of a class
+     */
+    public static class Entry {
+        public final String className;
+        public final String hash;
+        public final int numberOfBranches;
+        public final boolean hasCode;
+
+        public Entry(String className, String hash, int numberOfBranches, boolean hasCode) {
+            this.className = className;
+            this.hash = hash;
+            this.numberOfBranches = numberOfBranches;
+            this.hasCode = hasCode;
+        }
+    }
+
+    /**
+     * Map from class name (key) to the last data computed for it (value)
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Load the data saved in the given file. If the file does not exist or cannot be
+     * read, the cache is empty.
+     *
+     * @param file
+     * @return
+     */
+    public static ProjectAnalysisCache load(File file) {
+        ProjectAnalysisCache cache = new ProjectAnalysisCache();
+        if (file == null || !file.exists()) {
+            return cache;
+        }
+
+        List<String> lines;
+        try {
+            lines = FileUtils.readLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Cannot read the previous analysis of the project in " + file + ": " + e.getMessage());
+            return cache;
+        }
+
+        for (String line : lines) {
+            String[] tokens = line.split(SEPARATOR);
+            if (tokens.length != 4) {
+                continue;
+            }
+            try {
+                cache.put(new Entry(tokens[0], tokens[1], Integer.parseInt(tokens[2]),
+                        Boolean.parseBoolean(tokens[3])));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid line in " + file + ": " + line);
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Save the data of the classes that still exist
+     *
+     * @param file
+     * @param exists whether a class does still exist in the project
+     */
+    public void save(File file, Predicate<String> exists) {
+        StringBuilder builder = new StringBuilder();
+        for (Entry entry : entries.values()) {
+            if (!exists.test(entry.className)) {
+                continue;
+            }
+            builder.append(entry.className).append(SEPARATOR)
+                    .append(entry.hash).append(SEPARATOR)
+                    .append(entry.numberOfBranches).append(SEPARATOR)
+                    .append(entry.hasCode).append("\n");
+        }
+        try {
+            FileUtils.write(file, builder.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("Failed to save the analysis of the project in " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param className
+     * @param hash      the hash of the current bytecode of the class
+     * @return the data of the class, or <code>null</code> if the class has changed since it was analyzed
+     */
+    public Entry get(String className, String hash) {
+        Entry entry = entries.get(className);
+        if (entry == null || !entry.hash.equals(hash)) {
+            return null;
+        }
+        return entry;
+    }
+
+    public void put(Entry entry) {
+        entries.put(entry.className, entry);
+    }
+
+    public Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * @param bytecode
+     * @return the hash identifying the given bytecode, analyzed with the current properties
+     */
+    public static String hash(byte[] bytecode) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            //SHA-1 is available in every JVM
+            throw new IllegalStateException(e);
+        }
+        String settings = VERSION + SEPARATOR + Properties.CONSIDER_MAIN_METHODS
+                + SEPARATOR + (Properties.P_REFLECTION_ON_PRIVATE > 0.0);
+        digest.update(settings.getBytes(StandardCharsets.UTF_8));
+        digest.update(bytecode);
+
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.evosuite.continuous.project;
 
+import org.apache.commons.io.IOUtils;
 import org.evosuite.Properties;
 import org.evosuite.Properties.AvailableSchedule;
 import org.evosuite.TestGenerationContext;
@@ -28,14 +29,31 @@ import org.evosuite.classpath.ResourceList;
 import org.evosuite.continuous.job.schedule.HistorySchedule;
 import org.evosuite.continuous.project.ProjectStaticData.ClassInfo;
 import org.evosuite.coverage.branch.BranchPool;
-import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.graphs.cfg.CFGMethodAdapter;
 import org.evosuite.junit.CoverageAnalysis;
-import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.runtime.annotation.EvoSuiteExclude;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>
@@ -76,6 +94,11 @@ public class ProjectAnalyzer {
      */
     private final boolean validateCutsToAnalyze;
 
+    /**
+     * How many classes were not analyzed again in the last analysis
+     */
+    private final AtomicInteger numberOfReusedClasses = new AtomicInteger(0);
+
     /**
      * Main constructor
      *
@@ -187,64 +210,195 @@ public class ProjectAnalyzer {
      * @return
      */
     public ProjectStaticData analyze() {
+        return analyze(null, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Analyze the classes in the given target, reusing the results of the previous
+     * analysis for the classes whose bytecode has not changed since then
+     *
+     * @param cacheFile       where the results of the analysis are persisted between executions.
+     *                        If <code>null</code>, all classes are analyzed
+     * @param numberOfThreads how many classes can be analyzed in parallel
+     * @return
+     */
+    public ProjectStaticData analyze(File cacheFile, int numberOfThreads) {
 
         ProjectStaticData data = new ProjectStaticData();
         if (Properties.CTG_SCHEDULE.equals(AvailableSchedule.HISTORY)) {
             data.initializeLocalHistory();
         }
 
-        for (String className : getCutsToAnalyze()) {
-            Class<?> theClass = null;
-            int numberOfBranches = -1;
-            boolean hasCode = false;
+        ProjectAnalysisCache cache = ProjectAnalysisCache.load(cacheFile);
+        numberOfReusedClasses.set(0);
+
+        /*
+         * ResourceList is not thread-safe, so the bytecode is read here,
+         * and only hashed and analyzed by the workers
+         */
+        ResourceList resources = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, numberOfThreads));
+        Map<String, Future<ProjectAnalysisCache.Entry>> results = new LinkedHashMap<>();
+
+        try {
+            for (String className : getCutsToAnalyze()) {
+                byte[] bytecode = readBytecode(resources, className);
+                if (bytecode == null) {
+                    logger.warn("Cannot handle " + className + " due to: missing bytecode");
+                    continue;
+                }
+                results.put(className, executor.submit(() -> analyzeClass(className, bytecode, cache)));
+            }
 
-            Properties.TARGET_CLASS = className;
-            InstrumentingClassLoader instrumenting = new InstrumentingClassLoader();
+            for (Map.Entry<String, Future<ProjectAnalysisCache.Entry>> result : results.entrySet()) {
+                String className = result.getKey();
+                ProjectAnalysisCache.Entry entry;
+                Class<?> theClass;
+                try {
+                    entry = result.getValue().get();
+                    /*
+                     * just to avoid possible issues with instrumenting classloader
+                     */
+                    theClass = ClassPathHacker.getContinuousClassLoader().loadClass(className);
+                } catch (ExecutionException e) {
+                    logger.warn("Cannot handle " + className + " due to: " + e.getCause());
+                    continue;
+                } catch (ClassNotFoundException | LinkageError e) {
+                    logger.warn("Cannot handle " + className + " due to: " + e.getClass() + " " + e.getMessage());
+                    continue;
+                }
 
-            BranchPool.getInstance(instrumenting).reset();
+                ClassInfo ci = new ClassInfo(theClass, entry.numberOfBranches, entry.hasCode);
+                data.addNewClass(ci);
 
-            try {
-                /*
-                 * to access number of branches, we need to use
-                 * instrumenting class loader. But loading a class would
-                 * execute its static code, and so we need to
-                 * use a security manager.
-                 */
-                Sandbox.goingToExecuteUnsafeCodeOnSameThread();
-                instrumenting.loadClass(className);
+                if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY) {
+                    ci.setChanged(data.hasChanged(theClass.getCanonicalName() + ".java"));
+                    ci.isToTest(data.isToTest(theClass.getCanonicalName(), HistorySchedule.COMMIT_IMPROVEMENT));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
 
-                numberOfBranches = BranchPool.getInstance(instrumenting).getBranchCounter();
-                hasCode = (numberOfBranches > 0) || (BranchPool.getInstance(instrumenting).getBranchlessMethods().size() > 0);
+        if (cacheFile != null) {
+            cache.save(cacheFile, results::containsKey);
+        }
+        logger.info("Analyzed " + results.size() + " classes, " + numberOfReusedClasses.get()
+                + " of them unchanged since the previous analysis");
 
-                /*
-                 * just to avoid possible issues with instrumenting classloader
-                 */
-                theClass = ClassPathHacker.getContinuousClassLoader().loadClass(className);
+        return data;
+    }
+
+    /**
+     * @return how many classes were not analyzed again in the last analysis, as their bytecode did not change
+     */
+    public int getNumberOfReusedClasses() {
+        return numberOfReusedClasses.get();
+    }
+
+    private static byte[] readBytecode(ResourceList resources, String className) {
+        InputStream stream = resources.getClassAsStream(className);
+        if (stream == null) {
+            return null;
+        }
+        try (InputStream in = stream) {
+            return IOUtils.toByteArray(in);
+        } catch (IOException e) {
+            logger.warn("Failed to read the bytecode of " + className + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private ProjectAnalysisCache.Entry analyzeClass(String className, byte[] bytecode, ProjectAnalysisCache cache) {
+        String hash = ProjectAnalysisCache.hash(bytecode);
+        ProjectAnalysisCache.Entry entry = cache.get(className, hash);
+        if (entry != null) {
+            numberOfReusedClasses.incrementAndGet();
+            return entry;
+        }
+        entry = analyzeBytecode(className, hash, bytecode);
+        cache.put(entry);
+        return entry;
+    }
+
+    /**
+     * Count the branches of the class directly on its bytecode, following the same
+     * rules as {@link org.evosuite.graphs.cfg.CFGMethodAdapter} and {@link BranchPool}.
+     * Instrumenting the class would give the same numbers, but it relies on global state
+     * (e.g., the target class and the pools of the CFGs), and so it could not be done in parallel.
+     */
+    private static ProjectAnalysisCache.Entry analyzeBytecode(String className, String hash, byte[] bytecode) {
+        ClassNode cn = new ClassNode();
+        new ClassReader(bytecode).accept(cn, ClassReader.SKIP_FRAMES);
 
-                //TODO kind
-                //if(theClass.isInterface()){
-                //	kind = ClassKind.INTERFACE;
-                //} else if(theClass.is  Modifier.isAbstract( someClass.getModifiers() );
+        int numberOfBranches = 0;
+        boolean hasBranchlessMethods = false;
 
-            } catch (Exception e) {
-                logger.warn("Cannot handle " + className + " due to: " + e.getClass() + " " + e.getMessage());
+        for (MethodNode mn : cn.methods) {
+            if (!isInstrumented(mn)) {
                 continue;
-            } finally {
-                Sandbox.doneWithExecutingUnsafeCodeOnSameThread();
-                BranchPool.getInstance(instrumenting).reset();
-                Properties.TARGET_CLASS = "";
             }
+            int branches = 0;
+            for (AbstractInsnNode insn : mn.instructions) {
+                if (insn instanceof JumpInsnNode && insn.getOpcode() != Opcodes.GOTO) {
+                    branches++;
+                } else if (insn instanceof TableSwitchInsnNode) {
+                    TableSwitchInsnNode tsin = (TableSwitchInsnNode) insn;
+                    // one branch for each case, plus the default one
+                    branches += tsin.max - tsin.min + 2;
+                } else if (insn instanceof LookupSwitchInsnNode) {
+                    branches += ((LookupSwitchInsnNode) insn).keys.size() + 1;
+                }
+            }
+            numberOfBranches += branches;
+            if (branches == 0 && isUsable(mn)) {
+                hasBranchlessMethods = true;
+            }
+        }
 
-            ClassInfo ci = new ClassInfo(theClass, numberOfBranches, hasCode);
-            data.addNewClass(ci);
+        boolean hasCode = (numberOfBranches > 0) || hasBranchlessMethods;
+        return new ProjectAnalysisCache.Entry(className, hash, numberOfBranches, hasCode);
+    }
 
-            if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY) {
-                ci.setChanged(data.hasChanged(theClass.getCanonicalName() + ".java"));
-                ci.isToTest(data.isToTest(theClass.getCanonicalName(), HistorySchedule.COMMIT_IMPROVEMENT));
+    private static boolean isInstrumented(MethodNode mn) {
+        if ((mn.access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
+            return false;
+        }
+        if (CFGMethodAdapter.EXCLUDE.contains(mn.name + mn.desc)) {
+            return false;
+        }
+        if (!Properties.CONSIDER_MAIN_METHODS && mn.name.equals("main") && (mn.access & Opcodes.ACC_STATIC) != 0) {
+            return false;
+        }
+        String excludeAnnotation = Type.getDescriptor(EvoSuiteExclude.class);
+        for (List<AnnotationNode> annotations : Arrays.asList(mn.visibleAnnotations, mn.invisibleAnnotations)) {
+            if (annotations == null) {
+                continue;
+            }
+            for (AnnotationNode annotation : annotations) {
+                if (excludeAnnotation.equals(annotation.desc)) {
+                    return false;
+                }
             }
         }
+        return true;
+    }
 
-        return data;
+    /**
+     * See CFGMethodAdapter.isUsable()
+     */
+    private static boolean isUsable(MethodNode mn) {
+        if ((mn.access & (Opcodes.ACC_SYNTHETIC | Opcodes.ACC_BRIDGE | Opcodes.ACC_NATIVE)) != 0) {
+            return false;
+        }
+        if (mn.name.equals("<clinit>")) {
+            return false;
+        }
+        if (Properties.P_REFLECTION_ON_PRIVATE <= 0.0) {
+            return !mn.name.equals("<init>") || (mn.access & Opcodes.ACC_PRIVATE) == 0;
+        }
+        return true;
     }
 }
-
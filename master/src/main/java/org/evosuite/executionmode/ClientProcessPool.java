@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.executionmode;
+
+import org.evosuite.Properties;
+import org.evosuite.rmi.MasterServices;
+import org.evosuite.rmi.service.ClientNodeRemote;
+import org.evosuite.utils.ExternalProcessGroupHandler;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client processes kept alive after their search, to generate tests for the next
+ * target classes. This avoids paying for the start and the warm-up of a new JVM
+ * for each target class.
+ *
+ * <p>
+ * A client is only reused for a target class if it was started with the same configuration
+ * (strategy, options and classpath), and until it has served {@link Properties#CLIENT_REUSE}
+ * target classes. The client fully resets itself before each new target class.
+ */
+public class ClientProcessPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProcessPool.class);
+
+    private static final ClientProcessPool instance = new ClientProcessPool();
+
+    private ExternalProcessGroupHandler handler;
+
+    private LoggingUtils[] logServers;
+
+    /**
+     * The configuration the clients were started with
+     */
+    private List<String> configuration;
+
+    /**
+     * Number of target classes the clients have been used for
+     */
+    private int servedTargets;
+
+    private ClientProcessPool() {
+    }
+
+    public static ClientProcessPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the handler of the pooled clients, or <code>null</code> if there is none
+     */
+    public synchronized ExternalProcessGroupHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Keep the given clients, which have just been started, in the pool
+     *
+     * @param handler       the handler of the client processes
+     * @param logServers    the log servers the clients send their logs to
+     * @param configuration the configuration the clients were started with
+     */
+    public synchronized void register(ExternalProcessGroupHandler handler, LoggingUtils[] logServers,
+                                      List<String> configuration) {
+        this.handler = handler;
+        this.logServers = logServers;
+        this.configuration = new ArrayList<>(configuration);
+        this.servedTargets = 1;
+    }
+
+    /**
+     * @param configuration the configuration the clients for the next target class would be started with
+     * @return whether the pooled clients can be used for the next target class
+     */
+    public synchronized boolean canServe(List<String> configuration) {
+        return handler != null
+                && servedTargets < Properties.CLIENT_REUSE
+                && this.configuration.equals(configuration)
+                && handler.areAllProcessesRunning();
+    }
+
+    /**
+     * Reset the pooled clients, and set them up for the given target class
+     *
+     * @param targetClass
+     * @return whether all the clients are ready to start a new search
+     */
+    public synchronized boolean prepareForNewTarget(String targetClass) {
+        Map<String, ClientNodeRemote> clients;
+        try {
+            clients = MasterServices.getInstance().getMasterNode().getClientsOnceAllConnected(1000);
+        } catch (InterruptedException e) {
+            return false;
+        }
+        if (clients == null) {
+            return false;
+        }
+
+        LoggingUtils.getEvoLogger().info("* Reusing client process for class: " + targetClass);
+        for (ClientNodeRemote client : clients.values()) {
+            try {
+                client.prepareForNewTarget(targetClass);
+            } catch (RemoteException | IllegalStateException e) {
+                logger.error("Failed to reuse client process for " + targetClass, e);
+                return false;
+            }
+        }
+        servedTargets++;
+        return true;
+    }
+
+    /**
+     * Kill the pooled clients, and stop the services that were kept running for them
+     */
+    public synchronized void shutdown() {
+        if (handler == null) {
+            return;
+        }
+
+        if (Properties.CLIENT_ON_THREAD) {
+            handler.stopAndWaitForClientOnThread(10000);
+        }
+        handler.killAllProcesses();
+        handler.closeServer();
+
+        if (logServers != null) {
+            for (LoggingUtils logServer : logServers) {
+                if (logServer != null) {
+                    logServer.closeLogServer();
+                }
+            }
+        }
+
+        handler = null;
+        logServers = null;
+        configuration = null;
+        servedTargets = 0;
+    }
+}
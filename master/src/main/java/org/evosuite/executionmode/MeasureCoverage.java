@@ -30,6 +30,7 @@ import org.evosuite.instrumentation.BytecodeInstrumentation;
 import org.evosuite.rmi.MasterServices;
 import org.evosuite.rmi.service.ClientNodeRemote;
 import org.evosuite.runtime.util.JavaExecCmdUtil;
+import org.evosuite.statistics.CoverageShardMerger;
 import org.evosuite.statistics.SearchStatistics;
 import org.evosuite.utils.ExternalProcessGroupHandler;
 import org.evosuite.utils.LoggingUtils;
@@ -38,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.List;
@@ -99,7 +101,8 @@ public class MeasureCoverage {
 
         classPath += !classPath.isEmpty() ? File.pathSeparator + projectCP : projectCP;
 
-        ExternalProcessGroupHandler handler = new ExternalProcessGroupHandler();
+        int numberOfClients = Math.max(1, Properties.NUM_PARALLEL_CLIENTS);
+        ExternalProcessGroupHandler handler = new ExternalProcessGroupHandler(numberOfClients);
         int port = handler.openServer();
         List<String> cmdLine = new ArrayList<>();
         cmdLine.add(JavaExecCmdUtil.getJavaBinExecutablePath(true)/*EvoSuite.JAVA_CMD*/);
@@ -126,7 +129,18 @@ public class MeasureCoverage {
         }
 
         cmdLine.add("-Dclassloader=true");
-        cmdLine.add(ClientProcess.class.getName());
+
+        if (numberOfClients > 1 && Properties.INSTRUMENTATION_CACHE_DIR.isEmpty()
+                && args.stream().noneMatch(arg -> arg.startsWith("-Dinstrumentation_cache_dir="))) {
+            // the clients load the same classes, so they can share their instrumentation
+            try {
+                File cacheDir = Files.createTempDirectory("EvoSuite_instrumentation_cache").toFile();
+                cacheDir.deleteOnExit();
+                cmdLine.add("-Dinstrumentation_cache_dir=" + cacheDir.getAbsolutePath());
+            } catch (IOException e) {
+                logger.warn("Cannot create instrumentation cache shared by the clients: " + e.getMessage());
+            }
+        }
 
         /*
          * TODO: here we start the client with several properties that are set through -D. These properties are not visible to the master process (ie
@@ -152,7 +166,19 @@ public class MeasureCoverage {
             cmdLine.add(1, "-Devosuite.log.appender=CLIENT");
         }
 
-        String[] newArgs = cmdLine.toArray(new String[cmdLine.size()]);
+        /*
+         * With several clients, each one measures the coverage of a subset of the test classes
+         */
+        List<String[]> processArgs = new ArrayList<>();
+        for (int i = 0; i < numberOfClients; i++) {
+            List<String> cmdLineClone = new ArrayList<>(cmdLine);
+            cmdLineClone.add(ClientProcess.class.getName());
+            if (numberOfClients > 1) {
+                cmdLineClone.add(ClientProcess.CLIENT_PREFIX + i);
+            }
+            processArgs.add(cmdLineClone.toArray(new String[0]));
+        }
+
         for (String entry : ClassPathHandler.getInstance().getClassPathElementsForTargetProject()) {
             try {
                 ClassPathHacker.addFile(entry);
@@ -163,7 +189,7 @@ public class MeasureCoverage {
         }
 
         handler.setBaseDir(EvoSuite.base_dir_path);
-        if (handler.startProcess(newArgs)) {
+        if (handler.startProcessGroup(processArgs)) {
             Set<ClientNodeRemote> clients = null;
             try {
                 clients = new CopyOnWriteArraySet<>(MasterServices.getInstance().getMasterNode()
@@ -193,7 +219,14 @@ public class MeasureCoverage {
                 Thread.sleep(100);
             } catch (InterruptedException e) {
             }
-            if (Properties.NEW_STATISTICS) {
+            if (MasterServices.getInstance().getMasterNode() != null) {
+                MasterServices.getInstance().getMasterNode().flushStatistics();
+            }
+            if (numberOfClients > 1) {
+                // the statistics of each target class were written as soon as all clients sent their coverage
+                CoverageShardMerger.getInstance().writeIncompleteShards();
+                CoverageShardMerger.clearInstance();
+            } else if (Properties.NEW_STATISTICS) {
                 if (MasterServices.getInstance().getMasterNode() == null) {
                     logger.error("Cannot write results as RMI master node is not running");
                 } else {
@@ -202,7 +235,7 @@ public class MeasureCoverage {
                     SearchStatistics.getInstance().writeStatisticsForAnalysis();
                 }
             }
-            handler.killProcess();
+            handler.killAllProcesses();
 
         } else {
             LoggingUtils.getEvoLogger().info("* Could not connect to client process");
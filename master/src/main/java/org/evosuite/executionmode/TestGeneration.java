@@ -79,20 +79,24 @@ public class TestGeneration {
         }
 
 
-        if (line.hasOption("class")) {
-            results.addAll(generateTests(strategy, line.getOptionValue("class"), javaOpts));
-        } else if (line.hasOption("prefix")) {
-            results.addAll(generateTestsPrefix(strategy, line.getOptionValue("prefix"), javaOpts));
-        } else if (line.hasOption("target")) {
-            String target = line.getOptionValue("target");
-            results.addAll(generateTestsTarget(strategy, target, javaOpts));
-        } else if (EvoSuite.hasLegacyTargets()) {
-            results.addAll(generateTestsLegacy(strategy, javaOpts));
-        } else {
-            LoggingUtils.getEvoLogger().error(
-                    "Please specify either target class ('-class' option), prefix ('-prefix' option), or " +
-                            "classpath entry ('-target' option)\n");
-            Help.execute(options);
+        try {
+            if (line.hasOption("class")) {
+                results.addAll(generateTests(strategy, line.getOptionValue("class"), javaOpts));
+            } else if (line.hasOption("prefix")) {
+                results.addAll(generateTestsPrefix(strategy, line.getOptionValue("prefix"), javaOpts));
+            } else if (line.hasOption("target")) {
+                String target = line.getOptionValue("target");
+                results.addAll(generateTestsTarget(strategy, target, javaOpts));
+            } else if (EvoSuite.hasLegacyTargets()) {
+                results.addAll(generateTestsLegacy(strategy, javaOpts));
+            } else {
+                LoggingUtils.getEvoLogger().error(
+                        "Please specify either target class ('-class' option), prefix ('-prefix' option), or " +
+                                "classpath entry ('-target' option)\n");
+                Help.execute(options);
+            }
+        } finally {
+            ClientProcessPool.getInstance().shutdown();
         }
         return results;
     }
@@ -240,7 +244,7 @@ public class TestGeneration {
         cmdLine.add(JavaExecCmdUtil.getJavaBinExecutablePath(true)/*EvoSuite.JAVA_CMD*/);
         List<String[]> processArgs = new ArrayList<>();
 
-        handleClassPath(cmdLine);
+        List<File> commandLineFiles = handleClassPath(cmdLine);
 
         if (Properties.SPAWN_PROCESS_MANAGER_PORT != null) {
             cmdLine.add("-Dspawn_process_manager_port=" + Properties.SPAWN_PROCESS_MANAGER_PORT);
@@ -250,13 +254,28 @@ public class TestGeneration {
             Properties.NUM_PARALLEL_CLIENTS = 1;
         }
 
+        /*
+         * If client processes can be reused, the ones still alive from the previous target class
+         * are used, together with the RMI registry and the log servers they are connected to
+         */
+        boolean reuse = ClientProcess.isReusable();
+        ClientProcessPool pool = ClientProcessPool.getInstance();
+        ExternalProcessGroupHandler pooledHandler = reuse ? pool.getHandler() : null;
+
         LoggingUtils[] logServer = new LoggingUtils[Properties.NUM_PARALLEL_CLIENTS];
-        ExternalProcessGroupHandler handler = new ExternalProcessGroupHandler(Properties.NUM_PARALLEL_CLIENTS);
-        int port = handler.openServer();
-        if (port <= 0) {
-            throw new RuntimeException("Not possible to start RMI service");
+        ExternalProcessGroupHandler handler;
+        int port;
+        if (pooledHandler != null) {
+            handler = pooledHandler;
+            port = handler.getServerPort();
+        } else {
+            handler = new ExternalProcessGroupHandler(Properties.NUM_PARALLEL_CLIENTS);
+            port = handler.openServer();
+            if (port <= 0) {
+                throw new RuntimeException("Not possible to start RMI service");
+            }
+            handler.setBaseDir(EvoSuite.base_dir_path);
         }
-        handler.setBaseDir(EvoSuite.base_dir_path);
 
         cmdLine.add("-Dprocess_communication_port=" + port);
         cmdLine.add("-Dinline=true");
@@ -398,6 +417,29 @@ public class TestGeneration {
         Properties.TARGET_CLASS = target;
         Properties.PROCESS_COMMUNICATION_PORT = port;
 
+        /*
+         * The command line cannot be compared, as it contains temporary files
+         * (eg, the pathing jar) created for each target class
+         */
+        List<String> clientConfiguration = new ArrayList<>(args);
+        clientConfiguration.add(strategy.name());
+        clientConfiguration.add(ClassPathHandler.getInstance().getEvoSuiteClassPath());
+        clientConfiguration.add(ClassPathHandler.getInstance().getTargetProjectClasspath());
+
+        if (pooledHandler != null) {
+            // the pooled clients were started with their own command line
+            for (File file : commandLineFiles) {
+                FileUtils.deleteQuietly(file);
+            }
+            if (pool.canServe(clientConfiguration) && pool.prepareForNewTarget(target)) {
+                startSearchAndWait(handler, false);
+                return collectResults();
+            }
+            // the pooled clients cannot be used for this target, so start new ones
+            pool.shutdown();
+            return generateTests(strategy, target, args);
+        }
+
         for (int i = 0; i < Properties.NUM_PARALLEL_CLIENTS; i++) {
             List<String> cmdLineClone = new ArrayList<>(cmdLine);
 
@@ -499,55 +541,35 @@ public class TestGeneration {
         }
 
         if (handler.startProcessGroup(processArgs)) {
-
-            Set<ClientNodeRemote> clients = null;
-            try {
-                //FIXME: timeout here should be handled by TimeController
-                clients = new CopyOnWriteArraySet<>(MasterServices.getInstance().getMasterNode()
-                        .getClientsOnceAllConnected(60000).values());
-            } catch (InterruptedException e) {
+            if (reuse) {
+                pool.register(handler, logServer, clientConfiguration);
             }
-            if (clients == null) {
-                logger.error("Not possible to access to clients. Clients' state:\n" + handler.getProcessStates() +
-                        "Master registry port: " + MasterServices.getInstance().getRegistryPort());
 
-            } else {
-                /*
-                 * The clients have started, and connected back to Master.
-                 * So now we just need to tell them to start a search
-                 */
-                for (ClientNodeRemote client : clients) {
-                    try {
-                        client.startNewSearch();
-                    } catch (RemoteException e) {
-                        logger.error("Error in starting clients", e);
-                    }
-                }
+            boolean connected = startSearchAndWait(handler, !reuse);
 
-                int time = TimeController.getInstance().calculateForHowLongClientWillRunInSeconds();
-                handler.waitForResult(time * 1000);
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
+            if (!reuse || !connected) {
+                if (Properties.CLIENT_ON_THREAD) {
+                    handler.stopAndWaitForClientOnThread(10000);
                 }
-            }
 
-            if (Properties.CLIENT_ON_THREAD) {
-                handler.stopAndWaitForClientOnThread(10000);
+                handler.killAllProcesses();
             }
-
-            handler.killAllProcesses();
         } else {
             LoggingUtils.getEvoLogger().info("* Could not connect to client process");
         }
 
-        boolean hasFailed = writeStatistics();
+        List<List<TestGenerationResult>> results = collectResults();
 
-        /*
-         * FIXME: it is unclear what is the relation between TestGenerationResult and writeStatistics()
-         */
-        List<List<TestGenerationResult>> results = SearchStatistics.getInstance().getTestGenerationResults();
-        SearchStatistics.clearInstance();
+        if (reuse) {
+            /*
+             * The services are kept running for the clients in the pool, unless
+             * they have not started properly
+             */
+            if (pool.getHandler() == handler && !handler.areAllProcessesRunning()) {
+                pool.shutdown();
+            }
+            return results;
+        }
 
         handler.closeServer();
 
@@ -566,6 +588,69 @@ public class TestGeneration {
 
         logger.debug("Master process has finished to wait for client");
 
+        return results;
+    }
+
+    /**
+     * Tell the connected clients to start a new search, and wait for them to finish
+     *
+     * @param handler
+     * @param killProcesses whether to kill the clients once finished
+     * @return whether the clients connected to the master
+     */
+    private static boolean startSearchAndWait(ExternalProcessGroupHandler handler, boolean killProcesses) {
+        Set<ClientNodeRemote> clients = null;
+        try {
+            //FIXME: timeout here should be handled by TimeController
+            clients = new CopyOnWriteArraySet<>(MasterServices.getInstance().getMasterNode()
+                    .getClientsOnceAllConnected(60000).values());
+        } catch (InterruptedException e) {
+        }
+        if (clients == null) {
+            logger.error("Not possible to access to clients. Clients' state:\n" + handler.getProcessStates() +
+                    "Master registry port: " + MasterServices.getInstance().getRegistryPort());
+            return false;
+        }
+
+        /*
+         * The clients have started, and connected back to Master.
+         * So now we just need to tell them to start a search
+         */
+        for (ClientNodeRemote client : clients) {
+            try {
+                client.startNewSearch();
+            } catch (RemoteException e) {
+                logger.error("Error in starting clients", e);
+            }
+        }
+
+        int time = TimeController.getInstance().calculateForHowLongClientWillRunInSeconds();
+        handler.waitForResult(time * 1000, killProcesses);
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+        }
+        return true;
+    }
+
+    /**
+     * Write the statistics sent by the clients for the current target class,
+     * and clear them for the next one
+     *
+     * @return the results of the clients
+     */
+    private static List<List<TestGenerationResult>> collectResults() {
+        if (MasterServices.getInstance().getMasterNode() != null) {
+            MasterServices.getInstance().getMasterNode().flushStatistics();
+        }
+        boolean hasFailed = writeStatistics();
+
+        /*
+         * FIXME: it is unclear what is the relation between TestGenerationResult and writeStatistics()
+         */
+        List<List<TestGenerationResult>> results = SearchStatistics.getInstance().getTestGenerationResults();
+        SearchStatistics.clearInstance();
+
         //FIXME: tmp hack till understood what TestGenerationResult is...
         if (hasFailed) {
             logger.error("failed to write statistics data");
@@ -596,7 +681,13 @@ public class TestGeneration {
         return hasFailed;
     }
 
-    private static void handleClassPath(List<String> cmdLine) {
+    /**
+     * Add the classpath of EvoSuite and of the target project to the command line of the clients
+     *
+     * @param cmdLine
+     * @return the temporary files the command line refers to
+     */
+    private static List<File> handleClassPath(List<String> cmdLine) {
         String classPath = ClassPathHandler.getInstance().getEvoSuiteClassPath();
         String projectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
 
@@ -619,6 +710,8 @@ public class TestGeneration {
 
         String projectCPFilePath = ClassPathHandler.writeClasspathToFile(projectCP);
         cmdLine.add("-DCP_file_path=" + projectCPFilePath);
+
+        return Arrays.asList(new File(pathingJar), new File(projectCPFilePath));
     }
 
 
@@ -19,11 +19,13 @@
  */
 package org.evosuite.rmi.service;
 
-import org.evosuite.ClientProcess;
 import org.evosuite.Properties;
 import org.evosuite.Properties.NoSuchParameterException;
 import org.evosuite.ga.Chromosome;
+import org.evosuite.junit.CoverageShard;
 import org.evosuite.result.TestGenerationResult;
+import org.evosuite.statistics.CoverageShardMerger;
+import org.evosuite.statistics.OutputVariable;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.SearchStatistics;
 import org.evosuite.utils.Listener;
@@ -34,7 +36,12 @@ import org.slf4j.LoggerFactory;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 
@@ -45,7 +52,7 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
     private final Registry registry;
     private final Map<String, ClientNodeRemote> clients;
 
-    protected final Collection<Listener<ClientStateInformation>> listeners = Collections.synchronizedList(new ArrayList<>());
+    protected final Collection<Listener<ClientStateInformation>> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * It is important to keep track of client states for debugging reasons. For
@@ -57,11 +64,67 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 
     private final Map<String, ClientStateInformation> clientStateInformation;
 
+    /**
+     * Maximum number of statistics events waiting to be processed. When full, the
+     * clients sending new statistics wait till there is space again
+     */
+    private static final int MAX_PENDING_STATISTICS = 1024;
+
+    /**
+     * Statistics received from the clients are processed on a single thread, so that
+     * the RMI calls return immediately while the order of the events is kept
+     */
+    private final ThreadPoolExecutor statisticsExecutor;
+
+    private volatile Thread statisticsThread;
+
     public MasterNodeImpl(Registry registry) {
         clients = new ConcurrentHashMap<>();
         clientStates = new ConcurrentHashMap<>();
         clientStateInformation = new ConcurrentHashMap<>();
         this.registry = registry;
+
+        statisticsExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_STATISTICS), r -> {
+            Thread t = new Thread(r);
+            t.setName("Statistics processor in master process");
+            t.setDaemon(true);
+            statisticsThread = t;
+            return t;
+        }, (r, executor) -> {
+            try {
+                executor.getQueue().put(r);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while waiting to process statistics");
+            }
+        });
+    }
+
+    private void processStatistics(Runnable event) {
+        statisticsExecutor.execute(() -> {
+            try {
+                event.run();
+            } catch (Throwable t) {
+                logger.error("Error when processing statistics", t);
+            }
+        });
+    }
+
+    @Override
+    public void flushStatistics() {
+        if (Thread.currentThread() == statisticsThread) {
+            // all the previous events have been processed already, and waiting would never end
+            return;
+        }
+        try {
+            statisticsExecutor.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Error when flushing statistics", e);
+        }
     }
 
     @Override
@@ -93,7 +156,7 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
         // To be on the safe side
         information.setState(state);
         clientStateInformation.put(clientRmiIdentifier, information);
-        fireEvent(information);
+        processStatistics(() -> fireEvent(information));
     }
 
     @Override
@@ -160,59 +223,50 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 
     @Override
     public void evosuite_collectStatistics(String clientRmiIdentifier, Chromosome<?> individual) {
-        SearchStatistics.getInstance(clientRmiIdentifier).currentIndividual(individual);
+        processStatistics(() -> SearchStatistics.getInstance(clientRmiIdentifier).currentIndividual(individual));
     }
 
     @Override
     public void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value)
             throws RemoteException {
-        SearchStatistics.getInstance(clientRmiIdentifier).setOutputVariable(variable, value);
+        processStatistics(() -> SearchStatistics.getInstance(clientRmiIdentifier).setOutputVariable(variable, value));
     }
 
     @Override
-    public void evosuite_collectTestGenerationResult(
-            String clientRmiIdentifier, List<TestGenerationResult> results)
+    public void evosuite_collectStatistics(String clientRmiIdentifier, List<OutputVariable<?>> variables)
             throws RemoteException {
-        SearchStatistics.getInstance(clientRmiIdentifier).addTestGenerationResult(results);
+        processStatistics(() -> {
+            SearchStatistics statistics = SearchStatistics.getInstance(clientRmiIdentifier);
+            for (OutputVariable<?> variable : variables) {
+                statistics.setOutputVariable(variable);
+            }
+        });
     }
 
     @Override
-    public void evosuite_flushStatisticsForClassChange(String clientRmiIdentifier)
+    public void evosuite_collectTestGenerationResult(
+            String clientRmiIdentifier, List<TestGenerationResult> results)
             throws RemoteException {
-        SearchStatistics.getInstance(clientRmiIdentifier).writeStatisticsForAnalysis();
+        processStatistics(() -> SearchStatistics.getInstance(clientRmiIdentifier).addTestGenerationResult(results));
     }
 
     @Override
-    public void evosuite_updateProperty(String clientRmiIdentifier, String propertyName, Object value)
-            throws RemoteException, IllegalArgumentException, IllegalAccessException, NoSuchParameterException {
-        Properties.getInstance().setValue(propertyName, value);
+    public void evosuite_flushStatisticsForClassChange(String clientRmiIdentifier)
+            throws RemoteException {
+        processStatistics(() -> SearchStatistics.getInstance(clientRmiIdentifier).writeStatisticsForAnalysis());
+        flushStatistics();
     }
 
     @Override
-    public void evosuite_migrate(String clientRmiIdentifier, Set<? extends Chromosome<?>> migrants)
+    public void evosuite_collectCoverageShard(String clientRmiIdentifier, CoverageShard shard)
             throws RemoteException {
-        //implements ring topology
-        int idSender = Integer.parseInt(clientRmiIdentifier.replaceAll("[^0-9]", ""));
-        int idNeighbour = (idSender + 1) % Properties.NUM_PARALLEL_CLIENTS;
-
-        while (!ClientState.SEARCH.equals(clientStates.get("ClientNode" + idNeighbour)) && idNeighbour != idSender) {
-            idNeighbour = (idNeighbour + 1) % Properties.NUM_PARALLEL_CLIENTS;
-        }
-
-        if (idNeighbour != idSender) {
-            ClientNodeRemote node = clients.get("ClientNode" + idNeighbour);
-            node.immigrate(migrants);
-        }
+        processStatistics(() -> CoverageShardMerger.getInstance().addShard(shard));
     }
 
     @Override
-    public void evosuite_collectBestSolutions(String clientRmiIdentifier, Set<? extends Chromosome<?>> solutions) {
-        try {
-            ClientNodeRemote node = clients.get(ClientProcess.DEFAULT_CLIENT_NAME);
-            node.collectBestSolutions(solutions);
-        } catch (RemoteException e) {
-            logger.error("Cannot send best solutions to client 0", e);
-        }
+    public void evosuite_updateProperty(String clientRmiIdentifier, String propertyName, Object value)
+            throws RemoteException, IllegalArgumentException, IllegalAccessException, NoSuchParameterException {
+        Properties.getInstance().setValue(propertyName, value);
     }
 
     @Override
@@ -42,4 +42,9 @@ public interface MasterNodeLocal extends Listenable<ClientStateInformation> {
     Map<String, ClientNodeRemote> getClientsOnceAllConnected(long timeoutInMs) throws InterruptedException;
 
     void cancelAllClients();
+
+    /**
+     * Wait until all the statistics received from the clients so far have been processed
+     */
+    void flushStatistics();
 }
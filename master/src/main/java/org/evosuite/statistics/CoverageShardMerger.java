@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.coverage.CoverageCriteriaAnalyzer;
+import org.evosuite.junit.CoverageShard;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.NumberFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * When measuring coverage with several clients, each client runs a subset of the test
+ * classes. This class merges the goals they cover, and writes the statistics of a target
+ * class as soon as all the clients have sent their coverage of it.
+ */
+public class CoverageShardMerger {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoverageShardMerger.class);
+
+    private static CoverageShardMerger instance = null;
+
+    private final int numberOfShards;
+
+    /**
+     * Target classes for which not all the shards have been received yet
+     */
+    private final Map<String, CoverageShard> pending = new LinkedHashMap<>();
+
+    private CoverageShardMerger(int numberOfShards) {
+        this.numberOfShards = numberOfShards;
+    }
+
+    public static synchronized CoverageShardMerger getInstance() {
+        if (instance == null) {
+            instance = new CoverageShardMerger(Properties.NUM_PARALLEL_CLIENTS);
+        }
+        return instance;
+    }
+
+    public static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    public synchronized void addShard(CoverageShard shard) {
+        CoverageShard merged = pending.get(shard.getTargetClass());
+        if (merged == null) {
+            merged = shard;
+            pending.put(shard.getTargetClass(), merged);
+        } else {
+            merged.merge(shard);
+        }
+
+        if (merged.getNumberOfShards() >= numberOfShards) {
+            pending.remove(merged.getTargetClass());
+            write(merged);
+        }
+    }
+
+    /**
+     * Write the coverage of the target classes that did not receive all the shards,
+     * eg because a client crashed
+     */
+    public synchronized void writeIncompleteShards() {
+        for (CoverageShard merged : pending.values()) {
+            logger.warn("Received only " + merged.getNumberOfShards() + " out of " + numberOfShards
+                    + " shards for " + merged.getTargetClass() + ", its coverage is incomplete");
+            write(merged);
+        }
+        pending.clear();
+    }
+
+    private void write(CoverageShard merged) {
+        SearchStatistics statistics = SearchStatistics.getInstance();
+        Properties.TARGET_CLASS = merged.getTargetClass();
+        LoggingUtils.getEvoLogger().info("* Target class " + Properties.TARGET_CLASS);
+
+        for (Criterion criterion : merged.getCriteria()) {
+            double coverage = merged.getCoverage(criterion);
+            LoggingUtils.getEvoLogger().info("* Coverage of criterion " + criterion + ": "
+                    + NumberFormat.getPercentInstance().format(coverage));
+            statistics.setOutputVariable(CoverageCriteriaAnalyzer.getCoverageVariable(criterion), coverage);
+
+            RuntimeVariable bitStringVariable = CoverageCriteriaAnalyzer.getBitStringVariable(criterion);
+            if (bitStringVariable != null) {
+                statistics.setOutputVariable(bitStringVariable, merged.getCoverageBitString(criterion));
+            }
+        }
+
+        int totalGoals = merged.getTotalGoals();
+        int totalCoveredGoals = merged.getTotalCoveredGoals();
+        double coverage = totalGoals == 0 ? 1.0 : ((double) totalCoveredGoals) / ((double) totalGoals);
+        LoggingUtils.getEvoLogger().info("* Total number of covered goals: " + totalCoveredGoals + " / " + totalGoals);
+        LoggingUtils.getEvoLogger().info("* Total coverage: " + NumberFormat.getPercentInstance().format(coverage));
+
+        statistics.setOutputVariable(RuntimeVariable.Total_Goals, totalGoals);
+        statistics.setOutputVariable(RuntimeVariable.Covered_Goals, totalCoveredGoals);
+        statistics.setOutputVariable(RuntimeVariable.Coverage, coverage);
+        statistics.setOutputVariable(RuntimeVariable.Tests_Executed, merged.getTestsExecuted());
+
+        statistics.writeStatisticsForAnalysis();
+    }
+}
@@ -164,12 +164,15 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
     }
 
     public static SearchStatistics getInstance(String rmiClientIdentifier) {
-        SearchStatistics instance = instances.get(rmiClientIdentifier);
-        if (instance == null) {
-            instance = new SearchStatistics();
-            instances.put(rmiClientIdentifier, instance);
+        // the statistics sent by the clients are processed on a different thread than the master
+        synchronized (instances) {
+            SearchStatistics instance = instances.get(rmiClientIdentifier);
+            if (instance == null) {
+                instance = new SearchStatistics();
+                instances.put(rmiClientIdentifier, instance);
+            }
+            return instance;
         }
-        return instance;
     }
 
     public static void clearInstance() {
@@ -177,7 +180,13 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
     }
 
     public static void clearInstance(String rmiClientIdentifier) {
-        instances.remove(rmiClientIdentifier);
+        // statistics still pending on the master would otherwise end up in a new instance
+        if (MasterServices.getInstance().getMasterNode() != null) {
+            MasterServices.getInstance().getMasterNode().flushStatistics();
+        }
+        synchronized (instances) {
+            instances.remove(rmiClientIdentifier);
+        }
     }
 
     /**
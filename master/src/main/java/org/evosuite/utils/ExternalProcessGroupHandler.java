@@ -390,6 +390,21 @@ public class ExternalProcessGroupHandler {
         message_handlers[processIndex] = null;
     }
 
+    /**
+     * @return whether all the processes of the group are still running
+     */
+    public boolean areAllProcessesRunning() {
+        if (Properties.CLIENT_ON_THREAD) {
+            return clientRunningOnThread != null && clientRunningOnThread.isAlive();
+        }
+        for (Process process : processGroup) {
+            if (process == null || !process.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Terminates all running processes.
      */
@@ -668,6 +683,18 @@ public class ExternalProcessGroupHandler {
      * @return a {@link java.lang.Object} object.
      */
     public TestGenerationResult waitForResult(int timeout) {
+        return waitForResult(timeout, true);
+    }
+
+    /**
+     * Wait for the clients to be finished
+     *
+     * @param timeout       a int.
+     * @param killProcesses  whether to kill the client processes once finished. They are not
+     *                       killed if they are going to be reused for another target class
+     * @return a {@link java.lang.Object} object.
+     */
+    public TestGenerationResult waitForResult(int timeout, boolean killProcesses) {
         try {
             long start = System.currentTimeMillis();
             Map<String, ClientNodeRemote> clients = MasterServices.getInstance()
@@ -725,8 +752,10 @@ public class ExternalProcessGroupHandler {
             }
         }
 
-        for (int i = 0; i < processGroup.length; i++) {
-            killProcess(i);
+        if (killProcesses) {
+            for (int i = 0; i < processGroup.length; i++) {
+                killProcess(i);
+            }
         }
         LoggingUtils.getEvoLogger().info("* Computation finished");
         return null; //TODO refactoring
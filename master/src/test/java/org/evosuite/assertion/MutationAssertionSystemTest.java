@@ -22,8 +22,12 @@ package org.evosuite.assertion;
 
 import com.examples.with.different.packagename.*;
 import org.evosuite.EvoSuite;
+import org.evosuite.Properties;
 import org.evosuite.SystemTestBase;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.statistics.OutputVariable;
+import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.backend.DebugStatisticsBackend;
 import org.evosuite.strategy.TestGenerationStrategy;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testsuite.TestSuiteChromosome;
@@ -32,6 +36,8 @@ import org.junit.Test;
 
 import org.junit.Ignore;
 
+import java.util.Map;
+
 /**
  * @author fraser
  */
@@ -132,4 +138,36 @@ public class MutationAssertionSystemTest extends SystemTestBase {
         Assert.assertEquals("Wrong number of goals: ", 3, goals);
         Assert.assertEquals("Non-optimal coverage: ", 1d, suite.getCoverage(), 0.05);
     }
+
+    @Test
+    public void testParallelMutantExecution() {
+
+        EvoSuite evosuite = new EvoSuite();
+
+        String targetClass = BMICalculator.class.getCanonicalName();
+        Properties.TARGET_CLASS = targetClass;
+        Properties.ALGORITHM = Properties.Algorithm.DYNAMOSA;
+        Properties.NUM_EXECUTION_WORKERS = 4;
+        // the workers are only used if the tests cannot share state
+        Properties.RESET_STATIC_FIELDS = false;
+        Properties.VIRTUAL_FS = false;
+        Properties.VIRTUAL_NET = false;
+        Properties.REPLACE_CALLS = false;
+        Properties.REPLACE_SYSTEM_IN = false;
+        Properties.PARALLEL_MUTANT_EXECUTION = true;
+        Properties.OUTPUT_VARIABLES = "" + RuntimeVariable.Coverage + "," + RuntimeVariable.MutationScore;
+
+        String[] command = new String[]{
+                "-generateMOSuite", "-class", targetClass,
+                "-Djunit_tests=false", "-Dshow_progress=false",
+                "-Dassertions=true", "-Dassertion_strategy=mutation"};
+
+        evosuite.parseCommandLine(command);
+
+        Map<String, OutputVariable<?>> map = DebugStatisticsBackend.getLatestWritten();
+        Assert.assertNotNull(map);
+        Assert.assertEquals(1.0, map.get(RuntimeVariable.Coverage.toString()).getValue());
+        double mutationScore = (Double) map.get(RuntimeVariable.MutationScore.toString()).getValue();
+        Assert.assertTrue("Low mutation score: " + mutationScore, mutationScore > 0.5);
+    }
 }
@@ -143,6 +143,22 @@ public class JobExecutorIntTest {
         Assert.assertTrue(deleted);
     }
 
+    @Test
+    public void testStallTimeoutIsTheBudgetPlusGrace() {
+        assertTrue(storage.isStorageOk());
+
+        int memory = 1000;
+        CtgConfiguration conf = new CtgConfiguration(memory, 1, 10, 1, false, AvailableSchedule.SIMPLE);
+        JobExecutor exe = new JobExecutor(storage, System.getProperty("java.class.path"), conf);
+
+        // jobs get at least the minimum time per job
+        JobDefinition shortJob = new JobDefinition(30, memory, Simple.class.getName(), 0, null, null);
+        Assert.assertEquals((60 + 60) * 1000L, exe.getStallTimeoutInMs(shortJob));
+
+        JobDefinition longJob = new JobDefinition(300, memory, Trivial.class.getName(), 0, null, null);
+        Assert.assertEquals((300 + 60) * 1000L, exe.getStallTimeoutInMs(longJob));
+    }
+
     @Test
     public void testEventSequenceWhenWrongSchedule() throws InterruptedException {
 
@@ -183,7 +199,7 @@ public class JobExecutorIntTest {
          */
         final List<JobDefinition> jobs = Arrays.asList(simple, ust, trivial);
 
-        exe.initExecution(jobs);
+        exe.initExecution(jobs, cores);
 
         Thread t = new Thread() {
             @Override
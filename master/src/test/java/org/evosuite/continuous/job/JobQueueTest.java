@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.job;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class JobQueueTest {
+
+    private static JobDefinition job(String cut, int seconds, int memory, String... dependencies) {
+        return new JobDefinition(seconds, memory, cut, 0,
+                dependencies.length == 0 ? null : new HashSet<>(Arrays.asList(dependencies)), null);
+    }
+
+    @Test(timeout = 10_000)
+    public void testDependenciesAndLongestJobsFirst() throws InterruptedException {
+        JobDefinition a = job("A", 30, 100);
+        JobDefinition b = job("B", 60, 100, "C");
+        JobDefinition c = job("C", 10, 100, "D");
+        JobDefinition d = job("D", 10, 100);
+        JobDefinition e = job("E", 90, 100);
+
+        JobQueue queue = new JobQueue(Arrays.asList(a, b, c, d, e), 1000);
+        Assert.assertEquals(2, queue.getDepth(d));
+        Assert.assertEquals(1, queue.getDepth(c));
+        Assert.assertEquals(0, queue.getDepth(b));
+
+        Assert.assertEquals(d, queue.take());
+        Assert.assertEquals(e, queue.take());
+        Assert.assertEquals(a, queue.take());
+        // nothing else is ready, so C is not postponed
+        Assert.assertEquals(c, queue.take());
+        Assert.assertEquals(4, queue.getNumberOfRunningJobs());
+
+        queue.done(d);
+        queue.done(c);
+        Assert.assertEquals(b, queue.take());
+        Assert.assertEquals(0, queue.getNumberOfPendingJobs());
+    }
+
+    @Test(timeout = 10_000)
+    public void testPostponedUntilDependencyIsDone() throws InterruptedException {
+        JobDefinition simple = job("Simple", 30, 100);
+        JobDefinition user = job("User", 60, 100, "Simple");
+        JobDefinition other = job("Other", 10, 100);
+
+        JobQueue queue = new JobQueue(Arrays.asList(user, other, simple), 1000);
+        Assert.assertEquals(simple, queue.take());
+        // "User" is longer, but its dependency is still running
+        Assert.assertEquals(other, queue.take());
+
+        queue.done(simple);
+        Assert.assertEquals(user, queue.take());
+    }
+
+    @Test(timeout = 10_000)
+    public void testMemoryAdmission() throws Exception {
+        JobDefinition big = job("Big", 60, 700);
+        JobDefinition large = job("Large", 50, 600);
+        JobDefinition small = job("Small", 10, 300);
+
+        JobQueue queue = new JobQueue(Arrays.asList(big, large, small), 1000);
+        Assert.assertEquals(big, queue.take());
+        // "Large" does not fit in the memory left, but "Small" does
+        Assert.assertEquals(small, queue.take());
+        Assert.assertEquals(1000, queue.getUsedMemoryInMB());
+
+        AtomicReference<JobDefinition> taken = new AtomicReference<>();
+        Thread handler = new Thread(() -> {
+            try {
+                taken.set(queue.take());
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        });
+        handler.start();
+        handler.join(200);
+        Assert.assertNull(taken.get());
+
+        queue.done(big);
+        handler.join();
+        Assert.assertEquals(large, taken.get());
+        Assert.assertEquals(900, queue.getUsedMemoryInMB());
+    }
+
+    @Test(timeout = 10_000)
+    public void testJobLargerThanBudget() throws InterruptedException {
+        JobDefinition huge = job("Huge", 60, 5000);
+        JobQueue queue = new JobQueue(Collections.singletonList(huge), 1000);
+        Assert.assertEquals(huge, queue.take());
+    }
+
+    @Test(timeout = 10_000)
+    public void testStalledJobIsRequeuedOnce() throws InterruptedException {
+        JobDefinition stalling = job("Stalling", 60, 100);
+        JobDefinition other = job("Other", 30, 100);
+
+        JobQueue queue = new JobQueue(Arrays.asList(stalling, other), 1000);
+        Assert.assertEquals(stalling, queue.take());
+        Assert.assertTrue(queue.requeue(stalling));
+        Assert.assertEquals(0, queue.getNumberOfRunningJobs());
+
+        // re-queued jobs come after all the others
+        Assert.assertEquals(other, queue.take());
+        Assert.assertEquals(stalling, queue.take());
+        Assert.assertFalse(queue.requeue(stalling));
+
+        Assert.assertEquals(3, queue.getNumberOfHandedOutJobs());
+        Assert.assertEquals(2, queue.getNumberOfStalledJobs());
+        Assert.assertEquals(0, queue.getNumberOfPendingJobs());
+    }
+
+    @Test(timeout = 10_000)
+    public void testClose() throws InterruptedException {
+        List<JobDefinition> jobs = Arrays.asList(job("A", 30, 100), job("B", 30, 100));
+        JobQueue queue = new JobQueue(jobs, 1000);
+        queue.take();
+        Assert.assertFalse(queue.awaitEmpty(10));
+
+        Assert.assertEquals(1, queue.close().size());
+        Assert.assertTrue(queue.awaitEmpty(10));
+        Assert.assertFalse(queue.requeue(jobs.get(0)));
+    }
+}
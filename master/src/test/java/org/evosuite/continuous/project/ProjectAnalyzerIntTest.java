@@ -19,17 +19,28 @@
  */
 package org.evosuite.continuous.project;
 
+import org.evosuite.Properties;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.continuous.project.ProjectStaticData.ClassInfo;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
 
 import com.examples.with.different.packagename.continuous.Simple;
 import com.examples.with.different.packagename.continuous.Trivial;
 
 public class ProjectAnalyzerIntTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @BeforeClass
     public static void initClass() {
         ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
@@ -79,4 +90,61 @@ public class ProjectAnalyzerIntTest {
         Assert.assertNotNull(trivial);
         Assert.assertEquals(1, trivial.numberOfBranches);
     }
+
+    @Test
+    public void testIncrementalAnalysis() throws Exception {
+        File cacheFile = new File(folder.getRoot(), "analysis.txt");
+        String[] cuts = new String[]{Simple.class.getName(), Trivial.class.getName()};
+
+        ProjectAnalyzer pa = new ProjectAnalyzer(cuts);
+        ProjectStaticData data = pa.analyze(cacheFile, 2);
+        Assert.assertEquals(2, data.getTotalNumberOfClasses());
+        Assert.assertEquals(0, pa.getNumberOfReusedClasses());
+        Assert.assertTrue(cacheFile.exists());
+
+        ProjectAnalysisCache.Entry simple = ProjectAnalysisCache.load(cacheFile)
+                .get(Simple.class.getName(), hashOf(Simple.class));
+        Assert.assertNotNull(simple);
+        Assert.assertEquals(2, simple.numberOfBranches);
+
+        // unchanged bytecode: the persisted data is used, and not computed again
+        String content = FileUtils.readFileToString(cacheFile, StandardCharsets.UTF_8);
+        FileUtils.write(cacheFile, content.replace(simple.hash + "\t2\t", simple.hash + "\t42\t"), StandardCharsets.UTF_8);
+        data = pa.analyze(cacheFile, 2);
+        Assert.assertEquals(2, pa.getNumberOfReusedClasses());
+        Assert.assertEquals(42, data.getClassInfo(Simple.class.getName()).numberOfBranches);
+
+        // changed bytecode: the class is analyzed again
+        content = FileUtils.readFileToString(cacheFile, StandardCharsets.UTF_8);
+        FileUtils.write(cacheFile, content.replace(simple.hash, "changed"), StandardCharsets.UTF_8);
+        data = pa.analyze(cacheFile, 2);
+        Assert.assertEquals(1, pa.getNumberOfReusedClasses());
+        Assert.assertEquals(2, data.getClassInfo(Simple.class.getName()).numberOfBranches);
+    }
+
+    @Test
+    public void testCachedAnalysisDependsOnProperties() throws Exception {
+        File cacheFile = new File(folder.getRoot(), "analysis.txt");
+        String[] cuts = new String[]{Simple.class.getName()};
+
+        ProjectAnalyzer pa = new ProjectAnalyzer(cuts);
+        pa.analyze(cacheFile, 1);
+        String hash = hashOf(Simple.class);
+
+        boolean considerMainMethods = Properties.CONSIDER_MAIN_METHODS;
+        try {
+            // main methods would not be counted any more, so the data cannot be reused
+            Properties.CONSIDER_MAIN_METHODS = !considerMainMethods;
+            Assert.assertNotEquals(hash, hashOf(Simple.class));
+            pa.analyze(cacheFile, 1);
+            Assert.assertEquals(0, pa.getNumberOfReusedClasses());
+        } finally {
+            Properties.CONSIDER_MAIN_METHODS = considerMainMethods;
+        }
+    }
+
+    private static String hashOf(Class<?> clazz) throws Exception {
+        String resource = "/" + clazz.getName().replace('.', '/') + ".class";
+        return ProjectAnalysisCache.hash(IOUtils.toByteArray(clazz.getResourceAsStream(resource)));
+    }
 }
@@ -20,12 +20,16 @@
 package org.evosuite.coverage.mutation;
 
 import java.util.Arrays;
+import java.util.Map;
 
 import org.evosuite.EvoSuite;
 import org.evosuite.Properties;
 import org.evosuite.SystemTestBase;
 import org.evosuite.Properties.Criterion;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.statistics.OutputVariable;
+import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.backend.DebugStatisticsBackend;
 import org.evosuite.strategy.TestGenerationStrategy;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.junit.After;
@@ -322,4 +326,29 @@ public class MutationSystemTest extends SystemTestBase {
         Assert.assertEquals(24, goals);
         Assert.assertEquals("Non-optimal coverage: ", 1d, best.getCoverage(), 0.001);
     }
+
+    @Test
+    public void testStrongMutationInfectedMutantBatchOnWorkers() {
+        EvoSuite evosuite = new EvoSuite();
+        Properties.CRITERION = new Properties.Criterion[]{Criterion.STRONGMUTATION};
+        Properties.ALGORITHM = Properties.Algorithm.MOSA;
+        Properties.BATCH_INFECTED_MUTANTS = true;
+        Properties.NUM_EXECUTION_WORKERS = 4;
+        // the workers are only used if the tests cannot share state
+        Properties.RESET_STATIC_FIELDS = false;
+        Properties.VIRTUAL_FS = false;
+        Properties.VIRTUAL_NET = false;
+        Properties.REPLACE_CALLS = false;
+        Properties.REPLACE_SYSTEM_IN = false;
+        Properties.OUTPUT_VARIABLES = "" + RuntimeVariable.Coverage;
+
+        String targetClass = SimpleMutationExample1.class.getCanonicalName();
+
+        String[] command = new String[]{"-generateMOSuite", "-class", targetClass};
+        evosuite.parseCommandLine(command);
+
+        Map<String, OutputVariable<?>> map = DebugStatisticsBackend.getLatestWritten();
+        Assert.assertNotNull(map);
+        Assert.assertEquals("Non-optimal coverage: ", 1.0, map.get(RuntimeVariable.Coverage.toString()).getValue());
+    }
 }
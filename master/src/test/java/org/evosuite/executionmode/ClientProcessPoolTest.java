@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.executionmode;
+
+import com.examples.with.different.packagename.continuous.Simple;
+import com.examples.with.different.packagename.continuous.Trivial;
+import org.evosuite.Properties;
+import org.evosuite.rmi.ClientServices;
+import org.evosuite.rmi.MasterServices;
+import org.evosuite.rmi.service.ClientNodeLocal;
+import org.evosuite.seeding.ConstantPoolManager;
+import org.evosuite.setup.TestCluster;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ClientProcessPoolTest {
+
+    private int currentPort;
+
+    private ClientServices<?> clients;
+
+    @Before
+    public void init() throws Exception {
+        currentPort = Properties.PROCESS_COMMUNICATION_PORT;
+        Properties.NUM_PARALLEL_CLIENTS = 1;
+
+        MasterServices master = MasterServices.getInstance();
+        Assert.assertTrue(master.startRegistry());
+        master.registerServices();
+        Properties.PROCESS_COMMUNICATION_PORT = master.getRegistryPort();
+
+        clients = ClientServices.getInstance();
+        Assert.assertTrue(clients.registerServices("ClientNode"));
+    }
+
+    @After
+    public void tearDown() {
+        clients.stopServices();
+        MasterServices.getInstance().stopServices();
+        System.clearProperty("TARGET_CLASS");
+        Properties.getInstance().resetToDefaults();
+        Properties.PROCESS_COMMUNICATION_PORT = currentPort;
+    }
+
+    /**
+     * Let the client wait for the next target, as once its search is over,
+     * and let the pool set it up for the given target
+     */
+    private void reuseClientFor(String targetClass) throws InterruptedException {
+        ClientNodeLocal<?> clientNode = clients.getClientNode();
+        AtomicBoolean resumed = new AtomicBoolean(false);
+        Thread client = new Thread(() -> resumed.set(clientNode.waitForNextTarget()));
+        client.start();
+        while (client.getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+
+        Assert.assertTrue(ClientProcessPool.getInstance().prepareForNewTarget(targetClass));
+        client.join(10000);
+        Assert.assertTrue(resumed.get());
+    }
+
+    @Test(timeout = 60000)
+    public void testClientIsResetForEachTarget() throws InterruptedException {
+        String[] targets = {Simple.class.getName(), Trivial.class.getName()};
+        for (String target : targets) {
+            // state left behind by the search on the previous target
+            Properties.SEARCH_BUDGET = 7;
+            ConstantPoolManager.getInstance().addDynamicConstant("previousTargetConstant");
+            TestCluster cluster = TestCluster.getInstance();
+
+            reuseClientFor(target);
+
+            Assert.assertEquals(target, Properties.TARGET_CLASS);
+            Assert.assertEquals(60, Properties.SEARCH_BUDGET);
+            Assert.assertFalse(ConstantPoolManager.getInstance().getDynamicConstantPool().toString()
+                    .contains("previousTargetConstant"));
+            Assert.assertNotSame(cluster, TestCluster.getInstance());
+        }
+    }
+}
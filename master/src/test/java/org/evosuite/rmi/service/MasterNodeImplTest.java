@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.evosuite.ClientProcess;
+import org.evosuite.Properties;
+import org.evosuite.rmi.MasterServices;
+import org.evosuite.statistics.OutputVariable;
+import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.SearchStatistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+public class MasterNodeImplTest {
+
+    private static final String CLIENT = "MasterNodeImplTestClient";
+
+    private int currentPort;
+
+    @Before
+    public void init() {
+        currentPort = Properties.PROCESS_COMMUNICATION_PORT;
+        SearchStatistics.clearInstance(CLIENT);
+    }
+
+    @After
+    public void tearDown() {
+        MasterServices.getInstance().stopServices();
+        SearchStatistics.clearInstance(CLIENT);
+        SearchStatistics.clearInstance();
+        Properties.PROCESS_COMMUNICATION_PORT = currentPort;
+    }
+
+    @Test
+    public void testBatchedStatisticsAreCollectedInOrder() throws Exception {
+        MasterNodeImpl master = new MasterNodeImpl(null);
+
+        master.evosuite_collectStatistics(CLIENT, Arrays.asList(
+                new OutputVariable<>(RuntimeVariable.Size.name(), 1),
+                new OutputVariable<>(RuntimeVariable.Length.name(), 2)));
+        master.evosuite_collectStatistics(CLIENT, RuntimeVariable.Length, 3);
+        master.evosuite_collectStatistics(CLIENT, Arrays.asList(
+                new OutputVariable<>(RuntimeVariable.Size.name(), 4)));
+        master.flushStatistics();
+
+        Map<String, OutputVariable<?>> variables = SearchStatistics.getInstance(CLIENT).getOutputVariables();
+        Assert.assertEquals(4, variables.get(RuntimeVariable.Size.name()).getValue());
+        Assert.assertEquals(3, variables.get(RuntimeVariable.Length.name()).getValue());
+    }
+
+    @Test
+    public void testClearInstanceWaitsForPendingStatistics() throws Exception {
+        MasterServices.getInstance().startRegistry();
+        MasterServices.getInstance().registerServices();
+        MasterNodeImpl master = (MasterNodeImpl) MasterServices.getInstance().getMasterNode();
+
+        // the processing of the statistics is held back till the instance is being cleared
+        CountDownLatch latch = new CountDownLatch(1);
+        master.addListener(event -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        String client = ClientProcess.DEFAULT_CLIENT_NAME;
+        master.evosuite_informChangeOfStateInClient(client, ClientState.STARTED,
+                new ClientStateInformation(ClientState.STARTED));
+        master.evosuite_collectStatistics(client, Arrays.asList(
+                new OutputVariable<>(RuntimeVariable.Size.name(), 1)));
+
+        Thread release = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            latch.countDown();
+        });
+        release.start();
+        SearchStatistics.clearInstance();
+        release.join();
+        master.flushStatistics();
+
+        // the statistics sent before the instance was cleared must not end up in the new one
+        Assert.assertFalse(SearchStatistics.getInstance().getOutputVariables()
+                .containsKey(RuntimeVariable.Size.name()));
+    }
+}
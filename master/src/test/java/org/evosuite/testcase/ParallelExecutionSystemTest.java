@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import com.examples.with.different.packagename.BMICalculator;
+import org.evosuite.EvoSuite;
+import org.evosuite.Properties;
+import org.evosuite.SystemTestBase;
+import org.evosuite.statistics.OutputVariable;
+import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.backend.DebugStatisticsBackend;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class ParallelExecutionSystemTest extends SystemTestBase {
+
+    private void checkCoverage(String strategyOption, Properties.Algorithm algorithm) {
+        EvoSuite evosuite = new EvoSuite();
+
+        String targetClass = BMICalculator.class.getCanonicalName();
+        Properties.TARGET_CLASS = targetClass;
+        Properties.ALGORITHM = algorithm;
+        Properties.NUM_EXECUTION_WORKERS = 4;
+        // the workers are only used if the tests cannot share state
+        Properties.RESET_STATIC_FIELDS = false;
+        Properties.VIRTUAL_FS = false;
+        Properties.VIRTUAL_NET = false;
+        Properties.REPLACE_CALLS = false;
+        Properties.REPLACE_SYSTEM_IN = false;
+        Properties.OUTPUT_VARIABLES = "" + RuntimeVariable.Coverage + "," + RuntimeVariable.Covered_Goals;
+
+        String[] command = new String[]{strategyOption, "-class", targetClass};
+        evosuite.parseCommandLine(command);
+
+        Map<String, OutputVariable<?>> map = DebugStatisticsBackend.getLatestWritten();
+        Assert.assertNotNull(map);
+        Assert.assertEquals(9, map.get(RuntimeVariable.Covered_Goals.toString()).getValue());
+        Assert.assertEquals(1.0, map.get(RuntimeVariable.Coverage.toString()).getValue());
+    }
+
+    @Test
+    public void testDynaMOSA() {
+        checkCoverage("-generateMOSuite", Properties.Algorithm.DYNAMOSA);
+    }
+
+    @Test
+    public void testMOSA() {
+        checkCoverage("-generateMOSuite", Properties.Algorithm.MOSA);
+    }
+}
@@ -20,6 +20,8 @@
 package org.evosuite.runtime;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -30,6 +32,12 @@ import java.util.List;
  * <p>
  * Therefore, for each loop in the instrumented CUTs, we can have a limit, and throw an exception
  * if too many iterations have occurred
+ *
+ * <p>
+ * Optionally, the counters can be profiled (see {@link #setProfiling(boolean)}): on each
+ * {@link #reset()} the iterations of the current execution are accumulated per loop, to
+ * find out which loops of which methods hit the limit. Loop indices are never reused, as
+ * the instrumented classes keep the index they were assigned
  * <p>
  * Created by Andrea Arcuri on 29/03/15.
  */
@@ -37,24 +45,92 @@ public class LoopCounter {
 
     private static final LoopCounter singleton = new LoopCounter();
 
+    private static final int INITIAL_CAPACITY = 64;
+
     private boolean activated = true;
 
     /**
-     * Number of iterations so far
+     * Number of iterations so far, indexed by loop index.
+     * The array only grows, and is replaced (never modified in place) when it does
+     */
+    private volatile long[] counters;
+
+    /**
+     * Number of loops that have been assigned an index so far
+     */
+    private int numberOfLoops;
+
+    /**
+     * Class and method of each registered loop index, used for profiling
+     */
+    private String[] classNames;
+
+    private String[] methodNames;
+
+    private boolean profiling;
+
+    /**
+     * Iterations accumulated over all the executions, per loop index
+     */
+    private long[] totalIterations;
+
+    /**
+     * Highest number of iterations in a single execution, per loop index
+     */
+    private long[] maxIterations;
+
+    /**
+     * Number of executions in which a loop index was reached
+     */
+    private long[] executions;
+
+    /**
+     * Iterations of the current execution before a loop hit the limit, when
+     * the counters are cleared without ending the execution
      */
-    private final List<Long> counters;
+    private long[] overflowIterations;
 
 
     private LoopCounter() {
-        counters = new ArrayList<>();
+        counters = new long[INITIAL_CAPACITY];
+        classNames = new String[INITIAL_CAPACITY];
+        methodNames = new String[INITIAL_CAPACITY];
+        totalIterations = new long[INITIAL_CAPACITY];
+        maxIterations = new long[INITIAL_CAPACITY];
+        executions = new long[INITIAL_CAPACITY];
+        overflowIterations = new long[INITIAL_CAPACITY];
     }
 
     public static LoopCounter getInstance() {
         return singleton;
     }
 
-    public void reset() {
-        counters.clear();
+    /**
+     * Clear the counters at the end of an execution. The indices assigned to
+     * the loops are kept
+     */
+    public synchronized void reset() {
+        long[] c = counters;
+        if (profiling) {
+            accumulate(c);
+        }
+        Arrays.fill(c, 0L);
+        Arrays.fill(overflowIterations, 0L);
+    }
+
+    /**
+     * Clear the counters once a loop has hit the limit, so that the code still
+     * executed (e.g. in finally blocks) does not fail as well. The execution
+     * is not over, so the iterations so far are only put aside for the profile
+     */
+    private synchronized void resetOnOverflow() {
+        long[] c = counters;
+        if (profiling) {
+            for (int i = 0; i < c.length; i++) {
+                overflowIterations[i] += c[i];
+            }
+        }
+        Arrays.fill(c, 0L);
     }
 
     public void setActive(boolean active) {
@@ -65,6 +141,33 @@ public class LoopCounter {
         return activated;
     }
 
+    /**
+     * Enable or disable the profiling of the iterations of each loop.
+     * Disabling it discards the profile collected so far
+     *
+     * @param profiling
+     */
+    public synchronized void setProfiling(boolean profiling) {
+        this.profiling = profiling;
+        if (!profiling) {
+            Arrays.fill(totalIterations, 0L);
+            Arrays.fill(maxIterations, 0L);
+            Arrays.fill(executions, 0L);
+            Arrays.fill(overflowIterations, 0L);
+        }
+    }
+
+    public boolean isProfiling() {
+        return profiling;
+    }
+
+    /**
+     * @return the number of loops that have been assigned an index so far
+     */
+    public int getNumberOfLoops() {
+        return numberOfLoops;
+    }
+
     /**
      * This is called during bytecode instrumentation to determine which index
      * to assign to a new parsed loop
@@ -72,8 +175,23 @@ public class LoopCounter {
      * @return the next valid index for a new loop
      */
     public int getNewIndex() {
-        int index = counters.size();
-        counters.add(0L);
+        return getNewIndex(null, null);
+    }
+
+    /**
+     * This is called during bytecode instrumentation to determine which index
+     * to assign to a new parsed loop
+     *
+     * @param className  name of the class containing the loop
+     * @param methodName name and descriptor of the method containing the loop
+     * @return the next valid index for a new loop
+     */
+    public synchronized int getNewIndex(String className, String methodName) {
+        int index = numberOfLoops++;
+        ensureCapacity(index);
+        counters[index] = 0L;
+        classNames[index] = className;
+        methodNames[index] = methodName;
         return index;
     }
 
@@ -94,34 +212,78 @@ public class LoopCounter {
             return;
         }
 
-        if (RuntimeSettings.maxNumberOfIterationsPerLoop < 0) {
+        long max = RuntimeSettings.maxNumberOfIterationsPerLoop;
+        if (max < 0) {
             return; //do nothing, no check
         }
 
-        //first check initialization
-        int size = counters.size();
-        if (index >= size) {
-            for (int i = 0; i < 1 + (index - size); i++) {
-                counters.add(0L);
-            }
+        long[] c = counters;
+        if (index >= c.length) {
+            //index not registered, eg the class was instrumented before a reset
+            c = ensureCapacity(index);
         }
-        assert index < counters.size();
 
-        //do increment
-        try {
-            long value = counters.get(index) + 1L;
-            counters.set(index, value);
+        if (++c[index] >= max && !isInStaticInit()) {
+            resetOnOverflow();
+            throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
+                    RuntimeSettings.maxNumberOfIterationsPerLoop);
+        }
+    }
 
-            if (value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !isInStaticInit()) {
-                this.reset();
-                throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
-                        RuntimeSettings.maxNumberOfIterationsPerLoop);
+    /**
+     * The iterations of the loops, sorted by decreasing number of total iterations.
+     * Loops that were never reached are not included
+     *
+     * @return an empty list if profiling is not enabled
+     */
+    public synchronized List<LoopProfile> getProfile() {
+        if (!profiling) {
+            return Collections.emptyList();
+        }
+        long[] c = counters;
+        List<LoopProfile> profile = new ArrayList<>();
+        for (int i = 0; i < c.length; i++) {
+            long current = c[i] + overflowIterations[i];
+            long total = totalIterations[i] + current;
+            if (total == 0L) {
+                continue;
             }
-        } catch (NullPointerException e) {
-            // Some weird Java internal NPE can happen:
-            // https://github.com/EvoSuite/evosuite/issues/143
-            // Seems safe to swallow this instead of crashing EvoSuite
+            long max = Math.max(maxIterations[i], current);
+            long count = executions[i] + (current > 0 ? 1 : 0);
+            profile.add(new LoopProfile(i, classNames[i], methodNames[i], count, total, max));
         }
+        profile.sort((a, b) -> Long.compare(b.getTotalIterations(), a.getTotalIterations()));
+        return profile;
+    }
+
+    private void accumulate(long[] c) {
+        for (int i = 0; i < c.length; i++) {
+            long value = c[i] + overflowIterations[i];
+            if (value > 0) {
+                totalIterations[i] += value;
+                executions[i]++;
+                if (value > maxIterations[i]) {
+                    maxIterations[i] = value;
+                }
+            }
+        }
+    }
+
+    private synchronized long[] ensureCapacity(int index) {
+        long[] c = counters;
+        if (index < c.length) {
+            return c;
+        }
+        int length = Math.max(index + 1, c.length * 2);
+        classNames = Arrays.copyOf(classNames, length);
+        methodNames = Arrays.copyOf(methodNames, length);
+        totalIterations = Arrays.copyOf(totalIterations, length);
+        maxIterations = Arrays.copyOf(maxIterations, length);
+        executions = Arrays.copyOf(executions, length);
+        overflowIterations = Arrays.copyOf(overflowIterations, length);
+        c = Arrays.copyOf(c, length);
+        counters = c;
+        return c;
     }
 
 
@@ -132,4 +294,74 @@ public class LoopCounter {
         }
         return false;
     }
+
+    /**
+     * Iterations of a single loop index, over all the profiled executions
+     */
+    public static final class LoopProfile {
+
+        private final int index;
+
+        private final String className;
+
+        private final String methodName;
+
+        private final long executions;
+
+        private final long totalIterations;
+
+        private final long maxIterations;
+
+        private LoopProfile(int index, String className, String methodName, long executions,
+                            long totalIterations, long maxIterations) {
+            this.index = index;
+            this.className = className;
+            this.methodName = methodName;
+            this.executions = executions;
+            this.totalIterations = totalIterations;
+            this.maxIterations = maxIterations;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return null if the loop was registered without a location
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return null if the loop was registered without a location
+         */
+        public String getMethodName() {
+            return methodName;
+        }
+
+        /**
+         * @return number of executions in which the loop was reached
+         */
+        public long getExecutions() {
+            return executions;
+        }
+
+        public long getTotalIterations() {
+            return totalIterations;
+        }
+
+        /**
+         * @return the highest number of iterations in a single execution
+         */
+        public long getMaxIterations() {
+            return maxIterations;
+        }
+
+        @Override
+        public String toString() {
+            return className + "." + methodName + "#" + index + ": " + totalIterations + " iterations in "
+                    + executions + " executions, at most " + maxIterations;
+        }
+    }
 }
@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import java.io.ObjectStreamClass;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -184,6 +185,14 @@ public class CreateClassResetClassAdapter extends ClassVisitor {
      */
     private final ArrayList<String> modifiedStaticFields = new ArrayList<>();
 
+    /**
+     * @return the static fields whose <code>final</code> modifier was removed,
+     * once the class was visited
+     */
+    public List<String> getModifiedStaticFields() {
+        return Collections.unmodifiableList(modifiedStaticFields);
+    }
+
     /**
      * During the visit of each field, static fields are collected. If the
      * <code>removeFinalModifierOnStaticFields</code> is active, final static
@@ -39,8 +39,14 @@ public class LoopCounterMethodAdapter extends MethodVisitor {
 
     private static final String LOOP_COUNTER = Type.getInternalName(LoopCounter.class);
 
-    public LoopCounterMethodAdapter(MethodVisitor mv, String methodName, String desc) {
+    private final String className;
+
+    private final String methodName;
+
+    public LoopCounterMethodAdapter(MethodVisitor mv, String className, String methodName, String desc) {
         super(Opcodes.ASM9, mv);
+        this.className = className;
+        this.methodName = methodName + desc;
     }
 
     @Override
@@ -56,7 +62,7 @@ public class LoopCounterMethodAdapter extends MethodVisitor {
 
     private void addInstrumentation() {
 
-        int index = LoopCounter.getInstance().getNewIndex();
+        int index = LoopCounter.getInstance().getNewIndex(className, methodName);
 
         mv.visitMethodInsn(Opcodes.INVOKESTATIC, LOOP_COUNTER,
                 "getInstance", "()L" + LOOP_COUNTER + ";", false);
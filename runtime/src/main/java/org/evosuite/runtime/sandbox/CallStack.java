@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.sandbox;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Inspection of the call stack of the current thread, used by
+ * {@link MSecurityManager} to find out who is asking for a permission.
+ *
+ * <p>
+ * On Java 9+ the frames are visited lazily with {@code java.lang.StackWalker},
+ * stopping at the first match, instead of materializing the whole stack trace.
+ * As the runtime is compiled for Java 8, the walker is accessed through method
+ * handles, which are linked when this class is loaded (ie before the security
+ * manager is applied). On Java 8 this falls back on {@link Throwable#getStackTrace()}.
+ *
+ * <p>
+ * Note: the code here is executed inside {@link MSecurityManager#checkPermission},
+ * so it must not use lambdas or anything else that might need new permissions.
+ */
+final class CallStack {
+
+    /**
+     * A condition on a frame of the call stack
+     */
+    interface FrameMatcher {
+        boolean matches(String className, String methodName);
+    }
+
+    /**
+     * {@code StackWalker.walk}, bound to the default walker. Null on Java 8
+     */
+    private static final MethodHandle WALK;
+
+    /**
+     * {@code StackWalker.StackFrame.getClassName}, as {@code (Object)String}
+     */
+    private static final MethodHandle GET_CLASS_NAME;
+
+    /**
+     * {@code StackWalker.StackFrame.getMethodName}, as {@code (Object)String}
+     */
+    private static final MethodHandle GET_METHOD_NAME;
+
+    static {
+        MethodHandle walk = null;
+        MethodHandle getClassName = null;
+        MethodHandle getMethodName = null;
+        try {
+            Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            Object walker = lookup.findStatic(walkerClass, "getInstance", MethodType.methodType(walkerClass)).invoke();
+            walk = lookup.findVirtual(walkerClass, "walk", MethodType.methodType(Object.class, Function.class))
+                    .bindTo(walker)
+                    .asType(MethodType.methodType(Object.class, Function.class));
+            getClassName = lookup.findVirtual(frameClass, "getClassName", MethodType.methodType(String.class))
+                    .asType(MethodType.methodType(String.class, Object.class));
+            getMethodName = lookup.findVirtual(frameClass, "getMethodName", MethodType.methodType(String.class))
+                    .asType(MethodType.methodType(String.class, Object.class));
+        } catch (Throwable e) {
+            //Java 8
+            walk = null;
+        }
+        WALK = walk;
+        GET_CLASS_NAME = getClassName;
+        GET_METHOD_NAME = getMethodName;
+
+        //link everything now, and not on the first permission check
+        anyClassStartsWith(CallStack.class.getName());
+    }
+
+    private CallStack() {
+    }
+
+    /**
+     * @return whether any frame in the call stack of the current thread matches {@code matcher}
+     */
+    static boolean anyFrame(FrameMatcher matcher) {
+        if (WALK != null) {
+            try {
+                return (Boolean) (Object) WALK.invokeExact((Function) new FrameSearch(matcher));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        for (StackTraceElement e : new Throwable().getStackTrace()) {
+            if (matcher.matches(e.getClassName(), e.getMethodName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the class of any frame in the call stack of the current
+     * thread starts with one of the given prefixes
+     */
+    static boolean anyClassStartsWith(final String... prefixes) {
+        return anyFrame(new FrameMatcher() {
+            @Override
+            public boolean matches(String className, String methodName) {
+                for (String prefix : prefixes) {
+                    if (className.startsWith(prefix)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Function given to {@code StackWalker.walk}, which stops at the first matching frame
+     */
+    private static class FrameSearch implements Function<Stream<?>, Boolean> {
+
+        private final FrameMatcher matcher;
+
+        FrameSearch(FrameMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        @Override
+        public Boolean apply(Stream<?> frames) {
+            Iterator<?> iterator = frames.iterator();
+            try {
+                while (iterator.hasNext()) {
+                    Object frame = iterator.next();
+                    String className = (String) GET_CLASS_NAME.invokeExact(frame);
+                    String methodName = (String) GET_METHOD_NAME.invokeExact(frame);
+                    if (matcher.matches(className, methodName)) {
+                        return Boolean.TRUE;
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+            return Boolean.FALSE;
+        }
+    }
+}
@@ -49,6 +49,8 @@ import java.net.UnknownHostException;
 import java.security.*;
 import java.sql.SQLPermission;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.FileHandler;
 import java.util.logging.LoggingPermission;
@@ -137,6 +139,8 @@ public class MSecurityManager extends SecurityManager {
          * is accessed during the security checks
          */
         boolean forceLoading = RuntimeSettings.mockJVMNonDeterminism;
+        //same for the inspection of the call stack
+        forceLoading = CallStack.anyClassStartsWith(MSecurityManager.class.getName());
     }
 
     private final PermissionStatistics statistics = PermissionStatistics.getInstance();
@@ -177,17 +181,26 @@ public class MSecurityManager extends SecurityManager {
      */
     private final Set<Permission> unrecognizedPermissions;
 
+    /**
+     * Decisions for the SUT on the permissions whose outcome only depends on
+     * their class and name (see {@link #isDecisionCacheable(Permission)}).
+     * Key -> permission class, value -> map from name to decision
+     */
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, Boolean>> decisionCache;
+
     /**
      * Create a custom security manager for the SUT. The thread that create this
      * instance is automatically added as "privileged"
      */
     public MSecurityManager() {
-        privilegedThreads = new CopyOnWriteArraySet<>();
+        //this is queried on each permission check, so it needs constant time look-ups
+        privilegedThreads = Collections.newSetFromMap(new ConcurrentHashMap<>());
         privilegedThreads.add(Thread.currentThread());
         defaultManager = System.getSecurityManager();
         executingTestCase = false;
         privilegedThreadToIgnore = null;
         unrecognizedPermissions = new CopyOnWriteArraySet<>();
+        decisionCache = new ConcurrentHashMap<>();
 
         filesToDelete = new CopyOnWriteArraySet<>();
     }
@@ -418,8 +431,14 @@ public class MSecurityManager extends SecurityManager {
      */
     @Override
     public void checkPermission(Permission perm) throws SecurityException {
+        long start = System.nanoTime();
         // check access
-        if (!allowPermission(perm)) {
+        boolean allowed = allowPermission(perm);
+        if (executingTestCase) {
+            statistics.permissionChecked(System.nanoTime() - start);
+        }
+
+        if (!allowed) {
             String stack = "\n";
             for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
                 stack += e + "\n";
@@ -446,18 +465,8 @@ public class MSecurityManager extends SecurityManager {
     // ------------------------------------------------------------------------------------------
 
     private boolean isAWTThread() {
-        for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-            if (e.getClassName().startsWith("java.awt"))
-                return true;
-
-            if (e.getClassName().startsWith("javax.swing"))
-                return true;
-
-            // Also treat the logmanager like AWT stuff, it is just as weird
-            if (e.getClassName().startsWith("java.util.logging.LogManager"))
-                return true;
-        }
-        return false;
+        // Also treat the logmanager like AWT stuff, it is just as weird
+        return CallStack.anyClassStartsWith("java.awt", "javax.swing", "java.util.logging.LogManager");
     }
 
     /**
@@ -559,6 +568,48 @@ public class MSecurityManager extends SecurityManager {
          * following are not checked if sandbox is in IO mode, in which only FilePermissions are checked
          */
 
+        if (isDecisionCacheable(perm)) {
+            ConcurrentMap<String, Boolean> decisions = decisionCache.get(perm.getClass());
+            if (decisions == null) {
+                decisions = new ConcurrentHashMap<>();
+                ConcurrentMap<String, Boolean> existing = decisionCache.putIfAbsent(perm.getClass(), decisions);
+                if (existing != null) {
+                    decisions = existing;
+                }
+            }
+            String name = perm.getName();
+            Boolean decision = decisions.get(name);
+            if (decision == null) {
+                decision = checkPermissionOfSUT(perm);
+                decisions.put(name, decision);
+            }
+            return decision;
+        }
+
+        return checkPermissionOfSUT(perm);
+    }
+
+    /**
+     * Only the permission types whose check does not depend on the call stack,
+     * on the state of this manager or on the actions can be cached. The class
+     * has to match exactly, as the SUT could define subclasses.
+     */
+    private boolean isDecisionCacheable(Permission perm) {
+        Class<?> type = perm.getClass();
+        if (type == RuntimePermission.class) {
+            //depends on the call stack and on the mocking of the JVM non-determinism
+            return !"shutdownHooks".equals(perm.getName().trim());
+        }
+        return type == ReflectPermission.class || type == LoggingPermission.class
+                || type == SecurityPermission.class || type == NetPermission.class
+                || type == SerializablePermission.class;
+    }
+
+    /**
+     * Check a permission requested by the SUT with the sandbox fully on
+     */
+    private boolean checkPermissionOfSUT(Permission perm) {
+
         if (perm instanceof AllPermission) {
             return checkAllPermission((AllPermission) perm);
         }
@@ -711,32 +762,31 @@ public class MSecurityManager extends SecurityManager {
         }
 
         final String pattern = "sun.rmi.";
-        boolean foundRMI = false;
 
         //first check if there is any reference to RMI in the stack trace
-        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
-            if (element.toString().startsWith(pattern)) {
-                foundRMI = true;
-                break;
-            }
-        }
+        boolean foundRMI = CallStack.anyClassStartsWith(pattern);
 
         if (!foundRMI) {
             //found no reference to RMI
             return false;
         }
 
-        boolean foundMasterNode = false;
+        final Set<String> methodNames = masterNodeRemoteMethodNames;
+        if (methodNames == null) {
+            return false;
+        }
 
-        traceLoop:
-        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
-            for (String masterNodeMethod : masterNodeRemoteMethodNames) {
-                if (element.toString().contains(masterNodeMethod)) {
-                    foundMasterNode = true;
-                    break traceLoop;
+        boolean foundMasterNode = CallStack.anyFrame(new CallStack.FrameMatcher() {
+            @Override
+            public boolean matches(String className, String methodName) {
+                for (String masterNodeMethod : methodNames) {
+                    if (methodName.contains(masterNodeMethod) || className.contains(masterNodeMethod)) {
+                        return true;
+                    }
                 }
+                return false;
             }
-        }
+        });
 
         if (!foundMasterNode) {
             //found no reference to RMI
@@ -1208,11 +1258,12 @@ public class MSecurityManager extends SecurityManager {
         if (fp.getName().contains(FILE_HANDLER_NAME_PATTERN))
             return true;
         if (fp.getActions().equals("write")) {
-            for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                if (e.getClassName().equals(FileHandler.class.getName()) && e.getMethodName().equals("isParentWritable")) {
-                    return true;
+            return CallStack.anyFrame(new CallStack.FrameMatcher() {
+                @Override
+                public boolean matches(String className, String methodName) {
+                    return className.equals(FileHandler.class.getName()) && methodName.equals("isParentWritable");
                 }
-            }
+            });
         }
 
         return false;
@@ -1294,10 +1345,8 @@ public class MSecurityManager extends SecurityManager {
                  * This is not 100% secure, but Jacoco support
                  * is important
                  */
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("org.jacoco.")) {
-                        return true;
-                    }
+                if (CallStack.anyClassStartsWith("org.jacoco.")) {
+                    return true;
                 }
             } else if (fp.getName().contains("gzoltar") || fp.getName().equals(System.getProperty("user.dir"))) {
                 // By default, GZoltar writes the gzoltar.ser file that holds the coverage
@@ -1305,20 +1354,16 @@ public class MSecurityManager extends SecurityManager {
                 // As user.dir might not exist, EvoSuite must grant access write access to
                 // GZoltar.
                 // Note: The following is not 100% secure, but GZoltar support is important.
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("com.gzoltar.")) {
-                        return true;
-                    }
+                if (CallStack.anyClassStartsWith("com.gzoltar.")) {
+                    return true;
                 }
             } else if (fp.getName().contains("clover")) {
                 /*
                  * To make sure this is really clover trying to write a report
                  * we also check that this is invoked by clover
                  */
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("com.atlassian.clover.")) {
-                        return true;
-                    }
+                if (CallStack.anyClassStartsWith("com.atlassian.clover.")) {
+                    return true;
                 }
             }
         } else if (action.equals("delete")) {
@@ -1327,10 +1372,8 @@ public class MSecurityManager extends SecurityManager {
                  * To make sure this is really clover trying to write a report
                  * we also check that this is invoked by clover
                  */
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("com.atlassian.clover.")) {
-                        return true;
-                    }
+                if (CallStack.anyClassStartsWith("com.atlassian.clover.")) {
+                    return true;
                 }
             }
         }
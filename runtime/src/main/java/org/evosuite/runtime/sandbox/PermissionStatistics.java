@@ -26,6 +26,7 @@ import java.io.FilePermission;
 import java.security.Permission;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * <p>
@@ -64,6 +65,13 @@ public class PermissionStatistics {
 
     private String threadGroupToMonitor;
 
+    /**
+     * Number of permission checks during test execution, and their total time
+     */
+    private final LongAdder checkCount = new LongAdder();
+
+    private final LongAdder checkTimeNanos = new LongAdder();
+
 
     // Private constructor
     private PermissionStatistics() {
@@ -421,6 +429,46 @@ public class PermissionStatistics {
         return !deniedCount.isEmpty();
     }
 
+    /**
+     * Record the latency of a permission check done by the security manager
+     *
+     * @param nanos time spent in the check
+     */
+    public void permissionChecked(long nanos) {
+        checkCount.increment();
+        checkTimeNanos.add(nanos);
+    }
+
+    public long getNumberOfPermissionChecks() {
+        return checkCount.sum();
+    }
+
+    /**
+     * @return total time spent in permission checks, in nanoseconds
+     */
+    public long getPermissionCheckTime() {
+        return checkTimeNanos.sum();
+    }
+
+    public void resetPermissionCheckTime() {
+        checkCount.reset();
+        checkTimeNanos.reset();
+    }
+
+    /**
+     * Forget all the statistics collected so far, eg when the same
+     * process is used to generate tests for another class
+     */
+    public void reset() {
+        allowedCount.clear();
+        deniedCount.clear();
+        deniedClassCount.clear();
+        recentAccess.clear();
+        maxThreads = 1;
+        hasNewExceptions = false;
+        resetPermissionCheckTime();
+    }
+
     /**
      * <p>
      * printStatistics
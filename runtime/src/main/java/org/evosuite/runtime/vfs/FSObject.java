@@ -71,7 +71,31 @@ public abstract class FSObject {
         }
     }
 
+    /**
+     * Copy of {@code other} in folder {@code parent}, with the same path,
+     * permissions and modification time
+     */
+    protected FSObject(FSObject other, VFolder parent) {
+        readPermission = other.readPermission;
+        writePermission = other.writePermission;
+        executePermission = other.executePermission;
+        this.parent = parent;
+        this.deleted = other.deleted;
+        this.lastModified = other.lastModified;
+        this.path = other.path;
+    }
+
+    /**
+     * @param parent the folder of the copy, which has to add it as child
+     * @return a deep copy of this object
+     */
+    protected abstract FSObject copy(VFolder parent);
+
     protected long getCurrentTimeMillis() {
+        return currentTimeMillis();
+    }
+
+    static long currentTimeMillis() {
         if (RuntimeSettings.mockJVMNonDeterminism) {
             return org.evosuite.runtime.System.getCurrentTimeMillisForVFS();
         } else {
@@ -19,56 +19,81 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Representation of a virtual file
  *
+ * <p>
+ * The content is stored in a growable array of bytes. Copies of a file (see
+ * {@link VirtualFileSystem#snapshot()}) share the array until one of them is
+ * modified (copy-on-write).
+ *
  * @author arcuri
  */
 public class VFile extends FSObject {
 
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * the actual data contained in file. Only the first {@link #size} bytes are valid
+     */
+    private byte[] data;
+
+    private int size;
+
     /**
-     * the actual data contained in file as a list of bytes
+     * Whether {@link #data} might be shared with a copy of this file, and so
+     * it has to be copied before being modified
      */
-    private final List<Byte> data;
+    private boolean shared;
 
     public VFile(String path, VFolder parent) {
         super(path, parent);
+        data = EMPTY;
+    }
 
-        //TODO might need a better type of data structure supporting multi-threading
-        data = new ArrayList<>(1024);
+    /**
+     * Copy of {@code other} in folder {@code parent}, sharing its data until
+     * either file is modified
+     */
+    private VFile(VFile other, VFolder parent) {
+        super(other, parent);
+        synchronized (other) {
+            data = other.data;
+            size = other.size;
+            shared = true;
+            other.shared = true;
+        }
     }
 
-    public void eraseData() {
-        data.clear();
+    public synchronized void eraseData() {
+        data = EMPTY;
+        size = 0;
+        shared = false;
     }
 
     public synchronized int getDataSize() {
-        return data.size();
+        return size;
     }
 
 
     public synchronized void setLength(int newLength) {
 
-        /*
-         * Note: this implementation is not particularly efficient...
-         * but setLength is rarely called
-         */
-
-        while (newLength > data.size()) {
-            data.add((byte) 0);
-        }
-
         if (newLength == 0) {
-            data.clear();
+            eraseData();
             return;
         }
 
-        while (data.size() > newLength) {
-            data.remove(data.size() - 1);
+        if (newLength > size) {
+            ensureWritableCapacity(newLength);
+            //the array might contain stale data from a previous truncation
+            Arrays.fill(data, size, newLength, (byte) 0);
         }
+
+        size = newLength;
     }
 
     /**
@@ -80,15 +105,34 @@ public class VFile extends FSObject {
             throw new IllegalArgumentException("Position in the file cannot be negative");
         }
 
-        if (position >= data.size()) {
+        if (position >= size) {
             return -1; //this represent the end of the stream
         }
 
-        return data.get(position) & 0xFF;
+        return data[position] & 0xFF;
+    }
+
+    /**
+     * Read up to {@code len} bytes starting from {@code position} into {@code b}
+     *
+     * @return the number of read bytes, or -1 if {@code position} is at the end of the file
+     */
+    public synchronized int readBytes(int position, byte[] b, int off, int len) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+
+        if (position >= size) {
+            return len == 0 ? 0 : -1;
+        }
+
+        int read = Math.min(len, size - position);
+        System.arraycopy(data, position, b, off, read);
+        return read;
     }
 
     public synchronized int writeBytes(byte[] b, int off, int len) {
-        return writeBytes(data.size(), b, off, len);
+        return writeBytes(size, b, off, len);
     }
 
 
@@ -102,26 +146,48 @@ public class VFile extends FSObject {
             return 0;
         }
 
-        if (position >= data.size()) {
+        if (position >= size) {
             setLength(position);
         }
 
-        int written = 0;
-        for (int i = off; i < b.length & (i - off) < len; i++) {
-            if (position < data.size()) {
-                data.set(position, (b[i]));
-            } else {
-                data.add(b[i]);
-            }
-            position++;
-            written++;
-        }
+        int written = Math.max(0, Math.min(len, b.length - off));
+        ensureWritableCapacity(position + written);
+        System.arraycopy(b, off, data, position, written);
+        size = Math.max(size, position + written);
 
         setLastModified(getCurrentTimeMillis());
 
         return written;
     }
 
+    /**
+     * Make sure {@link #data} is not shared and can hold {@code capacity} bytes
+     */
+    private void ensureWritableCapacity(int capacity) {
+        if (capacity <= data.length && !shared) {
+            return;
+        }
+
+        int newCapacity = data.length;
+        if (capacity > newCapacity) {
+            newCapacity = Math.max(INITIAL_CAPACITY, newCapacity);
+            while (newCapacity < capacity && newCapacity > 0) {
+                newCapacity <<= 1;
+            }
+            if (newCapacity < capacity) {
+                //overflow
+                newCapacity = capacity;
+            }
+        }
+
+        data = Arrays.copyOf(data, newCapacity);
+        shared = false;
+    }
+
+    @Override
+    protected synchronized VFile copy(VFolder parent) {
+        return new VFile(this, parent);
+    }
 
     @Override
     public synchronized boolean delete() {
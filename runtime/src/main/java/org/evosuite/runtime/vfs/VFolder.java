@@ -38,6 +38,24 @@ public class VFolder extends FSObject {
         children = new CopyOnWriteArrayList<>();
     }
 
+    /**
+     * Deep copy of {@code other} in folder {@code parent}
+     */
+    private VFolder(VFolder other, VFolder parent) {
+        super(other, parent);
+
+        List<FSObject> list = new ArrayList<>(other.children.size());
+        for (FSObject child : other.children) {
+            list.add(child.copy(this));
+        }
+        children = new CopyOnWriteArrayList<>(list);
+    }
+
+    @Override
+    protected VFolder copy(VFolder parent) {
+        return new VFolder(this, parent);
+    }
+
     @Override
     public boolean delete() {
         if (children.size() > 0) {
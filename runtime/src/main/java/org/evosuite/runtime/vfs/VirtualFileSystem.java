@@ -98,6 +98,17 @@ public final class VirtualFileSystem {
      */
     private final Set<LeakingResource> leakingResources;
 
+    /**
+     * The VFS right after {@link #init()}, which is reused by the following
+     * calls of {@link #init()} with the same {@link #initSnapshotKey}
+     */
+    private volatile Snapshot initSnapshot;
+
+    /**
+     * Working and tmp folders, and time of {@link #initSnapshot}
+     */
+    private volatile String initSnapshotKey;
+
     //--------------------------------------------------------------------------
 
     /**
@@ -201,16 +212,60 @@ public final class VirtualFileSystem {
      */
     public void init() {
 
-        root = new VFolder(null, null);
-
         String workingDir = getWorkingDirPath();
-        createFolder(workingDir);
-        createFolder(getTmpFolderPath());
+        String tmpFolder = getTmpFolderPath();
+        String key = workingDir + File.pathSeparator + tmpFolder + File.pathSeparator + FSObject.currentTimeMillis();
+
+        Snapshot snapshot = initSnapshot;
+        if (snapshot != null && key.equals(initSnapshotKey)) {
+            restore(snapshot);
+        } else {
+            root = new VFolder(null, null);
+            createFolder(workingDir);
+            createFolder(tmpFolder);
+
+            initSnapshotKey = key;
+            initSnapshot = snapshot();
+        }
 
         //important to clear, as above code would modify this field
         accessedFiles.clear();
     }
 
+    /**
+     * Content of the VFS at a given point in time, see {@link #snapshot()}
+     */
+    public static final class Snapshot {
+
+        private final VFolder root;
+
+        private Snapshot(VFolder root) {
+            this.root = root;
+        }
+    }
+
+    /**
+     * Take a snapshot of the files and folders in the VFS. This is cheap, as
+     * the files share their data with the VFS until either is modified.
+     *
+     * @return a snapshot that can be given to {@link #restore(Snapshot)}
+     */
+    public Snapshot snapshot() {
+        VFolder current = root;
+        return new Snapshot(current == null ? null : current.copy(null));
+    }
+
+    /**
+     * Replace the files and folders of the VFS with the ones in
+     * {@code snapshot}. The snapshot is not modified, and can be restored again.
+     * The other state of the VFS (e.g., the accessed files) is not affected.
+     *
+     * @param snapshot a snapshot taken with {@link #snapshot()}
+     */
+    public void restore(Snapshot snapshot) {
+        root = snapshot.root == null ? null : snapshot.root.copy(null);
+    }
+
     public static String getWorkingDirPath() {
         //this should be set in the scaffolding file
         return java.lang.System.getProperty("user.dir");
@@ -24,6 +24,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+
 /**
  * Created by Andrea Arcuri on 29/03/15.
  */
@@ -40,6 +42,7 @@ public class LoopCounterTest {
 
     @After
     public void tearDown() {
+        LoopCounter.getInstance().setProfiling(false);
         LoopCounter.getInstance().reset();
         LoopCounter.getInstance().setActive(loopCounterState);
     }
@@ -74,4 +77,96 @@ public class LoopCounterTest {
         LoopCounter.getInstance().checkLoop(5);
         LoopCounter.getInstance().checkLoop(6);
     }
+
+    @Test
+    public void testIndexBeyondCapacity() {
+        LoopCounter.getInstance().checkLoop(100_000);
+        LoopCounter.getInstance().reset();
+        LoopCounter.getInstance().checkLoop(100_000);
+    }
+
+    @Test
+    public void testIndicesAreNotReusedAfterReset() {
+        LoopCounter counter = LoopCounter.getInstance();
+        int first = counter.getNewIndex("Foo", "bar()V");
+        counter.reset();
+        int second = counter.getNewIndex("Foo", "baz(I)I");
+
+        Assert.assertTrue(second > first);
+        Assert.assertEquals(second + 1, counter.getNumberOfLoops());
+    }
+
+    @Test
+    public void testProfileOfLoopHittingTheLimit() {
+        long max = RuntimeSettings.maxNumberOfIterationsPerLoop;
+        Assert.assertTrue(max > 0);
+
+        LoopCounter counter = LoopCounter.getInstance();
+        counter.setProfiling(true);
+        int index = counter.getNewIndex("Foo", "bar()V");
+        try {
+            for (long i = 0; i < max; i++) {
+                counter.checkLoop(index);
+            }
+            Assert.fail("Expected the loop to hit the limit");
+        } catch (TooManyResourcesException e) {
+            // expected
+        }
+        // e.g. a finally block, still in the same execution
+        counter.checkLoop(index);
+        counter.reset();
+
+        List<LoopCounter.LoopProfile> profile = counter.getProfile();
+        Assert.assertEquals(1, profile.size());
+        LoopCounter.LoopProfile loop = profile.get(0);
+        Assert.assertEquals(index, loop.getIndex());
+        Assert.assertEquals("bar()V", loop.getMethodName());
+        Assert.assertEquals(1, loop.getExecutions());
+        Assert.assertEquals(max + 1, loop.getTotalIterations());
+        Assert.assertEquals(max + 1, loop.getMaxIterations());
+    }
+
+    @Test
+    public void testProfile() {
+        LoopCounter counter = LoopCounter.getInstance();
+        Assert.assertTrue(counter.getProfile().isEmpty());
+        counter.setProfiling(true);
+
+        int first = counter.getNewIndex("Foo", "bar()V");
+        int second = counter.getNewIndex("Foo", "baz(I)I");
+        int unused = counter.getNewIndex("Foo", "unused()V");
+
+        // first execution
+        for (int i = 0; i < 10; i++) {
+            counter.checkLoop(first);
+        }
+        counter.checkLoop(second);
+        counter.reset();
+
+        // second execution, still running
+        for (int i = 0; i < 30; i++) {
+            counter.checkLoop(second);
+        }
+
+        List<LoopCounter.LoopProfile> profile = counter.getProfile();
+        Assert.assertEquals(2, profile.size());
+
+        LoopCounter.LoopProfile top = profile.get(0);
+        Assert.assertEquals(second, top.getIndex());
+        Assert.assertEquals("Foo", top.getClassName());
+        Assert.assertEquals("baz(I)I", top.getMethodName());
+        Assert.assertEquals(2, top.getExecutions());
+        Assert.assertEquals(31, top.getTotalIterations());
+        Assert.assertEquals(30, top.getMaxIterations());
+
+        LoopCounter.LoopProfile other = profile.get(1);
+        Assert.assertEquals(first, other.getIndex());
+        Assert.assertEquals("bar()V", other.getMethodName());
+        Assert.assertEquals(1, other.getExecutions());
+        Assert.assertEquals(10, other.getTotalIterations());
+        Assert.assertNotEquals(unused, other.getIndex());
+
+        counter.setProfiling(false);
+        Assert.assertTrue(counter.getProfile().isEmpty());
+    }
 }
@@ -334,5 +334,41 @@ public class MSecurityManagerTest {
         future.get((long) Math.pow(1000, 1000), TimeUnit.MILLISECONDS);
     }
 
+    @Test
+    public void testCachedDecisionsAndCheckTime() throws InterruptedException, ExecutionException, TimeoutException {
+        PermissionStatistics.getInstance().resetPermissionCheckTime();
+
+        Future<?> future = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 2; i++) {
+                    //allowed, twice from the cache
+                    Thread.currentThread().setName("SUT thread " + i);
+
+                    try {
+                        System.setSecurityManager(null);
+                        Assert.fail("Failed to block changing the security manager");
+                    } catch (SecurityException e) {
+                        //denied, the second time from the cache
+                    }
+                }
+            }
+        });
+        future.get(1000, TimeUnit.MILLISECONDS);
+
+        Assert.assertTrue(PermissionStatistics.getInstance().getNumberOfPermissionChecks() >= 4);
+        Assert.assertTrue(PermissionStatistics.getInstance().getPermissionCheckTime() > 0);
+    }
 
+    @Test
+    public void testCallStack() {
+        Assert.assertTrue(CallStack.anyClassStartsWith(MSecurityManagerTest.class.getName()));
+        Assert.assertTrue(CallStack.anyFrame(new CallStack.FrameMatcher() {
+            @Override
+            public boolean matches(String className, String methodName) {
+                return className.equals(MSecurityManagerTest.class.getName()) && methodName.equals("testCallStack");
+            }
+        }));
+        Assert.assertFalse(CallStack.anyClassStartsWith("com.atlassian.clover."));
+    }
 }
@@ -252,4 +252,67 @@ public class VirtualFileSystemTest {
         Assert.assertFalse(folder.exists());
     }
 
+    @Test
+    public void testLargeWriteAndBulkRead() throws IOException {
+        File file = MockFile.createTempFile("foo", ".tmp");
+        byte[] data = new byte[5000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        MockFileOutputStream out = new MockFileOutputStream(file);
+        out.write(data, 0, 3000);
+        out.write(data, 3000, 2000);
+        out.close();
+        Assert.assertEquals(data.length, file.length());
+
+        MockFileInputStream in = new MockFileInputStream(file);
+        byte[] buffer = new byte[4000];
+        Assert.assertEquals(4000, in.read(buffer));
+        Assert.assertEquals(1000, in.read(buffer, 0, 4000));
+        Assert.assertEquals(-1, in.read(buffer));
+        in.close();
+        Assert.assertEquals(data[4999], buffer[999]);
+    }
+
+    @Test
+    public void testSnapshotIsCopyOnWrite() throws IOException {
+        File file = MockFile.createTempFile("foo", ".tmp");
+        MockFileOutputStream out = new MockFileOutputStream(file);
+        out.write(new byte[]{1, 2, 3});
+        out.close();
+
+        VirtualFileSystem.Snapshot snapshot = VirtualFileSystem.getInstance().snapshot();
+
+        out = new MockFileOutputStream(file);
+        out.write(new byte[]{4, 5, 6, 7});
+        out.close();
+        Assert.assertEquals(4, file.length());
+        File other = new MockFile("bar");
+        Assert.assertTrue(other.createNewFile());
+
+        VirtualFileSystem.getInstance().restore(snapshot);
+        Assert.assertEquals(3, file.length());
+        Assert.assertFalse(other.exists());
+
+        //the snapshot is not affected by changes after the restore
+        Assert.assertTrue(file.delete());
+        VirtualFileSystem.getInstance().restore(snapshot);
+        Assert.assertTrue(file.exists());
+        Assert.assertEquals(3, file.length());
+        MockFileInputStream in = new MockFileInputStream(file);
+        Assert.assertEquals(1, in.read());
+        in.close();
+    }
+
+    @Test
+    public void testInitAfterResetIsEmpty() throws IOException {
+        File file = new MockFile("foo");
+        Assert.assertTrue(file.createNewFile());
+
+        VirtualFileSystem.getInstance().resetSingleton();
+        VirtualFileSystem.getInstance().init();
+        Assert.assertFalse(file.exists());
+        Assert.assertTrue(new MockFile(java.lang.System.getProperty("user.dir")).exists());
+    }
+
 }